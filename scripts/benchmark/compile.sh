@@ -0,0 +1,4 @@
+#!/bin/sh
+rm -rf ../../bin
+mkdir ../../bin
+javac -classpath "../../lib/cloudsim-7.0.0-alpha.jar:../../lib/commons-math3-3.6.1.jar:../../lib/colt.jar" -sourcepath ../../src ../../src/edu/boun/edgecloudsim/benchmark/MicroBenchmark.java ../../src/edu/boun/edgecloudsim/benchmark/ScalingBenchmark.java ../../src/edu/boun/edgecloudsim/applications/scenario*/MainApp.java -d ../../bin
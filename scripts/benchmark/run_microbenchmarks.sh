@@ -0,0 +1,8 @@
+#!/bin/sh
+# Runs the per-task hot path microbenchmarks; call compile.sh first.
+# All arguments are passed to MicroBenchmark, e.g.
+# ./run_microbenchmarks.sh -devices 200,1000,2000 -vms 4,16 -out results.csv
+
+script_root_path="$(dirname "$(readlink -f "$0")")"
+
+java -classpath "${script_root_path}/../../bin:${script_root_path}/../../lib/cloudsim-7.0.0-alpha.jar:${script_root_path}/../../lib/commons-math3-3.6.1.jar:${script_root_path}/../../lib/colt.jar" edu.boun.edgecloudsim.benchmark.MicroBenchmark -scripts ${script_root_path}/.. "$@"
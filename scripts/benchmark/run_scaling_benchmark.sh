@@ -0,0 +1,9 @@
+#!/bin/sh
+# Runs the shipped scenarios at increasing number of mobile devices; call compile.sh first.
+# All arguments are passed to ScalingBenchmark, e.g.
+# ./run_scaling_benchmark.sh -simtime 5 -out current.csv -baseline baseline.csv -threshold 0.1
+# The exit status is 1 if a regression beyond the threshold is detected.
+
+script_root_path="$(dirname "$(readlink -f "$0")")"
+
+java -classpath "${script_root_path}/../../bin:${script_root_path}/../../lib/cloudsim-7.0.0-alpha.jar:${script_root_path}/../../lib/commons-math3-3.6.1.jar:${script_root_path}/../../lib/colt.jar" edu.boun.edgecloudsim.benchmark.ScalingBenchmark -scripts ${script_root_path}/.. "$@"
@@ -21,5 +21,11 @@ else
     echo "ite${iteration_number} FAIL !!!" >> ${simulation_out_folder}/${scenario_name}/progress.log
 fi
 
-tar -czf ${scenario_out_folder}.tar.gz -C $simulation_out_folder/${scenario_name} ite${iteration_number}
+# compressed result files (result_file_compression=gzip) are only stored, not compressed again
+result_file_compression=$(sed -n 's/^result_file_compression[ \t]*=[ \t]*//p' $scenario_conf_file | tr -d '\r' | tr 'A-Z' 'a-z')
+if [ "$result_file_compression" = "gzip" ]; then
+    tar -cf ${scenario_out_folder}.tar -C $simulation_out_folder/${scenario_name} ite${iteration_number}
+else
+    tar -czf ${scenario_out_folder}.tar.gz -C $simulation_out_folder/${scenario_name} ite${iteration_number}
+fi
 rm -rf $scenario_out_folder
@@ -0,0 +1,67 @@
+#!/bin/bash
+# Runs the iterations of simulation.list on a pool of warm worker JVMs;
+# same arguments and output layout as run_scenarios.sh, call compile.sh first.
+if [ "$#" -ne 2 ]; then
+	echo "Missing arguments! Please provide number of worker JVMs and number of iterations."
+	echo "Usage: '$0 4 10'"
+	exit 1
+fi
+
+re='^[0-9]+$'
+if ! [[ $1 =~ $re ]] ; then
+	echo "$1 is not an integer! Please provide number of worker JVMs."
+	echo "Usage: '$0 4 10'"
+	exit 1
+fi
+
+if ! [[ $2 =~ $re ]] ; then
+	echo "$2 is not an integer! Please provide number of iterations."
+	echo "Usage: '$0 4 10'"
+	exit 1
+fi
+
+script_root_path="$(dirname "$(readlink -f "$0")")"
+root_out_folder=${script_root_path}/output
+num_of_workers=$1
+iterationNumber=$2
+
+date=$(date '+%d-%m-%Y_%H-%M')
+simulation_out_folder=${root_out_folder}/${date}
+mkdir -p $simulation_out_folder
+
+simulations=$(cat ${script_root_path}/simulation.list)
+
+for sim_args in $simulations
+do
+	scenario_name=$(echo $sim_args | cut -d ';' -f1)
+	mkdir -p ${simulation_out_folder}/${scenario_name}
+	echo "STARTED" > ${simulation_out_folder}/${scenario_name}/progress.log
+done
+
+setsid java -classpath "${script_root_path}/../../bin:${script_root_path}/../../lib/cloudsim-7.0.0-alpha.jar:${script_root_path}/../../lib/commons-math3-3.6.1.jar:${script_root_path}/../../lib/colt.jar" edu.boun.edgecloudsim.core.SimulationJobServer edu.boun.edgecloudsim.applications.scenario4.MainApp $script_root_path $simulation_out_folder $num_of_workers $iterationNumber > "${simulation_out_folder}/job_server.log" 2>&1 &
+pid=$!
+echo $pid >> "${simulation_out_folder}/simulation_pids.txt"
+
+echo "###############################################################"
+echo "                  SIMULARIONS ARE STARTED!"
+echo "###############################################################"
+echo "Simulation ID: ${date}"
+echo "###############################################################"
+echo "You can follow the progress via the following command"
+echo "tail -f <scenario_folder>/progress.log"
+echo "e.g."
+echo "tail -f output/${date}/${scenario_name}/progress.log"
+echo "###############################################################"
+echo "You can inspect each iteration via the following command"
+echo "tail -f <scenario_folder>/ite[n].log"
+echo "e.g."
+echo "tail -f output/${date}/${scenario_name}/ite1.log"
+echo "###############################################################"
+echo "You can follow the job server via the following command"
+echo "tail -f output/${date}/job_server.log"
+echo "###############################################################"
+echo "You can stop all simulations via the following command"
+echo "./stop_simulation.sh <simulation_id>"
+echo "e.g."
+echo "./stop_simulation.sh ${date}"
+echo "###############################################################"
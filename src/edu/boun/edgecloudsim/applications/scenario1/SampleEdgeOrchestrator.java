@@ -14,7 +14,6 @@ package edu.boun.edgecloudsim.applications.scenario1;
 import java.util.List;
 
 import org.cloudbus.cloudsim.Vm;
-import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.SimEvent;
 
 import edu.boun.edgecloudsim.core.SimManager;
@@ -106,7 +105,7 @@ public class SampleEdgeOrchestrator extends EdgeOrchestrator {
 				int randomIndex = SimUtils.getRandomNumber(0, vmArray.size()-1);
 				
 				double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(randomIndex).getVmType());
-				double targetVmCapacity = (double)100 - vmArray.get(randomIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+				double targetVmCapacity = (double)100 - vmArray.get(randomIndex).getCpuUtilization();
 				if(requiredCapacity <= targetVmCapacity)
 					selectedVM = vmArray.get(randomIndex);
 				// requiredCapacity vs targetVmCapacity check:
@@ -121,7 +120,7 @@ public class SampleEdgeOrchestrator extends EdgeOrchestrator {
 					List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(hostIndex);
 					for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
 						double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(vmIndex).getVmType());
-						double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+						double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCpuUtilization();
 						if(requiredCapacity <= targetVmCapacity && targetVmCapacity > selectedVmCapacity){
 							selectedVM = vmArray.get(vmIndex);
 							selectedVmCapacity = targetVmCapacity;
@@ -138,7 +137,7 @@ public class SampleEdgeOrchestrator extends EdgeOrchestrator {
 					List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(hostIndex);
 					for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
 						double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(vmIndex).getVmType());
-						double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+						double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCpuUtilization();
 						if(requiredCapacity <= targetVmCapacity && targetVmCapacity < selectedVmCapacity){
 							selectedVM = vmArray.get(vmIndex);
 							selectedVmCapacity = targetVmCapacity;
@@ -154,7 +153,7 @@ public class SampleEdgeOrchestrator extends EdgeOrchestrator {
 					List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(hostIndex);
 					for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
 						double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(vmIndex).getVmType());
-						double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+						double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCpuUtilization();
 						if(requiredCapacity <= targetVmCapacity){
 							selectedVM = vmArray.get(vmIndex);
 							break;
@@ -176,7 +175,7 @@ public class SampleEdgeOrchestrator extends EdgeOrchestrator {
 					while(tries < vmArray.size()){
 						lastSelectedVmIndexes[lastSelectedHostIndex] = (lastSelectedVmIndexes[lastSelectedHostIndex]+1) % vmArray.size();
 						double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(lastSelectedVmIndexes[lastSelectedHostIndex]).getVmType());
-						double targetVmCapacity = (double)100 - vmArray.get(lastSelectedVmIndexes[lastSelectedHostIndex]).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+						double targetVmCapacity = (double)100 - vmArray.get(lastSelectedVmIndexes[lastSelectedHostIndex]).getCpuUtilization();
 						if(requiredCapacity <= targetVmCapacity){
 							selectedVM = vmArray.get(lastSelectedVmIndexes[lastSelectedHostIndex]);
 							break;
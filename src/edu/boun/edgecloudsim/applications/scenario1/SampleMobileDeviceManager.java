@@ -76,6 +76,13 @@ public class SampleMobileDeviceManager extends MobileDeviceManager {
 	public void initialize() {
 		// No pre-allocation needed; networking & mobility fetched on demand.
 		// Could cache model references here for micro optimizations.
+
+		// Name the custom event tags in the event profile report
+		registerEventTag(REQUEST_RECEIVED_BY_EDGE_DEVICE, "REQUEST_RECEIVED_BY_EDGE_DEVICE");
+		registerEventTag(REQUEST_RECEIVED_BY_REMOTE_EDGE_DEVICE, "REQUEST_RECEIVED_BY_REMOTE_EDGE_DEVICE");
+		registerEventTag(REQUEST_RECEIVED_BY_EDGE_DEVICE_TO_RELAY_NEIGHBOR, "REQUEST_RECEIVED_BY_EDGE_DEVICE_TO_RELAY_NEIGHBOR");
+		registerEventTag(RESPONSE_RECEIVED_BY_MOBILE_DEVICE, "RESPONSE_RECEIVED_BY_MOBILE_DEVICE");
+		registerEventTag(RESPONSE_RECEIVED_BY_EDGE_DEVICE_TO_RELAY_MOBILE_DEVICE, "RESPONSE_RECEIVED_BY_EDGE_DEVICE_TO_RELAY_MOBILE_DEVICE");
 	}
 	
 	@Override
@@ -139,10 +146,10 @@ public class SampleMobileDeviceManager extends MobileDeviceManager {
 		
 		if(delay > 0)
 		{
-			Location currentLocation = SimManager.getInstance().getMobilityModel().getLocation(task.getMobileDeviceId(),CloudSim.clock()+delay);
-			if(task.getSubmittedLocation().getServingWlanId() == currentLocation.getServingWlanId())
+			int currentWlanId = SimManager.getInstance().getMobilityModel().servingWlanAt(task.getMobileDeviceId(),CloudSim.clock()+delay);
+			if(task.getSubmittedLocation().getServingWlanId() == currentWlanId)
 			{
-				networkModel.downloadStarted(currentLocation, nextDeviceForNetworkModel);
+				networkModel.downloadStarted(task.getSubmittedLocation(), nextDeviceForNetworkModel);
 				SimLogger.getInstance().setDownloadDelay(task.getCloudletId(), delay, delayType);
 				
 				schedule(getId(), delay, nextEvent, task);
@@ -228,10 +235,10 @@ public class SampleMobileDeviceManager extends MobileDeviceManager {
 				
 				if(delay > 0)
 				{
-					Location currentLocation = SimManager.getInstance().getMobilityModel().getLocation(task.getMobileDeviceId(),CloudSim.clock()+delay);
-					if(task.getSubmittedLocation().getServingWlanId() == currentLocation.getServingWlanId())
+					int currentWlanId = SimManager.getInstance().getMobilityModel().servingWlanAt(task.getMobileDeviceId(),CloudSim.clock()+delay);
+					if(task.getSubmittedLocation().getServingWlanId() == currentWlanId)
 					{
-						networkModel.downloadStarted(currentLocation, SimSettings.GENERIC_EDGE_DEVICE_ID);
+						networkModel.downloadStarted(task.getSubmittedLocation(), SimSettings.GENERIC_EDGE_DEVICE_ID);
 						SimLogger.getInstance().setDownloadDelay(task.getCloudletId(), delay, NETWORK_DELAY_TYPES.WLAN_DELAY);
 						schedule(getId(), delay, RESPONSE_RECEIVED_BY_MOBILE_DEVICE, task);
 					}
@@ -364,7 +371,7 @@ public class SampleMobileDeviceManager extends MobileDeviceManager {
 		// Immediate (zero-delay) submission to the target VM's datacenter broker mapping.
 		// Logging captures placement tuple for traceability.
 		//SimLogger.printLine(CloudSim.clock() + ": Cloudlet#" + task.getCloudletId() + " is submitted to VM#" + task.getVmId());
-		schedule(getVmsToDatacentersMap().get(task.getVmId()), 0, CloudSimTags.CLOUDLET_SUBMIT, task);
+		schedule(getDatacenterIdOfVm(task.getVmId()), 0, CloudSimTags.CLOUDLET_SUBMIT, task);
 
 		SimLogger.getInstance().taskAssigned(task.getCloudletId(),
 				task.getAssociatedDatacenterId(),
@@ -208,16 +208,16 @@ public class SampleNetworkModel extends NetworkModel {
 			return delay = getManUploadDelay();
 		}
 		
-		Location accessPointLocation = SimManager.getInstance().getMobilityModel().getLocation(sourceDeviceId,CloudSim.clock());
+		int accessPointId = SimManager.getInstance().getMobilityModel().servingWlanAt(sourceDeviceId,CloudSim.clock());
 
 		//mobile device to cloud server
 		if(destDeviceId == SimSettings.CLOUD_DATACENTER_ID){
-			delay = getWanUploadDelay(accessPointLocation, task.getCloudletFileSize());
+			delay = getWanUploadDelay(accessPointId, task.getCloudletFileSize());
 		}
 		//mobile device to edge device (wifi access point)
 		else if (destDeviceId == SimSettings.GENERIC_EDGE_DEVICE_ID) {
 			// Fetch current WLAN zone of mobile for throughput lookup
-			delay = getWlanUploadDelay(accessPointLocation, task.getCloudletFileSize());
+			delay = getWlanUploadDelay(accessPointId, task.getCloudletFileSize());
 		}
 		
 		return delay;
@@ -237,16 +237,16 @@ public class SampleNetworkModel extends NetworkModel {
 			return delay = getManDownloadDelay();
 		}
 		
-		Location accessPointLocation = SimManager.getInstance().getMobilityModel().getLocation(destDeviceId,CloudSim.clock());
+		int accessPointId = SimManager.getInstance().getMobilityModel().servingWlanAt(destDeviceId,CloudSim.clock());
 		
 		//cloud server to mobile device
 		if(sourceDeviceId == SimSettings.CLOUD_DATACENTER_ID){
-			delay = getWanDownloadDelay(accessPointLocation, task.getCloudletOutputSize());
+			delay = getWanDownloadDelay(accessPointId, task.getCloudletOutputSize());
 		}
 		//edge device (wifi access point) to mobile device
 		else{
 			// Destination (mobile) current WLAN determines contention level
-			delay = getWlanDownloadDelay(accessPointLocation, task.getCloudletOutputSize());
+			delay = getWlanDownloadDelay(accessPointId, task.getCloudletOutputSize());
 		}
 		
 		return delay;
@@ -311,10 +311,10 @@ public class SampleNetworkModel extends NetworkModel {
 		}
 	}
 
-	private double getWlanDownloadDelay(Location accessPointLocation, double dataSize) {
+	private double getWlanDownloadDelay(int accessPointId, double dataSize) {
 		// Convert KB -> Kb, then divide by empirical throughput (adjusted x3 for 802.11ac uplift).
 		// If #users exceeds table length => result stays 0 (interpreted as bandwidth failure upstream).
-		int numOfWlanUser = wlanClients[accessPointLocation.getServingWlanId()];
+		int numOfWlanUser = wlanClients[accessPointId];
 		double taskSizeInKb = dataSize * (double)8; //KB to Kb
 		double result=0;
 		
@@ -326,13 +326,13 @@ public class SampleNetworkModel extends NetworkModel {
 	}
 	
 	// WLAN upload mirrors download (symmetric assumption).
-	private double getWlanUploadDelay(Location accessPointLocation, double dataSize) {
-		return getWlanDownloadDelay(accessPointLocation, dataSize);
+	private double getWlanUploadDelay(int accessPointId, double dataSize) {
+		return getWlanDownloadDelay(accessPointId, dataSize);
 	}
 	
-	private double getWanDownloadDelay(Location accessPointLocation, double dataSize) {
+	private double getWanDownloadDelay(int accessPointId, double dataSize) {
 		// Similar to WLAN formula without 802.11ac multiplier (table already calibrated).
-		int numOfWanUser = wanClients[accessPointLocation.getServingWlanId()];
+		int numOfWanUser = wanClients[accessPointId];
 		double taskSizeInKb = dataSize * (double)8; //KB to Kb
 		double result=0;
 		
@@ -345,8 +345,8 @@ public class SampleNetworkModel extends NetworkModel {
 	}
 	
 	// WAN upload mirrors download (symmetric assumption).
-	private double getWanUploadDelay(Location accessPointLocation, double dataSize) {
-		return getWanDownloadDelay(accessPointLocation, dataSize);
+	private double getWanUploadDelay(int accessPointId, double dataSize) {
+		return getWanDownloadDelay(accessPointId, dataSize);
 	}
 	
 	
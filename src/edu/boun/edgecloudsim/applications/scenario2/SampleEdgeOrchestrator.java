@@ -24,7 +24,6 @@ import edu.boun.edgecloudsim.edge_server.EdgeVM;
 import edu.boun.edgecloudsim.edge_client.CpuUtilizationModel_Custom;
 import edu.boun.edgecloudsim.edge_client.Task;
 import edu.boun.edgecloudsim.edge_client.mobile_processing_unit.MobileVM;
-import edu.boun.edgecloudsim.utils.Location;
 import edu.boun.edgecloudsim.utils.SimLogger;
 import edu.boun.edgecloudsim.utils.SimUtils;
 
@@ -82,11 +81,9 @@ public class SampleEdgeOrchestrator extends EdgeOrchestrator {
 			// EDGE_UTIL_HEURISTIC:
 			// Determine serving WLAN -> host id mapping (1:1 in this scenario).
 			// If edge host utilization below 90% offload to edge, else fallback to local.
-			Location deviceLocation = SimManager.getInstance().getMobilityModel().getLocation(task.getMobileDeviceId(), CloudSim.clock());
-			
 			//in this scenario, clients can only offload to edge servers located in the serving WLAN place
 			//serving wlan ID is equal to the host id because there is only one host in one place
-			int relatedHostId=deviceLocation.getServingWlanId();
+			int relatedHostId=SimManager.getInstance().getMobilityModel().servingWlanAt(task.getMobileDeviceId(), CloudSim.clock());
 			
 			SampleEdgeServerManager sesm = (SampleEdgeServerManager)SimManager.getInstance().getEdgeServerManager();
 			double edgeUtilization = sesm.getAvgHostUtilization(relatedHostId);
@@ -112,7 +109,7 @@ public class SampleEdgeOrchestrator extends EdgeOrchestrator {
 			// Predict required CPU vs free capacity; accept if fits.
 			List<MobileVM> vmArray = SimManager.getInstance().getMobileServerManager().getVmList(task.getMobileDeviceId());
 			double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(0).getVmType());
-			double targetVmCapacity = (double) 100 - vmArray.get(0).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+			double targetVmCapacity = (double) 100 - vmArray.get(0).getCpuUtilization();
 			
 			if (requiredCapacity <= targetVmCapacity)
 				selectedVM = vmArray.get(0);
@@ -122,11 +119,9 @@ public class SampleEdgeOrchestrator extends EdgeOrchestrator {
 			// 1) Find host in serving WLAN
 			// 2) Iterate its VMs selecting the one with largest free capacity (WORST FIT)
 			// 3) Use predictive model for required CPU
-			Location deviceLocation = SimManager.getInstance().getMobilityModel().getLocation(task.getMobileDeviceId(), CloudSim.clock());
-			
 			//in this scenario, clients can only offload to edge servers located in the serving WLAN place
 			//serving wlan ID is equal to the host id because there is only one host in one place
-			int relatedHostId=deviceLocation.getServingWlanId();
+			int relatedHostId=SimManager.getInstance().getMobilityModel().servingWlanAt(task.getMobileDeviceId(), CloudSim.clock());
 			
 			List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(relatedHostId);
 			
@@ -134,7 +129,7 @@ public class SampleEdgeOrchestrator extends EdgeOrchestrator {
 			double selectedVmCapacity = 0; //start with min value
 			for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
 				double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(vmIndex).getVmType());
-				double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+				double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCpuUtilization();
 				if(requiredCapacity <= targetVmCapacity && targetVmCapacity > selectedVmCapacity){
 					selectedVM = vmArray.get(vmIndex);
 					selectedVmCapacity = targetVmCapacity;
@@ -16,7 +16,6 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
 import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.DatacenterCharacteristics;
 import org.cloudbus.cloudsim.Host;
@@ -24,17 +23,15 @@ import org.cloudbus.cloudsim.Pe;
 import org.cloudbus.cloudsim.Storage;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
 import org.cloudbus.cloudsim.VmSchedulerSpaceShared;
-import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
 import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
 import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
+import edu.boun.edgecloudsim.core.ScenarioModel;
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.edge_client.CloudletSchedulerTimeShared_Custom;
+import edu.boun.edgecloudsim.edge_client.VmUtilizationAggregates;
 import edu.boun.edgecloudsim.edge_server.EdgeHost;
 import edu.boun.edgecloudsim.edge_server.EdgeServerManager;
 import edu.boun.edgecloudsim.edge_server.EdgeVM;
@@ -69,12 +66,9 @@ public class SampleEdgeServerManager extends EdgeServerManager{
 	
 	public void startDatacenters() throws Exception{
 		// Parse <datacenter> nodes and build each datacenter with its host list
-		Document doc = SimSettings.getInstance().getEdgeDevicesDocument();
-		NodeList datacenterList = doc.getElementsByTagName("datacenter");
-		for (int i = 0; i < datacenterList.getLength(); i++) {
-			Node datacenterNode = datacenterList.item(i);
-			Element datacenterElement = (Element) datacenterNode;
-			localDatacenters.add(createDatacenter(i, datacenterElement));
+		ScenarioModel scenarioModel = SimSettings.getInstance().getScenarioModel();
+		for (int i = 0; i < scenarioModel.getNumOfDatacenters(); i++) {
+			localDatacenters.add(createDatacenter(i, scenarioModel.getDatacenter(i)));
 		}
 	}
 
@@ -85,32 +79,26 @@ public class SampleEdgeServerManager extends EdgeServerManager{
 		int vmCounter=0;
 		
 		//Create VMs for each hosts
-		Document doc = SimSettings.getInstance().getEdgeDevicesDocument();
-		NodeList datacenterList = doc.getElementsByTagName("datacenter");
-		for (int i = 0; i < datacenterList.getLength(); i++) {
-			Node datacenterNode = datacenterList.item(i);
-			Element datacenterElement = (Element) datacenterNode;
-			NodeList hostNodeList = datacenterElement.getElementsByTagName("host");
-			for (int j = 0; j < hostNodeList.getLength(); j++) {
+		ScenarioModel scenarioModel = SimSettings.getInstance().getScenarioModel();
+		for (int i = 0; i < scenarioModel.getNumOfDatacenters(); i++) {
+			ScenarioModel.DatacenterSpec datacenterSpec = scenarioModel.getDatacenter(i);
+			for (int j = 0; j < datacenterSpec.getNumOfHosts(); j++) {
 				
 				vmList.add(hostCounter, new ArrayList<EdgeVM>());
 				
-				Node hostNode = hostNodeList.item(j);
-				Element hostElement = (Element) hostNode;
-				NodeList vmNodeList = hostElement.getElementsByTagName("VM");
-				for (int k = 0; k < vmNodeList.getLength(); k++) {
-					Node vmNode = vmNodeList.item(k);					
-					Element vmElement = (Element) vmNode;
-
-					String vmm = vmElement.getAttribute("vmm");
-					int numOfCores = Integer.parseInt(vmElement.getElementsByTagName("core").item(0).getTextContent());
-					double mips = Double.parseDouble(vmElement.getElementsByTagName("mips").item(0).getTextContent());
-					int ram = Integer.parseInt(vmElement.getElementsByTagName("ram").item(0).getTextContent());
-					long storage = Long.parseLong(vmElement.getElementsByTagName("storage").item(0).getTextContent());
-					long bandwidth = SimSettings.getInstance().getWlanBandwidth() / (hostNodeList.getLength()+vmNodeList.getLength());
+				ScenarioModel.HostSpec hostSpec = datacenterSpec.getHost(j);
+				for (int k = 0; k < hostSpec.getNumOfVms(); k++) {
+					ScenarioModel.VmSpec vmSpec = hostSpec.getVm(k);
+
+					String vmm = vmSpec.getVmm();
+					int numOfCores = vmSpec.getCore();
+					double mips = vmSpec.getMips();
+					int ram = vmSpec.getRam();
+					long storage = vmSpec.getStorage();
+					long bandwidth = SimSettings.getInstance().getWlanBandwidth() / (datacenterSpec.getNumOfHosts()+hostSpec.getNumOfVms());
 					
 					//VM Parameters		
-					EdgeVM vm = new EdgeVM(vmCounter, brokerId, mips, numOfCores, ram, bandwidth, storage, vmm, new CloudletSchedulerTimeShared());
+					EdgeVM vm = new EdgeVM(vmCounter, brokerId, mips, numOfCores, ram, bandwidth, storage, vmm, new CloudletSchedulerTimeShared_Custom());
 					vmList.get(hostCounter).add(vm);
 					vmCounter++;
 				}
@@ -129,6 +117,10 @@ public class SampleEdgeServerManager extends EdgeServerManager{
 
 	// Average CPU utilization across all VMs in all datacenters (0..1)
 	public double getAvgUtilization(){
+		VmUtilizationAggregates utilizationAggregates = getUtilizationAggregates();
+		if(utilizationAggregates != null)
+			return utilizationAggregates.getAvgUtilization();
+		
 		// Accumulate current scheduler utilization per VM at simulation clock time
 		double totalUtilization = 0;
 		double vmCounter = 0;
@@ -142,7 +134,7 @@ public class SampleEdgeServerManager extends EdgeServerManager{
 				List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(host.getId());
 				//for each vm...
 				for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
-					totalUtilization += vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+					totalUtilization += vmArray.get(vmIndex).getCpuUtilization();
 					vmCounter++;
 				}
 			}
@@ -151,6 +143,10 @@ public class SampleEdgeServerManager extends EdgeServerManager{
 	}
 	
 	public double getAvgHostUtilization(int hostIndex){
+		VmUtilizationAggregates utilizationAggregates = getUtilizationAggregates();
+		if(utilizationAggregates != null)
+			return utilizationAggregates.getAvgHostUtilization(hostIndex);
+		
 		// Average utilization of a single host (mean of its VMs)
 		double totalUtilization = 0;
 		double vmCounter = 0;
@@ -158,25 +154,25 @@ public class SampleEdgeServerManager extends EdgeServerManager{
 		List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(hostIndex);
 		//for each vm...
 		for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
-			totalUtilization += vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+			totalUtilization += vmArray.get(vmIndex).getCpuUtilization();
 			vmCounter++;
 		}
 		
 		return totalUtilization / vmCounter;
 	}
 
-	private Datacenter createDatacenter(int index, Element datacenterElement) throws Exception{
+	private Datacenter createDatacenter(int index, ScenarioModel.DatacenterSpec datacenterSpec) throws Exception{
 		// Extract datacenter-level attributes + cost model from XML
 		// Build host list first, then wrap into DatacenterCharacteristics
-		String arch = datacenterElement.getAttribute("arch");
-		String os = datacenterElement.getAttribute("os");
-		String vmm = datacenterElement.getAttribute("vmm");
-		double costPerBw = Double.parseDouble(datacenterElement.getElementsByTagName("costPerBw").item(0).getTextContent());
-		double costPerSec = Double.parseDouble(datacenterElement.getElementsByTagName("costPerSec").item(0).getTextContent());
-		double costPerMem = Double.parseDouble(datacenterElement.getElementsByTagName("costPerMem").item(0).getTextContent());
-		double costPerStorage = Double.parseDouble(datacenterElement.getElementsByTagName("costPerStorage").item(0).getTextContent());
+		String arch = datacenterSpec.getArch();
+		String os = datacenterSpec.getOs();
+		String vmm = datacenterSpec.getVmm();
+		double costPerBw = datacenterSpec.getCostPerBw();
+		double costPerSec = datacenterSpec.getCostPerSec();
+		double costPerMem = datacenterSpec.getCostPerMem();
+		double costPerStorage = datacenterSpec.getCostPerStorage();
 		
-		List<EdgeHost> hostList=createHosts(datacenterElement);
+		List<EdgeHost> hostList=createHosts(datacenterSpec);
 		
 		String name = "Datacenter_" + Integer.toString(index);
 		double time_zone = 3.0;         // time zone this resource located
@@ -199,30 +195,26 @@ public class SampleEdgeServerManager extends EdgeServerManager{
 		return datacenter;
 	}
 	
-	private List<EdgeHost> createHosts(Element datacenterElement){
+	private List<EdgeHost> createHosts(ScenarioModel.DatacenterSpec datacenterSpec){
 		// Parse <host> nodes; each host defines core count, mips, ram, storage, bandwidth slice
 		// Location metadata (attractiveness, coordinates, wlan_id) bound to each host for mobility mapping
 		// Here are the steps needed to create a PowerDatacenter:
 		// 1. We need to create a list to store one or more Machines
 		List<EdgeHost> hostList = new ArrayList<EdgeHost>();
 		
-		Element location = (Element)datacenterElement.getElementsByTagName("location").item(0);
-		String attractiveness = location.getElementsByTagName("attractiveness").item(0).getTextContent();
-		int wlan_id = Integer.parseInt(location.getElementsByTagName("wlan_id").item(0).getTextContent());
-		int x_pos = Integer.parseInt(location.getElementsByTagName("x_pos").item(0).getTextContent());
-		int y_pos = Integer.parseInt(location.getElementsByTagName("y_pos").item(0).getTextContent());
-		int placeTypeIndex = Integer.parseInt(attractiveness);
-
-		NodeList hostNodeList = datacenterElement.getElementsByTagName("host");
-		for (int j = 0; j < hostNodeList.getLength(); j++) {
-			Node hostNode = hostNodeList.item(j);
-			
-			Element hostElement = (Element) hostNode;
-			int numOfCores = Integer.parseInt(hostElement.getElementsByTagName("core").item(0).getTextContent());
-			double mips = Double.parseDouble(hostElement.getElementsByTagName("mips").item(0).getTextContent());
-			int ram = Integer.parseInt(hostElement.getElementsByTagName("ram").item(0).getTextContent());
-			long storage = Long.parseLong(hostElement.getElementsByTagName("storage").item(0).getTextContent());
-			long bandwidth = SimSettings.getInstance().getWlanBandwidth() / hostNodeList.getLength();
+		Location location = datacenterSpec.getLocation();
+		int wlan_id = location.getServingWlanId();
+		int x_pos = location.getXPos();
+		int y_pos = location.getYPos();
+		int placeTypeIndex = location.getPlaceTypeIndex();
+
+		for (int j = 0; j < datacenterSpec.getNumOfHosts(); j++) {
+			ScenarioModel.HostSpec hostSpec = datacenterSpec.getHost(j);
+			int numOfCores = hostSpec.getCore();
+			double mips = hostSpec.getMips();
+			int ram = hostSpec.getRam();
+			long storage = hostSpec.getStorage();
+			long bandwidth = SimSettings.getInstance().getWlanBandwidth() / datacenterSpec.getNumOfHosts();
 			
 			// 2. A Machine contains one or more PEs or CPUs/Cores. Therefore, should
 			//    create a list to store these PEs before creating
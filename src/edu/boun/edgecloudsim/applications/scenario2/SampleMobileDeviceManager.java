@@ -69,6 +69,10 @@ public class SampleMobileDeviceManager extends MobileDeviceManager {
 
 	@Override
 	public void initialize() {
+		// Name the custom event tags in the event profile report
+		registerEventTag(REQUEST_RECEIVED_BY_EDGE_DEVICE, "REQUEST_RECEIVED_BY_EDGE_DEVICE");
+		registerEventTag(REQUEST_RECEIVED_BY_MOBILE_DEVICE, "REQUEST_RECEIVED_BY_MOBILE_DEVICE");
+		registerEventTag(RESPONSE_RECEIVED_BY_MOBILE_DEVICE, "RESPONSE_RECEIVED_BY_MOBILE_DEVICE");
 	}
 	
 	@Override
@@ -117,8 +121,8 @@ public class SampleMobileDeviceManager extends MobileDeviceManager {
 			
 			if(delay > 0)
 			{
-				Location currentLocation = SimManager.getInstance().getMobilityModel().getLocation(task.getMobileDeviceId(),CloudSim.clock()+delay);
-				if(task.getSubmittedLocation().getServingWlanId() == currentLocation.getServingWlanId())
+				int currentWlanId = SimManager.getInstance().getMobilityModel().servingWlanAt(task.getMobileDeviceId(),CloudSim.clock()+delay);
+				if(task.getSubmittedLocation().getServingWlanId() == currentWlanId)
 				{
 					networkModel.downloadStarted(task.getSubmittedLocation(), SimSettings.GENERIC_EDGE_DEVICE_ID);
 					SimLogger.getInstance().setDownloadDelay(task.getCloudletId(), delay, NETWORK_DELAY_TYPES.WLAN_DELAY);
@@ -326,7 +330,7 @@ public class SampleMobileDeviceManager extends MobileDeviceManager {
 		// Zero-delay submission to VM (CloudSim processes scheduling)
 		// Logging captures (dc, host, vm) tuple for analysis
 		//SimLogger.printLine(CloudSim.clock() + ": Cloudlet#" + task.getCloudletId() + " is submitted to VM#" + task.getVmId());
-		schedule(getVmsToDatacentersMap().get(task.getVmId()), 0, CloudSimTags.CLOUDLET_SUBMIT, task);
+		schedule(getDatacenterIdOfVm(task.getVmId()), 0, CloudSimTags.CLOUDLET_SUBMIT, task);
 
 		SimLogger.getInstance().taskAssigned(task.getCloudletId(),
 				task.getAssociatedDatacenterId(),
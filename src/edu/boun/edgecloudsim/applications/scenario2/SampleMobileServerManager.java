@@ -15,7 +15,6 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
 import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.DatacenterCharacteristics;
 import org.cloudbus.cloudsim.Host;
@@ -23,13 +22,14 @@ import org.cloudbus.cloudsim.Pe;
 import org.cloudbus.cloudsim.Storage;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
 import org.cloudbus.cloudsim.VmSchedulerSpaceShared;
-import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
 import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
 import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
 
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.edge_client.CloudletSchedulerTimeShared_Custom;
+import edu.boun.edgecloudsim.edge_client.VmUtilizationAggregates;
 import edu.boun.edgecloudsim.edge_client.mobile_processing_unit.MobileHost;
 import edu.boun.edgecloudsim.edge_client.mobile_processing_unit.MobileServerManager;
 import edu.boun.edgecloudsim.edge_client.mobile_processing_unit.MobileVM;
@@ -92,7 +92,7 @@ public class SampleMobileServerManager extends MobileServerManager{
 			long bandwidth = 0;
 			
 			//VM Parameters		
-			MobileVM vm = new MobileVM(vmCounter, brokerId, mips, numOfCores, ram, bandwidth, storage, vmm, new CloudletSchedulerTimeShared());
+			MobileVM vm = new MobileVM(vmCounter, brokerId, mips, numOfCores, ram, bandwidth, storage, vmm, new CloudletSchedulerTimeShared_Custom());
 			vmList.get(i).add(vm);
 			vmCounter++;
 		}
@@ -100,6 +100,10 @@ public class SampleMobileServerManager extends MobileServerManager{
 
 	@Override
 	public double getAvgUtilization() {
+		VmUtilizationAggregates utilizationAggregates = getUtilizationAggregates();
+		if(utilizationAggregates != null)
+			return utilizationAggregates.getAvgUtilization();
+		
 		// Aggregate CPU utilization across all mobile VMs at current simulation time
 		double totalUtilization = 0;
 		double vmCounter = 0;
@@ -110,7 +114,7 @@ public class SampleMobileServerManager extends MobileServerManager{
 			List<MobileVM> vmArray = SimManager.getInstance().getMobileServerManager().getVmList(hostIndex);
 			//for each vm...
 			for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
-				totalUtilization += vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+				totalUtilization += vmArray.get(vmIndex).getCpuUtilization();
 				vmCounter++;
 			}
 		}
@@ -119,6 +123,10 @@ public class SampleMobileServerManager extends MobileServerManager{
 	}
 
 	public double getAvgHostUtilization(int hostIndex) {
+		VmUtilizationAggregates utilizationAggregates = getUtilizationAggregates();
+		if(utilizationAggregates != null)
+			return utilizationAggregates.getAvgHostUtilization(hostIndex);
+		
 		// Mean utilization across VMs on a specific mobile host (currently always 1 VM)
 		double totalUtilization = 0;
 		double vmCounter = 0;
@@ -126,7 +134,7 @@ public class SampleMobileServerManager extends MobileServerManager{
 		List<MobileVM> vmArray = SimManager.getInstance().getMobileServerManager().getVmList(hostIndex);
 		//for each vm...
 		for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
-			totalUtilization += vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+			totalUtilization += vmArray.get(vmIndex).getCpuUtilization();
 			vmCounter++;
 		}
 		
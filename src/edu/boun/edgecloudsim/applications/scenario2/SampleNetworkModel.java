@@ -205,15 +205,15 @@ public class SampleNetworkModel extends NetworkModel {
 			return delay = getManUploadDelay();
 		}
 		
-		Location accessPointLocation = SimManager.getInstance().getMobilityModel().getLocation(sourceDeviceId,CloudSim.clock());
+		int accessPointId = SimManager.getInstance().getMobilityModel().servingWlanAt(sourceDeviceId,CloudSim.clock());
 
 		//mobile device to cloud server
 		if(destDeviceId == SimSettings.CLOUD_DATACENTER_ID){
-			delay = getWanUploadDelay(accessPointLocation, task.getCloudletFileSize());
+			delay = getWanUploadDelay(accessPointId, task.getCloudletFileSize());
 		}
 		//mobile device to edge device (wifi access point)
 		else if (destDeviceId == SimSettings.GENERIC_EDGE_DEVICE_ID) {
-			delay = getWlanUploadDelay(accessPointLocation, task.getCloudletFileSize());
+			delay = getWlanUploadDelay(accessPointId, task.getCloudletFileSize());
 		}
 		
 		return delay;
@@ -232,15 +232,15 @@ public class SampleNetworkModel extends NetworkModel {
 			return delay = getManDownloadDelay();
 		}
 		
-		Location accessPointLocation = SimManager.getInstance().getMobilityModel().getLocation(destDeviceId,CloudSim.clock());
+		int accessPointId = SimManager.getInstance().getMobilityModel().servingWlanAt(destDeviceId,CloudSim.clock());
 		
 		//cloud server to mobile device
 		if(sourceDeviceId == SimSettings.CLOUD_DATACENTER_ID){
-			delay = getWanDownloadDelay(accessPointLocation, task.getCloudletOutputSize());
+			delay = getWanDownloadDelay(accessPointId, task.getCloudletOutputSize());
 		}
 		//edge device (wifi access point) to mobile device
 		else{
-			delay = getWlanDownloadDelay(accessPointLocation, task.getCloudletOutputSize());
+			delay = getWlanDownloadDelay(accessPointId, task.getCloudletOutputSize());
 		}
 		
 		return delay;
@@ -306,10 +306,10 @@ public class SampleNetworkModel extends NetworkModel {
 		}
 	}
 
-	private double getWlanDownloadDelay(Location accessPointLocation, double dataSize) {
+	private double getWlanDownloadDelay(int accessPointId, double dataSize) {
 		// Convert KB -> Kb, divide by scaled empirical throughput.
 		// If user count >= table size, returns 0 (signals bandwidth failure).
-		int numOfWlanUser = wlanClients[accessPointLocation.getServingWlanId()];
+		int numOfWlanUser = wlanClients[accessPointId];
 		double taskSizeInKb = dataSize * (double)8; //KB to Kb
 		double result=0;
 		
@@ -321,13 +321,13 @@ public class SampleNetworkModel extends NetworkModel {
 	}
 	
 	// WLAN upload treated as symmetric.
-	private double getWlanUploadDelay(Location accessPointLocation, double dataSize) {
-		return getWlanDownloadDelay(accessPointLocation, dataSize);
+	private double getWlanUploadDelay(int accessPointId, double dataSize) {
+		return getWlanDownloadDelay(accessPointId, dataSize);
 	}
 	
-	private double getWanDownloadDelay(Location accessPointLocation, double dataSize) {
+	private double getWanDownloadDelay(int accessPointId, double dataSize) {
 		// Similar to WLAN calculation but uses WAN table directly (no scaling factor).
-		int numOfWanUser = wanClients[accessPointLocation.getServingWlanId()];
+		int numOfWanUser = wanClients[accessPointId];
 		double taskSizeInKb = dataSize * (double)8; //KB to Kb
 		double result=0;
 		
@@ -340,8 +340,8 @@ public class SampleNetworkModel extends NetworkModel {
 	}
 	
 	// WAN upload treated as symmetric.
-	private double getWanUploadDelay(Location accessPointLocation, double dataSize) {
-		return getWanDownloadDelay(accessPointLocation, dataSize);
+	private double getWanUploadDelay(int accessPointId, double dataSize) {
+		return getWanDownloadDelay(accessPointId, dataSize);
 	}
 	
 	
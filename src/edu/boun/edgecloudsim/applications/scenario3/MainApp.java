@@ -18,6 +18,7 @@ import java.util.Date;
 import org.cloudbus.cloudsim.Log;
 import org.cloudbus.cloudsim.core.CloudSim;
 
+import edu.boun.edgecloudsim.core.ParallelSweepRunner;
 import edu.boun.edgecloudsim.core.ScenarioFactory;
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
@@ -29,6 +30,9 @@ public class MainApp {
 	public static final int EXPECTED_NUM_OF_ARGS = 5;
 	public static final String SCENARIO_NAME = "scenario3";
 
+	/** creates the scenario factory of a sweep point run by ParallelSweepRunner */
+	public static final ParallelSweepRunner.ScenarioFactoryCreator SCENARIO_FACTORY = SampleScenarioFactory::new;
+
 	// Execution roadmap:
 	// 1) Parse CLI args (or apply defaults for IDE runs)
 	// 2) Initialize SimSettings (config, devices, applications)
@@ -96,8 +100,13 @@ public class MainApp {
 		SimSettings SS = SimSettings.getInstance();
 		if(SS.initialize(configFile, edgeDevicesFile, applicationsFile) == false){
 			SimLogger.printLine("cannot initialize simulation settings!");
-			System.exit(0);
+			System.exit(1);
 		}
+
+		// Sweep points are simulated concurrently in isolated contexts if more than one thread is configured
+		ParallelSweepRunner sweepRunner = null;
+		if(SS.getSweepThreadCount() > 1)
+			sweepRunner = new ParallelSweepRunner(MainApp.class.getName(), SS.getSweepThreadCount(), configFile, edgeDevicesFile, applicationsFile);
 		
 		// Human-readable timestamp formatter for scenario start/end logging
 		DateFormat df = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
@@ -150,6 +159,12 @@ public class MainApp {
 						// Extract current simulation factors and log scenario header
 						String simScenario = SS.getSimulationScenarios()[k];
 						String orchestratorPolicy = SS.getOrchestratorPolicies()[i];
+
+						if(sweepRunner != null){
+							sweepRunner.submit(outputFolder, iterationNumber, j, simScenario, orchestratorPolicy);
+							continue;
+						}
+
 						Date ScenarioStartDate = Calendar.getInstance().getTime();
 						now = df.format(ScenarioStartDate);
 	
@@ -169,6 +184,10 @@ public class MainApp {
 							Calendar calendar = Calendar.getInstance();
 							boolean trace_flag = false;  // mean trace events
 	
+							// Seed depends only on the sweep point, so serial and concurrent sweeps give the same results
+							if(SS.isRandomSeedEnabled())
+								SimUtils.setRandomSeed(SimUtils.getSweepPointSeed(SS.getRandomSeed(), iterationNumber, j, simScenario, orchestratorPolicy));
+
 							// Initialize the CloudSim library
 							CloudSim.init(num_user, calendar, trace_flag, 0.01);
 	
@@ -186,7 +205,7 @@ public class MainApp {
 							// Fail fast: prevent mixing partial/corrupted results with valid ones
 							SimLogger.printLine("The simulation has been terminated due to an unexpected error");
 							e.printStackTrace();
-							System.exit(0);
+							System.exit(1);
 						}
 	
 						// Log per-scenario elapsed real time (wall-clock difference)
@@ -199,6 +218,9 @@ public class MainApp {
 			}//End of mobile devices loop
 		}//End of iteration loop
 
+		if(sweepRunner != null)
+			sweepRunner.awaitCompletion();
+
 		// Final summary for entire multi-iteration batch
 		Date SimulationEndDate = Calendar.getInstance().getTime();
 		now = df.format(SimulationEndDate);
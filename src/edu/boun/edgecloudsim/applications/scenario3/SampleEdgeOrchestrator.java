@@ -16,7 +16,6 @@ import java.util.List;
 import org.cloudbus.cloudsim.Host;
 import org.cloudbus.cloudsim.UtilizationModelFull;
 import org.cloudbus.cloudsim.Vm;
-import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.SimEvent;
 
 import edu.boun.edgecloudsim.cloud_server.CloudVM;
@@ -128,7 +127,7 @@ public class SampleEdgeOrchestrator extends EdgeOrchestrator {
 					// targetVmCapacity: current free CPU% on the VM
 					// Accept and update best if residual capacity larger
 					double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(vmIndex).getVmType());
-					double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+					double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCpuUtilization();
 					if(requiredCapacity <= targetVmCapacity && targetVmCapacity > selectedVmCapacity){
 						selectedVM = vmArray.get(vmIndex);
 						selectedVmCapacity = targetVmCapacity;
@@ -144,7 +143,7 @@ public class SampleEdgeOrchestrator extends EdgeOrchestrator {
 				List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(hostIndex);
 				for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
 					double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(vmIndex).getVmType());
-					double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+					double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCpuUtilization();
 					if(requiredCapacity <= targetVmCapacity && targetVmCapacity > selectedVmCapacity){
 						selectedVM = vmArray.get(vmIndex);
 						selectedVmCapacity = targetVmCapacity;
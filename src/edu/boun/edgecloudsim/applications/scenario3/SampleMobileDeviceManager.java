@@ -79,6 +79,14 @@ public class SampleMobileDeviceManager extends MobileDeviceManager {
 
 	@Override
 	public void initialize() {
+		// Name the custom event tags in the event profile report
+		registerEventTag(UPDATE_MM1_QUEUE_MODEL, "UPDATE_MM1_QUEUE_MODEL");
+		registerEventTag(REQUEST_RECEIVED_BY_CLOUD, "REQUEST_RECEIVED_BY_CLOUD");
+		registerEventTag(REQUEST_RECEIVED_BY_EDGE_DEVICE, "REQUEST_RECEIVED_BY_EDGE_DEVICE");
+		registerEventTag(REQUEST_RECEIVED_BY_REMOTE_EDGE_DEVICE, "REQUEST_RECEIVED_BY_REMOTE_EDGE_DEVICE");
+		registerEventTag(REQUEST_RECEIVED_BY_EDGE_DEVICE_TO_RELAY_NEIGHBOR, "REQUEST_RECEIVED_BY_EDGE_DEVICE_TO_RELAY_NEIGHBOR");
+		registerEventTag(RESPONSE_RECEIVED_BY_MOBILE_DEVICE, "RESPONSE_RECEIVED_BY_MOBILE_DEVICE");
+		registerEventTag(RESPONSE_RECEIVED_BY_EDGE_DEVICE_TO_RELAY_MOBILE_DEVICE, "RESPONSE_RECEIVED_BY_EDGE_DEVICE_TO_RELAY_MOBILE_DEVICE");
 	}
 	
 	@Override
@@ -128,8 +136,8 @@ public class SampleMobileDeviceManager extends MobileDeviceManager {
 			double WanDelay = networkModel.getDownloadDelay(SimSettings.CLOUD_DATACENTER_ID, task.getMobileDeviceId(), task);
 			if(WanDelay > 0)
 			{
-				Location currentLocation = SimManager.getInstance().getMobilityModel().getLocation(task.getMobileDeviceId(),CloudSim.clock()+WanDelay);
-				if(task.getSubmittedLocation().getServingWlanId() == currentLocation.getServingWlanId())
+				int currentWlanId = SimManager.getInstance().getMobilityModel().servingWlanAt(task.getMobileDeviceId(),CloudSim.clock()+WanDelay);
+				if(task.getSubmittedLocation().getServingWlanId() == currentWlanId)
 				{
 					networkModel.downloadStarted(task.getSubmittedLocation(), SimSettings.CLOUD_DATACENTER_ID);
 					SimLogger.getInstance().setDownloadDelay(task.getCloudletId(), WanDelay, NETWORK_DELAY_TYPES.WAN_DELAY);
@@ -171,10 +179,10 @@ public class SampleMobileDeviceManager extends MobileDeviceManager {
 			
 			if(delay > 0)
 			{
-				Location currentLocation = SimManager.getInstance().getMobilityModel().getLocation(task.getMobileDeviceId(),CloudSim.clock()+delay);
-				if(task.getSubmittedLocation().getServingWlanId() == currentLocation.getServingWlanId())
+				int currentWlanId = SimManager.getInstance().getMobilityModel().servingWlanAt(task.getMobileDeviceId(),CloudSim.clock()+delay);
+				if(task.getSubmittedLocation().getServingWlanId() == currentWlanId)
 				{
-					networkModel.downloadStarted(currentLocation, nextDeviceForNetworkModel);
+					networkModel.downloadStarted(task.getSubmittedLocation(), nextDeviceForNetworkModel);
 					SimLogger.getInstance().setDownloadDelay(task.getCloudletId(), delay, delayType);
 					
 					schedule(getId(), delay, nextEvent, task);
@@ -273,10 +281,10 @@ public class SampleMobileDeviceManager extends MobileDeviceManager {
 				
 				if(delay > 0)
 				{
-					Location currentLocation = SimManager.getInstance().getMobilityModel().getLocation(task.getMobileDeviceId(),CloudSim.clock()+delay);
-					if(task.getSubmittedLocation().getServingWlanId() == currentLocation.getServingWlanId())
+					int currentWlanId = SimManager.getInstance().getMobilityModel().servingWlanAt(task.getMobileDeviceId(),CloudSim.clock()+delay);
+					if(task.getSubmittedLocation().getServingWlanId() == currentWlanId)
 					{
-						networkModel.downloadStarted(currentLocation, SimSettings.GENERIC_EDGE_DEVICE_ID);
+						networkModel.downloadStarted(task.getSubmittedLocation(), SimSettings.GENERIC_EDGE_DEVICE_ID);
 						SimLogger.getInstance().setDownloadDelay(task.getCloudletId(), delay, NETWORK_DELAY_TYPES.WLAN_DELAY);
 						schedule(getId(), delay, RESPONSE_RECEIVED_BY_MOBILE_DEVICE, task);
 					}
@@ -422,7 +430,7 @@ public class SampleMobileDeviceManager extends MobileDeviceManager {
 	private void submitTaskToVm(Task task, SimSettings.VM_TYPES vmType) {
 		// Immediate submission to VM's broker; log placement tuple
 		//SimLogger.printLine(CloudSim.clock() + ": Cloudlet#" + task.getCloudletId() + " is submitted to VM#" + task.getVmId());
-		schedule(getVmsToDatacentersMap().get(task.getVmId()), 0, CloudSimTags.CLOUDLET_SUBMIT, task);
+		schedule(getDatacenterIdOfVm(task.getVmId()), 0, CloudSimTags.CLOUDLET_SUBMIT, task);
 
 		SimLogger.getInstance().taskAssigned(task.getCloudletId(),
 				task.getAssociatedDatacenterId(),
@@ -241,15 +241,15 @@ public class SampleNetworkModel extends NetworkModel {
 			return delay = getManUploadDelay();
 		}
 		
-		Location accessPointLocation = SimManager.getInstance().getMobilityModel().getLocation(sourceDeviceId,CloudSim.clock());
+		int accessPointId = SimManager.getInstance().getMobilityModel().servingWlanAt(sourceDeviceId,CloudSim.clock());
 
 		//mobile device to cloud server
 		if(destDeviceId == SimSettings.CLOUD_DATACENTER_ID){
-			delay = getWanUploadDelay(accessPointLocation, task.getCloudletFileSize());
+			delay = getWanUploadDelay(accessPointId, task.getCloudletFileSize());
 		}
 		//mobile device to edge device (wifi access point)
 		else if (destDeviceId == SimSettings.GENERIC_EDGE_DEVICE_ID) {
-			delay = getWlanUploadDelay(accessPointLocation, task.getCloudletFileSize());
+			delay = getWlanUploadDelay(accessPointId, task.getCloudletFileSize());
 		}
 		
 		return delay;
@@ -271,15 +271,15 @@ public class SampleNetworkModel extends NetworkModel {
 			return delay = getManDownloadDelay();
 		}
 		
-		Location accessPointLocation = SimManager.getInstance().getMobilityModel().getLocation(destDeviceId,CloudSim.clock());
+		int accessPointId = SimManager.getInstance().getMobilityModel().servingWlanAt(destDeviceId,CloudSim.clock());
 		
 		//cloud server to mobile device
 		if(sourceDeviceId == SimSettings.CLOUD_DATACENTER_ID){
-			delay = getWanDownloadDelay(accessPointLocation, task.getCloudletOutputSize());
+			delay = getWanDownloadDelay(accessPointId, task.getCloudletOutputSize());
 		}
 		//edge device (wifi access point) to mobile device
 		else{
-			delay = getWlanDownloadDelay(accessPointLocation, task.getCloudletOutputSize());
+			delay = getWlanDownloadDelay(accessPointId, task.getCloudletOutputSize());
 		}
 		
 		return delay;
@@ -325,10 +325,10 @@ public class SampleNetworkModel extends NetworkModel {
 		// ...existing code...
 	}
 
-	private double getWlanDownloadDelay(Location accessPointLocation, double dataSize) {
+	private double getWlanDownloadDelay(int accessPointId, double dataSize) {
 		// Convert KB -> Kb and divide by empirical throughput (scaled by 3 for 802.11ac approximation)
 		// Returns 0 if user index exceeds table => treated as bandwidth failure upstream
-		int numOfWlanUser = wlanClients[accessPointLocation.getServingWlanId()];
+		int numOfWlanUser = wlanClients[accessPointId];
 		double taskSizeInKb = dataSize * (double)8; //KB to Kb
 		double result=0;
 		
@@ -339,14 +339,14 @@ public class SampleNetworkModel extends NetworkModel {
 		return result;
 	}
 	
-	private double getWlanUploadDelay(Location accessPointLocation, double dataSize) {
+	private double getWlanUploadDelay(int accessPointId, double dataSize) {
 		// Symmetric with download
-		return getWlanDownloadDelay(accessPointLocation, dataSize);
+		return getWlanDownloadDelay(accessPointId, dataSize);
 	}
 	
-	private double getWanDownloadDelay(Location accessPointLocation, double dataSize) {
+	private double getWanDownloadDelay(int accessPointId, double dataSize) {
 		// WAN throughput lookup (no scaling factor)
-		int numOfWanUser = wanClients[accessPointLocation.getServingWlanId()];
+		int numOfWanUser = wanClients[accessPointId];
 		double taskSizeInKb = dataSize * (double)8; //KB to Kb
 		double result=0;
 		
@@ -358,9 +358,9 @@ public class SampleNetworkModel extends NetworkModel {
 		return result;
 	}
 	
-	private double getWanUploadDelay(Location accessPointLocation, double dataSize) {
+	private double getWanUploadDelay(int accessPointId, double dataSize) {
 		// Symmetric with download
-		return getWanDownloadDelay(accessPointLocation, dataSize);
+		return getWanDownloadDelay(accessPointId, dataSize);
 	}
 	
 	private double calculateMM1(double propagationDelay, double bandwidth /*Kbps*/, double PoissonMean,
@@ -22,7 +22,6 @@ import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.edge_orchestrator.EdgeOrchestrator;
 import edu.boun.edgecloudsim.edge_server.EdgeVM;
 import edu.boun.edgecloudsim.edge_client.Task;
-import edu.boun.edgecloudsim.utils.Location;
 import edu.boun.edgecloudsim.utils.SimLogger;
 
 // Orchestrator behavior:
@@ -65,8 +64,7 @@ public class SampleEdgeOrchestrator extends EdgeOrchestrator {
 		//in this scenario, clients can only offload to edge servers located in the serving WLAN place
 		//serving wlan ID is equal to the host id because there is only one host in one place
 		if(deviceId == SimSettings.GENERIC_EDGE_DEVICE_ID){
-			Location deviceLocation = SimManager.getInstance().getMobilityModel().getLocation(task.getMobileDeviceId(), CloudSim.clock());
-			int relatedHostId=deviceLocation.getServingWlanId();
+			int relatedHostId=SimManager.getInstance().getMobilityModel().servingWlanAt(task.getMobileDeviceId(), CloudSim.clock());
 			
 			List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(relatedHostId);
 			
@@ -77,7 +75,7 @@ public class SampleEdgeOrchestrator extends EdgeOrchestrator {
 				// requiredCapacity derived from static linear model; replace with dynamic profiling if needed.
 				// Tie-breaker: first VM with same capacity retained (stable selection).
 				double requiredCapacity = ((SampleCpuUtilizationModel)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(vmIndex));
-				double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+				double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCpuUtilization();
 				if(requiredCapacity <= targetVmCapacity && targetVmCapacity > selectedVmCapacity){
 					selectedVM = vmArray.get(vmIndex);
 					selectedVmCapacity = targetVmCapacity;
@@ -16,7 +16,6 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
 import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.DatacenterCharacteristics;
 import org.cloudbus.cloudsim.Host;
@@ -24,17 +23,15 @@ import org.cloudbus.cloudsim.Pe;
 import org.cloudbus.cloudsim.Storage;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
 import org.cloudbus.cloudsim.VmSchedulerSpaceShared;
-import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
 import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
 import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 import edu.boun.edgecloudsim.core.SimManager;
+import edu.boun.edgecloudsim.core.ScenarioModel;
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.edge_client.CloudletSchedulerTimeShared_Custom;
+import edu.boun.edgecloudsim.edge_client.VmUtilizationAggregates;
 import edu.boun.edgecloudsim.edge_server.EdgeHost;
 import edu.boun.edgecloudsim.edge_server.EdgeServerManager;
 import edu.boun.edgecloudsim.edge_server.EdgeVM;
@@ -78,12 +75,9 @@ public class SampleEdgeServerManager extends EdgeServerManager{
 	}
 	
 	public void startDatacenters() throws Exception{
-		Document doc = SimSettings.getInstance().getEdgeDevicesDocument();
-		NodeList datacenterList = doc.getElementsByTagName("datacenter");
-		for (int i = 0; i < datacenterList.getLength(); i++) {
-			Node datacenterNode = datacenterList.item(i);
-			Element datacenterElement = (Element) datacenterNode;
-			localDatacenters.add(createDatacenter(i, datacenterElement));
+		ScenarioModel scenarioModel = SimSettings.getInstance().getScenarioModel();
+		for (int i = 0; i < scenarioModel.getNumOfDatacenters(); i++) {
+			localDatacenters.add(createDatacenter(i, scenarioModel.getDatacenter(i)));
 		}
 	}
 
@@ -94,30 +88,24 @@ public class SampleEdgeServerManager extends EdgeServerManager{
 		int vmCounter=0;
 		
 		//Create VMs for each hosts
-		Document doc = SimSettings.getInstance().getEdgeDevicesDocument();
-		NodeList datacenterList = doc.getElementsByTagName("datacenter");
+		ScenarioModel scenarioModel = SimSettings.getInstance().getScenarioModel();
 		
-		for (int i = 0; i < datacenterList.getLength(); i++) {
-			Node datacenterNode = datacenterList.item(i);
-			Element datacenterElement = (Element) datacenterNode;
-			NodeList hostNodeList = datacenterElement.getElementsByTagName("host");
-			for (int j = 0; j < hostNodeList.getLength(); j++) {
+		for (int i = 0; i < scenarioModel.getNumOfDatacenters(); i++) {
+			ScenarioModel.DatacenterSpec datacenterSpec = scenarioModel.getDatacenter(i);
+			for (int j = 0; j < datacenterSpec.getNumOfHosts(); j++) {
 				
 				vmList.add(hostCounter, new ArrayList<EdgeVM>());
 				
-				Node hostNode = hostNodeList.item(j);
-				Element hostElement = (Element) hostNode;
-				NodeList vmNodeList = hostElement.getElementsByTagName("VM");
-				for (int k = 0; k < vmNodeList.getLength(); k++) {
-					Node vmNode = vmNodeList.item(k);					
-					Element vmElement = (Element) vmNode;
+				ScenarioModel.HostSpec hostSpec = datacenterSpec.getHost(j);
+				for (int k = 0; k < hostSpec.getNumOfVms(); k++) {
+					ScenarioModel.VmSpec vmSpec = hostSpec.getVm(k);
 
-					String vmm = vmElement.getAttribute("vmm");
-					int numOfCores = Integer.parseInt(vmElement.getElementsByTagName("core").item(0).getTextContent());
-					double mips = 0;//Double.parseDouble(vmElement.getElementsByTagName("mips").item(0).getTextContent());
-					int ram = Integer.parseInt(vmElement.getElementsByTagName("ram").item(0).getTextContent());
-					long storage = Long.parseLong(vmElement.getElementsByTagName("storage").item(0).getTextContent());
-					long bandwidth = SimSettings.getInstance().getWlanBandwidth() / (hostNodeList.getLength()+vmNodeList.getLength());
+					String vmm = vmSpec.getVmm();
+					int numOfCores = vmSpec.getCore();
+					double mips = 0;//vmSpec.getMips();
+					int ram = vmSpec.getRam();
+					long storage = vmSpec.getStorage();
+					long bandwidth = SimSettings.getInstance().getWlanBandwidth() / (datacenterSpec.getNumOfHosts()+hostSpec.getNumOfVms());
 					
 					/**
 					 * In this scenario each VM equally shares the MIPS value of corresponding Host
@@ -125,10 +113,10 @@ public class SampleEdgeServerManager extends EdgeServerManager{
 					 * If multiple hosts per datacenter are expected, replace with proper index mapping.
 					 */
 					Host host = getDatacenterList().get(i).getHostList().get(0);
-					mips = host.getMaxAvailableMips() / vmNodeList.getLength();
+					mips = host.getMaxAvailableMips() / hostSpec.getNumOfVms();
 					
 					//VM Parameters		
-					EdgeVM vm = new EdgeVM(vmCounter, brokerId, mips, numOfCores, ram, bandwidth, storage, vmm, new CloudletSchedulerTimeShared());
+					EdgeVM vm = new EdgeVM(vmCounter, brokerId, mips, numOfCores, ram, bandwidth, storage, vmm, new CloudletSchedulerTimeShared_Custom());
 					vmList.get(hostCounter).add(vm);
 					vmCounter++;
 				}
@@ -146,6 +134,10 @@ public class SampleEdgeServerManager extends EdgeServerManager{
 
 	//average utilization of all VMs
 	public double getAvgUtilization(){
+		VmUtilizationAggregates utilizationAggregates = getUtilizationAggregates();
+		if(utilizationAggregates != null)
+			return utilizationAggregates.getAvgUtilization();
+		
 		double totalUtilization = 0;
 		double vmCounter = 0;
 		
@@ -158,7 +150,7 @@ public class SampleEdgeServerManager extends EdgeServerManager{
 				List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(host.getId());
 				//for each vm...
 				for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
-					totalUtilization += vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+					totalUtilization += vmArray.get(vmIndex).getCpuUtilization();
 					vmCounter++;
 				}
 			}
@@ -166,16 +158,16 @@ public class SampleEdgeServerManager extends EdgeServerManager{
 		return totalUtilization / vmCounter;
 	}
 
-	private Datacenter createDatacenter(int index, Element datacenterElement) throws Exception{
-		String arch = datacenterElement.getAttribute("arch");
-		String os = datacenterElement.getAttribute("os");
-		String vmm = datacenterElement.getAttribute("vmm");
-		double costPerBw = Double.parseDouble(datacenterElement.getElementsByTagName("costPerBw").item(0).getTextContent());
-		double costPerSec = Double.parseDouble(datacenterElement.getElementsByTagName("costPerSec").item(0).getTextContent());
-		double costPerMem = Double.parseDouble(datacenterElement.getElementsByTagName("costPerMem").item(0).getTextContent());
-		double costPerStorage = Double.parseDouble(datacenterElement.getElementsByTagName("costPerStorage").item(0).getTextContent());
+	private Datacenter createDatacenter(int index, ScenarioModel.DatacenterSpec datacenterSpec) throws Exception{
+		String arch = datacenterSpec.getArch();
+		String os = datacenterSpec.getOs();
+		String vmm = datacenterSpec.getVmm();
+		double costPerBw = datacenterSpec.getCostPerBw();
+		double costPerSec = datacenterSpec.getCostPerSec();
+		double costPerMem = datacenterSpec.getCostPerMem();
+		double costPerStorage = datacenterSpec.getCostPerStorage();
 		
-		List<EdgeHost> hostList=createHosts(datacenterElement);
+		List<EdgeHost> hostList=createHosts(datacenterSpec);
 		
 		String name = "Datacenter_" + Integer.toString(index);
 		double time_zone = 3.0;         // time zone this resource located
@@ -198,7 +190,7 @@ public class SampleEdgeServerManager extends EdgeServerManager{
 		return datacenter;
 	}
 	
-	private List<EdgeHost> createHosts(Element datacenterElement){
+	private List<EdgeHost> createHosts(ScenarioModel.DatacenterSpec datacenterSpec){
 		// Builds hosts from XML, assigning capacity based on scenario:
 		// EQUAL_CAPACITY -> uniform MIPS
 		// RANDOM_CAPACITY -> random draw from predefined pool
@@ -207,23 +199,19 @@ public class SampleEdgeServerManager extends EdgeServerManager{
 		// 1. We need to create a list to store one or more Machines
 		List<EdgeHost> hostList = new ArrayList<EdgeHost>();
 		
-		Element location = (Element)datacenterElement.getElementsByTagName("location").item(0);
-		String attractiveness = location.getElementsByTagName("attractiveness").item(0).getTextContent();
-		int wlan_id = Integer.parseInt(location.getElementsByTagName("wlan_id").item(0).getTextContent());
-		int x_pos = Integer.parseInt(location.getElementsByTagName("x_pos").item(0).getTextContent());
-		int y_pos = Integer.parseInt(location.getElementsByTagName("y_pos").item(0).getTextContent());
-		int placeTypeIndex = Integer.parseInt(attractiveness);
+		Location location = datacenterSpec.getLocation();
+		int wlan_id = location.getServingWlanId();
+		int x_pos = location.getXPos();
+		int y_pos = location.getYPos();
+		int placeTypeIndex = location.getPlaceTypeIndex();
 
-		NodeList hostNodeList = datacenterElement.getElementsByTagName("host");
-		for (int j = 0; j < hostNodeList.getLength(); j++) {
-			Node hostNode = hostNodeList.item(j);
-			
-			Element hostElement = (Element) hostNode;
-			int numOfCores = Integer.parseInt(hostElement.getElementsByTagName("core").item(0).getTextContent());
-			double mips = 0;// Double.parseDouble(hostElement.getElementsByTagName("mips").item(0).getTextContent());
-			int ram = Integer.parseInt(hostElement.getElementsByTagName("ram").item(0).getTextContent());
-			long storage = Long.parseLong(hostElement.getElementsByTagName("storage").item(0).getTextContent());
-			long bandwidth = SimSettings.getInstance().getWlanBandwidth() / hostNodeList.getLength();
+		for (int j = 0; j < datacenterSpec.getNumOfHosts(); j++) {
+			ScenarioModel.HostSpec hostSpec = datacenterSpec.getHost(j);
+			int numOfCores = hostSpec.getCore();
+			double mips = 0;// hostSpec.getMips();
+			int ram = hostSpec.getRam();
+			long storage = hostSpec.getStorage();
+			long bandwidth = SimSettings.getInstance().getWlanBandwidth() / datacenterSpec.getNumOfHosts();
 			
 			/**
 			 * Please note that total MIPS value of all scenario should be the same!
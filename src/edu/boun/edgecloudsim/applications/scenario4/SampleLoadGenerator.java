@@ -1,12 +1,10 @@
 package edu.boun.edgecloudsim.applications.scenario4;
 
-import java.util.ArrayList;
-
 import org.apache.commons.math3.distribution.ExponentialDistribution;
 
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.task_generator.LoadGeneratorModel;
-import edu.boun.edgecloudsim.utils.TaskProperty;
+import edu.boun.edgecloudsim.utils.TaskPropertyTable;
 import edu.boun.edgecloudsim.utils.SimLogger;
 import edu.boun.edgecloudsim.utils.SimUtils;
 
@@ -19,8 +17,8 @@ public class SampleLoadGenerator extends LoadGeneratorModel{
 
 	@Override
 	public void initializeModel() {
-		// Allocate list for all scheduled tasks (absolute submission times)
-		taskList = new ArrayList<TaskProperty>();
+		// Allocate table for all scheduled tasks (absolute submission times)
+		taskList = new TaskPropertyTable();
 
 		//Each mobile device utilises an app type (task type)
 		taskTypeOfDevices = new int[numberOfMobileDevices];
@@ -53,7 +51,7 @@ public class SampleLoadGenerator extends LoadGeneratorModel{
 					SimSettings.CLIENT_ACTIVITY_START_TIME * 2);  //active period starts shortly after the simulation started (e.g. 10 seconds)
 			double virtualTime = activePeriodStartTime;
 
-			ExponentialDistribution rng = new ExponentialDistribution(poissonMean);
+			ExponentialDistribution rng = new ExponentialDistribution(SimUtils.createRandomGenerator(), poissonMean);
 			//ExponentialDistribution rng[] = new ExponentialDistribution[10];
 			//for(int j=0; j<10; j++)
 			//	rng[j] = new ExponentialDistribution(poissonMean * ((double)1 + (double)j * (double) 0.12));
@@ -100,7 +98,7 @@ public class SampleLoadGenerator extends LoadGeneratorModel{
 				length = SimUtils.getRandomLongNumber(length - lengthBias, length + lengthBias);
 
 				// Persist task specification
-				taskList.add(new TaskProperty(virtualTime, i, randomTaskType, pesNumber, length, inputFileSize, outputFileSize));
+				taskList.add(virtualTime, i, randomTaskType, pesNumber, length, inputFileSize, outputFileSize);
 			}
 		}
 		// Consider sorting taskList by submission time if downstream components assume ordered arrivals.
@@ -59,6 +59,10 @@ private static final int BASE = 100000; //start from base in order not to confli
 
 	@Override
 	public void initialize() {
+		// Name the custom event tags in the event profile report
+		registerEventTag(SET_DELAY_LOG, "SET_DELAY_LOG");
+		registerEventTag(REQUEST_RECEIVED_BY_EDGE_DEVICE, "REQUEST_RECEIVED_BY_EDGE_DEVICE");
+		registerEventTag(RESPONSE_RECEIVED_BY_MOBILE_DEVICE, "RESPONSE_RECEIVED_BY_MOBILE_DEVICE");
 	}
 	
 	@Override
@@ -104,8 +108,8 @@ private static final int BASE = 100000; //start from base in order not to confli
 			
 			if(delay > 0)
 			{
-				Location currentLocation = SimManager.getInstance().getMobilityModel().getLocation(task.getMobileDeviceId(),CloudSim.clock()+delay);
-				if(task.getSubmittedLocation().getServingWlanId() == currentLocation.getServingWlanId())
+				int currentWlanId = SimManager.getInstance().getMobilityModel().servingWlanAt(task.getMobileDeviceId(),CloudSim.clock()+delay);
+				if(task.getSubmittedLocation().getServingWlanId() == currentWlanId)
 				{
 					// Device still anchored to same WLAN: proceed with downlink
 					networkModel.downloadStarted(task.getSubmittedLocation(), SimSettings.GENERIC_EDGE_DEVICE_ID);
@@ -279,7 +283,7 @@ private static final int BASE = 100000; //start from base in order not to confli
 	
 	private void submitTaskToVm(Task task, SimSettings.VM_TYPES vmType) {
 		//SimLogger.printLine(CloudSim.clock() + ": Cloudlet#" + task.getCloudletId() + " is submitted to VM#" + task.getVmId());
-		schedule(getVmsToDatacentersMap().get(task.getVmId()), 0, CloudSimTags.CLOUDLET_SUBMIT, task);
+		schedule(getDatacenterIdOfVm(task.getVmId()), 0, CloudSimTags.CLOUDLET_SUBMIT, task);
 
 		SimLogger.getInstance().taskAssigned(task.getCloudletId(),
 				task.getAssociatedDatacenterId(),
@@ -10,11 +10,9 @@
 
 package edu.boun.edgecloudsim.applications.scenario4;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
+import java.util.Arrays;
 
+import edu.boun.edgecloudsim.core.ScenarioModel;
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.mobility.MobilityModel;
 import edu.boun.edgecloudsim.utils.Location;
@@ -24,6 +22,12 @@ public class SampleMobilityModel extends MobilityModel {
 	// SPEED_FOR_PLACES[index] = km/h associated with attractiveness level (0..2)
 	private final double SPEED_FOR_PLACES[] = {20, 40, 60}; //km per hour
 
+	// The prefix sums round differently than subtracting the drive times one by one;
+	// results closer than these tolerances to a segment boundary (relative to the loop
+	// time) or to an integer x position are recomputed by walking the segments
+	private static final double SEGMENT_BOUNDARY_TOLERANCE = 1e-9;
+	private static final double POSITION_TOLERANCE = 1e-6; //meters
+
 	private int lengthOfSegment;
 	private double totalTimeForLoop; //seconds
 	private int[] locationTypes;
@@ -36,12 +40,18 @@ public class SampleMobilityModel extends MobilityModel {
 	private double[] timeToDriveLocationArray;//in seconds unit
 	private double[] timeToReachNextLocationArray; //in seconds unit
 
+	//prefix sums of timeToDriveLocationArray over two rounds of the road, so that
+	//the segments following any segment are contiguous in the table:
+	//driveTimePrefixSums[i] = sum of timeToDriveLocationArray[j % numOfLocations] for j < i
+	private double[] driveTimePrefixSums;
+
 	// Model summary:
 	// - Linear circular road composed of contiguous segments (one per datacenter).
 	// - Each segment length inferred from first location's x_pos (assumed uniform).
 	// - Vehicle speed depends on location attractiveness (mapped via SPEED_FOR_PLACES).
 	// - Precomputes initial position, segment index, and time to next boundary per device
-	//   to keep getLocation() O(number_of_crossed_segments) instead of O(total_segments).
+	//   and the prefix sums of the segment drive times, so that getLocation() finds the
+	//   current segment with a binary search instead of walking the crossed segments.
 
 	public SampleMobilityModel(int _numberOfMobileDevices, double _simulationTime) {
 		super(_numberOfMobileDevices, _simulationTime);
@@ -52,21 +62,17 @@ public class SampleMobilityModel extends MobilityModel {
 	public void initialize() {
 		// Derive segment length from first datacenter's x_pos (road mirrored => *2)
 		//Find total length of the road
-		Document doc = SimSettings.getInstance().getEdgeDevicesDocument();
-		NodeList datacenterList = doc.getElementsByTagName("datacenter");
-		Element location = (Element)((Element)datacenterList.item(0)).getElementsByTagName("location").item(0);
-		int x_pos = Integer.parseInt(location.getElementsByTagName("x_pos").item(0).getTextContent());
+		ScenarioModel scenarioModel = SimSettings.getInstance().getScenarioModel();
+		int numOfDatacenters = scenarioModel.getNumOfDatacenters();
+		int x_pos = scenarioModel.getDatacenter(0).getLocation().getXPos();
 		lengthOfSegment = x_pos * 2; //assume that all segments have the same length
-		int totalLengthOfRoad = lengthOfSegment * datacenterList.getLength();
+		int totalLengthOfRoad = lengthOfSegment * numOfDatacenters;
 
 		//prepare locationTypes array to store attractiveness level of the locations
-		locationTypes = new int[datacenterList.getLength()];
-		timeToDriveLocationArray = new double[datacenterList.getLength()];
-		for(int i=0; i<datacenterList.getLength(); i++) {
-			Node datacenterNode = datacenterList.item(i);
-			Element datacenterElement = (Element) datacenterNode;
-			Element locationElement = (Element)datacenterElement.getElementsByTagName("location").item(0);
-			locationTypes[i] = Integer.parseInt(locationElement.getElementsByTagName("attractiveness").item(0).getTextContent());
+		locationTypes = new int[numOfDatacenters];
+		timeToDriveLocationArray = new double[numOfDatacenters];
+		for(int i=0; i<numOfDatacenters; i++) {
+			locationTypes[i] = scenarioModel.getDatacenter(i).getLocation().getPlaceTypeIndex();
 
 			//(3600 * lengthOfSegment) / (SPEED_FOR_PLACES[x] * 1000);
 			timeToDriveLocationArray[i] = ((double)3.6 * (double)lengthOfSegment) /
@@ -87,46 +93,108 @@ public class SampleMobilityModel extends MobilityModel {
 					(double)(lengthOfSegment - (initialPositionArray[i] % lengthOfSegment))) /
 					(SPEED_FOR_PLACES[locationTypes[initialLocationIndexArray[i]]]);
 		}
+
+		driveTimePrefixSums = new double[2 * locationTypes.length + 1];
+		for(int i=0; i<2 * locationTypes.length; i++)
+			driveTimePrefixSums[i+1] = driveTimePrefixSums[i] + timeToDriveLocationArray[i % locationTypes.length];
+
 		// Preallocation below trades memory for O(1) reuse during getLocation().
 		// Remove arrays and recompute on demand if memory footprint becomes critical for very large device counts.
 	}
 
 	@Override
 	public Location getLocation(int deviceId, double time) {
-		// time: simulation seconds since start
-		// Phase 1: still within first partial segment? Use initial offset.
-		// Phase 2: advance whole segments using modulo of loop time, subtract segment times.
-		// Linear interpolation inside current segment: distance = speed(km/h)*time / 3.6
+		long position = getPosition(deviceId, time);
+		int locationIndex = (int)(position >>> 32);
+		return new Location(locationTypes[locationIndex], locationIndex, (int)position, 0);
+	}
+
+	/**
+	 * Returns the serving WLAN id (the index of the road segment) of the device
+	 * at the given time without creating a Location.
+	 */
+	public int getServingWlanId(int deviceId, double time) {
+		return (int)(getPosition(deviceId, time) >>> 32);
+	}
 
-		int ofset = 0;
-		double remainingTime = 0;
+	@Override
+	public int servingWlanAt(int deviceId, double time) {
+		return getServingWlanId(deviceId, time);
+	}
 
-		int locationIndex = initialLocationIndexArray[deviceId];
-		double timeToReachNextLocation = timeToReachNextLocationArray[deviceId];
+	@Override
+	public long packedLocationAt(int deviceId, double time) {
+		long position = getPosition(deviceId, time);
+		int locationIndex = (int)(position >>> 32);
+		return Location.pack(locationTypes[locationIndex], locationIndex, (int)position, 0);
+	}
 
-		if(time < timeToReachNextLocation){
-			ofset = initialPositionArray[deviceId];
-			remainingTime = time;
-		}
-		else{
-			remainingTime = (time - timeToReachNextLocation) % totalTimeForLoop;
-			locationIndex = (locationIndex+1) % locationTypes.length;
-
-			// When time surpasses first boundary, modulo arithmetic ensures cyclic wrap (ring road).
-			// Loop below may traverse multiple segments if remainingTime spans >1 segment (high speed or long time jump).
-			while(remainingTime > timeToDriveLocationArray[locationIndex]) {
-				// Decrement remainingTime until we locate current segment.
-				remainingTime -= timeToDriveLocationArray[locationIndex];
-				locationIndex =  (locationIndex+1) % locationTypes.length;
-			}
-
-			ofset = locationIndex * lengthOfSegment;
+	/**
+	 * Returns the x position of the device at the given time without creating a Location.
+	 */
+	public int getXPos(int deviceId, double time) {
+		return (int)getPosition(deviceId, time);
+	}
+
+	// Returns the segment index (high 32 bits) and the x position (low 32 bits) of the device.
+	// time: simulation seconds since start
+	// Phase 1: still within first partial segment? Use initial offset.
+	// Phase 2: find the segment in which the loop time ends with a binary search over the
+	//          prefix sums of the segment drive times, the rest is the time spent in the segment.
+	private long getPosition(int deviceId, double time) {
+		if(time < timeToReachNextLocationArray[deviceId]){
+			int locationIndex = initialLocationIndexArray[deviceId];
+			return toPosition(locationIndex, (int) (initialPositionArray[deviceId] +
+					( (SPEED_FOR_PLACES[locationTypes[locationIndex]] * time) / 3.6)));
 		}
 
+		// When time surpasses first boundary, modulo arithmetic ensures cyclic wrap (ring road).
+		// The loop starts at the beginning of the segment following the initial one.
+		double loopTime = (time - timeToReachNextLocationArray[deviceId]) % totalTimeForLoop;
+		int startIndex = (initialLocationIndexArray[deviceId]+1) % locationTypes.length;
+		double target = loopTime + driveTimePrefixSums[startIndex];
+
+		// smallest prefix sum at or above the target; the segment ending there is the current one
+		// (a time at a segment boundary belongs to the segment which ends there)
+		int segmentEnd = Arrays.binarySearch(driveTimePrefixSums, startIndex+1, startIndex+locationTypes.length+1, target);
+		if(segmentEnd < 0)
+			segmentEnd = -segmentEnd - 1;
+
+		double tolerance = SEGMENT_BOUNDARY_TOLERANCE * totalTimeForLoop;
+		if(segmentEnd > startIndex + locationTypes.length ||
+				driveTimePrefixSums[segmentEnd] - target < tolerance ||
+				(segmentEnd > startIndex + 1 && target - driveTimePrefixSums[segmentEnd-1] < tolerance))
+			return walkSegments(deviceId, loopTime);
+
+		int locationIndex = (segmentEnd-1) % locationTypes.length;
+		double remainingTime = loopTime - (driveTimePrefixSums[segmentEnd-1] - driveTimePrefixSums[startIndex]);
+
 		// x_pos computed as starting offset of segment plus distance progressed in current segment.
+		double x_pos = locationIndex * lengthOfSegment + ( (SPEED_FOR_PLACES[locationTypes[locationIndex]] * remainingTime) / 3.6);
+		if(x_pos - Math.floor(x_pos) < POSITION_TOLERANCE || Math.ceil(x_pos) - x_pos < POSITION_TOLERANCE)
+			return walkSegments(deviceId, loopTime);
+
+		return toPosition(locationIndex, (int) x_pos);
+	}
+
+	// Reference computation of phase 2: subtracts the drive times of the crossed segments one by one
+	private long walkSegments(int deviceId, double remainingTime) {
+		int locationIndex = (initialLocationIndexArray[deviceId]+1) % locationTypes.length;
+
+		// Loop below may traverse multiple segments if remainingTime spans >1 segment (high speed or long time jump).
+		while(remainingTime > timeToDriveLocationArray[locationIndex]) {
+			// Decrement remainingTime until we locate current segment.
+			remainingTime -= timeToDriveLocationArray[locationIndex];
+			locationIndex =  (locationIndex+1) % locationTypes.length;
+		}
+
+		// Linear interpolation inside current segment: distance = speed(km/h)*time / 3.6
 		// y dimension is fixed (0) in this linear scenario model.
-		int x_pos = (int) (ofset + ( (SPEED_FOR_PLACES[locationTypes[locationIndex]] * remainingTime) / (double)3.6));
+		int ofset = locationIndex * lengthOfSegment;
+		return toPosition(locationIndex, (int) (ofset + ( (SPEED_FOR_PLACES[locationTypes[locationIndex]] * remainingTime) / (double)3.6)));
+	}
 
-		return new Location(locationTypes[locationIndex], locationIndex, x_pos, 0);
+	private static long toPosition(int locationIndex, int x_pos) {
+		return ((long)locationIndex << 32) | (x_pos & 0xFFFFFFFFL);
 	}
 }
@@ -190,15 +190,15 @@ public class SampleNetworkModel extends NetworkModel {
 			return delay = getManUploadDelay();
 		}
 		
-		Location accessPointLocation = SimManager.getInstance().getMobilityModel().getLocation(sourceDeviceId,CloudSim.clock());
+		int accessPointId = SimManager.getInstance().getMobilityModel().servingWlanAt(sourceDeviceId,CloudSim.clock());
 
 		//mobile device to cloud server
 		if(destDeviceId == SimSettings.CLOUD_DATACENTER_ID){
-			delay = getWanUploadDelay(accessPointLocation, task.getCloudletFileSize());
+			delay = getWanUploadDelay(accessPointId, task.getCloudletFileSize());
 		}
 		//mobile device to edge device (wifi access point)
 		else if (destDeviceId == SimSettings.GENERIC_EDGE_DEVICE_ID) {
-			delay = getWlanUploadDelay(accessPointLocation, task.getCloudletFileSize());
+			delay = getWlanUploadDelay(accessPointId, task.getCloudletFileSize());
 		}
 		
 		return delay;
@@ -216,15 +216,15 @@ public class SampleNetworkModel extends NetworkModel {
 			return delay = getManDownloadDelay();
 		}
 		
-		Location accessPointLocation = SimManager.getInstance().getMobilityModel().getLocation(destDeviceId,CloudSim.clock());
+		int accessPointId = SimManager.getInstance().getMobilityModel().servingWlanAt(destDeviceId,CloudSim.clock());
 		
 		//cloud server to mobile device
 		if(sourceDeviceId == SimSettings.CLOUD_DATACENTER_ID){
-			delay = getWanDownloadDelay(accessPointLocation, task.getCloudletOutputSize());
+			delay = getWanDownloadDelay(accessPointId, task.getCloudletOutputSize());
 		}
 		//edge device (wifi access point) to mobile device
 		else{
-			delay = getWlanDownloadDelay(accessPointLocation, task.getCloudletOutputSize());
+			delay = getWlanDownloadDelay(accessPointId, task.getCloudletOutputSize());
 		}
 		
 		return delay;
@@ -304,10 +304,10 @@ public class SampleNetworkModel extends NetworkModel {
 		return estimateWlanDownloadDelay(accessPointID, dataSize);
 	}
 
-	private double getWlanDownloadDelay(Location accessPointLocation, double dataSize) {
+	private double getWlanDownloadDelay(int accessPointId, double dataSize) {
 		// Guard: if numOfWlanUser >= table length => result=0 (interpreted as saturated / failure upstream).
 		// Extend: could add interpolation for >100 users by extrapolating last slope.
-		int numOfWlanUser = wlanClients[accessPointLocation.getServingWlanId()];
+		int numOfWlanUser = wlanClients[accessPointId];
 		double taskSizeInKb = dataSize * (double)8; //KB to Kb
 		double result=0;
 		
@@ -319,13 +319,13 @@ public class SampleNetworkModel extends NetworkModel {
 	}
 	
 	//wlan upload and download delay is symmetric in this model
-	private double getWlanUploadDelay(Location accessPointLocation, double dataSize) {
-		return getWlanDownloadDelay(accessPointLocation, dataSize);
+	private double getWlanUploadDelay(int accessPointId, double dataSize) {
+		return getWlanDownloadDelay(accessPointId, dataSize);
 	}
 	
-	private double getWanDownloadDelay(Location accessPointLocation, double dataSize) {
+	private double getWanDownloadDelay(int accessPointId, double dataSize) {
 		// Similar to WLAN but without 802.11ac scaling factor (/3 divisor not applied).
-		int numOfWanUser = wanClients[accessPointLocation.getServingWlanId()];
+		int numOfWanUser = wanClients[accessPointId];
 		double taskSizeInKb = dataSize * (double)8; //KB to Kb
 		double result=0;
 		
@@ -338,8 +338,8 @@ public class SampleNetworkModel extends NetworkModel {
 	}
 	
 	//wan upload and download delay is symmetric in this model
-	private double getWanUploadDelay(Location accessPointLocation, double dataSize) {
-		return getWanDownloadDelay(accessPointLocation, dataSize);
+	private double getWanUploadDelay(int accessPointId, double dataSize) {
+		return getWanDownloadDelay(accessPointId, dataSize);
 	}
 	
 	
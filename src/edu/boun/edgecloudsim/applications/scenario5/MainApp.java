@@ -18,6 +18,7 @@ import java.util.Date;
 import org.cloudbus.cloudsim.Log;
 import org.cloudbus.cloudsim.core.CloudSim;
 
+import edu.boun.edgecloudsim.core.ParallelSweepRunner;
 import edu.boun.edgecloudsim.core.ScenarioFactory;
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
@@ -29,6 +30,9 @@ public class MainApp {
 	public static final int EXPECTED_NUM_OF_ARGS = 5;
 	public static final String SCENARIO_NAME = "scenario5";
 
+	/** creates the scenario factory of a sweep point run by ParallelSweepRunner */
+	public static final ParallelSweepRunner.ScenarioFactoryCreator SCENARIO_FACTORY = SampleScenarioFactory::new;
+
 	/**
 	 * Creates main() to run this example
 	 */
@@ -88,8 +92,13 @@ public class MainApp {
 		if(SS.initialize(configFile, edgeDevicesFile, applicationsFile) == false){
 			// ...existing code...
 			SimLogger.printLine("cannot initialize simulation settings!");
-			System.exit(0);
+			System.exit(1);
 		}
+
+		// Sweep points are simulated concurrently in isolated contexts if more than one thread is configured
+		ParallelSweepRunner sweepRunner = null;
+		if(SS.getSweepThreadCount() > 1)
+			sweepRunner = new ParallelSweepRunner(MainApp.class.getName(), SS.getSweepThreadCount(), configFile, edgeDevicesFile, applicationsFile);
 		
 		// Human-readable timestamp formatter for start/end logging
 		DateFormat df = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
@@ -158,6 +167,12 @@ public class MainApp {
 					{
 						String simScenario = SS.getSimulationScenarios()[k];
 						String orchestratorPolicy = SS.getOrchestratorPolicies()[i];
+
+						if(sweepRunner != null){
+							sweepRunner.submit(outputFolder, iterationNumber, j, simScenario, orchestratorPolicy);
+							continue;
+						}
+
 						Date ScenarioStartDate = Calendar.getInstance().getTime();
 						now = df.format(ScenarioStartDate);
 	
@@ -178,6 +193,10 @@ public class MainApp {
 							Calendar calendar = Calendar.getInstance();
 							boolean trace_flag = false;  // mean trace events
 	
+							// Seed depends only on the sweep point, so serial and concurrent sweeps give the same results
+							if(SS.isRandomSeedEnabled())
+								SimUtils.setRandomSeed(SimUtils.getSweepPointSeed(SS.getRandomSeed(), iterationNumber, j, simScenario, orchestratorPolicy));
+
 							// Initialize the CloudSim library
 							CloudSim.init(num_user, calendar, trace_flag, 0.01);
 	
@@ -195,7 +214,7 @@ public class MainApp {
 							// Fail fast to prevent partial / inconsistent datasets
 							SimLogger.printLine("The simulation has been terminated due to an unexpected error");
 							e.printStackTrace();
-							System.exit(0);
+							System.exit(1);
 						}
 	
 						// Per-scenario duration log (human-readable difference)
@@ -208,6 +227,9 @@ public class MainApp {
 			}//End of mobile devices loop
 		}//End of iteration loop
 
+		if(sweepRunner != null)
+			sweepRunner.awaitCompletion();
+
 		// Final overall duration summary for the entire batch
 		Date SimulationEndDate = Calendar.getInstance().getTime();
 		now = df.format(SimulationEndDate);
@@ -24,7 +24,6 @@ import edu.boun.edgecloudsim.edge_server.EdgeVM;
 import edu.boun.edgecloudsim.edge_client.CpuUtilizationModel_Custom;
 import edu.boun.edgecloudsim.edge_client.Task;
 import edu.boun.edgecloudsim.edge_orchestrator.EdgeOrchestrator;
-import edu.boun.edgecloudsim.utils.Location;
 import edu.boun.edgecloudsim.utils.SimUtils;
 
 // Responsibilities:
@@ -56,8 +55,7 @@ public class SampleEdgeOrchestrator extends EdgeOrchestrator {
 		Vm selectedVM = null;
 		
 		// Determine serving WLAN -> host id (assumption: 1 host per WLAN region)
-		Location deviceLocation = SimManager.getInstance().getMobilityModel().getLocation(task.getMobileDeviceId(), CloudSim.clock());
-		int relatedHostId=deviceLocation.getServingWlanId();
+		int relatedHostId=SimManager.getInstance().getMobilityModel().servingWlanAt(task.getMobileDeviceId(), CloudSim.clock());
 		
 		List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(relatedHostId);
 		int randomIndex = SimUtils.getRandomNumber(0, vmArray.size()-1);
@@ -65,7 +63,7 @@ public class SampleEdgeOrchestrator extends EdgeOrchestrator {
 		// RANDOM selection among VMs on that host
 		// Predictive utilization vs residual capacity check
 		double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(randomIndex).getVmType());
-		double targetVmCapacity = (double)100 - vmArray.get(randomIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+		double targetVmCapacity = (double)100 - vmArray.get(randomIndex).getCpuUtilization();
 		if(requiredCapacity <= targetVmCapacity)
 			selectedVM = vmArray.get(randomIndex);
 		
@@ -3,6 +3,7 @@ package edu.boun.edgecloudsim.applications.scenario5;
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.edge_client.Task;
 import edu.boun.edgecloudsim.network.NetworkModel;
+import edu.boun.edgecloudsim.network.QueueDelayTable;
 import edu.boun.edgecloudsim.utils.Location;;
 
 // Simplified analytical network model for scenario5:
@@ -19,6 +20,7 @@ public class SampleNetworkModel extends NetworkModel {
 	private double poissonMean;        // Mean inter-arrival time (seconds) per task type (weighted)
 	private double avgTaskInputSize;   // Average input size (KB) used for modeling (after weighting)
 	private double avgTaskOutputSize;  // Average output size (KB) used for modeling (after weighting)
+	private QueueDelayTable wlanDelays; // Memoized M/M/1 or M/M/2 delays by device count, rebuilt by initialize()
 	
 	public SampleNetworkModel(int _numberOfMobileDevices, String _simScenario) {
 		super(_numberOfMobileDevices, _simScenario);
@@ -49,6 +51,15 @@ public class SampleNetworkModel extends NetworkModel {
 		poissonMean = poissonMean/numOfTaskType;
 		avgTaskInputSize = avgTaskInputSize/numOfTaskType;
 		avgTaskOutputSize = avgTaskOutputSize/numOfTaskType;
+
+		// Scenario toggle: SCENARIO2 uses two-server (M/M/2) approximation; others use single-server (M/M/1)
+		int wlanBandwidth = SS.getWlanBandwidth();
+		if(simScenario.equals("SCENARIO2"))
+			wlanDelays = new QueueDelayTable(numberOfMobileDevices,
+					deviceCount -> calculateMM2(0, wlanBandwidth, poissonMean, avgTaskOutputSize, deviceCount));
+		else
+			wlanDelays = new QueueDelayTable(numberOfMobileDevices,
+					deviceCount -> calculateMM1(0, wlanBandwidth, poissonMean, avgTaskOutputSize, deviceCount));
 	}
 	
 	// M/M/1 expected system time: 1 / (μ - λ) + propagation.
@@ -85,25 +96,8 @@ public class SampleNetworkModel extends NetworkModel {
 
 	@Override
 	public double getUploadDelay(int sourceDeviceId, int destDeviceId, Task task) {
-		double result = 0;
 		int numDatacenter = SimSettings.getInstance().getNumOfEdgeDatacenters();
-
-		// Scenario toggle: SCENARIO2 uses two-server (M/M/2) approximation; others use single-server (M/M/1)
-		if(simScenario.equals("SCENARIO2")) {
-			result = calculateMM2(0,
-					SimSettings.getInstance().getWlanBandwidth(),
-					poissonMean,
-					avgTaskOutputSize,
-					numberOfMobileDevices/numDatacenter);
-		}
-		else {
-			result = calculateMM1(0,
-					SimSettings.getInstance().getWlanBandwidth(),
-					poissonMean,
-					avgTaskOutputSize,
-					numberOfMobileDevices/numDatacenter);
-		}
-		return result;
+		return wlanDelays.getDelay(numberOfMobileDevices/numDatacenter);
 	}
 
 	@Override
@@ -0,0 +1,272 @@
+/*
+ * Title:        EdgeCloudSim - Benchmark Fixture
+ *
+ * Description:
+ * BenchmarkFixture builds a simulation context from the configuration
+ * files of a scenario, so that the hot paths of the simulator can be
+ * measured in isolation
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.benchmark;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Random;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.cloudbus.cloudsim.UtilizationModel;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import edu.boun.edgecloudsim.core.SimManager;
+import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.edge_client.CpuUtilizationModel_Custom;
+import edu.boun.edgecloudsim.edge_client.Task;
+import edu.boun.edgecloudsim.edge_server.EdgeVM;
+import edu.boun.edgecloudsim.utils.SimLogger;
+import edu.boun.edgecloudsim.utils.SimUtils;
+import edu.boun.edgecloudsim.utils.TaskPropertyTable;
+
+/**
+ * Simulation context of a microbenchmark.
+ *
+ * <p>The fixture initializes SimSettings and CloudSim from the configuration
+ * files of a scenario, with two modifications:
+ * <ul>
+ *   <li>the number of mobile devices is given by the benchmark parameter</li>
+ *   <li>every edge host gets the given number of VMs (copies of its first VM)</li>
+ * </ul>
+ * If requested, a SimManager is created with {@link BenchmarkScenarioFactory}
+ * and the edge VMs are created and filled with tasks of the load generator up
+ * to a random utilization, so that the VM selection policies see a loaded
+ * system. The simulation itself is never started; the CloudSim clock is set
+ * to the middle of the simulation, so that the clock dependent hot paths see
+ * the state of a running simulation.</p>
+ *
+ * <p>The fixture also provides reproducible input sequences (tasks, devices and
+ * query times), which are indexed with the invocation counter of a benchmark.</p>
+ */
+public class BenchmarkFixture {
+	/** Seed of the simulator RNG and of the input sequences */
+	private static final long SEED = 20170101L;
+
+	/** Length of the input sequences; a power of two so that inputs are picked with a mask */
+	private static final int NUM_OF_INPUTS = 1 << 16;
+	private static final int INPUT_MASK = NUM_OF_INPUTS - 1;
+
+	/** Number of query times of each device in the monotonic input sequence */
+	private static final int NUM_OF_MONOTONIC_STEPS = 4096;
+
+	private final int numOfMobileDevices;
+	private final int numOfVmsPerHost;
+	private final double simulationTime;
+	private final double warmUpPeriod;
+
+	private SimManager simManager;
+	private Task[] tasks;
+	private int[] deviceIds;
+	private double[] times;
+
+	/**
+	 * Creates the simulation context.
+	 *
+	 * @param configFile path of the properties file of the scenario
+	 * @param edgeDevicesFile path of the edge devices XML file of the scenario
+	 * @param applicationsFile path of the applications XML file of the scenario
+	 * @param _numOfMobileDevices number of mobile devices
+	 * @param _numOfVmsPerHost number of VMs on each edge host
+	 * @param createSimManager true if a SimManager with loaded edge VMs is required
+	 */
+	public BenchmarkFixture(String configFile, String edgeDevicesFile, String applicationsFile,
+			int _numOfMobileDevices, int _numOfVmsPerHost, boolean createSimManager) throws Exception {
+		numOfMobileDevices = _numOfMobileDevices;
+		numOfVmsPerHost = _numOfVmsPerHost;
+
+		File edgeDevices = createEdgeDevicesFile(edgeDevicesFile, numOfVmsPerHost);
+		SimSettings SS = SimSettings.getInstance();
+		if(SS.initialize(configFile, edgeDevices.getPath(), applicationsFile) == false){
+			SimLogger.printLine("cannot initialize simulation settings!");
+			System.exit(1);
+		}
+		simulationTime = SS.getSimulationTime();
+		warmUpPeriod = SS.getWarmUpPeriod();
+
+		SimUtils.setRandomSeed(SEED);
+		CloudSim.init(2, Calendar.getInstance(), false, 0.01);
+		SimLogger.getInstance().simStarted(System.getProperty("java.io.tmpdir"), "BENCHMARK");
+
+		Random random = new Random(SEED);
+		deviceIds = new int[NUM_OF_INPUTS];
+		times = new double[NUM_OF_INPUTS];
+		for(int i=0; i<NUM_OF_INPUTS; i++){
+			deviceIds[i] = random.nextInt(numOfMobileDevices);
+			times[i] = SimSettings.CLIENT_ACTIVITY_START_TIME +
+					random.nextDouble() * (simulationTime - SimSettings.CLIENT_ACTIVITY_START_TIME);
+		}
+
+		if(createSimManager){
+			String simScenario = SS.getSimulationScenarios()[0];
+			String orchestratorPolicy = SS.getOrchestratorPolicies()[0];
+			simManager = new SimManager(new BenchmarkScenarioFactory(numOfMobileDevices, simulationTime, orchestratorPolicy, simScenario),
+					numOfMobileDevices, simScenario, orchestratorPolicy);
+			simManager.getEdgeServerManager().startDatacenters();
+			simManager.getEdgeServerManager().createVmList(simManager.getMobileDeviceManager().getId());
+
+			TaskPropertyTable taskList = simManager.getLoadGeneratorModel().getTaskList();
+			tasks = new Task[Math.min(NUM_OF_INPUTS, taskList.size())];
+			for(int i=0; i<tasks.length; i++)
+				tasks[i] = createTask(taskList, random.nextInt(taskList.size()), i);
+
+			loadEdgeVms(taskList, random);
+		}
+
+		setClock(simulationTime / 2);
+	}
+
+	public int getNumOfMobileDevices() {
+		return numOfMobileDevices;
+	}
+
+	public int getNumOfVmsPerHost() {
+		return numOfVmsPerHost;
+	}
+
+	public double getSimulationTime() {
+		return simulationTime;
+	}
+
+	public double getWarmUpPeriod() {
+		return warmUpPeriod;
+	}
+
+	/**
+	 * Returns the SimManager of the fixture; null if it is not requested.
+	 */
+	public SimManager getSimManager() {
+		return simManager;
+	}
+
+	/**
+	 * Returns the i-th task of the random task sequence.
+	 */
+	public Task getTask(int i) {
+		return tasks[(i & INPUT_MASK) % tasks.length];
+	}
+
+	/**
+	 * Returns the i-th device of the random (device, time) query sequence.
+	 */
+	public int getDeviceId(int i) {
+		return deviceIds[i & INPUT_MASK];
+	}
+
+	/**
+	 * Returns the i-th time of the random (device, time) query sequence.
+	 */
+	public double getTime(int i) {
+		return times[i & INPUT_MASK];
+	}
+
+	/**
+	 * Returns the i-th device of the monotonic query sequence, in which all
+	 * devices are queried at each time step like in a running simulation.
+	 */
+	public int getMonotonicDeviceId(int i) {
+		return Integer.remainderUnsigned(i, numOfMobileDevices);
+	}
+
+	/**
+	 * Returns the i-th time of the monotonic query sequence; the time of a
+	 * device increases until the end of the simulation and then wraps around.
+	 */
+	public double getMonotonicTime(int i) {
+		int step = Integer.remainderUnsigned(Integer.divideUnsigned(i, numOfMobileDevices), NUM_OF_MONOTONIC_STEPS);
+		return SimSettings.CLIENT_ACTIVITY_START_TIME +
+				step * ((simulationTime - SimSettings.CLIENT_ACTIVITY_START_TIME) / NUM_OF_MONOTONIC_STEPS);
+	}
+
+	//materializes a row of the task table as DefaultMobileDeviceManager does on submission
+	private Task createTask(TaskPropertyTable taskList, int row, int cloudletId) {
+		UtilizationModel utilizationModel = new UtilizationModelFull();
+		CpuUtilizationModel_Custom utilizationModelCPU = new CpuUtilizationModel_Custom();
+
+		Task task = new Task(taskList.getMobileDeviceId(row), cloudletId,
+				taskList.getLength(row), taskList.getPesNumber(row),
+				taskList.getInputFileSize(row), taskList.getOutputFileSize(row),
+				utilizationModelCPU, utilizationModel, utilizationModel);
+
+		task.setUserId(simManager.getMobileDeviceManager().getId());
+		task.setTaskType(taskList.getTaskType(row));
+		utilizationModelCPU.setTask(task);
+		return task;
+	}
+
+	//submits tasks to each edge VM until a random target utilization is reached
+	private void loadEdgeVms(TaskPropertyTable taskList, Random random) {
+		int cloudletId = tasks.length;
+		for(int hostIndex=0; hostIndex<SimSettings.getInstance().getNumOfEdgeHosts(); hostIndex++){
+			List<EdgeVM> vmArray = simManager.getEdgeServerManager().getVmList(hostIndex);
+			for(EdgeVM vm : vmArray){
+				//allocate the requested MIPS as the host does when the VM is created
+				vm.updateVmProcessing(0, vm.getCurrentRequestedMips());
+
+				double targetUtilization = random.nextDouble() * 100;
+				while(true){
+					Task task = createTask(taskList, random.nextInt(taskList.size()), cloudletId++);
+					double utilization = vm.getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+					if(utilization + task.getUtilizationModelCpu().getUtilization(0) > targetUtilization)
+						break;
+					vm.getCloudletScheduler().cloudletSubmit(task, 0);
+				}
+			}
+		}
+	}
+
+	//CloudSim only advances its clock while running the simulation, so the field is set directly
+	private static void setClock(double time) throws Exception {
+		Field clockField = CloudSim.class.getDeclaredField("clock");
+		clockField.setAccessible(true);
+		clockField.setDouble(null, time);
+	}
+
+	//copies the edge devices file, giving each host the requested number of VMs
+	private static File createEdgeDevicesFile(String edgeDevicesFile, int numOfVmsPerHost) throws Exception {
+		Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new File(edgeDevicesFile));
+		NodeList hostList = doc.getElementsByTagName("host");
+		for(int i=0; i<hostList.getLength(); i++){
+			Element hostElement = (Element) hostList.item(i);
+			Element vmsElement = (Element) hostElement.getElementsByTagName("VMs").item(0);
+			Element templateVm = (Element) vmsElement.getElementsByTagName("VM").item(0);
+
+			while(vmsElement.hasChildNodes())
+				vmsElement.removeChild(vmsElement.getFirstChild());
+			for(int j=0; j<numOfVmsPerHost; j++)
+				vmsElement.appendChild(templateVm.cloneNode(true));
+
+			//the host must have enough resources for its VMs
+			for(String resource : new String[]{"core", "mips", "ram", "storage"}){
+				Element hostResource = (Element) hostElement.getElementsByTagName(resource).item(0);
+				long vmResource = Long.parseLong(templateVm.getElementsByTagName(resource).item(0).getTextContent());
+				long required = Math.max(Long.parseLong(hostResource.getTextContent()), vmResource * numOfVmsPerHost);
+				hostResource.setTextContent(Long.toString(required));
+			}
+		}
+
+		File file = File.createTempFile("edge_devices_" + numOfVmsPerHost + "VMs_", ".xml");
+		file.deleteOnExit();
+		TransformerFactory.newInstance().newTransformer().transform(new DOMSource(doc), new StreamResult(file));
+		return file;
+	}
+}
@@ -0,0 +1,291 @@
+/*
+ * Title:        EdgeCloudSim - Micro Benchmark
+ *
+ * Description:
+ * MicroBenchmark measures the per-task hot paths of the simulator
+ * (VM selection, network delay, mobility and logging) in isolation
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntToDoubleFunction;
+
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.core.CloudSim;
+
+import edu.boun.edgecloudsim.applications.scenario4.SampleMobilityModel;
+import edu.boun.edgecloudsim.core.SimManager;
+import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.core.SimSettings.NETWORK_DELAY_TYPES;
+import edu.boun.edgecloudsim.edge_client.Task;
+import edu.boun.edgecloudsim.edge_orchestrator.BasicEdgeOrchestrator;
+import edu.boun.edgecloudsim.edge_server.EdgeVM;
+import edu.boun.edgecloudsim.mobility.MobilityModel;
+import edu.boun.edgecloudsim.mobility.OccupancyTimeline;
+import edu.boun.edgecloudsim.network.MM1Queue;
+import edu.boun.edgecloudsim.network.NetworkModel;
+import edu.boun.edgecloudsim.utils.SimLogger;
+
+/**
+ * Microbenchmark suite of the per-task hot paths.
+ *
+ * <p>Each benchmark is executed for every (number of mobile devices, number of
+ * VMs per edge host) pair. The fixtures are built from the configuration files
+ * of scenario1 (core classes) and scenario4 (its mobility model), see
+ * {@link BenchmarkFixture}. A benchmark is measured in a number of timed
+ * iterations after the warm-up iterations; the mean and the standard deviation
+ * of the time per operation over the measured iterations are reported.</p>
+ *
+ * <p><b>Usage:</b> MicroBenchmark [-devices 200,1000] [-vms 4,16] [-warmup 2]
+ * [-iterations 5] [-time 1000] [-filter text] [-scripts path] [-out file.csv]
+ * <ul>
+ *   <li>-time: duration of an iteration in milliseconds</li>
+ *   <li>-filter: runs only the benchmarks whose name contains the text</li>
+ *   <li>-scripts: folder containing the scenario folders (default: scripts)</li>
+ *   <li>-out: optional file to save the results (semicolon separated)</li>
+ * </ul></p>
+ */
+public class MicroBenchmark {
+	private static final String[] POLICIES = {"RANDOM_FIT", "WORST_FIT", "BEST_FIT", "FIRST_FIT", "NEXT_FIT"};
+
+	/** Number of operations between two clock readings */
+	private static final int BATCH_SIZE = 64;
+
+	/** Consumes the benchmark results so that the JIT cannot eliminate the measured code */
+	private static volatile double sink;
+
+	private int warmupIterations = 2;
+	private int measurementIterations = 5;
+	private long iterationTime = 1000; //milliseconds
+	private String filter = "";
+	private List<String> results = new ArrayList<String>();
+
+	/**
+	 * A single benchmark; the operation receives the invocation counter,
+	 * which is used to pick the input from the fixture.
+	 */
+	private static class Benchmark {
+		private final String name;
+		private final IntToDoubleFunction operation;
+
+		private Benchmark(String _name, IntToDoubleFunction _operation) {
+			name = _name;
+			operation = _operation;
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		//disable console output of cloudsim library
+		Log.disable();
+
+		//enable console output of EdgeCloudSim
+		SimLogger.enablePrintLog();
+
+		String devices = "200,1000";
+		String vms = "4,16";
+		String scriptsFolder = "scripts";
+		String outputFile = null;
+		MicroBenchmark microBenchmark = new MicroBenchmark();
+
+		for(int i=0; i+1<args.length; i+=2){
+			if(args[i].equals("-devices")) devices = args[i+1];
+			else if(args[i].equals("-vms")) vms = args[i+1];
+			else if(args[i].equals("-warmup")) microBenchmark.warmupIterations = Integer.parseInt(args[i+1]);
+			else if(args[i].equals("-iterations")) microBenchmark.measurementIterations = Integer.parseInt(args[i+1]);
+			else if(args[i].equals("-time")) microBenchmark.iterationTime = Long.parseLong(args[i+1]);
+			else if(args[i].equals("-filter")) microBenchmark.filter = args[i+1];
+			else if(args[i].equals("-scripts")) scriptsFolder = args[i+1];
+			else if(args[i].equals("-out")) outputFile = args[i+1];
+			else {
+				SimLogger.printLine("Unknown argument: " + args[i]);
+				System.exit(1);
+			}
+		}
+
+		SimLogger.printLine(String.format(Locale.ROOT, "%-58s %8s %6s %14s %12s", "Benchmark", "#devices", "#vms", "ns/op", "stddev"));
+		for(String numOfDevices : devices.split(",")){
+			for(String numOfVms : vms.split(",")){
+				microBenchmark.runAll(scriptsFolder, Integer.parseInt(numOfDevices.trim()), Integer.parseInt(numOfVms.trim()));
+			}
+		}
+
+		if(outputFile != null)
+			microBenchmark.saveResults(outputFile);
+	}
+
+	private void runAll(String scriptsFolder, int numOfDevices, int numOfVmsPerHost) throws Exception {
+		String scenario1Config = scriptsFolder + "/scenario1/config/";
+		String scenario4Config = scriptsFolder + "/scenario4/config/";
+
+		SimLogger.disablePrintLog();
+		BenchmarkFixture fixture = new BenchmarkFixture(scenario1Config + "default_config.properties",
+				scenario1Config + "edge_devices.xml", scenario1Config + "applications.xml",
+				numOfDevices, numOfVmsPerHost, true);
+		SimLogger.enablePrintLog();
+		run(fixture, createCoreBenchmarks(fixture));
+
+		SimLogger.disablePrintLog();
+		fixture = new BenchmarkFixture(scenario4Config + "default_config.properties",
+				scenario4Config + "edge_devices.xml", scenario4Config + "applications.xml",
+				numOfDevices, numOfVmsPerHost, false);
+		SimLogger.enablePrintLog();
+		run(fixture, createScenario4Benchmarks(fixture));
+	}
+
+	private List<Benchmark> createCoreBenchmarks(final BenchmarkFixture fixture) {
+		List<Benchmark> benchmarks = new ArrayList<Benchmark>();
+		SimManager simManager = fixture.getSimManager();
+		String simScenario = simManager.getSimulationScenario();
+
+		for(String policy : POLICIES){
+			final BasicEdgeOrchestrator orchestrator = new BasicEdgeOrchestrator(policy, simScenario);
+			orchestrator.initialize();
+			benchmarks.add(new Benchmark("BasicEdgeOrchestrator.selectVmOnHost:" + policy,
+					i -> getVmId(orchestrator.selectVmOnHost(fixture.getTask(i)))));
+			benchmarks.add(new Benchmark("BasicEdgeOrchestrator.selectVmOnLoadBalancer:" + policy,
+					i -> getVmId(orchestrator.selectVmOnLoadBalancer(fixture.getTask(i)))));
+		}
+
+		final MM1Queue mm1Queue = new MM1Queue(fixture.getNumOfMobileDevices(), simScenario);
+		mm1Queue.initialize();
+		benchmarks.add(new Benchmark("MM1Queue.getUploadDelay", i -> {
+			Task task = fixture.getTask(i);
+			return mm1Queue.getUploadDelay(task.getMobileDeviceId(), SimSettings.GENERIC_EDGE_DEVICE_ID, task);
+		}));
+
+		//sessions of a quarter of the devices are kept active to obtain realistic contention
+		final NetworkModel networkModel = simManager.getNetworkModel();
+		MobilityModel mobilityModel = simManager.getMobilityModel();
+		for(int i=0; i<fixture.getNumOfMobileDevices(); i+=4)
+			networkModel.uploadStarted(mobilityModel.getLocation(i, CloudSim.clock()), SimSettings.GENERIC_EDGE_DEVICE_ID);
+		benchmarks.add(new Benchmark("scenario1.SampleNetworkModel.getUploadDelay", i -> {
+			Task task = fixture.getTask(i);
+			return networkModel.getUploadDelay(task.getMobileDeviceId(), SimSettings.GENERIC_EDGE_DEVICE_ID, task);
+		}));
+
+		addMobilityBenchmarks(benchmarks, "NomadicMobility", mobilityModel, fixture);
+
+		benchmarks.add(new Benchmark("SimLogger.addLog-taskEnded", i -> logTaskLifecycle(fixture, i)));
+		return benchmarks;
+	}
+
+	private List<Benchmark> createScenario4Benchmarks(BenchmarkFixture fixture) {
+		List<Benchmark> benchmarks = new ArrayList<Benchmark>();
+		MobilityModel mobilityModel = new SampleMobilityModel(fixture.getNumOfMobileDevices(), fixture.getSimulationTime());
+		mobilityModel.initialize();
+		addMobilityBenchmarks(benchmarks, "scenario4.SampleMobilityModel", mobilityModel, fixture);
+		return benchmarks;
+	}
+
+	private static void addMobilityBenchmarks(List<Benchmark> benchmarks, String modelName,
+			final MobilityModel mobilityModel, final BenchmarkFixture fixture) {
+		//random access: arbitrary (device, time) pairs
+		benchmarks.add(new Benchmark(modelName + ".getLocation:random",
+				i -> mobilityModel.getLocation(fixture.getDeviceId(i), fixture.getTime(i)).getServingWlanId()));
+		//monotonic access: the query pattern of a running simulation
+		benchmarks.add(new Benchmark(modelName + ".getLocation:monotonic",
+				i -> mobilityModel.getLocation(fixture.getMonotonicDeviceId(i), fixture.getMonotonicTime(i)).getServingWlanId()));
+		//crowd query: device count of an access point from the occupancy timeline
+		final OccupancyTimeline occupancyTimeline = mobilityModel.getOccupancyTimeline();
+		if(occupancyTimeline != null)
+			benchmarks.add(new Benchmark(modelName + ".getOccupancyTimeline:deviceCount",
+					i -> occupancyTimeline.getDeviceCount(i % occupancyTimeline.getNumOfAccessPoints(), fixture.getTime(i))));
+	}
+
+	//the log calls of a task completed on an edge VM, as made by the device managers
+	private static double logTaskLifecycle(BenchmarkFixture fixture, int i) {
+		Task task = fixture.getTask(i);
+		double startTime = fixture.getWarmUpPeriod() + 1;
+		SimLogger logger = SimLogger.getInstance();
+		logger.addLog(task.getMobileDeviceId(), i, task.getTaskType(),
+				(int)task.getCloudletLength(), (int)task.getCloudletFileSize(), (int)task.getCloudletOutputSize());
+		logger.taskStarted(i, startTime);
+		logger.setUploadDelay(i, 0.1, NETWORK_DELAY_TYPES.WLAN_DELAY);
+		logger.taskAssigned(i, 0, 0, 0, SimSettings.VM_TYPES.EDGE_VM.ordinal());
+		logger.taskExecuted(i);
+		logger.setDownloadDelay(i, 0.1, NETWORK_DELAY_TYPES.WLAN_DELAY);
+		logger.taskEnded(i, startTime + 1);
+		return i;
+	}
+
+	private static double getVmId(EdgeVM vm) {
+		return vm == null ? -1 : vm.getId();
+	}
+
+	private void run(BenchmarkFixture fixture, List<Benchmark> benchmarks) {
+		for(Benchmark benchmark : benchmarks){
+			if(!benchmark.name.contains(filter))
+				continue;
+
+			int counter = 0;
+			for(int i=0; i<warmupIterations; i++)
+				counter = measure(benchmark, counter, null, 0);
+
+			double[] timePerOperation = new double[measurementIterations];
+			for(int i=0; i<measurementIterations; i++)
+				counter = measure(benchmark, counter, timePerOperation, i);
+
+			double mean = 0;
+			for(double value : timePerOperation)
+				mean += value / measurementIterations;
+			double variance = 0;
+			for(double value : timePerOperation)
+				variance += (value - mean) * (value - mean) / Math.max(1, measurementIterations - 1);
+			double stddev = Math.sqrt(variance);
+
+			SimLogger.printLine(String.format(Locale.ROOT, "%-58s %8d %6d %14.1f %12.1f", benchmark.name,
+					fixture.getNumOfMobileDevices(), fixture.getNumOfVmsPerHost(), mean, stddev));
+			results.add(benchmark.name + SimSettings.DELIMITER +
+					fixture.getNumOfMobileDevices() + SimSettings.DELIMITER +
+					fixture.getNumOfVmsPerHost() + SimSettings.DELIMITER +
+					mean + SimSettings.DELIMITER +
+					stddev + SimSettings.DELIMITER +
+					measurementIterations);
+		}
+	}
+
+	//runs a single timed iteration and returns the updated invocation counter
+	private int measure(Benchmark benchmark, int counter, double[] timePerOperation, int iteration) {
+		long duration = iterationTime * 1000000;
+		long operations = 0;
+		double result = 0;
+		long startTime = System.nanoTime();
+		long elapsedTime;
+		do {
+			for(int i=0; i<BATCH_SIZE; i++)
+				result += benchmark.operation.applyAsDouble(counter++);
+			operations += BATCH_SIZE;
+			elapsedTime = System.nanoTime() - startTime;
+		} while(elapsedTime < duration);
+
+		sink += result;
+		if(timePerOperation != null)
+			timePerOperation[iteration] = (double)elapsedTime / operations;
+		return counter;
+	}
+
+	private void saveResults(String outputFile) throws IOException {
+		BufferedWriter bw = new BufferedWriter(new FileWriter(new File(outputFile), false));
+		try {
+			bw.write("benchmark;devices;vms_per_host;mean_ns_per_op;stddev_ns_per_op;iterations");
+			bw.newLine();
+			for(String result : results){
+				bw.write(result);
+				bw.newLine();
+			}
+		}
+		finally {
+			bw.close();
+		}
+	}
+}
@@ -0,0 +1,388 @@
+/*
+ * Title:        EdgeCloudSim - Scaling Benchmark
+ *
+ * Description:
+ * ScalingBenchmark runs the shipped scenarios end to end at increasing
+ * number of mobile devices and compares the measurements with a baseline
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.benchmark;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+import edu.boun.edgecloudsim.core.ParallelSweepRunner;
+import edu.boun.edgecloudsim.core.SimManager;
+import edu.boun.edgecloudsim.utils.EventProfiler;
+import edu.boun.edgecloudsim.utils.SimLogger;
+
+/**
+ * End-to-end scaling benchmark of the shipped scenarios.
+ *
+ * <p>Each (scenario, number of mobile devices) point is simulated in a fresh
+ * JVM, so that heap and GC measurements of a point are not affected by the
+ * previous ones. The point runs the first simulation scenario and the first
+ * orchestrator policy of the configuration file through
+ * ParallelSweepRunner.runSweepPoint, with the SCENARIO_FACTORY of the
+ * scenario's MainApp. The configuration is copied with the
+ * event profiler enabled (its counts give the number of simulated events of
+ * the EdgeCloudSim entities) and with a fixed random seed if none is given,
+ * so that every run simulates the same workload.</p>
+ *
+ * <p>For each point the wall time, the simulated events per second, the tasks
+ * per second, the peak heap usage (sum of the peaks of the heap pools) and the
+ * GC time are saved to a semicolon separated file. If a baseline file (a
+ * result file of a previous run) is given, the wall time and the peak heap of
+ * each point are compared with the baseline; increases beyond the threshold
+ * are reported as regressions and the benchmark exits with status 1.</p>
+ *
+ * <p><b>Usage:</b> ScalingBenchmark [-scenarios 1,2,3,4,5] [-devices 200,400]
+ * [-points 3] [-simtime minutes] [-scripts path] [-out file.csv]
+ * [-baseline file.csv] [-threshold 0.1] [-jvmargs "-Xmx4g"]
+ * <ul>
+ *   <li>-devices: number of mobile devices; by default the first points of the sweep in each configuration</li>
+ *   <li>-points: number of sweep points used when -devices is not given</li>
+ *   <li>-simtime: overrides the simulation time (the warm up period is scaled accordingly)</li>
+ *   <li>-scripts: folder containing the scenario folders (default: scripts)</li>
+ *   <li>-threshold: allowed relative increase of the wall time and the peak heap</li>
+ *   <li>-jvmargs: space separated arguments of the JVMs running the points</li>
+ * </ul></p>
+ */
+public class ScalingBenchmark {
+	private static final String HEADER = "scenario;devices;wall_time(s);events;events_per_sec;tasks;tasks_per_sec;peak_heap(MB);gc_time(ms)";
+
+	/** Prefix of the line which carries the measurements of a point to the parent JVM */
+	private static final String RESULT_PREFIX = "SCALING_RESULT;";
+
+	/** Seed used when the configuration file does not set one */
+	private static final String DEFAULT_RANDOM_SEED = "20170101";
+
+	private String scriptsFolder = "scripts";
+	private String devices = null;
+	private int numOfPoints = 3;
+	private String simulationTime = null;
+	private String jvmArgs = "";
+	private double threshold = 0.1;
+
+	public static void main(String[] args) throws Exception {
+		if(args.length > 0 && args[0].equals("-point")){
+			runPoint(Integer.parseInt(args[1]), args[2], args[3], args[4], args[5], Integer.parseInt(args[6]));
+			return;
+		}
+
+		//enable console output of EdgeCloudSim
+		SimLogger.enablePrintLog();
+
+		String scenarios = "1,2,3,4,5";
+		String outputFile = "scaling_results.csv";
+		String baselineFile = null;
+		ScalingBenchmark scalingBenchmark = new ScalingBenchmark();
+
+		for(int i=0; i+1<args.length; i+=2){
+			if(args[i].equals("-scenarios")) scenarios = args[i+1];
+			else if(args[i].equals("-devices")) scalingBenchmark.devices = args[i+1];
+			else if(args[i].equals("-points")) scalingBenchmark.numOfPoints = Integer.parseInt(args[i+1]);
+			else if(args[i].equals("-simtime")) scalingBenchmark.simulationTime = args[i+1];
+			else if(args[i].equals("-scripts")) scalingBenchmark.scriptsFolder = args[i+1];
+			else if(args[i].equals("-out")) outputFile = args[i+1];
+			else if(args[i].equals("-baseline")) baselineFile = args[i+1];
+			else if(args[i].equals("-threshold")) scalingBenchmark.threshold = Double.parseDouble(args[i+1]);
+			else if(args[i].equals("-jvmargs")) scalingBenchmark.jvmArgs = args[i+1];
+			else {
+				SimLogger.printLine("Unknown argument: " + args[i]);
+				System.exit(1);
+			}
+		}
+
+		Map<String, String[]> baseline = null;
+		if(baselineFile != null)
+			baseline = loadResults(baselineFile);
+
+		SimLogger.printLine(String.format(Locale.ROOT, "%-10s %8s %10s %12s %12s %10s %10s  %s",
+				"Scenario", "#devices", "wall(s)", "events/s", "tasks/s", "heap(MB)", "gc(ms)", "baseline"));
+
+		List<String> results = new ArrayList<String>();
+		int numOfRegressions = 0;
+		for(String scenario : scenarios.split(",")){
+			int scenarioNumber = Integer.parseInt(scenario.trim());
+			for(int numOfDevices : scalingBenchmark.getDeviceCounts(scenarioNumber)){
+				String result = scalingBenchmark.run(scenarioNumber, numOfDevices);
+				results.add(result);
+
+				String comparison = "";
+				if(baseline != null){
+					comparison = scalingBenchmark.compare(result.split(";"), baseline.get(scenarioNumber + ";" + numOfDevices));
+					if(comparison.startsWith("REGRESSION"))
+						numOfRegressions++;
+				}
+				printResult(result.split(";"), comparison);
+			}
+		}
+
+		saveResults(outputFile, results);
+
+		if(baseline != null){
+			SimLogger.printLine(numOfRegressions + " regression(s) beyond " +
+					String.format(Locale.ROOT, "%.0f", scalingBenchmark.threshold * 100) + "% of the baseline");
+			if(numOfRegressions > 0)
+				System.exit(1);
+		}
+	}
+
+	//returns the given device counts or the first points of the sweep of the scenario
+	private int[] getDeviceCounts(int scenarioNumber) throws IOException {
+		if(devices != null)
+			return Arrays.stream(devices.split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+
+		Properties prop = loadProperties(getConfigFile(scenarioNumber));
+		int min = Integer.parseInt(prop.getProperty("min_number_of_mobile_devices"));
+		int max = Integer.parseInt(prop.getProperty("max_number_of_mobile_devices"));
+		int step = Integer.parseInt(prop.getProperty("mobile_device_counter_size"));
+
+		List<Integer> deviceCounts = new ArrayList<Integer>();
+		for(int i=min; i<=max && deviceCounts.size()<numOfPoints; i+=step)
+			deviceCounts.add(i);
+		return deviceCounts.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	private String getConfigFolder(int scenarioNumber) {
+		return scriptsFolder + "/scenario" + scenarioNumber + "/config/";
+	}
+
+	//scenario5 ships three configurations; its MainApp uses the first one by default
+	private String getConfigFile(int scenarioNumber) {
+		return getConfigFolder(scenarioNumber) + (scenarioNumber == 5 ? "default_config1.properties" : "default_config.properties");
+	}
+
+	private String getEdgeDevicesFile(int scenarioNumber) {
+		return getConfigFolder(scenarioNumber) + (scenarioNumber == 5 ? "edge_devices1.xml" : "edge_devices.xml");
+	}
+
+	private String getApplicationsFile(int scenarioNumber) {
+		return getConfigFolder(scenarioNumber) + (scenarioNumber == 5 ? "applications1.xml" : "applications.xml");
+	}
+
+	/**
+	 * Simulates a point in a child JVM and returns its result line.
+	 */
+	private String run(int scenarioNumber, int numOfDevices) throws Exception {
+		File workFolder = Files.createTempDirectory("scaling_benchmark_").toFile();
+		try {
+			File configFile = createConfigFile(scenarioNumber, workFolder);
+
+			List<String> command = new ArrayList<String>();
+			command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+			for(String jvmArg : jvmArgs.trim().split("\\s+"))
+				if(!jvmArg.isEmpty())
+					command.add(jvmArg);
+			command.add("-classpath");
+			command.add(System.getProperty("java.class.path"));
+			command.add(ScalingBenchmark.class.getName());
+			command.add("-point");
+			command.add(Integer.toString(scenarioNumber));
+			command.add(configFile.getPath());
+			command.add(getEdgeDevicesFile(scenarioNumber));
+			command.add(getApplicationsFile(scenarioNumber));
+			command.add(workFolder.getPath());
+			command.add(Integer.toString(numOfDevices));
+
+			ProcessBuilder processBuilder = new ProcessBuilder(command);
+			processBuilder.redirectError(ProcessBuilder.Redirect.INHERIT);
+			Process process = processBuilder.start();
+
+			String result = null;
+			BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+			try {
+				String line;
+				while((line = reader.readLine()) != null)
+					if(line.startsWith(RESULT_PREFIX))
+						result = line.substring(RESULT_PREFIX.length());
+			}
+			finally {
+				reader.close();
+			}
+
+			if(process.waitFor() != 0 || result == null){
+				SimLogger.printLine("scenario" + scenarioNumber + " with " + numOfDevices + " devices did not complete!");
+				System.exit(1);
+			}
+			return result;
+		}
+		finally {
+			deleteFolder(workFolder);
+		}
+	}
+
+	//copies the configuration of the scenario, enabling the event profiler and fixing the seed
+	private File createConfigFile(int scenarioNumber, File workFolder) throws IOException {
+		Properties prop = loadProperties(getConfigFile(scenarioNumber));
+		prop.setProperty("event_profiler_enabled", "true");
+		if(prop.getProperty("random_seed") == null)
+			prop.setProperty("random_seed", DEFAULT_RANDOM_SEED);
+
+		if(simulationTime != null){
+			double scale = Double.parseDouble(simulationTime) / Double.parseDouble(prop.getProperty("simulation_time"));
+			double warmUpPeriod = Double.parseDouble(prop.getProperty("warm_up_period")) * scale;
+			prop.setProperty("simulation_time", simulationTime);
+			prop.setProperty("warm_up_period", Double.toString(warmUpPeriod));
+		}
+
+		File configFile = new File(workFolder, "config.properties");
+		FileOutputStream output = new FileOutputStream(configFile);
+		try {
+			prop.store(output, "generated by ScalingBenchmark");
+		}
+		finally {
+			output.close();
+		}
+		return configFile;
+	}
+
+	/**
+	 * Simulates a single point; executed in the child JVM.
+	 * The measurements are printed as a result line to the standard output.
+	 */
+	private static void runPoint(int scenarioNumber, String configFile, String edgeDevicesFile,
+			String applicationsFile, String outputFolder, int numOfDevices) throws Exception {
+		Properties prop = loadProperties(configFile);
+		String simScenario = prop.getProperty("simulation_scenarios").split(",")[0].trim();
+		String orchestratorPolicy = prop.getProperty("orchestrator_policies").split(",")[0].trim();
+
+		//start from a clean heap so that the peak belongs to the simulation
+		System.gc();
+		for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+			if(pool.getType() == MemoryType.HEAP)
+				pool.resetPeakUsage();
+		long gcTimeAtStart = getGcTime();
+
+		long startTime = System.nanoTime();
+		ParallelSweepRunner.ScenarioFactoryCreator factoryCreator = (ParallelSweepRunner.ScenarioFactoryCreator)
+				Class.forName("edu.boun.edgecloudsim.applications.scenario" + scenarioNumber + ".MainApp")
+				.getField(ParallelSweepRunner.SCENARIO_FACTORY_FIELD).get(null);
+		ParallelSweepRunner.runSweepPoint(factoryCreator, configFile, edgeDevicesFile, applicationsFile,
+				outputFolder, 1, numOfDevices, simScenario, orchestratorPolicy);
+		double wallTime = (System.nanoTime() - startTime) / 1e9;
+
+		long gcTime = getGcTime() - gcTimeAtStart;
+		long peakHeap = 0;
+		for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+			if(pool.getType() == MemoryType.HEAP)
+				peakHeap += pool.getPeakUsage().getUsed();
+
+		long numOfEvents = EventProfiler.getInstance().getTotalEventCount();
+		int numOfTasks = SimManager.getInstance().getLoadGeneratorModel().getTaskList().size();
+
+		System.out.println(RESULT_PREFIX + String.format(Locale.ROOT, "scenario%d;%d;%.3f;%d;%.1f;%d;%.1f;%.1f;%d",
+				scenarioNumber, numOfDevices, wallTime,
+				numOfEvents, numOfEvents / wallTime,
+				numOfTasks, numOfTasks / wallTime,
+				peakHeap / (1024.0 * 1024.0), gcTime));
+	}
+
+	private static long getGcTime() {
+		long gcTime = 0;
+		for(GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+			gcTime += Math.max(0, gc.getCollectionTime());
+		return gcTime;
+	}
+
+	/**
+	 * Compares the wall time and the peak heap of a result with the baseline.
+	 */
+	private String compare(String[] result, String[] baseline) {
+		if(baseline == null)
+			return "no baseline";
+
+		double wallTimeChange = Double.parseDouble(result[2]) / Double.parseDouble(baseline[2]) - 1;
+		double peakHeapChange = Double.parseDouble(result[7]) / Double.parseDouble(baseline[7]) - 1;
+
+		String comparison = String.format(Locale.ROOT, "wall %+.1f%%, heap %+.1f%%", wallTimeChange * 100, peakHeapChange * 100);
+		if(wallTimeChange > threshold || peakHeapChange > threshold)
+			comparison = "REGRESSION (" + comparison + ")";
+		return comparison;
+	}
+
+	private static void printResult(String[] result, String comparison) {
+		SimLogger.printLine(String.format(Locale.ROOT, "%-10s %8s %10s %12s %12s %10s %10s  %s",
+				result[0], result[1], result[2], result[4], result[6], result[7], result[8], comparison));
+	}
+
+	//reads a result file; the rows are keyed by "scenario number;devices"
+	private static Map<String, String[]> loadResults(String resultFile) throws IOException {
+		Map<String, String[]> results = new HashMap<String, String[]>();
+		BufferedReader reader = new BufferedReader(new FileReader(resultFile));
+		try {
+			String line;
+			while((line = reader.readLine()) != null){
+				if(line.isEmpty() || line.equals(HEADER))
+					continue;
+				String[] values = line.split(";");
+				results.put(values[0].replace("scenario", "") + ";" + values[1], values);
+			}
+		}
+		finally {
+			reader.close();
+		}
+		return results;
+	}
+
+	private static void saveResults(String outputFile, List<String> results) throws IOException {
+		BufferedWriter bw = new BufferedWriter(new FileWriter(outputFile, false));
+		try {
+			bw.write(HEADER);
+			bw.newLine();
+			for(String result : results){
+				bw.write(result);
+				bw.newLine();
+			}
+		}
+		finally {
+			bw.close();
+		}
+	}
+
+	private static Properties loadProperties(String propertiesFile) throws IOException {
+		Properties prop = new Properties();
+		FileInputStream input = new FileInputStream(propertiesFile);
+		try {
+			prop.load(input);
+		}
+		finally {
+			input.close();
+		}
+		return prop;
+	}
+
+	private static void deleteFolder(File folder) {
+		File[] files = folder.listFiles();
+		if(files != null)
+			for(File file : files)
+				if(file.isDirectory())
+					deleteFolder(file);
+				else
+					file.delete();
+		folder.delete();
+	}
+}
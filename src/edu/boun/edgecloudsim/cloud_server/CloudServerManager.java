@@ -23,6 +23,8 @@ import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.Host;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
 
+import edu.boun.edgecloudsim.edge_client.VmUtilizationAggregates;
+
 /**
  * Abstract base class for managing cloud server infrastructure in EdgeCloudSim.
  * Handles cloud datacenter operations, VM allocation, and resource management.
@@ -30,6 +32,8 @@ import org.cloudbus.cloudsim.VmAllocationPolicy;
 public abstract class CloudServerManager {
 	protected Datacenter localDatacenter;
 	protected List<List<CloudVM>> vmList;
+	private VmUtilizationAggregates utilizationAggregates; // Built on the first request
+	private boolean utilizationAggregatesCreated;
 
 	/**
 	 * Constructor initializes the VM list structure for cloud servers.
@@ -94,4 +98,22 @@ public abstract class CloudServerManager {
 	 * @return Average utilization percentage (0.0 to 1.0)
 	 */
 	public abstract double getAvgUtilization();
+
+	/**
+	 * Returns the running utilization sums of the cloud VMs, built on the first
+	 * request (the VMs exist once the simulation runs); the hosts are indexed
+	 * in the order of the host list of the datacenter.
+	 * @return utilization sums, or null if the VMs do not report their utilization
+	 */
+	protected VmUtilizationAggregates getUtilizationAggregates(){
+		if(!utilizationAggregatesCreated){
+			utilizationAggregatesCreated = true;
+			int numOfHosts = localDatacenter.getHostList().size();
+			List<List<CloudVM>> vmsOfHosts = new ArrayList<List<CloudVM>>();
+			for(int hostIndex=0; hostIndex<numOfHosts; hostIndex++)
+				vmsOfHosts.add(vmList.get(hostIndex));
+			utilizationAggregates = VmUtilizationAggregates.create(vmsOfHosts, new int[numOfHosts], 1);
+		}
+		return utilizationAggregates;
+	}
 }
\ No newline at end of file
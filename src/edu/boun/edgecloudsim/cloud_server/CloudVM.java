@@ -17,6 +17,7 @@ import org.cloudbus.cloudsim.CloudletScheduler;
 import org.cloudbus.cloudsim.Vm;
 
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.edge_client.CloudletSchedulerTimeShared_Custom;
 
 /**
  * CloudVM extends CloudSim's VM class to provide cloud-specific virtual machine functionality.
@@ -53,6 +54,18 @@ public class CloudVM extends Vm {
 		return type;
 	}
 
+	/**
+	 * Returns the total CPU utilization of the tasks running on this VM. The
+	 * utilization is kept up to date by the VM's cloudlet scheduler (see
+	 * CloudletSchedulerTimeShared_Custom), so reading it costs no walk over
+	 * the running cloudlets.
+	 * 
+	 * @return CPU utilization in percent
+	 */
+	public double getCpuUtilization(){
+		return CloudletSchedulerTimeShared_Custom.getUtilizationOfCpu(getCloudletScheduler());
+	}
+
 	/**
 	 * Dynamically reconfigures the MIPS processing capacity of this VM.
 	 * Updates both the VM's MIPS value and reallocates processing elements on the host.
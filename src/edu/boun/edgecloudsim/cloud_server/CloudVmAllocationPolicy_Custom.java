@@ -13,7 +13,6 @@
 
 package edu.boun.edgecloudsim.cloud_server;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -24,6 +23,7 @@ import org.cloudbus.cloudsim.VmAllocationPolicy;
 import org.cloudbus.cloudsim.core.CloudSim;
 
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.utils.VmHostTable;
 
 /**
  * Custom VM allocation policy for cloud VMs in EdgeCloudSim.
@@ -31,8 +31,8 @@ import edu.boun.edgecloudsim.core.SimSettings;
  * Similar to VmAllocationPolicySimple but with EdgeCloudSim-specific optimizations.
  */
 public class CloudVmAllocationPolicy_Custom extends VmAllocationPolicy {
-	/** Mapping table of VM UIDs to their assigned hosts */
-	private Map<String, Host> vmTable;
+	/** Table of the hosts of the allocated VMs, indexed by VM id */
+	private VmHostTable vmTable;
 	/** Counter for tracking total number of created VMs */
 	private static int createdVmNum;
 	/** Index of the datacenter this policy manages */
@@ -47,7 +47,7 @@ public class CloudVmAllocationPolicy_Custom extends VmAllocationPolicy {
 	public CloudVmAllocationPolicy_Custom(List<? extends Host> list, int _DataCenterIndex) {
 		super(list);
 		
-		setVmTable(new HashMap<String, Host>());
+		setVmTable(new VmHostTable());
 		DataCenterIndex=_DataCenterIndex;
 		createdVmNum = 0;
 	}
@@ -64,9 +64,9 @@ public class CloudVmAllocationPolicy_Custom extends VmAllocationPolicy {
 		boolean result = false;
 
 		// Check if VM is not already allocated and is a CloudVM instance
-		if (!getVmTable().containsKey(vm.getUid()) && vm instanceof CloudVM) {
+		if (!getVmTable().contains(vm) && vm instanceof CloudVM) {
 			// Calculate target host index based on VM ID range
-			int hostIndex = (vm.getId() - SimSettings.getInstance().getNumOfEdgeVMs()) / SimSettings.getInstance().getNumOfCloudVMsPerHost();
+			int hostIndex = SimSettings.getInstance().getHostIndexOfCloudVM(vm.getId());
 			
 			// Only allocate if this is the designated cloud datacenter
 			if(DataCenterIndex == SimSettings.CLOUD_DATACENTER_ID){
@@ -74,7 +74,7 @@ public class CloudVmAllocationPolicy_Custom extends VmAllocationPolicy {
 				result = host.vmCreate(vm);
 	
 				if (result) { // VM successfully created on the host
-					getVmTable().put(vm.getUid(), host);
+					getVmTable().put(vm, host);
 					createdVmNum++;
 					Log.formatLine("%.2f: Cloud VM #" + vm.getId() + " has been allocated to the host #" + host.getId(),CloudSim.clock());
 					result = true;
@@ -96,7 +96,7 @@ public class CloudVmAllocationPolicy_Custom extends VmAllocationPolicy {
 	@Override
 	public boolean allocateHostForVm(Vm vm, Host host) {
 		if (host.vmCreate(vm)) { // VM successfully created on the specified host
-			getVmTable().put(vm.getUid(), host);
+			getVmTable().put(vm, host);
 			createdVmNum++;
 			
 			Log.formatLine("%.2f: Cloud VM #" + vm.getId() + " has been allocated to the host #" + host.getId(),CloudSim.clock());
@@ -128,7 +128,7 @@ public class CloudVmAllocationPolicy_Custom extends VmAllocationPolicy {
 	 */
 	@Override
 	public void deallocateHostForVm(Vm vm) {
-		Host host = getVmTable().remove(vm.getUid());
+		Host host = getVmTable().remove(vm);
 		if (host != null) {
 			host.vmDestroy(vm);
 		}
@@ -142,7 +142,7 @@ public class CloudVmAllocationPolicy_Custom extends VmAllocationPolicy {
 	 */
 	@Override
 	public Host getHost(Vm vm) {
-		return getVmTable().get(vm.getUid());
+		return getVmTable().get(vm);
 	}
 
 	/**
@@ -154,7 +154,7 @@ public class CloudVmAllocationPolicy_Custom extends VmAllocationPolicy {
 	 */
 	@Override
 	public Host getHost(int vmId, int userId) {
-		return getVmTable().get(Vm.getUid(userId, vmId));
+		return getVmTable().get(vmId, userId);
 	}
 
 	/**
@@ -168,11 +168,11 @@ public class CloudVmAllocationPolicy_Custom extends VmAllocationPolicy {
 	}
 	
 	/**
-	 * Gets the VM allocation table mapping VM UIDs to hosts.
+	 * Gets the VM allocation table mapping VM ids to hosts.
 	 * 
-	 * @return Map of VM UIDs to their assigned hosts
+	 * @return Table of the hosts of the allocated VMs, indexed by VM id
 	 */
-	public Map<String, Host> getVmTable() {
+	public VmHostTable getVmTable() {
 		return vmTable;
 	}
 
@@ -180,9 +180,9 @@ public class CloudVmAllocationPolicy_Custom extends VmAllocationPolicy {
 	 * Sets the VM allocation table.
 	 * Protected method for internal table management.
 	 * 
-	 * @param vmTable Map of VM UIDs to hosts for allocation tracking
+	 * @param vmTable Table of VM ids to hosts for allocation tracking
 	 */
-	protected void setVmTable(Map<String, Host> vmTable) {
+	protected void setVmTable(VmHostTable vmTable) {
 		this.vmTable = vmTable;
 	}
 }
@@ -14,7 +14,6 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
 import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.DatacenterCharacteristics;
 import org.cloudbus.cloudsim.Host;
@@ -22,13 +21,14 @@ import org.cloudbus.cloudsim.Pe;
 import org.cloudbus.cloudsim.Storage;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
 import org.cloudbus.cloudsim.VmSchedulerSpaceShared;
-import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
 import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
 import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
 
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.edge_client.CloudletSchedulerTimeShared_Custom;
+import edu.boun.edgecloudsim.edge_client.VmUtilizationAggregates;
 
 /**
  * Default implementation of CloudServerManager for standard cloud infrastructure.
@@ -99,7 +99,7 @@ public class DefaultCloudServerManager extends CloudServerManager{
 				long bandwidth = 0;
 				
 				// Create cloud VM with configured parameters
-				CloudVM vm = new CloudVM(vmCounter, brokerId, mips, numOfCores, ram, bandwidth, storage, vmm, new CloudletSchedulerTimeShared());
+				CloudVM vm = new CloudVM(vmCounter, brokerId, mips, numOfCores, ram, bandwidth, storage, vmm, new CloudletSchedulerTimeShared_Custom());
 				vmList.get(i).add(vm);
 				vmCounter++;
 			}
@@ -112,6 +112,10 @@ public class DefaultCloudServerManager extends CloudServerManager{
 	 * @return Average utilization percentage (0.0 to 1.0)
 	 */
 	public double getAvgUtilization(){
+		VmUtilizationAggregates utilizationAggregates = getUtilizationAggregates();
+		if(utilizationAggregates != null)
+			return utilizationAggregates.getAvgUtilization();
+		
 		double totalUtilization = 0;
 		double vmCounter = 0;
 
@@ -121,7 +125,7 @@ public class DefaultCloudServerManager extends CloudServerManager{
 			List<CloudVM> vmArray = SimManager.getInstance().getCloudServerManager().getVmList(hostIndex);
 			// Calculate utilization for each VM on this host
 			for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
-				totalUtilization += vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+				totalUtilization += vmArray.get(vmIndex).getCpuUtilization();
 				vmCounter++;
 			}
 		}
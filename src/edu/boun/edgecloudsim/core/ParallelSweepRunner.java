@@ -0,0 +1,210 @@
+/*
+ * Title:        EdgeCloudSim - Parallel Sweep Runner
+ *
+ * Description:
+ * ParallelSweepRunner simulates the points of a MainApp parameter sweep
+ * (devices x scenarios x policies) concurrently inside one JVM.
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.core;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.core.CloudSim;
+
+import edu.boun.edgecloudsim.utils.SimLogger;
+import edu.boun.edgecloudsim.utils.SimUtils;
+
+/**
+ * Runs the sweep points of a scenario MainApp on a bounded thread pool.
+ *
+ * SimManager, SimSettings, SimLogger, SimUtils.RNG and the CloudSim kernel keep
+ * their state in static fields, so two simulations cannot share a class loader.
+ * Each sweep point is therefore executed in its own simulation context: a fresh
+ * class loader over the application class path, which gets private copies of
+ * all of these singletons. The sweep point is started by calling runSweepPoint(...)
+ * of this class inside that context, with the ScenarioFactoryCreator that the
+ * MainApp class of that context provides in its SCENARIO_FACTORY field.
+ *
+ * Every sweep point derives its seed from its own coordinates (see
+ * SimUtils.getSweepPointSeed), so the produced result files do not depend on
+ * the number of threads or the completion order of the sweep points.
+ */
+public class ParallelSweepRunner {
+	/** name of the public static ScenarioFactoryCreator field each MainApp provides */
+	public static final String SCENARIO_FACTORY_FIELD = "SCENARIO_FACTORY";
+
+	private static final String SWEEP_POINT_METHOD = "runSweepPoint";
+
+	/**
+	 * Creates the ScenarioFactory of a sweep point, e.g. SampleScenarioFactory::new.
+	 */
+	public interface ScenarioFactoryCreator {
+		ScenarioFactory create(int numOfMobileDevices, double simulationTime, String orchestratorPolicy, String simScenario);
+	}
+
+	private final String mainAppClassName;
+	private final String configFile;
+	private final String edgeDevicesFile;
+	private final String applicationsFile;
+	private final URL[] classPath;
+	private final ExecutorService executor;
+	private final List<Future<?>> sweepPoints;
+
+	/**
+	 * Creates a runner which simulates at most numOfThreads sweep points at a time.
+	 *
+	 * @param _mainAppClassName fully qualified name of the scenario MainApp class
+	 * @param _numOfThreads maximum number of concurrently running sweep points
+	 * @param _configFile path of the properties file
+	 * @param _edgeDevicesFile path of the edge devices XML file
+	 * @param _applicationsFile path of the applications XML file
+	 */
+	public ParallelSweepRunner(String _mainAppClassName, int _numOfThreads,
+			String _configFile, String _edgeDevicesFile, String _applicationsFile) {
+		mainAppClassName = _mainAppClassName;
+		configFile = _configFile;
+		edgeDevicesFile = _edgeDevicesFile;
+		applicationsFile = _applicationsFile;
+		classPath = getApplicationClassPath();
+		executor = Executors.newFixedThreadPool(_numOfThreads);
+		sweepPoints = new ArrayList<Future<?>>();
+	}
+
+	/**
+	 * Queues a sweep point; it starts as soon as a thread of the pool is free.
+	 */
+	public void submit(final String outputFolder, final int iterationNumber, final int numOfMobileDevices,
+			final String simScenario, final String orchestratorPolicy) {
+		sweepPoints.add(executor.submit(new Runnable() {
+			@Override
+			public void run() {
+				runInIsolatedContext(outputFolder, iterationNumber, numOfMobileDevices, simScenario, orchestratorPolicy);
+			}
+		}));
+	}
+
+	/**
+	 * Blocks until all submitted sweep points are finished and releases the thread pool.
+	 */
+	public void awaitCompletion() {
+		try {
+			for(Future<?> sweepPoint : sweepPoints)
+				sweepPoint.get();
+		} catch (InterruptedException | ExecutionException e) {
+			SimLogger.printLine("The simulation has been terminated due to an unexpected error");
+			e.printStackTrace();
+			System.exit(1);
+		}
+		executor.shutdown();
+	}
+
+	/**
+	 * Runs a single sweep point.
+	 * 
+	 * Called inside an isolated simulation context; the singletons of that
+	 * context are fresh, so they are initialized here.
+	 */
+	public static void runSweepPoint(ScenarioFactoryCreator factoryCreator,
+			String configFile, String edgeDevicesFile, String applicationsFile,
+			String outputFolder, int iterationNumber, int numOfMobileDevices,
+			String simScenario, String orchestratorPolicy) throws Exception {
+		//console output is left to the sweep runner, progress bars of concurrent runs would interleave
+		Log.disable();
+
+		SimSettings SS = SimSettings.getInstance();
+		if(SS.initialize(configFile, edgeDevicesFile, applicationsFile) == false)
+			throw new IllegalStateException("cannot initialize simulation settings!");
+
+		if(SS.getFileLoggingEnabled())
+			SimLogger.enableFileLog();
+
+		SimLogger.getInstance().simStarted(outputFolder,"SIMRESULT_" + simScenario + "_"  + orchestratorPolicy + "_" + numOfMobileDevices + "DEVICES");
+
+		if(SS.isRandomSeedEnabled())
+			SimUtils.setRandomSeed(SimUtils.getSweepPointSeed(SS.getRandomSeed(), iterationNumber, numOfMobileDevices, simScenario, orchestratorPolicy));
+
+		CloudSim.init(2, Calendar.getInstance(), false, 0.01);
+
+		ScenarioFactory scenarioFactory = factoryCreator.create(numOfMobileDevices, SS.getSimulationTime(), orchestratorPolicy, simScenario);
+		SimManager manager = new SimManager(scenarioFactory, numOfMobileDevices, simScenario, orchestratorPolicy);
+		manager.startSimulation();
+	}
+
+	private void runInIsolatedContext(String outputFolder, int iterationNumber, int numOfMobileDevices,
+			String simScenario, String orchestratorPolicy) {
+		DateFormat df = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
+		Date ScenarioStartDate = Calendar.getInstance().getTime();
+		String pointName = "Scenario: " + simScenario + " - Policy: " + orchestratorPolicy +
+				" - #iteration: " + iterationNumber + " - #devices: " + numOfMobileDevices;
+		SimLogger.printLine(pointName + " started at " + df.format(ScenarioStartDate));
+
+		Thread currentThread = Thread.currentThread();
+		ClassLoader previousLoader = currentThread.getContextClassLoader();
+
+		//parent is the platform loader, so that no simulator class is shared with other sweep points
+		try (URLClassLoader contextLoader = new URLClassLoader(classPath, ClassLoader.getPlatformClassLoader())) {
+			currentThread.setContextClassLoader(contextLoader);
+			//the creator and runSweepPoint are taken from the classes of the context, not from this class
+			Class<?> mainAppClass = Class.forName(mainAppClassName, true, contextLoader);
+			Object factoryCreator = mainAppClass.getField(SCENARIO_FACTORY_FIELD).get(null);
+			Class<?> runnerClass = Class.forName(ParallelSweepRunner.class.getName(), true, contextLoader);
+			Class<?> creatorClass = Class.forName(ScenarioFactoryCreator.class.getName(), true, contextLoader);
+			Method sweepPointMethod = runnerClass.getMethod(SWEEP_POINT_METHOD, creatorClass,
+					String.class, String.class, String.class, String.class,
+					int.class, int.class, String.class, String.class);
+			sweepPointMethod.invoke(null, factoryCreator, configFile, edgeDevicesFile, applicationsFile,
+					outputFolder, iterationNumber, numOfMobileDevices, simScenario, orchestratorPolicy);
+		}
+		catch (InvocationTargetException e) {
+			SimLogger.printLine("The simulation has been terminated due to an unexpected error");
+			e.getCause().printStackTrace();
+			System.exit(1);
+		}
+		catch (Exception e) {
+			SimLogger.printLine("Simulation context cannot be created for " + mainAppClassName);
+			e.printStackTrace();
+			System.exit(1);
+		}
+		finally {
+			currentThread.setContextClassLoader(previousLoader);
+		}
+
+		Date ScenarioEndDate = Calendar.getInstance().getTime();
+		SimLogger.printLine(pointName + " finished at " + df.format(ScenarioEndDate) +
+				". It took " + SimUtils.getTimeDifference(ScenarioStartDate,ScenarioEndDate));
+	}
+
+	private static URL[] getApplicationClassPath() {
+		String[] entries = System.getProperty("java.class.path").split(File.pathSeparator);
+		URL[] urls = new URL[entries.length];
+		try {
+			for(int i=0; i<entries.length; i++)
+				urls[i] = new File(entries[i]).toURI().toURL();
+		} catch (MalformedURLException e) {
+			SimLogger.printLine("Invalid class path entry! Terminating simulation...");
+			e.printStackTrace();
+			System.exit(1);
+		}
+		return urls;
+	}
+}
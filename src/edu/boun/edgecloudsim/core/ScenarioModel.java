@@ -0,0 +1,429 @@
+/*
+ * Title:        EdgeCloudSim - Scenario Model
+ *
+ * Description:
+ * ScenarioModel is the typed form of edge_devices.xml and applications.xml;
+ * the XML files are parsed once into datacenter, host, VM and application
+ * specifications, which can be written to and read from a compact binary
+ * form so that later runs do not parse the XML files again
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.core;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import edu.boun.edgecloudsim.utils.Location;
+
+/**
+ * Edge topology and application profiles of a scenario.
+ *
+ * <p>The specifications keep the values of the XML files as they are, in the
+ * order of the files: datacenters, hosts and VMs are numbered in document
+ * order, so the i-th VM of the model is the VM with id i. The XML files are
+ * validated while they are parsed, so the components using the model do not
+ * check the presence of the elements again.</p>
+ *
+ * <p>The application profiles are the rows of the task lookup table described
+ * in {@link SimSettings#getTaskLookUpTable()}.</p>
+ */
+public class ScenarioModel {
+	/** Mandatory elements of an application, in the column order of the task lookup table */
+	private static final String MANDATORY_APP_ATTRIBUTES[] = {
+			"usage_percentage", //usage percentage [0-100]
+			"prob_cloud_selection", //prob. of selecting cloud [0-100]
+			"poisson_interarrival", //poisson mean (sec)
+			"active_period", //active period (sec)
+			"idle_period", //idle period (sec)
+			"data_upload", //avg data upload (KB)
+			"data_download", //avg data download (KB)
+			"task_length", //avg task length (MI)
+			"required_core", //required # of core
+			"vm_utilization_on_edge", //vm utilization on edge vm [0-100]
+			"vm_utilization_on_cloud", //vm utilization on cloud vm [0-100]
+			"vm_utilization_on_mobile", //vm utilization on mobile vm [0-100]
+			"delay_sensitivity"}; //delay_sensitivity [0-1]
+
+	/** Optional elements of an application, following the mandatory ones; 0 if missing */
+	private static final String OPTIONAL_APP_ATTRIBUTES[] = {
+			"max_delay_requirement"}; //maximum delay requirement (sec)
+
+	private final DatacenterSpec[] datacenters;
+	private final String[] taskNames;
+	private final double[][] taskLookUpTable;
+
+	/**
+	 * Specification of an edge datacenter given in edge_devices.xml.
+	 */
+	public static class DatacenterSpec {
+		private final String arch;
+		private final String os;
+		private final String vmm;
+		private final double costPerBw;
+		private final double costPerSec;
+		private final double costPerMem;
+		private final double costPerStorage;
+		private final Location location;
+		private final HostSpec[] hosts;
+
+		public DatacenterSpec(String _arch, String _os, String _vmm, double _costPerBw, double _costPerSec,
+				double _costPerMem, double _costPerStorage, Location _location, HostSpec[] _hosts) {
+			arch = _arch;
+			os = _os;
+			vmm = _vmm;
+			costPerBw = _costPerBw;
+			costPerSec = _costPerSec;
+			costPerMem = _costPerMem;
+			costPerStorage = _costPerStorage;
+			location = _location;
+			hosts = _hosts;
+		}
+
+		public String getArch() { return arch; }
+		public String getOs() { return os; }
+		public String getVmm() { return vmm; }
+		public double getCostPerBw() { return costPerBw; }
+		public double getCostPerSec() { return costPerSec; }
+		public double getCostPerMem() { return costPerMem; }
+		public double getCostPerStorage() { return costPerStorage; }
+
+		/** returns the location of the datacenter; its place type is the attractiveness level */
+		public Location getLocation() { return location; }
+
+		public int getNumOfHosts() { return hosts.length; }
+		public HostSpec getHost(int hostIndex) { return hosts[hostIndex]; }
+	}
+
+	/**
+	 * Specification of an edge host given in edge_devices.xml.
+	 */
+	public static class HostSpec {
+		private final int core;
+		private final double mips;
+		private final int ram;
+		private final long storage;
+		private final VmSpec[] vms;
+
+		public HostSpec(int _core, double _mips, int _ram, long _storage, VmSpec[] _vms) {
+			core = _core;
+			mips = _mips;
+			ram = _ram;
+			storage = _storage;
+			vms = _vms;
+		}
+
+		public int getCore() { return core; }
+		public double getMips() { return mips; }
+		public int getRam() { return ram; }
+		public long getStorage() { return storage; }
+		public int getNumOfVms() { return vms.length; }
+		public VmSpec getVm(int vmIndex) { return vms[vmIndex]; }
+	}
+
+	/**
+	 * Specification of an edge VM given in edge_devices.xml.
+	 */
+	public static class VmSpec {
+		private final String vmm;
+		private final int core;
+		private final double mips;
+		private final int ram;
+		private final long storage;
+
+		public VmSpec(String _vmm, int _core, double _mips, int _ram, long _storage) {
+			vmm = _vmm;
+			core = _core;
+			mips = _mips;
+			ram = _ram;
+			storage = _storage;
+		}
+
+		public String getVmm() { return vmm; }
+		public int getCore() { return core; }
+		public double getMips() { return mips; }
+		public int getRam() { return ram; }
+		public long getStorage() { return storage; }
+	}
+
+	private ScenarioModel(DatacenterSpec[] _datacenters, String[] _taskNames, double[][] _taskLookUpTable) {
+		datacenters = _datacenters;
+		taskNames = _taskNames;
+		taskLookUpTable = _taskLookUpTable;
+	}
+
+	public int getNumOfDatacenters() {
+		return datacenters.length;
+	}
+
+	public DatacenterSpec getDatacenter(int datacenterIndex) {
+		return datacenters[datacenterIndex];
+	}
+
+	/**
+	 * returns the application names, in the row order of the task lookup table
+	 */
+	public String[] getTaskNames() {
+		return taskNames;
+	}
+
+	/**
+	 * returns the task lookup table, one row per application
+	 */
+	public double[][] getTaskLookUpTable() {
+		return taskLookUpTable;
+	}
+
+	/**
+	 * Parses and validates the XML files of a scenario.
+	 *
+	 * @param edgeDevicesFile path of edge_devices.xml
+	 * @param applicationsFile path of applications.xml
+	 * @return the model of the scenario
+	 * @throws Exception if a file cannot be read or a required attribute or element is missing
+	 */
+	public static ScenarioModel parse(String edgeDevicesFile, String applicationsFile) throws Exception {
+		Document appsDoc = parseDocument(applicationsFile);
+		NodeList appList = appsDoc.getElementsByTagName("application");
+		String[] taskNames = new String[appList.getLength()];
+		double[][] taskLookUpTable = new double[appList.getLength()]
+				[MANDATORY_APP_ATTRIBUTES.length + OPTIONAL_APP_ATTRIBUTES.length];
+		for (int i = 0; i < appList.getLength(); i++) {
+			Element appElement = (Element) appList.item(i);
+			isAttributePresent(appElement, "name");
+			taskNames[i] = appElement.getAttribute("name");
+
+			for(int m=0; m<MANDATORY_APP_ATTRIBUTES.length; m++){
+				isElementPresent(appElement, MANDATORY_APP_ATTRIBUTES[m]);
+				taskLookUpTable[i][m] = Double.parseDouble(getText(appElement, MANDATORY_APP_ATTRIBUTES[m]));
+			}
+
+			for(int o=0; o<OPTIONAL_APP_ATTRIBUTES.length; o++){
+				double value = 0;
+				if(checkElement(appElement, OPTIONAL_APP_ATTRIBUTES[o]))
+					value = Double.parseDouble(getText(appElement, OPTIONAL_APP_ATTRIBUTES[o]));
+
+				taskLookUpTable[i][MANDATORY_APP_ATTRIBUTES.length + o] = value;
+			}
+		}
+
+		Document devicesDoc = parseDocument(edgeDevicesFile);
+		NodeList datacenterList = devicesDoc.getElementsByTagName("datacenter");
+		DatacenterSpec[] datacenters = new DatacenterSpec[datacenterList.getLength()];
+		for (int i = 0; i < datacenterList.getLength(); i++) {
+			Element datacenterElement = (Element) datacenterList.item(i);
+			isAttributePresent(datacenterElement, "arch");
+			isAttributePresent(datacenterElement, "os");
+			isAttributePresent(datacenterElement, "vmm");
+			isElementPresent(datacenterElement, "costPerBw");
+			isElementPresent(datacenterElement, "costPerSec");
+			isElementPresent(datacenterElement, "costPerMem");
+			isElementPresent(datacenterElement, "costPerStorage");
+
+			Element location = (Element)datacenterElement.getElementsByTagName("location").item(0);
+			isElementPresent(location, "attractiveness");
+			isElementPresent(location, "wlan_id");
+			isElementPresent(location, "x_pos");
+			isElementPresent(location, "y_pos");
+
+			NodeList hostList = datacenterElement.getElementsByTagName("host");
+			HostSpec[] hosts = new HostSpec[hostList.getLength()];
+			for (int j = 0; j < hostList.getLength(); j++) {
+				Element hostElement = (Element) hostList.item(j);
+				isElementPresent(hostElement, "core");
+				isElementPresent(hostElement, "mips");
+				isElementPresent(hostElement, "ram");
+				isElementPresent(hostElement, "storage");
+
+				NodeList vmList = hostElement.getElementsByTagName("VM");
+				VmSpec[] vms = new VmSpec[vmList.getLength()];
+				for (int k = 0; k < vmList.getLength(); k++) {
+					Element vmElement = (Element) vmList.item(k);
+					isAttributePresent(vmElement, "vmm");
+					isElementPresent(vmElement, "core");
+					isElementPresent(vmElement, "mips");
+					isElementPresent(vmElement, "ram");
+					isElementPresent(vmElement, "storage");
+
+					vms[k] = new VmSpec(vmElement.getAttribute("vmm"),
+							Integer.parseInt(getText(vmElement, "core")),
+							Double.parseDouble(getText(vmElement, "mips")),
+							Integer.parseInt(getText(vmElement, "ram")),
+							Long.parseLong(getText(vmElement, "storage")));
+				}
+
+				hosts[j] = new HostSpec(Integer.parseInt(getText(hostElement, "core")),
+						Double.parseDouble(getText(hostElement, "mips")),
+						Integer.parseInt(getText(hostElement, "ram")),
+						Long.parseLong(getText(hostElement, "storage")),
+						vms);
+			}
+
+			datacenters[i] = new DatacenterSpec(datacenterElement.getAttribute("arch"),
+					datacenterElement.getAttribute("os"),
+					datacenterElement.getAttribute("vmm"),
+					Double.parseDouble(getText(datacenterElement, "costPerBw")),
+					Double.parseDouble(getText(datacenterElement, "costPerSec")),
+					Double.parseDouble(getText(datacenterElement, "costPerMem")),
+					Double.parseDouble(getText(datacenterElement, "costPerStorage")),
+					new Location(Integer.parseInt(getText(location, "attractiveness")),
+							Integer.parseInt(getText(location, "wlan_id")),
+							Integer.parseInt(getText(location, "x_pos")),
+							Integer.parseInt(getText(location, "y_pos"))),
+					hosts);
+		}
+
+		return new ScenarioModel(datacenters, taskNames, taskLookUpTable);
+	}
+
+	/**
+	 * Writes the model in binary form; read back by {@link #read(DataInputStream)}.
+	 */
+	public void write(DataOutputStream out) throws IOException {
+		out.writeInt(taskNames.length);
+		for(int i=0; i<taskNames.length; i++){
+			out.writeUTF(taskNames[i]);
+			out.writeInt(taskLookUpTable[i].length);
+			for(double value : taskLookUpTable[i])
+				out.writeDouble(value);
+		}
+
+		out.writeInt(datacenters.length);
+		for(DatacenterSpec datacenter : datacenters){
+			out.writeUTF(datacenter.arch);
+			out.writeUTF(datacenter.os);
+			out.writeUTF(datacenter.vmm);
+			out.writeDouble(datacenter.costPerBw);
+			out.writeDouble(datacenter.costPerSec);
+			out.writeDouble(datacenter.costPerMem);
+			out.writeDouble(datacenter.costPerStorage);
+			out.writeInt(datacenter.location.getPlaceTypeIndex());
+			out.writeInt(datacenter.location.getServingWlanId());
+			out.writeInt(datacenter.location.getXPos());
+			out.writeInt(datacenter.location.getYPos());
+			out.writeInt(datacenter.hosts.length);
+			for(HostSpec host : datacenter.hosts){
+				out.writeInt(host.core);
+				out.writeDouble(host.mips);
+				out.writeInt(host.ram);
+				out.writeLong(host.storage);
+				out.writeInt(host.vms.length);
+				for(VmSpec vm : host.vms){
+					out.writeUTF(vm.vmm);
+					out.writeInt(vm.core);
+					out.writeDouble(vm.mips);
+					out.writeInt(vm.ram);
+					out.writeLong(vm.storage);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads a model written by {@link #write(DataOutputStream)}.
+	 */
+	public static ScenarioModel read(DataInputStream in) throws IOException {
+		String[] taskNames = new String[in.readInt()];
+		double[][] taskLookUpTable = new double[taskNames.length][];
+		for(int i=0; i<taskNames.length; i++){
+			taskNames[i] = in.readUTF();
+			taskLookUpTable[i] = new double[in.readInt()];
+			for(int j=0; j<taskLookUpTable[i].length; j++)
+				taskLookUpTable[i][j] = in.readDouble();
+		}
+
+		DatacenterSpec[] datacenters = new DatacenterSpec[in.readInt()];
+		for(int i=0; i<datacenters.length; i++){
+			String arch = in.readUTF();
+			String os = in.readUTF();
+			String vmm = in.readUTF();
+			double costPerBw = in.readDouble();
+			double costPerSec = in.readDouble();
+			double costPerMem = in.readDouble();
+			double costPerStorage = in.readDouble();
+			Location location = new Location(in.readInt(), in.readInt(), in.readInt(), in.readInt());
+			HostSpec[] hosts = new HostSpec[in.readInt()];
+			for(int j=0; j<hosts.length; j++){
+				int hostCore = in.readInt();
+				double hostMips = in.readDouble();
+				int hostRam = in.readInt();
+				long hostStorage = in.readLong();
+				VmSpec[] vms = new VmSpec[in.readInt()];
+				for(int k=0; k<vms.length; k++)
+					vms[k] = new VmSpec(in.readUTF(), in.readInt(), in.readDouble(), in.readInt(), in.readLong());
+				hosts[j] = new HostSpec(hostCore, hostMips, hostRam, hostStorage, vms);
+			}
+			datacenters[i] = new DatacenterSpec(arch, os, vmm, costPerBw, costPerSec, costPerMem, costPerStorage, location, hosts);
+		}
+
+		return new ScenarioModel(datacenters, taskNames, taskLookUpTable);
+	}
+
+	/**
+	 * Parses an XML file into a normalized DOM document.
+	 */
+	static Document parseDocument(String filePath) throws Exception {
+		DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
+		DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
+		Document doc = dBuilder.parse(new File(filePath));
+		doc.getDocumentElement().normalize();
+		return doc;
+	}
+
+	private static String getText(Element element, String key) {
+		return element.getElementsByTagName(key).item(0).getTextContent();
+	}
+
+	/**
+	 * Validates that a required attribute exists in an XML element.
+	 *
+	 * @throws IllegalArgumentException if attribute is missing or empty
+	 */
+	private static void isAttributePresent(Element element, String key) {
+		String value = element.getAttribute(key);
+		if (value.isEmpty() || value == null){
+			throw new IllegalArgumentException("Attribute '" + key + "' is not found in '" + element.getNodeName() +"'");
+		}
+	}
+
+	/**
+	 * Validates that a required child element exists in an XML element.
+	 *
+	 * @throws IllegalArgumentException if child element is missing or empty
+	 */
+	private static void isElementPresent(Element element, String key) {
+		try {
+			String value = element.getElementsByTagName(key).item(0).getTextContent();
+			if (value.isEmpty() || value == null){
+				throw new IllegalArgumentException("Element '" + key + "' is not found in '" + element.getNodeName() +"'");
+			}
+		} catch (Exception e) {
+			throw new IllegalArgumentException("Element '" + key + "' is not found in '" + element.getNodeName() +"'");
+		}
+	}
+
+	private static Boolean checkElement(Element element, String key) {
+		Boolean result = true;
+		try {
+			String value = element.getElementsByTagName(key).item(0).getTextContent();
+			if (value.isEmpty() || value == null){
+				result = false;
+			}
+		} catch (Exception e) {
+			result = false;
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * Title:        EdgeCloudSim - Scenario Model Cache
+ *
+ * Description:
+ * ScenarioModelCache keeps the compiled ScenarioModel of the XML files
+ * in binary cache files named by the hash of the XML files, so that the
+ * JVMs started for the iterations of a scenario do not parse the same
+ * XML files again
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import edu.boun.edgecloudsim.utils.SimLogger;
+
+/**
+ * Binary cache of compiled scenario models.
+ *
+ * <p>The cache file of a scenario is named by the SHA-256 hash of the
+ * contents of edge_devices.xml and applications.xml, so any change of the
+ * files selects another cache file and a stale model is never loaded. Cache
+ * files are written to a temporary file first and then renamed, so JVMs
+ * running in parallel either see a complete cache file or none.</p>
+ *
+ * <p>A missing, unreadable or outdated cache file is not an error: the XML
+ * files are parsed and the cache file is written again.</p>
+ *
+ * <p>The model of the last loaded files is also kept in memory, so a JVM
+ * running several simulations of the same scenario one after the other
+ * (e.g. a SimulationJobWorker) compiles the XML files only once.</p>
+ */
+public class ScenarioModelCache {
+	private static final int MAGIC = 0x45435343;   // "ECSC"
+	private static final int FORMAT_VERSION = 1;   // Increase when the binary form of ScenarioModel changes
+
+	private static String lastHash = null;         // Hash of the files of the last loaded model
+	private static ScenarioModel lastModel = null; // Last loaded model; the model is not modified after loading
+
+	private ScenarioModelCache() {
+	}
+
+	/**
+	 * Returns the model of the XML files, from the cache if possible.
+	 *
+	 * @param edgeDevicesFile path of edge_devices.xml
+	 * @param applicationsFile path of applications.xml
+	 * @param cacheDirectory folder of the cache files; null or empty to parse the XML files without a cache file
+	 * @return the model of the scenario
+	 * @throws Exception if the XML files cannot be read or parsed
+	 */
+	public static synchronized ScenarioModel load(String edgeDevicesFile, String applicationsFile, String cacheDirectory) throws Exception {
+		String hash = hash(edgeDevicesFile, applicationsFile);
+		if(hash.equals(lastHash))
+			return lastModel;
+
+		ScenarioModel model = null;
+		if(cacheDirectory == null || cacheDirectory.isEmpty()){
+			model = ScenarioModel.parse(edgeDevicesFile, applicationsFile);
+		}
+		else {
+			Path cacheFile = Paths.get(cacheDirectory, "scenario_" + hash + ".bin");
+			model = read(cacheFile);
+			if(model == null){
+				model = ScenarioModel.parse(edgeDevicesFile, applicationsFile);
+				write(cacheFile, model);
+			}
+		}
+
+		lastHash = hash;
+		lastModel = model;
+		return model;
+	}
+
+	// SHA-256 of the format version and of the contents of both files
+	private static String hash(String edgeDevicesFile, String applicationsFile) throws IOException, NoSuchAlgorithmException {
+		MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		digest.update((byte)FORMAT_VERSION);
+		for(String file : new String[]{edgeDevicesFile, applicationsFile}){
+			byte[] content = Files.readAllBytes(Paths.get(file));
+			// The length separates the files, so moving bytes from one file to the other changes the hash
+			long length = content.length;
+			for(int i=0; i<8; i++)
+				digest.update((byte)(length >>> (8 * i)));
+			digest.update(content);
+		}
+
+		StringBuilder result = new StringBuilder();
+		for(byte b : digest.digest())
+			result.append(String.format("%02x", b));
+		return result.toString();
+	}
+
+	// Returns the cached model, or null if there is no usable cache file
+	private static ScenarioModel read(Path cacheFile) {
+		if(!Files.isRegularFile(cacheFile))
+			return null;
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+			if(in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION)
+				return null;
+			return ScenarioModel.read(in);
+		} catch (IOException | RuntimeException e) {
+			SimLogger.printLine("Scenario cache file '" + cacheFile + "' cannot be read; XML files will be parsed");
+			return null;
+		}
+	}
+
+	// Writes the model; a failure only disables the cache for the next runs
+	private static void write(Path cacheFile, ScenarioModel model) {
+		Path tempFile = null;
+		try {
+			Files.createDirectories(cacheFile.getParent());
+			tempFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				model.write(out);
+			}
+
+			try {
+				Files.move(tempFile, cacheFile, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			SimLogger.printLine("Scenario cache file '" + cacheFile + "' cannot be written: " + e.getMessage());
+			if(tempFile != null)
+				tempFile.toFile().delete();
+		}
+	}
+}
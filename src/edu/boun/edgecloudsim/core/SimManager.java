@@ -29,8 +29,11 @@ import edu.boun.edgecloudsim.edge_client.mobile_processing_unit.MobileServerMana
 import edu.boun.edgecloudsim.mobility.MobilityModel;
 import edu.boun.edgecloudsim.task_generator.LoadGeneratorModel;
 import edu.boun.edgecloudsim.network.NetworkModel;
+import edu.boun.edgecloudsim.utils.EventProfiler;
 import edu.boun.edgecloudsim.utils.TaskProperty;
+import edu.boun.edgecloudsim.utils.TaskPropertyTable;
 import edu.boun.edgecloudsim.utils.SimLogger;
+import edu.boun.edgecloudsim.utils.SimUtils;
 
 /**
  * Simulation Manager - Main coordination entity for EdgeCloudSim simulations.
@@ -75,6 +78,19 @@ public class SimManager extends SimEntity {
 	private LoadGeneratorModel loadGeneratorModel;   // Task generation patterns and workload simulation
 	private MobileDeviceManager mobileDeviceManager; // Mobile device lifecycle management
 	
+	// Lazy task injection state (task table indexes grouped per device, ordered by start time)
+	private int[] deviceTaskOffsets;  // first slot of each device in deviceTaskIndexes (CSR layout)
+	private int[] deviceTaskIndexes;  // task table indexes of all devices
+	private int[] nextDeviceTask;     // slot of the next task to be injected for each device
+	private Integer[] deviceEventData; // CREATE_TASK event data of each device, shared by its events
+	
+	// Eager task injection state
+	private int[] eagerTaskOrder;     // task table indexes in the order their CREATE_TASK events fire
+	private int nextEagerTask;        // position of the next firing CREATE_TASK event in eagerTaskOrder
+	
+	// Wall-clock measurements of the processed events (no-op unless the profiler is enabled)
+	private EventProfiler.EntityProfile eventProfile;
+	
 	// Singleton instance
 	private static SimManager instance = null;
 	
@@ -96,6 +112,15 @@ public class SimManager extends SimEntity {
 		numOfMobileDevice = _numOfMobileDevice;
 		orchestratorPolicy = _orchestratorPolicy;
 
+		// Profiles of the previous simulation are discarded before the entities are created
+		EventProfiler.getInstance().reset(SimSettings.getInstance().isEventProfilerEnabled());
+		eventProfile = EventProfiler.getInstance().createProfile("SimManager");
+		eventProfile.registerTag(CREATE_TASK, "CREATE_TASK");
+		eventProfile.registerTag(CHECK_ALL_VM, "CHECK_ALL_VM");
+		eventProfile.registerTag(GET_LOAD_LOG, "GET_LOAD_LOG");
+		eventProfile.registerTag(PRINT_PROGRESS, "PRINT_PROGRESS");
+		eventProfile.registerTag(STOP_SIMULATION, "STOP_SIMULATION");
+
 		SimLogger.print("Creating tasks...");
 		loadGeneratorModel = scenarioFactory.getLoadGeneratorModel();
 		loadGeneratorModel.initializeModel();
@@ -300,9 +325,24 @@ public class SimManager extends SimEntity {
 				mobileDeviceManager.submitVmList(mobileServerManager.getVmList(i));
 		}
 		
-		// Schedule all task creation events based on load generator model
-		for(int i=0; i< loadGeneratorModel.getTaskList().size(); i++)
-			schedule(getId(), loadGeneratorModel.getTaskList().get(i).getStartTime(), CREATE_TASK, loadGeneratorModel.getTaskList().get(i));
+		if(SimSettings.getInstance().isLazyTaskInjectionEnabled()) {
+			// Schedule only the first task of each device; the CloudSim future queue then
+			// acts as a k-way merge over the device streams and holds O(devices) events
+			createDeviceTaskStreams();
+			for(int i=0; i<numOfMobileDevice; i++)
+				scheduleNextTaskOfDevice(i);
+		}
+		else {
+			// Schedule all task creation events based on load generator model.
+			// CloudSim fires events of the same time in scheduling order, so the events
+			// are scheduled in start time order and carry no data: the n-th fired event
+			// creates the task at eagerTaskOrder[n] (the task object is created on submission)
+			TaskPropertyTable taskList = loadGeneratorModel.getTaskList();
+			eagerTaskOrder = sortByStartTime(taskList);
+			nextEagerTask = 0;
+			for(int i=0; i<eagerTaskOrder.length; i++)
+				schedule(getId(), taskList.getStartTime(eagerTaskOrder[i]), CREATE_TASK);
+		}
 		
 		// Schedule periodic monitoring and control events
 		schedule(getId(), 5, CHECK_ALL_VM);                                                    // VM status monitoring
@@ -323,12 +363,26 @@ public class SimManager extends SimEntity {
 	@Override
 	public void processEvent(SimEvent ev) {
 		synchronized(this){
+			long profilerStartTime = EventProfiler.startTimer();
 			switch (ev.getTag()) {
 			case CREATE_TASK:
 				// Handle task creation and submission to mobile device manager
 				try {
-					TaskProperty edgeTask = (TaskProperty) ev.getData();
+					int taskIndex;
+					if(deviceTaskIndexes != null) {
+						// a device has one pending event, which creates its last injected task
+						int deviceId = (Integer) ev.getData();
+						taskIndex = deviceTaskIndexes[nextDeviceTask[deviceId] - 1];
+					}
+					else {
+						taskIndex = eagerTaskOrder[nextEagerTask++];
+					}
+					TaskProperty edgeTask = loadGeneratorModel.getTaskList().createTaskProperty(taskIndex);
 					mobileDeviceManager.submitTask(edgeTask);						
+					
+					// Inject the following arrival of the same device
+					if(deviceTaskIndexes != null)
+						scheduleNextTaskOfDevice(edgeTask.getMobileDeviceId());
 				} catch (Exception e) {
 					e.printStackTrace();
 					System.exit(1);
@@ -379,6 +433,90 @@ public class SimManager extends SimEntity {
 				SimLogger.printLine(getName() + ": unknown event type");
 				break;
 			}
+			eventProfile.record(ev.getTag(), profilerStartTime);
+		}
+	}
+
+	/**
+	 * Groups the task table indexes by mobile device (counting sort) and orders
+	 * each device stream by start time. Load generators produce the tasks of a
+	 * device in time order, so the sort is only a fallback for custom models.
+	 */
+	private void createDeviceTaskStreams() {
+		TaskPropertyTable taskList = loadGeneratorModel.getTaskList();
+		deviceTaskOffsets = new int[numOfMobileDevice + 1];
+		deviceTaskIndexes = new int[taskList.size()];
+		nextDeviceTask = new int[numOfMobileDevice];
+		deviceEventData = new Integer[numOfMobileDevice];
+		for(int i=0; i<numOfMobileDevice; i++)
+			deviceEventData[i] = i;
+
+		for(int i=0; i<taskList.size(); i++)
+			deviceTaskOffsets[taskList.getMobileDeviceId(i) + 1]++;
+		for(int i=0; i<numOfMobileDevice; i++)
+			deviceTaskOffsets[i+1] += deviceTaskOffsets[i];
+
+		System.arraycopy(deviceTaskOffsets, 0, nextDeviceTask, 0, numOfMobileDevice);
+		for(int i=0; i<taskList.size(); i++)
+			deviceTaskIndexes[nextDeviceTask[taskList.getMobileDeviceId(i)]++] = i;
+
+		double[] startTimes = null;
+		for(int i=0; i<numOfMobileDevice; i++) {
+			boolean isSorted = true;
+			for(int j=deviceTaskOffsets[i]+1; j<deviceTaskOffsets[i+1] && isSorted; j++)
+				isSorted = taskList.getStartTime(deviceTaskIndexes[j-1]) <= taskList.getStartTime(deviceTaskIndexes[j]);
+
+			if(!isSorted) {
+				if(startTimes == null)
+					startTimes = getStartTimes(taskList);
+				SimUtils.sortIndexesByKey(deviceTaskIndexes, deviceTaskOffsets[i], deviceTaskOffsets[i+1], startTimes);
+			}
+		}
+
+		System.arraycopy(deviceTaskOffsets, 0, nextDeviceTask, 0, numOfMobileDevice);
+	}
+
+	/**
+	 * Returns the task table indexes ordered by start time; tasks with the same
+	 * start time keep their table order.
+	 */
+	private static int[] sortByStartTime(TaskPropertyTable taskList) {
+		int[] indexes = new int[taskList.size()];
+		for(int i=0; i<indexes.length; i++)
+			indexes[i] = i;
+		SimUtils.sortIndexesByKey(indexes, 0, indexes.length, getStartTimes(taskList));
+		return indexes;
+	}
+
+	/**
+	 * Copies the start times of the tasks into a flat array, the sort key of the task table indexes.
+	 */
+	private static double[] getStartTimes(TaskPropertyTable taskList) {
+		double[] startTimes = new double[taskList.size()];
+		for(int i=0; i<startTimes.length; i++)
+			startTimes[i] = taskList.getStartTime(i);
+		return startTimes;
+	}
+
+	/**
+	 * Schedules the CREATE_TASK event of the next pending task of the given device, if any.
+	 */
+	private void scheduleNextTaskOfDevice(int deviceId) {
+		int slot = nextDeviceTask[deviceId];
+		if(slot < deviceTaskOffsets[deviceId + 1]) {
+			nextDeviceTask[deviceId] = slot + 1;
+			int taskIndex = deviceTaskIndexes[slot];
+			double startTime = loadGeneratorModel.getTaskList().getStartTime(taskIndex);
+			
+			// CloudSim fires the event at clock + delay; compensate the rounding error so that
+			// the task arrives at its start time (at most one ulp off if it is not representable)
+			double delay = Math.max(0, startTime - CloudSim.clock());
+			while(CloudSim.clock() + delay < startTime)
+				delay = Math.nextUp(delay);
+			while(delay > 0 && CloudSim.clock() + delay > startTime)
+				delay = Math.nextDown(delay);
+			
+			schedule(getId(), delay, CREATE_TASK, deviceEventData[deviceId]);
 		}
 	}
 
@@ -392,5 +530,13 @@ public class SimManager extends SimEntity {
 		edgeServerManager.terminateDatacenters();
 		cloudServerManager.terminateDatacenters();
 		mobileServerManager.terminateDatacenters();
+		
+		// All events are processed at this point, the profile is complete
+		try {
+			SimLogger.getInstance().saveEventProfile();
+		} catch (IOException e) {
+			e.printStackTrace();
+			System.exit(1);
+		}
 	}
 }
@@ -13,20 +13,15 @@
 
 package edu.boun.edgecloudsim.core;
 
-import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-
 import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
+import edu.boun.edgecloudsim.utils.Location;
+import edu.boun.edgecloudsim.utils.ResultStreamFactory;
 import edu.boun.edgecloudsim.utils.SimLogger;
 
 /**
@@ -38,6 +33,8 @@ import edu.boun.edgecloudsim.utils.SimLogger;
 public class SimSettings {
 	private static SimSettings instance = null;
 	private Document edgeDevicesDoc = null;
+	private String edgeDevicesFilePath = null;
+	private ScenarioModel scenarioModel = null;
 
 	/** Simulation time when client activities begin (in seconds) */
 	public static final double CLIENT_ACTIVITY_START_TIME = 10;
@@ -68,6 +65,16 @@ public class SimSettings {
 	private boolean FILE_LOG_ENABLED;
 	private boolean DEEP_FILE_LOG_ENABLED;
 
+	// Sweep execution parameters
+	private boolean RANDOM_SEED_ENABLED;   // false: RNG is seeded with the system time
+	private long RANDOM_SEED;              // base seed of the sweep (per point seeds are derived from it)
+	private int SWEEP_THREAD_COUNT;        // number of sweep points simulated concurrently
+	private boolean LAZY_TASK_INJECTION;   // schedule only the next task arrival of each device
+	private boolean EVENT_PROFILER_ENABLED; // measure the wall-clock time spent on each event type
+	private String CONFIG_CACHE_DIR;       // folder of the compiled XML configuration cache; empty if disabled
+	private String RESULT_FILE_COMPRESSION; // compression of the result files written by SimLogger
+	private String RESULT_FILE_FORMAT;     // format of the task, VM load and AP delay result files
+
 	// Mobile device configuration parameters
 	private int MIN_NUM_OF_MOBILE_DEVICES;
 	private int MAX_NUM_OF_MOBILE_DEVICES;
@@ -80,6 +87,10 @@ public class SimSettings {
 	private int NUM_OF_EDGE_VMS;
 	private int NUM_OF_PLACE_TYPES;
 
+	// Placement of each edge VM given in edge_devices.xml, indexed by VM id
+	private int[] edgeVmDatacenterIndexes;
+	private int[] edgeVmHostIndexes;
+
 	// Network delay and bandwidth parameters (converted from properties file units)
 	private double WAN_PROPAGATION_DELAY;  // Wide Area Network delay (seconds)
 	private double GSM_PROPAGATION_DELAY;  // GSM network delay (seconds)
@@ -186,6 +197,14 @@ public class SimSettings {
 			INTERVAL_TO_GET_AP_DELAY_LOG = (double)60 * Double.parseDouble(prop.getProperty("ap_delay_check_interval", "0")); //seconds		
 			FILE_LOG_ENABLED = Boolean.parseBoolean(prop.getProperty("file_log_enabled"));
 			DEEP_FILE_LOG_ENABLED = Boolean.parseBoolean(prop.getProperty("deep_file_log_enabled"));
+			RANDOM_SEED_ENABLED = prop.getProperty("random_seed") != null;
+			RANDOM_SEED = Long.parseLong(prop.getProperty("random_seed", "0"));
+			SWEEP_THREAD_COUNT = Integer.parseInt(prop.getProperty("sweep_thread_count", "1"));
+			LAZY_TASK_INJECTION = Boolean.parseBoolean(prop.getProperty("lazy_task_injection", "false"));
+			EVENT_PROFILER_ENABLED = Boolean.parseBoolean(prop.getProperty("event_profiler_enabled", "false"));
+			CONFIG_CACHE_DIR = prop.getProperty("config_cache_dir", "");
+			RESULT_FILE_COMPRESSION = prop.getProperty("result_file_compression", "none");
+			RESULT_FILE_FORMAT = prop.getProperty("result_file_format", "text");
 
 			MIN_NUM_OF_MOBILE_DEVICES = Integer.parseInt(prop.getProperty("min_number_of_mobile_devices"));
 			MAX_NUM_OF_MOBILE_DEVICES = Integer.parseInt(prop.getProperty("max_number_of_mobile_devices"));
@@ -246,19 +265,38 @@ public class SimSettings {
 				}
 			}
 		}
-		parseApplicationsXML(applicationsFile);
-		parseEdgeDevicesXML(edgeDevicesFile);
+		loadScenarioModel(edgeDevicesFile, applicationsFile);
+		if(result)
+			result = checkLocations() && checkResultFileCompression() && checkResultFileFormat();
 
 		return result;
 	}
 
 	/**
-	 * returns the parsed XML document for edge_devices.xml
+	 * returns the parsed XML document for edge_devices.xml; the document is
+	 * parsed on the first call, components of EdgeCloudSim use the typed
+	 * model returned by getScenarioModel() instead
 	 */
 	public Document getEdgeDevicesDocument(){
+		if(edgeDevicesDoc == null && edgeDevicesFilePath != null) {
+			try {
+				edgeDevicesDoc = ScenarioModel.parseDocument(edgeDevicesFilePath);
+			} catch (Exception e) {
+				SimLogger.printLine("Edge Devices XML cannot be parsed! Terminating simulation...");
+				e.printStackTrace();
+				System.exit(1);
+			}
+		}
 		return edgeDevicesDoc;
 	}
 
+	/**
+	 * returns the typed model of edge_devices.xml and applications.xml
+	 */
+	public ScenarioModel getScenarioModel(){
+		return scenarioModel;
+	}
+
 
 	/**
 	 * returns simulation time (in seconds unit) from properties file
@@ -316,6 +354,70 @@ public class SimSettings {
 		return FILE_LOG_ENABLED; 
 	}
 
+	/**
+	 * returns true if a fixed random seed is provided in properties file
+	 */
+	public boolean isRandomSeedEnabled()
+	{
+		return RANDOM_SEED_ENABLED;
+	}
+
+	/**
+	 * returns base random seed of the parameter sweep from properties file
+	 */
+	public long getRandomSeed()
+	{
+		return RANDOM_SEED;
+	}
+
+	/**
+	 * returns number of sweep points to be simulated concurrently from properties file
+	 */
+	public int getSweepThreadCount()
+	{
+		return SWEEP_THREAD_COUNT;
+	}
+
+	/**
+	 * returns true if task creation events are scheduled lazily (one pending arrival per device)
+	 */
+	public boolean isLazyTaskInjectionEnabled()
+	{
+		return LAZY_TASK_INJECTION;
+	}
+
+	/**
+	 * returns the folder of the compiled XML configuration cache; empty if the cache is disabled
+	 */
+	public String getConfigCacheDir()
+	{
+		return CONFIG_CACHE_DIR;
+	}
+
+	/**
+	 * returns the compression of the result files ("none" or "gzip") from properties file
+	 */
+	public String getResultFileCompression()
+	{
+		return RESULT_FILE_COMPRESSION;
+	}
+
+	/**
+	 * returns the format ("text" or "binary") of the task, VM load and AP delay result files from properties file
+	 */
+	public String getResultFileFormat()
+	{
+		return RESULT_FILE_FORMAT;
+	}
+
+	/**
+	 * returns true if the per event type profiler is enabled in properties file
+	 */
+	public boolean isEventProfilerEnabled()
+	{
+		return EVENT_PROFILER_ENABLED;
+	}
+
 	/**
 	 * returns WAN propagation delay (in second unit) from properties file
 	 */
@@ -429,6 +531,42 @@ public class SimSettings {
 		return NUM_OF_EDGE_VMS;
 	}
 
+	/**
+	 * returns the index of the edge datacenter where the edge VM is placed
+	 * in edge_devices.xml; -1 if there is no such edge VM
+	 */
+	public int getDatacenterIndexOfEdgeVM(int vmId)
+	{
+		return (vmId >= 0 && vmId < NUM_OF_EDGE_VMS) ? edgeVmDatacenterIndexes[vmId] : -1;
+	}
+
+	/**
+	 * returns the index of the host, within its edge datacenter, where the
+	 * edge VM is placed in edge_devices.xml; -1 if there is no such edge VM
+	 */
+	public int getHostIndexOfEdgeVM(int vmId)
+	{
+		return (vmId >= 0 && vmId < NUM_OF_EDGE_VMS) ? edgeVmHostIndexes[vmId] : -1;
+	}
+
+	/**
+	 * returns the index of the host, within the cloud datacenter, where the
+	 * cloud VM is placed; cloud VM ids follow the edge VM ids
+	 */
+	public int getHostIndexOfCloudVM(int vmId)
+	{
+		return (vmId - NUM_OF_EDGE_VMS) / NUM_OF_VM_ON_CLOUD_HOST;
+	}
+
+	/**
+	 * returns the index of the mobile host where the mobile VM is placed;
+	 * mobile VM ids follow the cloud VM ids
+	 */
+	public int getHostIndexOfMobileVM(int vmId)
+	{
+		return vmId - NUM_OF_EDGE_VMS - getNumOfCloudVMs();
+	}
+
 	/**
 	 * returns the number of different place types
 	 */
@@ -632,180 +770,90 @@ public class SimSettings {
 		return taskNames[taskType];
 	}
 
-	/**
-	 * Validates that a required attribute exists in an XML element.
-	 * Throws exception if the attribute is missing or empty.
-	 * 
-	 * @param element XML element to check
-	 * @param key Attribute name to validate
-	 * @throws IllegalArgumentException if attribute is missing or empty
-	 */
-	private void isAttributePresent(Element element, String key) {
-		String value = element.getAttribute(key);
-		if (value.isEmpty() || value == null){
-			throw new IllegalArgumentException("Attribute '" + key + "' is not found in '" + element.getNodeName() +"'");
+	// the datacenter locations are packed into long values on the hot paths, see Location.pack()
+	private boolean checkLocations()
+	{
+		for (int i = 0; i < scenarioModel.getNumOfDatacenters(); i++) {
+			Location location = scenarioModel.getDatacenter(i).getLocation();
+			if(!location.isPackable()){
+				SimLogger.printLine("Location of datacenter " + i + " in edge devices XML is out of range!" +
+						" attractiveness must be in 0..255, wlan_id in 0..65535, x_pos and y_pos in -524288..524287");
+				return false;
+			}
 		}
+		return true;
 	}
 
-	/**
-	 * Validates that a required child element exists in an XML element.
-	 * Throws exception if the child element is missing or empty.
-	 * 
-	 * @param element Parent XML element to check
-	 * @param key Child element name to validate
-	 * @throws IllegalArgumentException if child element is missing or empty
-	 */
-	private void isElementPresent(Element element, String key) {
-		try {
-			String value = element.getElementsByTagName(key).item(0).getTextContent();
-			if (value.isEmpty() || value == null){
-				throw new IllegalArgumentException("Element '" + key + "' is not found in '" + element.getNodeName() +"'");
-			}
-		} catch (Exception e) {
-			throw new IllegalArgumentException("Element '" + key + "' is not found in '" + element.getNodeName() +"'");
+	// SimLogger opens the result files through the factory of result_file_compression
+	private boolean checkResultFileCompression()
+	{
+		if(ResultStreamFactory.forName(RESULT_FILE_COMPRESSION) == null){
+			SimLogger.printLine("Unknown result_file_compression '" + RESULT_FILE_COMPRESSION + "' in properties file!" +
+					" It must be none or gzip");
+			return false;
 		}
+		return true;
 	}
 
-	private Boolean checkElement(Element element, String key) {
-		Boolean result = true;
-		try {
-			String value = element.getElementsByTagName(key).item(0).getTextContent();
-			if (value.isEmpty() || value == null){
-				result = false;
-			}
-		} catch (Exception e) {
-			result = false;
+	// the task, VM load and AP delay logs are written as text or as BinaryLogFormat records
+	private boolean checkResultFileFormat()
+	{
+		if(!RESULT_FILE_FORMAT.equalsIgnoreCase("text") && !RESULT_FILE_FORMAT.equalsIgnoreCase("binary")){
+			SimLogger.printLine("Unknown result_file_format '" + RESULT_FILE_FORMAT + "' in properties file!" +
+					" It must be text or binary");
+			return false;
 		}
-
-		return result;
+		return true;
 	}
 
-	private void parseApplicationsXML(String filePath)
-	{
-		Document doc = null;
-		try {	
-			File devicesFile = new File(filePath);
-			DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-			DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-			doc = dBuilder.parse(devicesFile);
-			doc.getDocumentElement().normalize();
-
-			String mandatoryAttributes[] = {
-					"usage_percentage", //usage percentage [0-100]
-					"prob_cloud_selection", //prob. of selecting cloud [0-100]
-					"poisson_interarrival", //poisson mean (sec)
-					"active_period", //active period (sec)
-					"idle_period", //idle period (sec)
-					"data_upload", //avg data upload (KB)
-					"data_download", //avg data download (KB)
-					"task_length", //avg task length (MI)
-					"required_core", //required # of core
-					"vm_utilization_on_edge", //vm utilization on edge vm [0-100]
-					"vm_utilization_on_cloud", //vm utilization on cloud vm [0-100]
-					"vm_utilization_on_mobile", //vm utilization on mobile vm [0-100]
-			"delay_sensitivity"}; //delay_sensitivity [0-1]
-
-			String optionalAttributes[] = {
-			"max_delay_requirement"}; //maximum delay requirement (sec)
-
-			NodeList appList = doc.getElementsByTagName("application");
-			taskLookUpTable = new double[appList.getLength()]
-					[mandatoryAttributes.length + optionalAttributes.length];
-
-			taskNames = new String[appList.getLength()];
-			for (int i = 0; i < appList.getLength(); i++) {
-				Node appNode = appList.item(i);
-
-				Element appElement = (Element) appNode;
-				isAttributePresent(appElement, "name");
-				String taskName = appElement.getAttribute("name");
-				taskNames[i] = taskName;
-
-				for(int m=0; m<mandatoryAttributes.length; m++){
-					isElementPresent(appElement, mandatoryAttributes[m]);
-					taskLookUpTable[i][m] = Double.parseDouble(appElement.
-							getElementsByTagName(mandatoryAttributes[m]).item(0).getTextContent());
-				}
-
-				for(int o=0; o<optionalAttributes.length; o++){
-					double value = 0;
-					if(checkElement(appElement, optionalAttributes[o]))
-						value =  Double.parseDouble(appElement.getElementsByTagName(optionalAttributes[o]).item(0).getTextContent());
+	private void loadScenarioModel(String edgeDevicesFile, String applicationsFile)
+	{
+		// counters are reset, so that the settings can be initialized more than once in a JVM
+		NUM_OF_EDGE_DATACENTERS = 0;
+		NUM_OF_EDGE_HOSTS = 0;
+		NUM_OF_EDGE_VMS = 0;
+		NUM_OF_PLACE_TYPES = 0;
+		edgeDevicesDoc = null;
+		edgeDevicesFilePath = edgeDevicesFile;
 
-					taskLookUpTable[i][mandatoryAttributes.length + o] = value;
-				}
-			}
+		try {
+			scenarioModel = ScenarioModelCache.load(edgeDevicesFile, applicationsFile, CONFIG_CACHE_DIR);
 		} catch (Exception e) {
-			SimLogger.printLine("Edge Devices XML cannot be parsed! Terminating simulation...");
+			SimLogger.printLine("Edge Devices or Applications XML cannot be parsed! Terminating simulation...");
 			e.printStackTrace();
 			System.exit(1);
 		}
-	}
 
-	private void parseEdgeDevicesXML(String filePath)
-	{
-		try {	
-			File devicesFile = new File(filePath);
-			DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-			DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-			edgeDevicesDoc = dBuilder.parse(devicesFile);
-			edgeDevicesDoc.getDocumentElement().normalize();
-
-			NodeList datacenterList = edgeDevicesDoc.getElementsByTagName("datacenter");
-			for (int i = 0; i < datacenterList.getLength(); i++) {
-				NUM_OF_EDGE_DATACENTERS++;
-				Node datacenterNode = datacenterList.item(i);
-
-				Element datacenterElement = (Element) datacenterNode;
-				isAttributePresent(datacenterElement, "arch");
-				isAttributePresent(datacenterElement, "os");
-				isAttributePresent(datacenterElement, "vmm");
-				isElementPresent(datacenterElement, "costPerBw");
-				isElementPresent(datacenterElement, "costPerSec");
-				isElementPresent(datacenterElement, "costPerMem");
-				isElementPresent(datacenterElement, "costPerStorage");
-
-				Element location = (Element)datacenterElement.getElementsByTagName("location").item(0);
-				isElementPresent(location, "attractiveness");
-				isElementPresent(location, "wlan_id");
-				isElementPresent(location, "x_pos");
-				isElementPresent(location, "y_pos");
-
-				String attractiveness = location.getElementsByTagName("attractiveness").item(0).getTextContent();
-				int placeTypeIndex = Integer.parseInt(attractiveness);
-				if(NUM_OF_PLACE_TYPES < placeTypeIndex+1)
-					NUM_OF_PLACE_TYPES = placeTypeIndex+1;
-
-				NodeList hostList = datacenterElement.getElementsByTagName("host");
-				for (int j = 0; j < hostList.getLength(); j++) {
-					NUM_OF_EDGE_HOSTS++;
-					Node hostNode = hostList.item(j);
-
-					Element hostElement = (Element) hostNode;
-					isElementPresent(hostElement, "core");
-					isElementPresent(hostElement, "mips");
-					isElementPresent(hostElement, "ram");
-					isElementPresent(hostElement, "storage");
-
-					NodeList vmList = hostElement.getElementsByTagName("VM");
-					for (int k = 0; k < vmList.getLength(); k++) {
-						NUM_OF_EDGE_VMS++;
-						Node vmNode = vmList.item(k);
-
-						Element vmElement = (Element) vmNode;
-						isAttributePresent(vmElement, "vmm");
-						isElementPresent(vmElement, "core");
-						isElementPresent(vmElement, "mips");
-						isElementPresent(vmElement, "ram");
-						isElementPresent(vmElement, "storage");
-					}
+		taskNames = scenarioModel.getTaskNames();
+		taskLookUpTable = scenarioModel.getTaskLookUpTable();
+
+		int numOfVms = 0;
+		for (int i = 0; i < scenarioModel.getNumOfDatacenters(); i++) {
+			ScenarioModel.DatacenterSpec datacenter = scenarioModel.getDatacenter(i);
+			for (int j = 0; j < datacenter.getNumOfHosts(); j++)
+				numOfVms += datacenter.getHost(j).getNumOfVms();
+		}
+
+		// VM ids are given in document order, so the placement of each VM is recorded here once
+		edgeVmDatacenterIndexes = new int[numOfVms];
+		edgeVmHostIndexes = new int[numOfVms];
+
+		for (int i = 0; i < scenarioModel.getNumOfDatacenters(); i++) {
+			NUM_OF_EDGE_DATACENTERS++;
+			ScenarioModel.DatacenterSpec datacenter = scenarioModel.getDatacenter(i);
+
+			int placeTypeIndex = datacenter.getLocation().getPlaceTypeIndex();
+			if(NUM_OF_PLACE_TYPES < placeTypeIndex+1)
+				NUM_OF_PLACE_TYPES = placeTypeIndex+1;
+
+			for (int j = 0; j < datacenter.getNumOfHosts(); j++) {
+				NUM_OF_EDGE_HOSTS++;
+				for (int k = 0; k < datacenter.getHost(j).getNumOfVms(); k++) {
+					edgeVmDatacenterIndexes[NUM_OF_EDGE_VMS] = i;
+					edgeVmHostIndexes[NUM_OF_EDGE_VMS] = j;
+					NUM_OF_EDGE_VMS++;
 				}
 			}
-
-		} catch (Exception e) {
-			SimLogger.printLine("Edge Devices XML cannot be parsed! Terminating simulation...");
-			e.printStackTrace();
-			System.exit(1);
 		}
 	}
 }
@@ -0,0 +1,305 @@
+/*
+ * Title:        EdgeCloudSim - Simulation Job Server
+ *
+ * Description:
+ * SimulationJobServer runs the iterations listed in simulation.list on a
+ * pool of long-lived SimulationJobWorker JVMs instead of starting a new
+ * JVM for each iteration, and reports the progress in the progress.log
+ * format of runner.sh
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.core;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.stream.Stream;
+
+import edu.boun.edgecloudsim.utils.ResultStreamFactory;
+import edu.boun.edgecloudsim.utils.SimLogger;
+import edu.boun.edgecloudsim.utils.SimUtils;
+
+/**
+ * Local job server of a scenario folder under scripts/.
+ *
+ * The server reads simulation.list of the scenario and creates one job for
+ * each (scenario, iteration) pair, in the order run_scenarios.sh creates
+ * them. The jobs are kept in a single queue and each worker takes the next
+ * job as soon as it is free, so a slow iteration does not hold back the
+ * iterations behind it as in the static tmp_runner*.sh assignment.
+ *
+ * For each job, the server does what runner.sh does for its iteration: it
+ * creates the output folder, lets the worker write the console output to
+ * ite[n].log, appends "ite[n] OK" or "ite[n] FAIL !!!" to progress.log of the
+ * scenario and finally archives the output folder to ite[n].tar.gz, or to
+ * an uncompressed ite[n].tar if the result files are already compressed.
+ *
+ * The workers are started with the class path and JVM options of the
+ * server. A worker which fails or terminates during a job is replaced by a
+ * new one for the remaining jobs.
+ */
+public class SimulationJobServer {
+	private static final int EXPECTED_NUM_OF_ARGS = 5;
+
+	private final String mainAppClassName;
+	private final String scriptRootPath;
+	private final String simulationOutFolder;
+	private final Queue<Job> jobs;
+
+	/**
+	 * Iteration of a scenario listed in simulation.list.
+	 */
+	private static class Job {
+		private final String scenarioName;
+		private final String edgeDevicesFile;
+		private final String applicationsFile;
+		private final int iterationNumber;
+
+		private Job(String _scenarioName, String _edgeDevicesFile, String _applicationsFile, int _iterationNumber) {
+			scenarioName = _scenarioName;
+			edgeDevicesFile = _edgeDevicesFile;
+			applicationsFile = _applicationsFile;
+			iterationNumber = _iterationNumber;
+		}
+	}
+
+	/**
+	 * Worker JVM and the pipes of its protocol.
+	 */
+	private static class Worker {
+		private final Process process;
+		private final PrintWriter jobWriter;
+		private final BufferedReader answerReader;
+
+		private Worker(Process _process) {
+			process = _process;
+			jobWriter = new PrintWriter(process.getOutputStream(), true);
+			answerReader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+		}
+	}
+
+	/**
+	 * @param _mainAppClassName fully qualified name of the scenario MainApp class
+	 * @param _scriptRootPath scenario folder under scripts/ containing simulation.list and config/
+	 * @param _simulationOutFolder output folder of this simulation run
+	 * @param _numOfIterations number of iterations of each line of simulation.list
+	 */
+	public SimulationJobServer(String _mainAppClassName, String _scriptRootPath,
+			String _simulationOutFolder, int _numOfIterations) throws IOException {
+		mainAppClassName = _mainAppClassName;
+		scriptRootPath = _scriptRootPath;
+		simulationOutFolder = _simulationOutFolder;
+		jobs = new LinkedList<Job>();
+
+		// Lines are split at white spaces like the for loop of run_scenarios.sh does
+		String simulations = new String(Files.readAllBytes(new File(scriptRootPath, "simulation.list").toPath()));
+		for(String simArgs : simulations.trim().split("\\s+")){
+			if(simArgs.isEmpty())
+				continue;
+			String[] fields = simArgs.split(";");
+			if(fields.length < 3)
+				throw new IOException("Invalid line in simulation.list: " + simArgs);
+			for(int i=1; i<=_numOfIterations; i++)
+				jobs.add(new Job(fields[0], fields[1], fields[2], i));
+		}
+	}
+
+	/**
+	 * Runs all jobs on the given number of workers and returns when they are finished.
+	 */
+	public void run(int numOfWorkers) throws InterruptedException {
+		List<Thread> dispatchers = new ArrayList<Thread>();
+		for(int i=0; i<numOfWorkers; i++){
+			Thread dispatcher = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					dispatchJobs();
+				}
+			}, "job-dispatcher-" + i);
+			dispatcher.start();
+			dispatchers.add(dispatcher);
+		}
+
+		for(Thread dispatcher : dispatchers)
+			dispatcher.join();
+	}
+
+	// Feeds the jobs of the queue to one worker until the queue is empty
+	private void dispatchJobs() {
+		Worker worker = null;
+		Job job;
+		while((job = nextJob()) != null){
+			boolean succeeded = false;
+			try {
+				if(worker == null)
+					worker = startWorker();
+				succeeded = runJob(worker, job);
+			} catch (IOException e) {
+				SimLogger.printLine("Job " + job.scenarioName + "/ite" + job.iterationNumber + " cannot be run: " + e.getMessage());
+			}
+
+			// The state of a worker is undefined after a failure, so the next job gets a new worker
+			if(!succeeded && worker != null){
+				worker.process.destroyForcibly();
+				worker = null;
+			}
+
+			reportProgress(job, succeeded);
+			archiveOutput(job);
+		}
+
+		if(worker != null){
+			// Closing its standard input lets the worker terminate
+			worker.jobWriter.close();
+			try {
+				worker.process.waitFor();
+			} catch (InterruptedException e) {
+				worker.process.destroyForcibly();
+			}
+		}
+	}
+
+	private synchronized Job nextJob() {
+		return jobs.poll();
+	}
+
+	private Worker startWorker() throws IOException {
+		List<String> command = new ArrayList<String>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+		command.add("-classpath");
+		command.add(System.getProperty("java.class.path"));
+		command.add(SimulationJobWorker.class.getName());
+		command.add(mainAppClassName);
+
+		ProcessBuilder builder = new ProcessBuilder(command);
+		builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+		return new Worker(builder.start());
+	}
+
+	private boolean runJob(Worker worker, Job job) throws IOException {
+		String scenarioOutFolder = getScenarioOutFolder(job);
+		new File(scenarioOutFolder).mkdirs();
+
+		String configFolder = scriptRootPath + File.separator + "config" + File.separator;
+		String[] fields = {
+				configFolder + job.scenarioName + ".properties",
+				configFolder + job.edgeDevicesFile,
+				configFolder + job.applicationsFile,
+				scenarioOutFolder,
+				Integer.toString(job.iterationNumber),
+				scenarioOutFolder + ".log"
+		};
+
+		DateFormat df = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
+		Date jobStartDate = Calendar.getInstance().getTime();
+		SimLogger.printLine(job.scenarioName + "/ite" + job.iterationNumber + " started at " + df.format(jobStartDate));
+
+		worker.jobWriter.println(String.join(SimulationJobWorker.FIELD_SEPARATOR, fields));
+		String answer = worker.answerReader.readLine();
+		boolean succeeded = SimulationJobWorker.JOB_OK.equals(answer);
+
+		Date jobEndDate = Calendar.getInstance().getTime();
+		SimLogger.printLine(job.scenarioName + "/ite" + job.iterationNumber + (succeeded ? " finished" : " failed") +
+				" at " + df.format(jobEndDate) + ". It took " + SimUtils.getTimeDifference(jobStartDate, jobEndDate));
+		return succeeded;
+	}
+
+	// Appends the line runner.sh writes for the iteration
+	private synchronized void reportProgress(Job job, boolean succeeded) {
+		File progressFile = new File(simulationOutFolder + File.separator + job.scenarioName, "progress.log");
+		try (PrintWriter progress = new PrintWriter(new FileWriter(progressFile, true))) {
+			progress.println("ite" + job.iterationNumber + (succeeded ? " OK" : " FAIL !!!"));
+		} catch (IOException e) {
+			SimLogger.printLine("progress.log cannot be written: " + e.getMessage());
+		}
+	}
+
+	// Archives and deletes the output folder like runner.sh does
+	private void archiveOutput(Job job) {
+		String scenarioOutFolder = getScenarioOutFolder(job);
+		String iterationFolder = "ite" + job.iterationNumber;
+		try {
+			// compressed result files are only stored, compressing them again costs time for nothing
+			boolean compressed = isResultCompressed(job);
+			ProcessBuilder tar = new ProcessBuilder("tar", compressed ? "-cf" : "-czf",
+					scenarioOutFolder + (compressed ? ".tar" : ".tar.gz"),
+					"-C", simulationOutFolder + File.separator + job.scenarioName, iterationFolder);
+			tar.redirectOutput(ProcessBuilder.Redirect.INHERIT);
+			tar.redirectError(ProcessBuilder.Redirect.INHERIT);
+			if(tar.start().waitFor() != 0)
+				SimLogger.printLine(iterationFolder + " of " + job.scenarioName + " cannot be archived");
+
+			try (Stream<Path> paths = Files.walk(new File(scenarioOutFolder).toPath())) {
+				paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+			}
+		} catch (IOException | InterruptedException e) {
+			SimLogger.printLine(iterationFolder + " of " + job.scenarioName + " cannot be archived: " + e.getMessage());
+		}
+	}
+
+	// True if the scenario writes its result files through a compressing stream factory
+	private boolean isResultCompressed(Job job) throws IOException {
+		Properties prop = new Properties();
+		String configFile = scriptRootPath + File.separator + "config" + File.separator + job.scenarioName + ".properties";
+		try (FileInputStream input = new FileInputStream(configFile)) {
+			prop.load(input);
+		}
+		ResultStreamFactory factory = ResultStreamFactory.forName(prop.getProperty("result_file_compression", "none"));
+		return factory != null && factory != ResultStreamFactory.NONE;
+	}
+
+	private String getScenarioOutFolder(Job job) {
+		return simulationOutFolder + File.separator + job.scenarioName + File.separator + "ite" + job.iterationNumber;
+	}
+
+	/**
+	 * @param args 0: MainApp class, 1: scenario folder under scripts/, 2: output folder,
+	 *             3: number of workers, 4: number of iterations
+	 */
+	public static void main(String[] args) {
+		SimLogger.enablePrintLog();
+
+		if(args.length != EXPECTED_NUM_OF_ARGS){
+			SimLogger.printLine("Usage: SimulationJobServer <main_app_class> <script_root_path> <simulation_out_folder> <num_of_workers> <num_of_iterations>");
+			System.exit(1);
+		}
+
+		try {
+			SimulationJobServer server = new SimulationJobServer(args[0], args[1], args[2], Integer.parseInt(args[4]));
+
+			DateFormat df = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
+			Date serverStartDate = Calendar.getInstance().getTime();
+			SimLogger.printLine("Job server started at " + df.format(serverStartDate) + " with " + args[3] + " workers");
+
+			server.run(Integer.parseInt(args[3]));
+
+			Date serverEndDate = Calendar.getInstance().getTime();
+			SimLogger.printLine("Job server finished at " + df.format(serverEndDate) + ". It took " + SimUtils.getTimeDifference(serverStartDate, serverEndDate));
+		} catch (Exception e) {
+			SimLogger.printLine("The job server has been terminated due to an unexpected error");
+			e.printStackTrace();
+			System.exit(1);
+		}
+	}
+}
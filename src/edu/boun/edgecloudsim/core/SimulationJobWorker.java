@@ -0,0 +1,105 @@
+/*
+ * Title:        EdgeCloudSim - Simulation Job Worker
+ *
+ * Description:
+ * SimulationJobWorker is the worker JVM of the SimulationJobServer; it
+ * stays alive between the iterations assigned to it and runs each of
+ * them by calling the main method of the scenario MainApp, so that the
+ * JVM startup, class loading and JIT warm-up are paid once per worker
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.core;
+
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import edu.boun.edgecloudsim.utils.SimLogger;
+
+/**
+ * Worker process of the SimulationJobServer.
+ *
+ * The server writes one job per line to the standard input of the worker;
+ * a job consists of the five MainApp arguments (config file, edge devices
+ * file, applications file, output folder, iteration number) followed by the
+ * path of the log file of the iteration, separated by tabs. While the job is
+ * running, System.out and System.err are redirected to the log file, which
+ * corresponds to the '> ite[n].log' redirection of runner.sh. When the job is
+ * finished, the worker answers with a single line on its original standard
+ * output: OK if MainApp returned normally, FAIL otherwise.
+ *
+ * The simulator keeps its state in static fields, which MainApp initializes
+ * again at the start of each run, so the runs of a worker are independent.
+ * After a failed run this state is undefined, therefore the worker
+ * terminates and the server starts a new one. The worker terminates as well
+ * when its standard input is closed.
+ */
+public class SimulationJobWorker {
+	/** answer of the worker for a successfully finished job */
+	public static final String JOB_OK = "OK";
+	/** answer of the worker for a failed job */
+	public static final String JOB_FAIL = "FAIL";
+	/** separator of the fields of a job line */
+	public static final String FIELD_SEPARATOR = "\t";
+	/** number of fields of a job line */
+	public static final int NUM_OF_JOB_FIELDS = 6;
+
+	/**
+	 * @param args 0: fully qualified name of the scenario MainApp class
+	 */
+	public static void main(String[] args) throws Exception {
+		if(args.length != 1){
+			System.err.println("Usage: SimulationJobWorker <main_app_class>");
+			System.exit(1);
+		}
+
+		Method mainMethod = Class.forName(args[0]).getMethod("main", String[].class);
+
+		// The original streams are kept for the protocol; the jobs only see their log file
+		PrintStream answers = System.out;
+		PrintStream errors = System.err;
+		BufferedReader jobs = new BufferedReader(new InputStreamReader(System.in));
+
+		String job;
+		while((job = jobs.readLine()) != null){
+			String[] fields = job.split(FIELD_SEPARATOR);
+			if(fields.length != NUM_OF_JOB_FIELDS){
+				errors.println("Invalid job line: " + job);
+				answers.println(JOB_FAIL);
+				System.exit(1);
+			}
+
+			String[] mainAppArgs = new String[NUM_OF_JOB_FIELDS - 1];
+			System.arraycopy(fields, 0, mainAppArgs, 0, mainAppArgs.length);
+
+			// A cold JVM starts without file logging; MainApp enables it if the config file asks for it
+			SimLogger.disableFileLog();
+
+			boolean succeeded = false;
+			try (PrintStream log = new PrintStream(new FileOutputStream(fields[NUM_OF_JOB_FIELDS - 1]), true)) {
+				System.setOut(log);
+				System.setErr(log);
+				try {
+					mainMethod.invoke(null, (Object)mainAppArgs);
+					succeeded = true;
+				} catch (InvocationTargetException e) {
+					e.getCause().printStackTrace();
+				}
+			} finally {
+				System.setOut(answers);
+				System.setErr(errors);
+			}
+
+			answers.println(succeeded ? JOB_OK : JOB_FAIL);
+			answers.flush();
+			if(!succeeded)
+				System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Title:        EdgeCloudSim - Custom Time Shared Cloudlet Scheduler
+ *
+ * Description:
+ * CloudletSchedulerTimeShared_Custom extends CloudSim's time shared
+ * cloudlet scheduler and keeps the total CPU utilization of the VM up
+ * to date whenever a cloudlet starts or stops running, so that the
+ * orchestrators do not need to walk the running cloudlets of each VM
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.edge_client;
+
+import java.util.List;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletScheduler;
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.ResCloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+
+import edu.boun.edgecloudsim.edge_orchestrator.VmCapacityIndex;
+
+/**
+ * Time shared cloudlet scheduler tracking the CPU utilization of its VM.
+ *
+ * The scheduling itself is inherited unchanged. After each operation which
+ * may change the list of running cloudlets (submit, the processing update
+ * removing the finished ones, cancel, pause, resume and migrate) the
+ * utilization is summed again in the order of the running list, so the
+ * tracked value is identical to getTotalUtilizationOfCpu() as long as the
+ * utilization of a running cloudlet does not change over time, which holds
+ * for CpuUtilizationModel_Custom.
+ *
+ * A changed utilization is reported to the VmCapacityIndex and to the
+ * VmUtilizationAggregates the VM is registered to, if any.
+ */
+public class CloudletSchedulerTimeShared_Custom extends CloudletSchedulerTimeShared {
+	private double totalUtilization;         // Sum of the CPU utilization of the running cloudlets
+	private int numOfRunningCloudlets;       // Size of the running list when the sum was taken
+	private VmCapacityIndex capacityIndex;   // Index notified on each change; null if not registered
+	private int capacityIndexPosition;       // Position of the VM in the index
+	private VmUtilizationAggregates utilizationAggregates; // Sums notified on each change; null if not registered
+	private int aggregateHostIndex;          // Host of the VM in the sums
+
+	public CloudletSchedulerTimeShared_Custom() {
+		super();
+	}
+
+	/**
+	 * Returns the CPU utilization of the VM summed over the running cloudlets
+	 * without walking them.
+	 *
+	 * @return total CPU utilization in percent
+	 */
+	public double getTrackedUtilizationOfCpu() {
+		return totalUtilization;
+	}
+
+	/**
+	 * Returns the CPU utilization of the cloudlets running on a scheduler; the
+	 * tracked value for this scheduler, otherwise the sum over the running list.
+	 *
+	 * @param scheduler cloudlet scheduler of a VM
+	 * @return total CPU utilization in percent
+	 */
+	public static double getUtilizationOfCpu(CloudletScheduler scheduler) {
+		if(scheduler instanceof CloudletSchedulerTimeShared_Custom)
+			return ((CloudletSchedulerTimeShared_Custom)scheduler).getTrackedUtilizationOfCpu();
+		return scheduler.getTotalUtilizationOfCpu(CloudSim.clock());
+	}
+
+	/**
+	 * Registers the VM of this scheduler to a capacity index; a scheduler
+	 * reports to a single index, a new registration replaces the previous one.
+	 *
+	 * @param _capacityIndex index to be notified when the utilization changes
+	 * @param _capacityIndexPosition position of the VM in the index
+	 */
+	public void setCapacityIndex(VmCapacityIndex _capacityIndex, int _capacityIndexPosition) {
+		capacityIndex = _capacityIndex;
+		capacityIndexPosition = _capacityIndexPosition;
+	}
+
+	/**
+	 * Registers the VM of this scheduler to the utilization sums of its tier;
+	 * a new registration replaces the previous one.
+	 *
+	 * @param _utilizationAggregates sums to be notified when the utilization changes
+	 * @param _aggregateHostIndex host of the VM in the sums
+	 */
+	public void setUtilizationAggregates(VmUtilizationAggregates _utilizationAggregates, int _aggregateHostIndex) {
+		utilizationAggregates = _utilizationAggregates;
+		aggregateHostIndex = _aggregateHostIndex;
+	}
+
+	@Override
+	public double updateVmProcessing(double currentTime, List<Double> mipsShare) {
+		double result = super.updateVmProcessing(currentTime, mipsShare);
+		// Finished cloudlets are only removed here, so an unchanged size means an unchanged list
+		if(numOfRunningCloudlets != getCloudletExecList().size())
+			updateUtilization();
+		return result;
+	}
+
+	@Override
+	public double cloudletSubmit(Cloudlet cloudlet, double fileTransferTime) {
+		double result = super.cloudletSubmit(cloudlet, fileTransferTime);
+		updateUtilization();
+		return result;
+	}
+
+	@Override
+	public double cloudletSubmit(Cloudlet cloudlet) {
+		double result = super.cloudletSubmit(cloudlet);
+		updateUtilization();
+		return result;
+	}
+
+	@Override
+	public Cloudlet cloudletCancel(int cloudletId) {
+		Cloudlet result = super.cloudletCancel(cloudletId);
+		updateUtilization();
+		return result;
+	}
+
+	@Override
+	public boolean cloudletPause(int cloudletId) {
+		boolean result = super.cloudletPause(cloudletId);
+		updateUtilization();
+		return result;
+	}
+
+	@Override
+	public double cloudletResume(int cloudletId) {
+		double result = super.cloudletResume(cloudletId);
+		updateUtilization();
+		return result;
+	}
+
+	@Override
+	public Cloudlet migrateCloudlet() {
+		Cloudlet result = super.migrateCloudlet();
+		updateUtilization();
+		return result;
+	}
+
+	// Sums the utilization of the running cloudlets like getTotalUtilizationOfCpu() and reports a change
+	private void updateUtilization() {
+		double time = CloudSim.clock();
+		double utilization = 0;
+		List<ResCloudlet> runningCloudlets = getCloudletExecList();
+		for (ResCloudlet rcl : runningCloudlets)
+			utilization += rcl.getCloudlet().getUtilizationOfCpu(time);
+
+		numOfRunningCloudlets = runningCloudlets.size();
+		if(utilization != totalUtilization) {
+			double previousUtilization = totalUtilization;
+			totalUtilization = utilization;
+			if(capacityIndex != null)
+				capacityIndex.setUtilization(capacityIndexPosition, utilization);
+			if(utilizationAggregates != null)
+				utilizationAggregates.utilizationChanged(aggregateHostIndex, previousUtilization, utilization);
+		}
+	}
+}
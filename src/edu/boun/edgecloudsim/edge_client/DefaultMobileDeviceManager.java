@@ -56,6 +56,10 @@ public class DefaultMobileDeviceManager extends MobileDeviceManager {
 	 */
 	@Override
 	public void initialize() {
+		// Name the custom event tags in the event profile report
+		registerEventTag(REQUEST_RECEIVED_BY_CLOUD, "REQUEST_RECEIVED_BY_CLOUD");
+		registerEventTag(REQUEST_RECEIVED_BY_EDGE_DEVICE, "REQUEST_RECEIVED_BY_EDGE_DEVICE");
+		registerEventTag(RESPONSE_RECEIVED_BY_MOBILE_DEVICE, "RESPONSE_RECEIVED_BY_MOBILE_DEVICE");
 	}
 	
 	/**
@@ -95,8 +99,8 @@ public class DefaultMobileDeviceManager extends MobileDeviceManager {
 			double WanDelay = networkModel.getDownloadDelay(SimSettings.CLOUD_DATACENTER_ID, task.getMobileDeviceId(), task);
 			if(WanDelay > 0)
 			{
-				Location currentLocation = SimManager.getInstance().getMobilityModel().getLocation(task.getMobileDeviceId(),CloudSim.clock()+WanDelay);
-				if(task.getSubmittedLocation().getServingWlanId() == currentLocation.getServingWlanId())
+				int currentWlanId = SimManager.getInstance().getMobilityModel().servingWlanAt(task.getMobileDeviceId(),CloudSim.clock()+WanDelay);
+				if(task.getSubmittedLocation().getServingWlanId() == currentWlanId)
 				{
 					networkModel.downloadStarted(task.getSubmittedLocation(), SimSettings.CLOUD_DATACENTER_ID);
 					SimLogger.getInstance().setDownloadDelay(task.getCloudletId(), WanDelay, NETWORK_DELAY_TYPES.WAN_DELAY);
@@ -117,10 +121,10 @@ public class DefaultMobileDeviceManager extends MobileDeviceManager {
 			double WlanDelay = networkModel.getDownloadDelay(task.getAssociatedHostId(), task.getMobileDeviceId(), task);
 			if(WlanDelay > 0)
 			{
-				Location currentLocation = SimManager.getInstance().getMobilityModel().getLocation(task.getMobileDeviceId(),CloudSim.clock()+WlanDelay);
-				if(task.getSubmittedLocation().getServingWlanId() == currentLocation.getServingWlanId())
+				int currentWlanId = SimManager.getInstance().getMobilityModel().servingWlanAt(task.getMobileDeviceId(),CloudSim.clock()+WlanDelay);
+				if(task.getSubmittedLocation().getServingWlanId() == currentWlanId)
 				{
-					networkModel.downloadStarted(currentLocation, SimSettings.GENERIC_EDGE_DEVICE_ID);
+					networkModel.downloadStarted(task.getSubmittedLocation(), SimSettings.GENERIC_EDGE_DEVICE_ID);
 					SimLogger.getInstance().setDownloadDelay(task.getCloudletId(), WlanDelay, NETWORK_DELAY_TYPES.WLAN_DELAY);
 					schedule(getId(), WlanDelay, RESPONSE_RECEIVED_BY_MOBILE_DEVICE, task);
 				}
@@ -311,7 +315,7 @@ public class DefaultMobileDeviceManager extends MobileDeviceManager {
 			bindCloudletToVm(task.getCloudletId(),selectedVM.getId());
 			
 			//SimLogger.printLine(CloudSim.clock() + ": Cloudlet#" + task.getCloudletId() + " is submitted to VM#" + task.getVmId());
-			schedule(getVmsToDatacentersMap().get(task.getVmId()), delay, CloudSimTags.CLOUDLET_SUBMIT, task);
+			schedule(getDatacenterIdOfVm(task.getVmId()), delay, CloudSimTags.CLOUDLET_SUBMIT, task);
 
 			SimLogger.getInstance().taskAssigned(task.getCloudletId(),
 					selectedVM.getHost().getDatacenter().getId(),
@@ -1,8 +1,13 @@
 package edu.boun.edgecloudsim.edge_client;
 
+import java.util.Arrays;
+
 import org.cloudbus.cloudsim.DatacenterBroker;
 import org.cloudbus.cloudsim.UtilizationModel;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.core.SimEvent;
 
+import edu.boun.edgecloudsim.utils.EventProfiler;
 import edu.boun.edgecloudsim.utils.TaskProperty;
 
 /**
@@ -11,6 +16,10 @@ import edu.boun.edgecloudsim.utils.TaskProperty;
  * for mobile devices in edge computing scenarios.
  */
 public abstract class MobileDeviceManager  extends DatacenterBroker {
+	/** Wall-clock measurements of the processed events (no-op unless the profiler is enabled) */
+	private EventProfiler.EntityProfile eventProfile;
+	/** Datacenter id of each created VM indexed by VM id; -1 if the VM is not created */
+	private int[] datacenterIdsOfVms = new int[0];
 
 	/**
 	 * Constructor for MobileDeviceManager.
@@ -19,6 +28,66 @@ public abstract class MobileDeviceManager  extends DatacenterBroker {
 	 */
 	public MobileDeviceManager() throws Exception {
 		super("Global_Broker");
+		eventProfile = EventProfiler.getInstance().createProfile("Global_Broker");
+		registerEventTag(CloudSimTags.RESOURCE_CHARACTERISTICS_REQUEST, "RESOURCE_CHARACTERISTICS_REQUEST");
+		registerEventTag(CloudSimTags.RESOURCE_CHARACTERISTICS, "RESOURCE_CHARACTERISTICS");
+		registerEventTag(CloudSimTags.VM_CREATE_ACK, "VM_CREATE_ACK");
+		registerEventTag(CloudSimTags.CLOUDLET_RETURN, "CLOUDLET_RETURN");
+		registerEventTag(CloudSimTags.END_OF_SIMULATION, "END_OF_SIMULATION");
+	}
+	
+	/**
+	 * Dispatches the event to the DatacenterBroker handlers (processCloudletReturn,
+	 * processOtherEvent, etc.) and measures the time spent on it per event tag.
+	 * @param ev the event to be processed
+	 */
+	@Override
+	public void processEvent(SimEvent ev) {
+		long profilerStartTime = EventProfiler.startTimer();
+		super.processEvent(ev);
+		eventProfile.record(ev.getTag(), profilerStartTime);
+	}
+	
+	/**
+	 * Records the datacenter of each successfully created VM in addition to
+	 * the map kept by DatacenterBroker.
+	 * @param ev the VM_CREATE_ACK event carrying {datacenter id, VM id, result}
+	 */
+	@Override
+	protected void processVmCreate(SimEvent ev) {
+		super.processVmCreate(ev);
+		int[] data = (int[]) ev.getData();
+		if (data[2] == CloudSimTags.TRUE) {
+			int vmId = data[1];
+			if (vmId >= datacenterIdsOfVms.length) {
+				int oldLength = datacenterIdsOfVms.length;
+				datacenterIdsOfVms = Arrays.copyOf(datacenterIdsOfVms, Math.max(vmId + 1, oldLength * 2));
+				Arrays.fill(datacenterIdsOfVms, oldLength, datacenterIdsOfVms.length, -1);
+			}
+			datacenterIdsOfVms[vmId] = data[0];
+		}
+	}
+	
+	/**
+	 * Returns the id of the datacenter where a VM is created, without the
+	 * boxed lookup of getVmsToDatacentersMap(); VM ids are sequential, so the
+	 * datacenter ids are kept in an array indexed by VM id.
+	 * @param vmId id of the VM
+	 * @return id of the datacenter of the VM
+	 */
+	protected int getDatacenterIdOfVm(int vmId) {
+		if (vmId >= 0 && vmId < datacenterIdsOfVms.length && datacenterIdsOfVms[vmId] != -1)
+			return datacenterIdsOfVms[vmId];
+		return getVmsToDatacentersMap().get(vmId);
+	}
+	
+	/**
+	 * Names a custom event tag of the device manager in the event profile report.
+	 * @param tag value of the tag constant
+	 * @param tagName name of the tag constant
+	 */
+	protected final void registerEventTag(int tag, String tagName) {
+		eventProfile.registerTag(tag, tagName);
 	}
 	
 	/**
@@ -0,0 +1,126 @@
+/*
+ * Title:        EdgeCloudSim - VM Utilization Aggregates
+ *
+ * Description:
+ * VmUtilizationAggregates keeps running sums of the CPU utilization of
+ * the VMs of a tier per host, per datacenter and for the whole tier, so
+ * that the average utilization is read in constant time
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.edge_client;
+
+import java.util.List;
+
+import org.cloudbus.cloudsim.Vm;
+
+/**
+ * Running CPU utilization sums of the VMs of one tier.
+ *
+ * The VMs report each change of their utilization through their
+ * CloudletSchedulerTimeShared_Custom, and the change is applied to the sums
+ * of the host, of the datacenter and of the tier. The sums are kept in fixed
+ * point (units of 2^-32 percent) so that they are exact: adding and removing
+ * the same utilization always restores the same sum, whatever the order of
+ * the updates, and no rounding error accumulates over long simulations. The
+ * averages therefore may differ from a floating point sum over the VMs in
+ * the last bits only.
+ */
+public class VmUtilizationAggregates {
+	private static final double FIXED_POINT_SCALE = 4294967296.0; // 2^32
+
+	private final int[] datacenterOfHost;
+	private final long[] hostSums;
+	private final int[] hostVmCounts;
+	private final long[] datacenterSums;
+	private final int[] datacenterVmCounts;
+	private long totalSum;
+	private int totalVmCount;
+
+	private VmUtilizationAggregates(List<? extends List<? extends Vm>> vmsOfHosts, int[] _datacenterOfHost, int numOfDatacenters) {
+		datacenterOfHost = _datacenterOfHost;
+		hostSums = new long[vmsOfHosts.size()];
+		hostVmCounts = new int[vmsOfHosts.size()];
+		datacenterSums = new long[numOfDatacenters];
+		datacenterVmCounts = new int[numOfDatacenters];
+
+		for(int hostIndex=0; hostIndex<vmsOfHosts.size(); hostIndex++){
+			if(vmsOfHosts.get(hostIndex) == null)
+				continue;
+			for(Vm vm : vmsOfHosts.get(hostIndex)){
+				CloudletSchedulerTimeShared_Custom scheduler = (CloudletSchedulerTimeShared_Custom)vm.getCloudletScheduler();
+				hostVmCounts[hostIndex]++;
+				datacenterVmCounts[datacenterOfHost[hostIndex]]++;
+				totalVmCount++;
+				add(hostIndex, toFixedPoint(scheduler.getTrackedUtilizationOfCpu()));
+				scheduler.setUtilizationAggregates(this, hostIndex);
+			}
+		}
+	}
+
+	/**
+	 * Builds the sums over the given VMs and registers them to their schedulers.
+	 *
+	 * @param vmsOfHosts VMs of each host, indexed by host index; null entries are skipped
+	 * @param datacenterOfHost datacenter index of each host
+	 * @param numOfDatacenters number of datacenters of the tier
+	 * @return the sums, or null if a VM does not run a CloudletSchedulerTimeShared_Custom
+	 */
+	public static VmUtilizationAggregates create(List<? extends List<? extends Vm>> vmsOfHosts, int[] datacenterOfHost, int numOfDatacenters) {
+		for(List<? extends Vm> vms : vmsOfHosts)
+			if(vms != null)
+				for(Vm vm : vms)
+					if(!(vm.getCloudletScheduler() instanceof CloudletSchedulerTimeShared_Custom))
+						return null;
+
+		return new VmUtilizationAggregates(vmsOfHosts, datacenterOfHost, numOfDatacenters);
+	}
+
+	/**
+	 * Applies a change of the utilization of a VM; called by its scheduler.
+	 *
+	 * @param hostIndex host of the VM
+	 * @param previousUtilization utilization reported before
+	 * @param utilization new utilization
+	 */
+	public void utilizationChanged(int hostIndex, double previousUtilization, double utilization) {
+		add(hostIndex, toFixedPoint(utilization) - toFixedPoint(previousUtilization));
+	}
+
+	/**
+	 * Returns the average utilization of the VMs of the tier; NaN if there is no VM.
+	 */
+	public double getAvgUtilization() {
+		return toUtilization(totalSum) / totalVmCount;
+	}
+
+	/**
+	 * Returns the average utilization of the VMs of a datacenter; NaN if there is no VM.
+	 */
+	public double getAvgDatacenterUtilization(int datacenterIndex) {
+		return toUtilization(datacenterSums[datacenterIndex]) / datacenterVmCounts[datacenterIndex];
+	}
+
+	/**
+	 * Returns the average utilization of the VMs of a host; NaN if there is no VM.
+	 */
+	public double getAvgHostUtilization(int hostIndex) {
+		return toUtilization(hostSums[hostIndex]) / hostVmCounts[hostIndex];
+	}
+
+	private void add(int hostIndex, long delta) {
+		hostSums[hostIndex] += delta;
+		datacenterSums[datacenterOfHost[hostIndex]] += delta;
+		totalSum += delta;
+	}
+
+	private static long toFixedPoint(double utilization) {
+		return Math.round(utilization * FIXED_POINT_SCALE);
+	}
+
+	private static double toUtilization(long fixedPoint) {
+		return fixedPoint / FIXED_POINT_SCALE;
+	}
+}
@@ -28,6 +28,8 @@ import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.Host;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
 
+import edu.boun.edgecloudsim.edge_client.VmUtilizationAggregates;
+
 /**
  * Abstract base class for managing mobile device processing units in EdgeCloudSim.
  * Handles mobile datacenters that simulate local processing capabilities on mobile devices.
@@ -36,6 +38,8 @@ import org.cloudbus.cloudsim.VmAllocationPolicy;
 public abstract class MobileServerManager {
 	protected Datacenter localDatacenter;
 	protected List<List<MobileVM>> vmList;
+	private VmUtilizationAggregates utilizationAggregates; // Built on the first request
+	private boolean utilizationAggregatesCreated;
 
 	/**
 	 * Constructor initializes the VM list structure for mobile servers.
@@ -106,4 +110,22 @@ public abstract class MobileServerManager {
 	 * @return Average utilization percentage (0.0 to 1.0) of mobile processing units
 	 */
 	public abstract double getAvgUtilization();
+
+	/**
+	 * Returns the running utilization sums of the mobile VMs, built on the first
+	 * request (the VMs exist once the simulation runs); the hosts are indexed
+	 * in the order of the host list of the datacenter.
+	 * @return utilization sums, or null if the VMs do not report their utilization
+	 */
+	protected VmUtilizationAggregates getUtilizationAggregates(){
+		if(!utilizationAggregatesCreated){
+			utilizationAggregatesCreated = true;
+			int numOfHosts = localDatacenter.getHostList().size();
+			List<List<MobileVM>> vmsOfHosts = new ArrayList<List<MobileVM>>();
+			for(int hostIndex=0; hostIndex<numOfHosts; hostIndex++)
+				vmsOfHosts.add(getVmList(hostIndex));
+			utilizationAggregates = VmUtilizationAggregates.create(vmsOfHosts, new int[numOfHosts], 1);
+		}
+		return utilizationAggregates;
+	}
 }
\ No newline at end of file
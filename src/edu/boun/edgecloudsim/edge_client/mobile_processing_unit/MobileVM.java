@@ -19,6 +19,7 @@ import org.cloudbus.cloudsim.CloudletScheduler;
 import org.cloudbus.cloudsim.Vm;
 
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.edge_client.CloudletSchedulerTimeShared_Custom;
 
 /**
  * MobileVM extends CloudSim's VM class to provide mobile device-specific virtual machine functionality.
@@ -56,4 +57,16 @@ public class MobileVM extends Vm {
 	public SimSettings.VM_TYPES getVmType(){
 		return type;
 	}
+
+	/**
+	 * Returns the total CPU utilization of the tasks running on this VM. The
+	 * utilization is kept up to date by the VM's cloudlet scheduler (see
+	 * CloudletSchedulerTimeShared_Custom), so reading it costs no walk over
+	 * the running cloudlets.
+	 * 
+	 * @return CPU utilization in percent
+	 */
+	public double getCpuUtilization(){
+		return CloudletSchedulerTimeShared_Custom.getUtilizationOfCpu(getCloudletScheduler());
+	}
 }
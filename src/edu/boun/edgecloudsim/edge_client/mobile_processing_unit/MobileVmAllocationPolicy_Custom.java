@@ -18,7 +18,6 @@
 
 package edu.boun.edgecloudsim.edge_client.mobile_processing_unit;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -29,6 +28,7 @@ import org.cloudbus.cloudsim.VmAllocationPolicy;
 import org.cloudbus.cloudsim.core.CloudSim;
 
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.utils.VmHostTable;
 
 /**
  * Custom VM allocation policy for mobile device VMs in EdgeCloudSim.
@@ -36,8 +36,8 @@ import edu.boun.edgecloudsim.core.SimSettings;
  * Similar to VmAllocationPolicySimple but optimized for mobile device constraints.
  */
 public class MobileVmAllocationPolicy_Custom extends VmAllocationPolicy {
-	/** Mapping table of mobile VM UIDs to their assigned mobile hosts */
-	private Map<String, Host> vmTable;
+	/** Table of the mobile hosts of the allocated VMs, indexed by VM id */
+	private VmHostTable vmTable;
 	/** Counter for tracking total number of created mobile VMs */
 	private static int createdVmNum;
 	/** Index of the mobile datacenter this policy manages */
@@ -52,7 +52,7 @@ public class MobileVmAllocationPolicy_Custom extends VmAllocationPolicy {
 	public MobileVmAllocationPolicy_Custom(List<? extends Host> list, int _DataCenterIndex) {
 		super(list);
 		
-		setVmTable(new HashMap<String, Host>());
+		setVmTable(new VmHostTable());
 		DataCenterIndex = _DataCenterIndex;
 		createdVmNum = 0;
 	}
@@ -69,9 +69,9 @@ public class MobileVmAllocationPolicy_Custom extends VmAllocationPolicy {
 		boolean result = false;
 
 		// Check if VM is not already allocated and is a MobileVM instance
-		if (!getVmTable().containsKey(vm.getUid()) && vm instanceof MobileVM) {
+		if (!getVmTable().contains(vm) && vm instanceof MobileVM) {
 			// Calculate target mobile host index based on VM ID range (after edge and cloud VMs)
-			int hostIndex = vm.getId() - SimSettings.getInstance().getNumOfEdgeVMs() - SimSettings.getInstance().getNumOfCloudVMs();
+			int hostIndex = SimSettings.getInstance().getHostIndexOfMobileVM(vm.getId());
 			
 			// Only allocate if this is the designated mobile datacenter
 			if(DataCenterIndex == SimSettings.MOBILE_DATACENTER_ID){
@@ -79,7 +79,7 @@ public class MobileVmAllocationPolicy_Custom extends VmAllocationPolicy {
 				result = host.vmCreate(vm);
 	
 				if (result) { // Mobile VM successfully created on the mobile host
-					getVmTable().put(vm.getUid(), host);
+					getVmTable().put(vm, host);
 					createdVmNum++;
 					Log.formatLine("%.2f: Mobile VM #" + vm.getId() + " has been allocated to the host #" + host.getId(),CloudSim.clock());
 					result = true;
@@ -101,7 +101,7 @@ public class MobileVmAllocationPolicy_Custom extends VmAllocationPolicy {
 	@Override
 	public boolean allocateHostForVm(Vm vm, Host host) {
 		if (host.vmCreate(vm)) { // Mobile VM successfully created on the specified mobile host
-			getVmTable().put(vm.getUid(), host);
+			getVmTable().put(vm, host);
 			createdVmNum++;
 			
 			Log.formatLine("%.2f: Mobile VM #" + vm.getId() + " has been allocated to the host #" + host.getId(),CloudSim.clock());
@@ -133,7 +133,7 @@ public class MobileVmAllocationPolicy_Custom extends VmAllocationPolicy {
 	 */
 	@Override
 	public void deallocateHostForVm(Vm vm) {
-		Host host = getVmTable().remove(vm.getUid());
+		Host host = getVmTable().remove(vm);
 		if (host != null) {
 			host.vmDestroy(vm);
 		}
@@ -147,7 +147,7 @@ public class MobileVmAllocationPolicy_Custom extends VmAllocationPolicy {
 	 */
 	@Override
 	public Host getHost(Vm vm) {
-		return getVmTable().get(vm.getUid());
+		return getVmTable().get(vm);
 	}
 
 	/**
@@ -159,7 +159,7 @@ public class MobileVmAllocationPolicy_Custom extends VmAllocationPolicy {
 	 */
 	@Override
 	public Host getHost(int vmId, int userId) {
-		return getVmTable().get(Vm.getUid(userId, vmId));
+		return getVmTable().get(vmId, userId);
 	}
 
 	/**
@@ -173,11 +173,11 @@ public class MobileVmAllocationPolicy_Custom extends VmAllocationPolicy {
 	}
 	
 	/**
-	 * Gets the mobile VM allocation table mapping VM UIDs to mobile hosts.
+	 * Gets the mobile VM allocation table mapping VM ids to mobile hosts.
 	 * 
-	 * @return Map of mobile VM UIDs to their assigned mobile hosts
+	 * @return Table of the mobile hosts of the allocated VMs, indexed by VM id
 	 */
-	public Map<String, Host> getVmTable() {
+	public VmHostTable getVmTable() {
 		return vmTable;
 	}
 
@@ -185,9 +185,9 @@ public class MobileVmAllocationPolicy_Custom extends VmAllocationPolicy {
 	 * Sets the mobile VM allocation table.
 	 * Protected method for internal table management.
 	 * 
-	 * @param vmTable Map of mobile VM UIDs to mobile hosts for allocation tracking
+	 * @param vmTable Table of mobile VM ids to mobile hosts for allocation tracking
 	 */
-	protected void setVmTable(Map<String, Host> vmTable) {
+	protected void setVmTable(VmHostTable vmTable) {
 		this.vmTable = vmTable;
 	}
 }
@@ -12,6 +12,7 @@
 
 package edu.boun.edgecloudsim.edge_orchestrator;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.cloudbus.cloudsim.Host;
@@ -25,7 +26,6 @@ import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.edge_server.EdgeVM;
 import edu.boun.edgecloudsim.edge_client.CpuUtilizationModel_Custom;
 import edu.boun.edgecloudsim.edge_client.Task;
-import edu.boun.edgecloudsim.utils.Location;
 import edu.boun.edgecloudsim.utils.SimUtils;
 
 /**
@@ -48,6 +48,9 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 	private int numberOfHost;                 // Total number of edge hosts for load balancing
 	private int lastSelectedHostIndex;        // Last selected host index for round-robin algorithms
 	private int[] lastSelectedVmIndexes;      // Last selected VM index for each host individually
+	private boolean capacityIndexesCreated;   // True after the capacity indexes are requested
+	private VmCapacityIndex edgeCapacityIndex;  // Free capacity of the edge VMs; null if not available
+	private VmCapacityIndex cloudCapacityIndex; // Free capacity of the cloud VMs; null if not available
 	
 	/**
 	 * Constructs a BasicEdgeOrchestrator with specified policy and scenario.
@@ -73,6 +76,7 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 		lastSelectedVmIndexes = new int[numberOfHost];
 		for(int i=0; i<numberOfHost; i++)
 			lastSelectedVmIndexes[i] = -1;
+		capacityIndexesCreated = false;
 	}
 
 	/**
@@ -113,7 +117,16 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 	public Vm getVmToOffload(Task task, int deviceId) {
 		Vm selectedVM = null;
 		
-		if(deviceId == SimSettings.CLOUD_DATACENTER_ID){
+		if(deviceId == SimSettings.CLOUD_DATACENTER_ID && getCloudCapacityIndex() != null){
+			// Select VM on cloud using least loaded (worst-fit) algorithm on the capacity index
+			if(cloudCapacityIndex.size() > 0){
+				int position = cloudCapacityIndex.findWorstFit(0, cloudCapacityIndex.size(),
+						getRequiredCapacity(task, cloudCapacityIndex));
+				if(position != -1)
+					selectedVM = cloudCapacityIndex.getVm(position);
+			}
+		}
+		else if(deviceId == SimSettings.CLOUD_DATACENTER_ID){
 			// Select VM on cloud using least loaded (worst-fit) algorithm
 			double selectedVmCapacity = 0; // Start with minimum value to find maximum capacity
 			List<Host> list = SimManager.getInstance().getCloudServerManager().getDatacenter().getHostList();
@@ -121,7 +134,7 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 				List<CloudVM> vmArray = SimManager.getInstance().getCloudServerManager().getVmList(hostIndex);
 				for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
 					double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(vmIndex).getVmType());
-					double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+					double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCpuUtilization();
 					if(requiredCapacity <= targetVmCapacity && targetVmCapacity > selectedVmCapacity){
 						selectedVM = vmArray.get(vmIndex);
 						selectedVmCapacity = targetVmCapacity;
@@ -149,18 +162,20 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 		EdgeVM selectedVM = null;
 		
 		// Get current location of the mobile device generating the task
-		Location deviceLocation = SimManager.getInstance().getMobilityModel().getLocation(task.getMobileDeviceId(), CloudSim.clock());
 		// In this scenario, serving WLAN ID corresponds directly to host ID
 		// (one host per geographical location/access point)
-		int relatedHostId=deviceLocation.getServingWlanId();
+		int relatedHostId=SimManager.getInstance().getMobilityModel().servingWlanAt(task.getMobileDeviceId(), CloudSim.clock());
 		List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(relatedHostId);
 		
 		// Apply the configured placement algorithm within the selected host
-		if(policy.equalsIgnoreCase("RANDOM_FIT")){
+		if(!policy.equalsIgnoreCase("RANDOM_FIT") && getEdgeCapacityIndex() != null){
+			selectedVM = selectVmOnHostIndex(task, relatedHostId);
+		}
+		else if(policy.equalsIgnoreCase("RANDOM_FIT")){
 			// Randomly select a VM and check if it can accommodate the task
 			int randomIndex = SimUtils.getRandomNumber(0, vmArray.size()-1);
 			double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(randomIndex).getVmType());
-			double targetVmCapacity = (double)100 - vmArray.get(randomIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+			double targetVmCapacity = (double)100 - vmArray.get(randomIndex).getCpuUtilization();
 			if(requiredCapacity <= targetVmCapacity)
 				selectedVM = vmArray.get(randomIndex);
 		}
@@ -169,7 +184,7 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 			double selectedVmCapacity = 0; // Start with minimum value to find maximum capacity
 			for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
 				double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(vmIndex).getVmType());
-				double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+				double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCpuUtilization();
 				if(requiredCapacity <= targetVmCapacity && targetVmCapacity > selectedVmCapacity){
 					selectedVM = vmArray.get(vmIndex);
 					selectedVmCapacity = targetVmCapacity;
@@ -181,7 +196,7 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 			double selectedVmCapacity = 101; // Start with maximum value to find minimum adequate capacity
 			for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
 				double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(vmIndex).getVmType());
-				double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+				double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCpuUtilization();
 				if(requiredCapacity <= targetVmCapacity && targetVmCapacity < selectedVmCapacity){
 					selectedVM = vmArray.get(vmIndex);
 					selectedVmCapacity = targetVmCapacity;
@@ -192,7 +207,7 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 			// Select the first VM that can accommodate the task (simple and fast)
 			for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
 				double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(vmIndex).getVmType());
-				double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+				double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCpuUtilization();
 				if(requiredCapacity <= targetVmCapacity){
 					selectedVM = vmArray.get(vmIndex);
 					break;
@@ -205,7 +220,7 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 			while(tries < vmArray.size()){
 				lastSelectedVmIndexes[relatedHostId] = (lastSelectedVmIndexes[relatedHostId]+1) % vmArray.size();
 				double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(lastSelectedVmIndexes[relatedHostId]).getVmType());
-				double targetVmCapacity = (double)100 - vmArray.get(lastSelectedVmIndexes[relatedHostId]).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+				double targetVmCapacity = (double)100 - vmArray.get(lastSelectedVmIndexes[relatedHostId]).getCpuUtilization();
 				if(requiredCapacity <= targetVmCapacity){
 					selectedVM = vmArray.get(lastSelectedVmIndexes[relatedHostId]);
 					break;
@@ -228,14 +243,17 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 	public EdgeVM selectVmOnLoadBalancer(Task task){
 		EdgeVM selectedVM = null;
 		
-		if(policy.equalsIgnoreCase("RANDOM_FIT")){
+		if(!policy.equalsIgnoreCase("RANDOM_FIT") && getEdgeCapacityIndex() != null){
+			selectedVM = selectVmOnLoadBalancerIndex(task);
+		}
+		else if(policy.equalsIgnoreCase("RANDOM_FIT")){
 			// Randomly select both host and VM for maximum distribution
 			int randomHostIndex = SimUtils.getRandomNumber(0, numberOfHost-1);
 			List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(randomHostIndex);
 			int randomIndex = SimUtils.getRandomNumber(0, vmArray.size()-1);
 			
 			double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(randomIndex).getVmType());
-			double targetVmCapacity = (double)100 - vmArray.get(randomIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+			double targetVmCapacity = (double)100 - vmArray.get(randomIndex).getCpuUtilization();
 			if(requiredCapacity <= targetVmCapacity)
 				selectedVM = vmArray.get(randomIndex);
 		}
@@ -246,7 +264,7 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 				List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(hostIndex);
 				for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
 					double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(vmIndex).getVmType());
-					double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+					double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCpuUtilization();
 					if(requiredCapacity <= targetVmCapacity && targetVmCapacity > selectedVmCapacity){
 						selectedVM = vmArray.get(vmIndex);
 						selectedVmCapacity = targetVmCapacity;
@@ -261,7 +279,7 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 				List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(hostIndex);
 				for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
 					double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(vmIndex).getVmType());
-					double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+					double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCpuUtilization();
 					if(requiredCapacity <= targetVmCapacity && targetVmCapacity < selectedVmCapacity){
 						selectedVM = vmArray.get(vmIndex);
 						selectedVmCapacity = targetVmCapacity;
@@ -275,7 +293,7 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 				List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(hostIndex);
 				for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
 					double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(vmIndex).getVmType());
-					double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+					double targetVmCapacity = (double)100 - vmArray.get(vmIndex).getCpuUtilization();
 					if(requiredCapacity <= targetVmCapacity){
 						selectedVM = vmArray.get(vmIndex);
 						break;
@@ -296,7 +314,7 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 				while(tries < vmArray.size()){
 					lastSelectedVmIndexes[lastSelectedHostIndex] = (lastSelectedVmIndexes[lastSelectedHostIndex]+1) % vmArray.size();
 					double requiredCapacity = ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmArray.get(lastSelectedVmIndexes[lastSelectedHostIndex]).getVmType());
-					double targetVmCapacity = (double)100 - vmArray.get(lastSelectedVmIndexes[lastSelectedHostIndex]).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+					double targetVmCapacity = (double)100 - vmArray.get(lastSelectedVmIndexes[lastSelectedHostIndex]).getCpuUtilization();
 					if(requiredCapacity <= targetVmCapacity){
 						selectedVM = vmArray.get(lastSelectedVmIndexes[lastSelectedHostIndex]);
 						break;
@@ -311,6 +329,140 @@ public class BasicEdgeOrchestrator extends EdgeOrchestrator {
 		return selectedVM;
 	}
 
+	/**
+	 * Applies the configured placement algorithm to the VMs of a single host
+	 * using the edge capacity index; selects the same VM as the linear scan
+	 * of {@link #selectVmOnHost(Task)}.
+	 */
+	private EdgeVM selectVmOnHostIndex(Task task, int hostId){
+		int from = edgeCapacityIndex.getGroupStart(hostId);
+		int to = edgeCapacityIndex.getGroupEnd(hostId);
+		if(from == to)
+			return null;
+		
+		double requiredCapacity = getRequiredCapacity(task, edgeCapacityIndex);
+		int position = -1;
+		if(policy.equalsIgnoreCase("WORST_FIT")){
+			position = edgeCapacityIndex.findWorstFit(from, to, requiredCapacity);
+		}
+		else if(policy.equalsIgnoreCase("BEST_FIT")){
+			position = edgeCapacityIndex.findBestFit(hostId, requiredCapacity, 101);
+		}
+		else if(policy.equalsIgnoreCase("FIRST_FIT")){
+			position = edgeCapacityIndex.findFirstFit(from, to, requiredCapacity);
+		}
+		else if(policy.equalsIgnoreCase("NEXT_FIT")){
+			position = selectNextFitOnHost(hostId, from, to, requiredCapacity);
+		}
+		
+		return (position == -1) ? null : (EdgeVM)edgeCapacityIndex.getVm(position);
+	}
+
+	/**
+	 * Applies the configured placement algorithm to the VMs of all edge hosts
+	 * using the edge capacity index; selects the same VM as the linear scan
+	 * of {@link #selectVmOnLoadBalancer(Task)}.
+	 */
+	private EdgeVM selectVmOnLoadBalancerIndex(Task task){
+		int numOfVms = edgeCapacityIndex.size();
+		if(numOfVms == 0)
+			return null;
+		
+		double requiredCapacity = getRequiredCapacity(task, edgeCapacityIndex);
+		int position = -1;
+		if(policy.equalsIgnoreCase("WORST_FIT")){
+			position = edgeCapacityIndex.findWorstFit(0, numOfVms, requiredCapacity);
+		}
+		else if(policy.equalsIgnoreCase("BEST_FIT")){
+			position = edgeCapacityIndex.findBestFit(-1, requiredCapacity, 101);
+		}
+		else if(policy.equalsIgnoreCase("FIRST_FIT")){
+			// The scan stops at the first fitting VM of each host but keeps visiting
+			// the hosts, so the first fitting VM of the last such host is selected
+			int lastFit = edgeCapacityIndex.findLastFit(0, numOfVms, requiredCapacity);
+			if(lastFit != -1){
+				int hostId = edgeCapacityIndex.getGroup(lastFit);
+				position = edgeCapacityIndex.findFirstFit(edgeCapacityIndex.getGroupStart(hostId),
+						edgeCapacityIndex.getGroupEnd(hostId), requiredCapacity);
+			}
+		}
+		else if(policy.equalsIgnoreCase("NEXT_FIT")){
+			// Find the next host having a fitting VM in round-robin order; the hosts
+			// passed over have none, so their VM cursors make a full round
+			int firstHost = lastSelectedHostIndex + 1;
+			int fit = -1;
+			if(firstHost < numberOfHost)
+				fit = edgeCapacityIndex.findFirstFit(edgeCapacityIndex.getGroupStart(firstHost), numOfVms, requiredCapacity);
+			if(fit == -1 && firstHost > 0)
+				fit = edgeCapacityIndex.findFirstFit(0, edgeCapacityIndex.getGroupEnd(firstHost - 1), requiredCapacity);
+			
+			if(fit == -1){
+				lastSelectedHostIndex = (lastSelectedHostIndex + numberOfHost) % numberOfHost;
+			}
+			else{
+				lastSelectedHostIndex = edgeCapacityIndex.getGroup(fit);
+				position = selectNextFitOnHost(lastSelectedHostIndex,
+						edgeCapacityIndex.getGroupStart(lastSelectedHostIndex),
+						edgeCapacityIndex.getGroupEnd(lastSelectedHostIndex), requiredCapacity);
+			}
+		}
+		
+		return (position == -1) ? null : (EdgeVM)edgeCapacityIndex.getVm(position);
+	}
+
+	// Round-robin selection within a host continuing from the last selected VM of the host
+	private int selectNextFitOnHost(int hostId, int from, int to, double requiredCapacity){
+		int numOfVms = to - from;
+		int position = edgeCapacityIndex.findNextFit(from, to, from + lastSelectedVmIndexes[hostId], requiredCapacity);
+		if(position == -1)
+			lastSelectedVmIndexes[hostId] = (lastSelectedVmIndexes[hostId] + numOfVms) % numOfVms;
+		else
+			lastSelectedVmIndexes[hostId] = position - from;
+		return position;
+	}
+
+	// Capacity required by the task on the VMs of an index, which are all of the same type
+	private double getRequiredCapacity(Task task, VmCapacityIndex capacityIndex){
+		Vm vm = capacityIndex.getVm(0);
+		SimSettings.VM_TYPES vmType = (vm instanceof CloudVM) ? ((CloudVM)vm).getVmType() : ((EdgeVM)vm).getVmType();
+		return ((CpuUtilizationModel_Custom)task.getUtilizationModelCpu()).predictUtilization(vmType);
+	}
+
+	private VmCapacityIndex getEdgeCapacityIndex(){
+		if(!capacityIndexesCreated)
+			createCapacityIndexes();
+		return edgeCapacityIndex;
+	}
+
+	private VmCapacityIndex getCloudCapacityIndex(){
+		if(!capacityIndexesCreated)
+			createCapacityIndexes();
+		return cloudCapacityIndex;
+	}
+
+	/**
+	 * Creates the capacity indexes on the first placement since the VMs do
+	 * not exist yet when the orchestrator is initialized; if the VMs do not
+	 * report their utilization, the placement algorithms scan the VMs.
+	 */
+	private void createCapacityIndexes(){
+		capacityIndexesCreated = true;
+		
+		List<List<EdgeVM>> edgeVms = new ArrayList<List<EdgeVM>>();
+		for(int hostIndex=0; hostIndex<numberOfHost; hostIndex++)
+			edgeVms.add(SimManager.getInstance().getEdgeServerManager().getVmList(hostIndex));
+		edgeCapacityIndex = VmCapacityIndex.create(edgeVms);
+		
+		cloudCapacityIndex = null;
+		if(SimManager.getInstance().getCloudServerManager().getDatacenter() != null){
+			List<List<CloudVM>> cloudVms = new ArrayList<List<CloudVM>>();
+			int numOfCloudHosts = SimManager.getInstance().getCloudServerManager().getDatacenter().getHostList().size();
+			for(int hostIndex=0; hostIndex<numOfCloudHosts; hostIndex++)
+				cloudVms.add(SimManager.getInstance().getCloudServerManager().getVmList(hostIndex));
+			cloudCapacityIndex = VmCapacityIndex.create(cloudVms);
+		}
+	}
+
 	/**
 	 * Processes simulation events. Currently not implemented for basic orchestrator.
 	 * 
@@ -0,0 +1,314 @@
+/*
+ * Title:        EdgeCloudSim - VM Capacity Index
+ *
+ * Description:
+ * VmCapacityIndex keeps the free CPU capacity of a set of VMs in a
+ * segment tree and in capacity ordered arrays, so that the first/next/
+ * best/worst fit placement algorithms find their VM in O(log V)
+ * instead of checking every VM
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.edge_orchestrator;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Vm;
+
+import edu.boun.edgecloudsim.edge_client.CloudletSchedulerTimeShared_Custom;
+
+/**
+ * Free CPU capacity index over the VMs of one tier.
+ *
+ * <p>The VMs are placed at consecutive positions in the order the placement
+ * algorithms scan them (host by host, VM by VM); the VMs of a host form a
+ * group of consecutive positions. The free capacity of a VM is 100 minus the
+ * total CPU utilization of its running cloudlets, exactly as the algorithms
+ * compute it; the VM's CloudletSchedulerTimeShared_Custom reports each change,
+ * so the index never walks the running cloudlets.</p>
+ *
+ * <p>A segment tree holding the maximum free capacity of each range answers
+ * the first, last, next and worst fit queries; arrays sorted by (free capacity,
+ * position), one for all VMs and one per group, answer the best fit queries.
+ * Queries cost O(log V); an update moves the VM within the sorted arrays, which
+ * shifts the entries between its old and new rank. Ties are resolved in scan
+ * order, so every query returns the VM that the linear scan of the algorithm
+ * selects.</p>
+ */
+public class VmCapacityIndex {
+	private final Vm[] vms;               // VM at each position
+	private final int[] groupStarts;      // First position of each group; groupStarts[numOfGroups] is the number of VMs
+	private final int[] groupOfPosition;  // Group of each position
+	private final double[] freeCapacities;
+	private final double[] maxTree;       // Segment tree: maximum free capacity of each node's range
+	private final int treeSize;           // Number of leaves of the segment tree (power of two)
+	private final CapacityOrder bestFitOrder;
+	private final CapacityOrder[] groupBestFitOrders;
+
+	/**
+	 * Positions sorted by (free capacity, position); the sort keys are stored
+	 * with the positions, so the order does not depend on any other state.
+	 */
+	private static class CapacityOrder {
+		private final double[] capacities;
+		private final int[] positions;
+		private int size;
+
+		CapacityOrder(int capacity) {
+			capacities = new double[capacity];
+			positions = new int[capacity];
+		}
+
+		void add(double freeCapacity, int position) {
+			int rank = rankOf(freeCapacity, position);
+			System.arraycopy(capacities, rank, capacities, rank + 1, size - rank);
+			System.arraycopy(positions, rank, positions, rank + 1, size - rank);
+			capacities[rank] = freeCapacity;
+			positions[rank] = position;
+			size++;
+		}
+
+		// Moves the entry of a position from its old key to its new key
+		void update(double oldFreeCapacity, double newFreeCapacity, int position) {
+			int from = rankOf(oldFreeCapacity, position);
+			int to = rankOf(newFreeCapacity, position);
+			if(to > from) {
+				// the entry itself is still counted below its new rank
+				to--;
+				System.arraycopy(capacities, from + 1, capacities, from, to - from);
+				System.arraycopy(positions, from + 1, positions, from, to - from);
+			}
+			else {
+				System.arraycopy(capacities, to, capacities, to + 1, from - to);
+				System.arraycopy(positions, to, positions, to + 1, from - to);
+			}
+			capacities[to] = newFreeCapacity;
+			positions[to] = position;
+		}
+
+		/**
+		 * Returns the position of the first entry having at least the given free
+		 * capacity, or -1 if there is none.
+		 */
+		int ceiling(double freeCapacity) {
+			int rank = rankOf(freeCapacity, -1);
+			return (rank < size) ? positions[rank] : -1;
+		}
+
+		// Number of entries ordered before the key (binary search)
+		private int rankOf(double freeCapacity, int position) {
+			int low = 0;
+			int high = size;
+			while(low < high) {
+				int middle = (low + high) >>> 1;
+				int result = Double.compare(capacities[middle], freeCapacity);
+				if(result < 0 || (result == 0 && positions[middle] < position))
+					low = middle + 1;
+				else
+					high = middle;
+			}
+			return low;
+		}
+	}
+
+	private VmCapacityIndex(List<? extends List<? extends Vm>> vmGroups) {
+		int numOfVms = 0;
+		for(List<? extends Vm> group : vmGroups)
+			numOfVms += group.size();
+
+		vms = new Vm[numOfVms];
+		groupStarts = new int[vmGroups.size() + 1];
+		groupOfPosition = new int[numOfVms];
+		freeCapacities = new double[numOfVms];
+		int position = 0;
+		for(int i=0; i<vmGroups.size(); i++){
+			groupStarts[i] = position;
+			for(Vm vm : vmGroups.get(i)){
+				vms[position] = vm;
+				groupOfPosition[position] = i;
+				position++;
+			}
+		}
+		groupStarts[vmGroups.size()] = numOfVms;
+
+		int size = 1;
+		while(size < numOfVms)
+			size <<= 1;
+		treeSize = size;
+		maxTree = new double[2 * treeSize];
+		Arrays.fill(maxTree, Double.NEGATIVE_INFINITY);
+
+		bestFitOrder = new CapacityOrder(numOfVms);
+		groupBestFitOrders = new CapacityOrder[vmGroups.size()];
+		for(int i=0; i<vmGroups.size(); i++)
+			groupBestFitOrders[i] = new CapacityOrder(vmGroups.get(i).size());
+
+		for(int i=0; i<numOfVms; i++){
+			CloudletSchedulerTimeShared_Custom scheduler = (CloudletSchedulerTimeShared_Custom)vms[i].getCloudletScheduler();
+			freeCapacities[i] = (double)100 - scheduler.getTrackedUtilizationOfCpu();
+			maxTree[treeSize + i] = freeCapacities[i];
+			bestFitOrder.add(freeCapacities[i], i);
+			groupBestFitOrders[groupOfPosition[i]].add(freeCapacities[i], i);
+			scheduler.setCapacityIndex(this, i);
+		}
+		for(int node = treeSize - 1; node > 0; node--)
+			maxTree[node] = Math.max(maxTree[2 * node], maxTree[2 * node + 1]);
+	}
+
+	/**
+	 * Builds the index over the given VMs and registers it to their schedulers.
+	 *
+	 * @param vmGroups VMs of each host in scan order
+	 * @return the index, or null if a VM does not run a CloudletSchedulerTimeShared_Custom
+	 */
+	public static VmCapacityIndex create(List<? extends List<? extends Vm>> vmGroups) {
+		for(List<? extends Vm> group : vmGroups)
+			for(Vm vm : group)
+				if(!(vm.getCloudletScheduler() instanceof CloudletSchedulerTimeShared_Custom))
+					return null;
+
+		return new VmCapacityIndex(vmGroups);
+	}
+
+	/**
+	 * Updates the free capacity of a VM; called by its scheduler.
+	 *
+	 * @param position position of the VM
+	 * @param utilization total CPU utilization of the running cloudlets
+	 */
+	public void setUtilization(int position, double utilization) {
+		double oldFreeCapacity = freeCapacities[position];
+		freeCapacities[position] = (double)100 - utilization;
+
+		bestFitOrder.update(oldFreeCapacity, freeCapacities[position], position);
+		groupBestFitOrders[groupOfPosition[position]].update(oldFreeCapacity, freeCapacities[position], position);
+		int node = treeSize + position;
+		maxTree[node] = freeCapacities[position];
+		for(node >>= 1; node > 0; node >>= 1)
+			maxTree[node] = Math.max(maxTree[2 * node], maxTree[2 * node + 1]);
+	}
+
+	public int size() {
+		return vms.length;
+	}
+
+	public Vm getVm(int position) {
+		return vms[position];
+	}
+
+	public double getFreeCapacity(int position) {
+		return freeCapacities[position];
+	}
+
+	public int getGroupStart(int group) {
+		return groupStarts[group];
+	}
+
+	public int getGroupEnd(int group) {
+		return groupStarts[group + 1];
+	}
+
+	public int getGroup(int position) {
+		return groupOfPosition[position];
+	}
+
+	/**
+	 * Returns the VM with the largest free capacity in [from, to) that fits the
+	 * required capacity and has some free capacity; the first one on ties.
+	 *
+	 * @return position of the VM, or -1 if none fits
+	 */
+	public int findWorstFit(int from, int to, double requiredCapacity) {
+		double maxCapacity = getMaxCapacity(1, 0, treeSize, from, to);
+		if(!(requiredCapacity <= maxCapacity && maxCapacity > 0))
+			return -1;
+		return findFirstFit(from, to, maxCapacity);
+	}
+
+	/**
+	 * Returns the VM with the smallest free capacity that fits the required
+	 * capacity; the first one on ties.
+	 *
+	 * @param group group to search in, or -1 to search all VMs
+	 * @param requiredCapacity capacity required by the task
+	 * @param capacityLimit free capacities at or above this limit are not considered
+	 * @return position of the VM, or -1 if none fits
+	 */
+	public int findBestFit(int group, double requiredCapacity, double capacityLimit) {
+		CapacityOrder order = (group == -1) ? bestFitOrder : groupBestFitOrders[group];
+		int position = order.ceiling(requiredCapacity);
+		if(position == -1 || !(freeCapacities[position] < capacityLimit))
+			return -1;
+		return position;
+	}
+
+	/**
+	 * Returns the first VM in [from, to) that fits the required capacity.
+	 *
+	 * @return position of the VM, or -1 if none fits
+	 */
+	public int findFirstFit(int from, int to, double requiredCapacity) {
+		return findFirst(1, 0, treeSize, from, to, requiredCapacity);
+	}
+
+	/**
+	 * Returns the last VM in [from, to) that fits the required capacity.
+	 *
+	 * @return position of the VM, or -1 if none fits
+	 */
+	public int findLastFit(int from, int to, double requiredCapacity) {
+		return findLast(1, 0, treeSize, from, to, requiredCapacity);
+	}
+
+	/**
+	 * Returns the first VM in [from, to) that fits the required capacity,
+	 * starting after the given position and wrapping around, i.e. the VM
+	 * selected by a round-robin scan continuing from the last selected VM.
+	 *
+	 * @param lastPosition position of the last selected VM, or from - 1 to start at the beginning
+	 * @return position of the VM, or -1 if none fits
+	 */
+	public int findNextFit(int from, int to, int lastPosition, double requiredCapacity) {
+		int position = findFirstFit(lastPosition + 1, to, requiredCapacity);
+		if(position == -1)
+			position = findFirstFit(from, lastPosition + 1, requiredCapacity);
+		return position;
+	}
+
+	private double getMaxCapacity(int node, int nodeFrom, int nodeTo, int from, int to) {
+		if(to <= nodeFrom || nodeTo <= from)
+			return Double.NEGATIVE_INFINITY;
+		if(from <= nodeFrom && nodeTo <= to)
+			return maxTree[node];
+		int middle = (nodeFrom + nodeTo) >>> 1;
+		return Math.max(getMaxCapacity(2 * node, nodeFrom, middle, from, to),
+				getMaxCapacity(2 * node + 1, middle, nodeTo, from, to));
+	}
+
+	private int findFirst(int node, int nodeFrom, int nodeTo, int from, int to, double requiredCapacity) {
+		if(to <= nodeFrom || nodeTo <= from || !(maxTree[node] >= requiredCapacity))
+			return -1;
+		if(nodeTo - nodeFrom == 1)
+			return nodeFrom;
+		int middle = (nodeFrom + nodeTo) >>> 1;
+		int result = findFirst(2 * node, nodeFrom, middle, from, to, requiredCapacity);
+		if(result == -1)
+			result = findFirst(2 * node + 1, middle, nodeTo, from, to, requiredCapacity);
+		return result;
+	}
+
+	private int findLast(int node, int nodeFrom, int nodeTo, int from, int to, double requiredCapacity) {
+		if(to <= nodeFrom || nodeTo <= from || !(maxTree[node] >= requiredCapacity))
+			return -1;
+		if(nodeTo - nodeFrom == 1)
+			return nodeFrom;
+		int middle = (nodeFrom + nodeTo) >>> 1;
+		int result = findLast(2 * node + 1, middle, nodeTo, from, to, requiredCapacity);
+		if(result == -1)
+			result = findLast(2 * node, nodeFrom, middle, from, to, requiredCapacity);
+		return result;
+	}
+}
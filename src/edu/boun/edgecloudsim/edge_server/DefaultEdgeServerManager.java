@@ -16,7 +16,6 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
 import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.DatacenterCharacteristics;
 import org.cloudbus.cloudsim.Host;
@@ -24,17 +23,15 @@ import org.cloudbus.cloudsim.Pe;
 import org.cloudbus.cloudsim.Storage;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
 import org.cloudbus.cloudsim.VmSchedulerSpaceShared;
-import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
 import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
 import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
+import edu.boun.edgecloudsim.core.ScenarioModel;
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.edge_client.CloudletSchedulerTimeShared_Custom;
+import edu.boun.edgecloudsim.edge_client.VmUtilizationAggregates;
 import edu.boun.edgecloudsim.utils.Location;
 
 /**
@@ -87,26 +84,23 @@ public class DefaultEdgeServerManager extends EdgeServerManager{
 	}
 	
 	/**
-	 * Starts all edge datacenters by parsing XML configuration and creating CloudSim entities.
-	 * Reads the edge devices configuration document and creates a datacenter for each
-	 * datacenter element defined in the XML, including hosts, VMs, and location information.
+	 * Starts all edge datacenters defined in the XML configuration by creating CloudSim entities.
+	 * Reads the scenario model compiled from the edge devices configuration and creates a
+	 * datacenter for each datacenter specification, including hosts and location information.
 	 * 
 	 * @throws Exception if XML parsing fails or datacenter creation encounters errors
 	 */
 	public void startDatacenters() throws Exception{
-		Document doc = SimSettings.getInstance().getEdgeDevicesDocument();
-		NodeList datacenterList = doc.getElementsByTagName("datacenter");
-		for (int i = 0; i < datacenterList.getLength(); i++) {
-			Node datacenterNode = datacenterList.item(i);
-			Element datacenterElement = (Element) datacenterNode;
-			localDatacenters.add(createDatacenter(i, datacenterElement));
+		ScenarioModel scenarioModel = SimSettings.getInstance().getScenarioModel();
+		for (int i = 0; i < scenarioModel.getNumOfDatacenters(); i++) {
+			localDatacenters.add(createDatacenter(i, scenarioModel.getDatacenter(i)));
 		}
 	}
 
 	/**
 	 * Creates VM lists for all edge hosts based on XML configuration.
-	 * Parses the edge devices document and creates EdgeVM instances for each
-	 * VM definition within host elements. Assigns bandwidth proportionally
+	 * Reads the scenario model and creates EdgeVM instances for each
+	 * VM specification within host specifications. Assigns bandwidth proportionally
 	 * based on the number of hosts and VMs sharing WLAN resources.
 	 * 	 *
 	 * @param brokerId ID of the broker that will manage the created VMs
@@ -116,35 +110,29 @@ public class DefaultEdgeServerManager extends EdgeServerManager{
 		int vmCounter=0;
 		
 		// Create VMs for each host based on XML configuration
-		Document doc = SimSettings.getInstance().getEdgeDevicesDocument();
-		NodeList datacenterList = doc.getElementsByTagName("datacenter");
-		for (int i = 0; i < datacenterList.getLength(); i++) {
-			Node datacenterNode = datacenterList.item(i);
-			Element datacenterElement = (Element) datacenterNode;
-			NodeList hostNodeList = datacenterElement.getElementsByTagName("host");
-			for (int j = 0; j < hostNodeList.getLength(); j++) {
+		ScenarioModel scenarioModel = SimSettings.getInstance().getScenarioModel();
+		for (int i = 0; i < scenarioModel.getNumOfDatacenters(); i++) {
+			ScenarioModel.DatacenterSpec datacenterSpec = scenarioModel.getDatacenter(i);
+			for (int j = 0; j < datacenterSpec.getNumOfHosts(); j++) {
 				
 				// Initialize VM list for current host
 				vmList.add(hostCounter, new ArrayList<EdgeVM>());
 				
-				Node hostNode = hostNodeList.item(j);
-				Element hostElement = (Element) hostNode;
-				NodeList vmNodeList = hostElement.getElementsByTagName("VM");
-				for (int k = 0; k < vmNodeList.getLength(); k++) {
-					Node vmNode = vmNodeList.item(k);					
-					Element vmElement = (Element) vmNode;
+				ScenarioModel.HostSpec hostSpec = datacenterSpec.getHost(j);
+				for (int k = 0; k < hostSpec.getNumOfVms(); k++) {
+					ScenarioModel.VmSpec vmSpec = hostSpec.getVm(k);
 
 					// Extract VM configuration parameters from XML
-					String vmm = vmElement.getAttribute("vmm");
-					int numOfCores = Integer.parseInt(vmElement.getElementsByTagName("core").item(0).getTextContent());
-					double mips = Double.parseDouble(vmElement.getElementsByTagName("mips").item(0).getTextContent());
-					int ram = Integer.parseInt(vmElement.getElementsByTagName("ram").item(0).getTextContent());
-					long storage = Long.parseLong(vmElement.getElementsByTagName("storage").item(0).getTextContent());
+					String vmm = vmSpec.getVmm();
+					int numOfCores = vmSpec.getCore();
+					double mips = vmSpec.getMips();
+					int ram = vmSpec.getRam();
+					long storage = vmSpec.getStorage();
 					// Calculate proportional bandwidth sharing across hosts and VMs
-					long bandwidth = SimSettings.getInstance().getWlanBandwidth() / (hostNodeList.getLength()+vmNodeList.getLength());
+					long bandwidth = SimSettings.getInstance().getWlanBandwidth() / (datacenterSpec.getNumOfHosts()+hostSpec.getNumOfVms());
 					
 					// Create EdgeVM with time-shared cloudlet scheduler
-					EdgeVM vm = new EdgeVM(vmCounter, brokerId, mips, numOfCores, ram, bandwidth, storage, vmm, new CloudletSchedulerTimeShared());
+					EdgeVM vm = new EdgeVM(vmCounter, brokerId, mips, numOfCores, ram, bandwidth, storage, vmm, new CloudletSchedulerTimeShared_Custom());
 					vmList.get(hostCounter).add(vm);
 					vmCounter++;
 				}
@@ -172,6 +160,10 @@ public class DefaultEdgeServerManager extends EdgeServerManager{
 	 * @return Average utilization percentage (0-100) across all edge VMs
 	 */
 	public double getAvgUtilization(){
+		VmUtilizationAggregates utilizationAggregates = getUtilizationAggregates();
+		if(utilizationAggregates != null)
+			return utilizationAggregates.getAvgUtilization();
+		
 		double totalUtilization = 0;
 		double vmCounter = 0;
 		
@@ -184,7 +176,7 @@ public class DefaultEdgeServerManager extends EdgeServerManager{
 				List<EdgeVM> vmArray = SimManager.getInstance().getEdgeServerManager().getVmList(host.getId());
 				// Accumulate utilization from each VM on the host
 				for(int vmIndex=0; vmIndex<vmArray.size(); vmIndex++){
-					totalUtilization += vmArray.get(vmIndex).getCloudletScheduler().getTotalUtilizationOfCpu(CloudSim.clock());
+					totalUtilization += vmArray.get(vmIndex).getCpuUtilization();
 					vmCounter++;
 				}
 			}
@@ -193,27 +185,27 @@ public class DefaultEdgeServerManager extends EdgeServerManager{
 	}
 
 	/**
-	 * Creates a CloudSim datacenter from XML configuration element.
+	 * Creates a CloudSim datacenter from its specification in the XML configuration.
 	 * Extracts datacenter characteristics, creates hosts, and assembles
 	 * a complete datacenter entity with proper cost modeling and allocation policies.
 	 * 
 	 * @param index Unique index for datacenter naming
-	 * @param datacenterElement XML element containing datacenter configuration
+	 * @param datacenterSpec Datacenter specification from the edge devices configuration
 	 * @return Configured CloudSim Datacenter instance
 	 * @throws Exception if datacenter creation fails
 	 */
-	private Datacenter createDatacenter(int index, Element datacenterElement) throws Exception{
+	private Datacenter createDatacenter(int index, ScenarioModel.DatacenterSpec datacenterSpec) throws Exception{
 		// Extract datacenter characteristics from XML configuration
-		String arch = datacenterElement.getAttribute("arch");
-		String os = datacenterElement.getAttribute("os");
-		String vmm = datacenterElement.getAttribute("vmm");
-		double costPerBw = Double.parseDouble(datacenterElement.getElementsByTagName("costPerBw").item(0).getTextContent());
-		double costPerSec = Double.parseDouble(datacenterElement.getElementsByTagName("costPerSec").item(0).getTextContent());
-		double costPerMem = Double.parseDouble(datacenterElement.getElementsByTagName("costPerMem").item(0).getTextContent());
-		double costPerStorage = Double.parseDouble(datacenterElement.getElementsByTagName("costPerStorage").item(0).getTextContent());
+		String arch = datacenterSpec.getArch();
+		String os = datacenterSpec.getOs();
+		String vmm = datacenterSpec.getVmm();
+		double costPerBw = datacenterSpec.getCostPerBw();
+		double costPerSec = datacenterSpec.getCostPerSec();
+		double costPerMem = datacenterSpec.getCostPerMem();
+		double costPerStorage = datacenterSpec.getCostPerStorage();
 		
 		// Create hosts for this datacenter based on XML specification
-		List<EdgeHost> hostList=createHosts(datacenterElement);
+		List<EdgeHost> hostList=createHosts(datacenterSpec);
 		
 		// Configure datacenter basic properties
 		String name = "Datacenter_" + Integer.toString(index);
@@ -235,39 +227,36 @@ public class DefaultEdgeServerManager extends EdgeServerManager{
 	}
 	
 	/**
-	 * Creates edge hosts from XML datacenter configuration element.
+	 * Creates edge hosts from the datacenter specification in the XML configuration.
 	 * Extracts location information and host specifications to create
 	 * EdgeHost instances with proper geographic placement and resource configuration.
 	 * 
-	 * @param datacenterElement XML element containing datacenter and host definitions
+	 * @param datacenterSpec Datacenter specification including the host definitions
 	 * @return List of configured EdgeHost instances for the datacenter
 	 */
-	private List<EdgeHost> createHosts(Element datacenterElement){
+	private List<EdgeHost> createHosts(ScenarioModel.DatacenterSpec datacenterSpec){
 
 		// Initialize list to store edge hosts for this datacenter
 		List<EdgeHost> hostList = new ArrayList<EdgeHost>();
 		
 		// Extract location information for geographic placement
-		Element location = (Element)datacenterElement.getElementsByTagName("location").item(0);
-		String attractiveness = location.getElementsByTagName("attractiveness").item(0).getTextContent();
-		int wlan_id = Integer.parseInt(location.getElementsByTagName("wlan_id").item(0).getTextContent());
-		int x_pos = Integer.parseInt(location.getElementsByTagName("x_pos").item(0).getTextContent());
-		int y_pos = Integer.parseInt(location.getElementsByTagName("y_pos").item(0).getTextContent());
-		int placeTypeIndex = Integer.parseInt(attractiveness);
+		Location location = datacenterSpec.getLocation();
+		int wlan_id = location.getServingWlanId();
+		int x_pos = location.getXPos();
+		int y_pos = location.getYPos();
+		int placeTypeIndex = location.getPlaceTypeIndex();
 
 		// Process each host definition within the datacenter
-		NodeList hostNodeList = datacenterElement.getElementsByTagName("host");
-		for (int j = 0; j < hostNodeList.getLength(); j++) {
-			Node hostNode = hostNodeList.item(j);
+		for (int j = 0; j < datacenterSpec.getNumOfHosts(); j++) {
+			ScenarioModel.HostSpec hostSpec = datacenterSpec.getHost(j);
 			
 			// Extract host resource specifications from XML
-			Element hostElement = (Element) hostNode;
-			int numOfCores = Integer.parseInt(hostElement.getElementsByTagName("core").item(0).getTextContent());
-			double mips = Double.parseDouble(hostElement.getElementsByTagName("mips").item(0).getTextContent());
-			int ram = Integer.parseInt(hostElement.getElementsByTagName("ram").item(0).getTextContent());
-			long storage = Long.parseLong(hostElement.getElementsByTagName("storage").item(0).getTextContent());
+			int numOfCores = hostSpec.getCore();
+			double mips = hostSpec.getMips();
+			int ram = hostSpec.getRam();
+			long storage = hostSpec.getStorage();
 			// Calculate proportional bandwidth sharing across hosts
-			long bandwidth = SimSettings.getInstance().getWlanBandwidth() / hostNodeList.getLength();
+			long bandwidth = SimSettings.getInstance().getWlanBandwidth() / datacenterSpec.getNumOfHosts();
 			
 			// Create processing elements (PEs) for the host based on core count
 			List<Pe> peList = new ArrayList<Pe>();
@@ -23,6 +23,8 @@ import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.Host;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
 
+import edu.boun.edgecloudsim.edge_client.VmUtilizationAggregates;
+
 /**
  * Abstract base class for managing edge server infrastructure in EdgeCloudSim.
  * 
@@ -43,6 +45,8 @@ import org.cloudbus.cloudsim.VmAllocationPolicy;
 public abstract class EdgeServerManager {
 	protected List<Datacenter> localDatacenters;    // Edge datacenters managed by this instance
 	protected List<List<EdgeVM>> vmList;             // VM lists organized by host ID
+	private VmUtilizationAggregates utilizationAggregates; // Built on the first request
+	private boolean utilizationAggregatesCreated;
 
 	/**
 	 * Constructs an EdgeServerManager with empty datacenter and VM collections.
@@ -124,4 +128,29 @@ public abstract class EdgeServerManager {
 	 * @return Average utilization percentage (0-100) across all edge VMs
 	 */
 	public abstract double getAvgUtilization();
+
+	/**
+	 * Returns the running utilization sums of the edge VMs, built on the first
+	 * request (the VMs exist once the simulation runs); the hosts are indexed
+	 * by their ID and grouped by the datacenters in list order.
+	 * 
+	 * @return utilization sums, or null if the VMs do not report their utilization
+	 */
+	protected VmUtilizationAggregates getUtilizationAggregates(){
+		if(!utilizationAggregatesCreated){
+			utilizationAggregatesCreated = true;
+			List<List<EdgeVM>> vmsOfHosts = new ArrayList<List<EdgeVM>>();
+			int[] datacenterOfHost = new int[vmList.size()];
+			for(int i=0; i<vmList.size(); i++)
+				vmsOfHosts.add(null);
+			for(int i=0; i<localDatacenters.size(); i++) {
+				for(Host host : localDatacenters.get(i).getHostList()) {
+					vmsOfHosts.set(host.getId(), vmList.get(host.getId()));
+					datacenterOfHost[host.getId()] = i;
+				}
+			}
+			utilizationAggregates = VmUtilizationAggregates.create(vmsOfHosts, datacenterOfHost, localDatacenters.size());
+		}
+		return utilizationAggregates;
+	}
 }
\ No newline at end of file
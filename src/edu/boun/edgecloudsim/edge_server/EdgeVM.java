@@ -17,6 +17,7 @@ import org.cloudbus.cloudsim.CloudletScheduler;
 import org.cloudbus.cloudsim.Vm;
 
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.edge_client.CloudletSchedulerTimeShared_Custom;
 
 /**
  * Extended VM class for edge computing scenarios in EdgeCloudSim.
@@ -66,6 +67,18 @@ public class EdgeVM extends Vm {
 		return type;
 	}
 
+	/**
+	 * Returns the total CPU utilization of the tasks running on this VM. The
+	 * utilization is kept up to date by the VM's cloudlet scheduler (see
+	 * CloudletSchedulerTimeShared_Custom), so reading it costs no walk over
+	 * the running cloudlets.
+	 * 
+	 * @return CPU utilization in percent
+	 */
+	public double getCpuUtilization(){
+		return CloudletSchedulerTimeShared_Custom.getUtilizationOfCpu(getCloudletScheduler());
+	}
+
 	/**
 	 * Dynamically reconfigures the MIPS capacity of this VM during simulation.
 	 * This method enables runtime resource adjustment for adaptive edge computing
@@ -13,7 +13,6 @@
 
 package edu.boun.edgecloudsim.edge_server;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -22,12 +21,9 @@ import org.cloudbus.cloudsim.Log;
 import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
 import org.cloudbus.cloudsim.core.CloudSim;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.utils.VmHostTable;
 
 /**
  * Custom VM allocation policy for edge datacenters in EdgeCloudSim.
@@ -44,11 +40,11 @@ import edu.boun.edgecloudsim.core.SimSettings;
  * - VM creation tracking and monitoring
  * - Integration with EdgeCloudSim's device specification framework
  * 
- * The policy parses the edge devices XML configuration to determine the exact
- * host placement for each VM based on VM ID and datacenter hierarchy.
+ * The exact host placement of each VM is taken from the placement table that
+ * SimSettings builds from the edge devices XML configuration, indexed by VM ID.
  */
 public class EdgeVmAllocationPolicy_Custom extends VmAllocationPolicy {
-	private Map<String, Host> vmTable;    // Mapping of VM UIDs to their allocated hosts
+	private VmHostTable vmTable;          // Hosts of the allocated VMs, indexed by VM id
 	private static int createdVmNum;      // Global counter of successfully created VMs
 	private int DataCenterIndex;          // Index of the datacenter managed by this policy
 	
@@ -63,15 +59,16 @@ public class EdgeVmAllocationPolicy_Custom extends VmAllocationPolicy {
 	public EdgeVmAllocationPolicy_Custom(List<? extends Host> list, int _DataCenterIndex) {
 		super(list);
 		
-		setVmTable(new HashMap<String, Host>());
+		setVmTable(new VmHostTable());
 		DataCenterIndex=_DataCenterIndex;
 		createdVmNum = 0;
 	}
 
 	/**
 	 * Allocates a host for the given VM based on XML configuration specifications.
-	 * Parses the edge devices configuration to find the designated host for this VM
-	 * and attempts to create the VM on that specific host. Only EdgeVMs are processed.
+	 * Looks up the designated host of this VM in the placement table built by
+	 * SimSettings while parsing the edge devices configuration and attempts to
+	 * create the VM on that specific host. Only EdgeVMs are processed.
 	 * 
 	 * @param vm The VM requesting host allocation
 	 * @return true if VM was successfully allocated to the designated host, false otherwise
@@ -81,36 +78,11 @@ public class EdgeVmAllocationPolicy_Custom extends VmAllocationPolicy {
 		boolean result = false;
 		
 		// Only allocate if VM is not already allocated and is an EdgeVM
-		if (!getVmTable().containsKey(vm.getUid()) && vm instanceof EdgeVM) {
-			boolean vmFound = false;
-			int vmCounter = 0;
-			int hostIndex = 0;
-			int dataCenterIndex = 0;
-			
-			// Parse XML configuration to find the designated host for this VM
-			Document doc = SimSettings.getInstance().getEdgeDevicesDocument();
-			NodeList datacenterList = doc.getElementsByTagName("datacenter");
-			for (int i = 0; (!vmFound && i < datacenterList.getLength()); i++) {
-				Node datacenterNode = datacenterList.item(i);
-				Element datacenterElement = (Element) datacenterNode;
-				NodeList hostNodeList = datacenterElement.getElementsByTagName("host");
-				for (int j = 0; (!vmFound  && j < hostNodeList.getLength()); j++) {
-					Node hostNode = hostNodeList.item(j);
-					Element hostElement = (Element) hostNode;
-					NodeList vmNodeList = hostElement.getElementsByTagName("VM");
-					for (int k = 0; (!vmFound && k < vmNodeList.getLength()); k++) {
-
-						// Match VM ID with configuration to find designated placement
-						if(vmCounter == vm.getId()){
-							dataCenterIndex = i;
-							hostIndex = j;
-							vmFound = true;
-						}
-
-						vmCounter++;
-					}
-				}
-			}
+		if (!getVmTable().contains(vm) && vm instanceof EdgeVM) {
+			// Designated placement of this VM, recorded when the configuration is parsed
+			int dataCenterIndex = SimSettings.getInstance().getDatacenterIndexOfEdgeVM(vm.getId());
+			int hostIndex = SimSettings.getInstance().getHostIndexOfEdgeVM(vm.getId());
+			boolean vmFound = (dataCenterIndex != -1);
 
 			// Attempt VM creation if valid placement found and belongs to this datacenter
 			if(vmFound && dataCenterIndex == DataCenterIndex && hostIndex < getHostList().size()){
@@ -118,7 +90,7 @@ public class EdgeVmAllocationPolicy_Custom extends VmAllocationPolicy {
 				result = host.vmCreate(vm);
 	
 				if (result) { // VM successfully created on designated host
-					getVmTable().put(vm.getUid(), host);
+					getVmTable().put(vm, host);
 					createdVmNum++;
 					Log.formatLine("%.2f: Edge VM #" + vm.getId() + " has been allocated to the host #" + host.getId(),CloudSim.clock());
 					result = true;
@@ -140,7 +112,7 @@ public class EdgeVmAllocationPolicy_Custom extends VmAllocationPolicy {
 	@Override
 	public boolean allocateHostForVm(Vm vm, Host host) {
 		if (host.vmCreate(vm)) { // VM successfully created on the specified host
-			getVmTable().put(vm.getUid(), host);
+			getVmTable().put(vm, host);
 			createdVmNum++;
 			
 			Log.formatLine("%.2f: Edge VM #" + vm.getId() + " has been allocated to the host #" + host.getId(),CloudSim.clock());
@@ -172,7 +144,7 @@ public class EdgeVmAllocationPolicy_Custom extends VmAllocationPolicy {
 	 */
 	@Override
 	public void deallocateHostForVm(Vm vm) {
-		Host host = getVmTable().remove(vm.getUid());
+		Host host = getVmTable().remove(vm);
 		if (host != null) {
 			host.vmDestroy(vm);
 		}
@@ -186,7 +158,7 @@ public class EdgeVmAllocationPolicy_Custom extends VmAllocationPolicy {
 	 */
 	@Override
 	public Host getHost(Vm vm) {
-		return getVmTable().get(vm.getUid());
+		return getVmTable().get(vm);
 	}
 
 	/**
@@ -198,7 +170,7 @@ public class EdgeVmAllocationPolicy_Custom extends VmAllocationPolicy {
 	 */
 	@Override
 	public Host getHost(int vmId, int userId) {
-		return getVmTable().get(Vm.getUid(userId, vmId));
+		return getVmTable().get(vmId, userId);
 	}
 
 	/**
@@ -214,18 +186,18 @@ public class EdgeVmAllocationPolicy_Custom extends VmAllocationPolicy {
 	/**
 	 * Gets the VM-to-host mapping table for this allocation policy.
 	 * 
-	 * @return Map containing VM UID to Host mappings
+	 * @return Table of the hosts of the allocated VMs, indexed by VM id
 	 */
-	public Map<String, Host> getVmTable() {
+	public VmHostTable getVmTable() {
 		return vmTable;
 	}
 
 	/**
 	 * Sets the VM-to-host mapping table for this allocation policy.
 	 * 
-	 * @param vmTable Map containing VM UID to Host mappings
+	 * @param vmTable Table of the hosts of the allocated VMs, indexed by VM id
 	 */
-	protected void setVmTable(Map<String, Host> vmTable) {
+	protected void setVmTable(VmHostTable vmTable) {
 		this.vmTable = vmTable;
 	}
 }
@@ -0,0 +1,110 @@
+/*
+ * Title:        EdgeCloudSim - Location Transition Table
+ *
+ * Description:
+ * LocationTransitionTable lists the location changes of all mobile
+ * devices in time order, so that the number of devices at each place
+ * can be maintained incrementally instead of querying every device
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.mobility;
+
+import edu.boun.edgecloudsim.utils.Location;
+import edu.boun.edgecloudsim.utils.SimUtils;
+
+/**
+ * Time ordered location transitions of the mobile devices.
+ *
+ * <p>The places visited by the devices are kept once in a place array; a
+ * transition refers to them with their index. The first transition of a
+ * device has no previous place (-1), it is the initial placement of the
+ * device. A device is at the next place of a transition from the time of
+ * the transition (inclusive) until the time of its following transition,
+ * which matches the floor semantics of {@link MobilityModel#getLocation}.</p>
+ *
+ * <p>Transitions having the same time are ordered by device id, so the order
+ * does not depend on how the timelines of the devices are generated.</p>
+ */
+public class LocationTransitionTable {
+	private final Location[] places;
+	private final double[] times;
+	private final int[] deviceIds;
+	private final int[] previousPlaces;
+	private final int[] nextPlaces;
+
+	/**
+	 * Creates the table from transitions given in any order.
+	 *
+	 * @param _places places visited by the devices
+	 * @param _times time of each transition
+	 * @param _deviceIds device of each transition
+	 * @param _previousPlaces index of the place left by each transition; -1 for the initial placement
+	 * @param _nextPlaces index of the place reached by each transition
+	 */
+	public LocationTransitionTable(Location[] _places, double[] _times, int[] _deviceIds, int[] _previousPlaces, int[] _nextPlaces) {
+		places = _places;
+
+		// counting sort by device id, then a stable sort by time keeps the device order of equal times
+		int numOfDevices = 0;
+		for(int i=0; i<_deviceIds.length; i++)
+			numOfDevices = Math.max(numOfDevices, _deviceIds[i] + 1);
+		int[] deviceOffsets = new int[numOfDevices + 1];
+		for(int i=0; i<_deviceIds.length; i++)
+			deviceOffsets[_deviceIds[i] + 1]++;
+		for(int i=0; i<numOfDevices; i++)
+			deviceOffsets[i+1] += deviceOffsets[i];
+
+		int[] order = new int[_times.length];
+		for(int i=0; i<order.length; i++)
+			order[deviceOffsets[_deviceIds[i]]++] = i;
+		SimUtils.sortIndexesByKey(order, 0, order.length, _times);
+
+		times = new double[order.length];
+		deviceIds = new int[order.length];
+		previousPlaces = new int[order.length];
+		nextPlaces = new int[order.length];
+		for(int i=0; i<order.length; i++){
+			times[i] = _times[order[i]];
+			deviceIds[i] = _deviceIds[order[i]];
+			previousPlaces[i] = _previousPlaces[order[i]];
+			nextPlaces[i] = _nextPlaces[order[i]];
+		}
+	}
+
+	public int getNumOfPlaces() {
+		return places.length;
+	}
+
+	public Location getPlace(int placeIndex) {
+		return places[placeIndex];
+	}
+
+	/**
+	 * Returns the number of transitions.
+	 */
+	public int size() {
+		return times.length;
+	}
+
+	public double getTime(int index) {
+		return times[index];
+	}
+
+	public int getDeviceId(int index) {
+		return deviceIds[index];
+	}
+
+	/**
+	 * Returns the index of the place left by the transition; -1 for the initial placement of a device.
+	 */
+	public int getPreviousPlace(int index) {
+		return previousPlaces[index];
+	}
+
+	public int getNextPlace(int index) {
+		return nextPlaces[index];
+	}
+}
@@ -13,6 +13,8 @@
 
 package edu.boun.edgecloudsim.mobility;
 
+import java.util.Arrays;
+
 import edu.boun.edgecloudsim.utils.Location;
 
 /**
@@ -38,6 +40,8 @@ import edu.boun.edgecloudsim.utils.Location;
 public abstract class MobilityModel {
 	protected int numberOfMobileDevices;    // Total number of mobile devices to track
 	protected double simulationTime;        // Total simulation duration for trajectory planning
+	private int[] timelineCursors;          // Last timeline position of each device, see findTimelineIndex()
+	private OccupancyTimeline occupancyTimeline; // Built on request, see getOccupancyTimeline()
 	
 	/**
 	 * Constructs a MobilityModel with specified device count and simulation duration.
@@ -76,4 +80,109 @@ public abstract class MobilityModel {
 	 * @return Location object containing coordinates and associated edge server information
 	 */
 	public abstract Location getLocation(int deviceId, double time);
+
+	/**
+	 * Returns the WLAN access point serving a mobile device at a specific time.
+	 * Most callers only need the access point; models should override this
+	 * method to answer it without creating a Location.
+	 *
+	 * @param deviceId Unique identifier of the mobile device
+	 * @param time Simulation time when location is requested (in seconds)
+	 * @return serving WLAN id of the device's location
+	 */
+	public int servingWlanAt(int deviceId, double time) {
+		return getLocation(deviceId, time).getServingWlanId();
+	}
+
+	/**
+	 * Returns the location of a mobile device at a specific time in packed form
+	 * (see {@link Location#pack(int, int, int, int)}). Models should override this
+	 * method to answer it without creating a Location.
+	 *
+	 * @param deviceId Unique identifier of the mobile device
+	 * @param time Simulation time when location is requested (in seconds)
+	 * @return location of the device packed into a long value
+	 */
+	public long packedLocationAt(int deviceId, double time) {
+		return getLocation(deviceId, time).pack();
+	}
+
+	/**
+	 * Cursor based timeline lookup for models keeping a sorted timeline per device.
+	 * 
+	 * Returns the index of the last entry of the timeline at or before the given
+	 * time, i.e. the entry which is valid at that time; -1 if the time precedes
+	 * the timeline. Since the simulation queries the location of a device at
+	 * nearly monotonic times, the position found for each device is remembered:
+	 * a query at the same or a later time moves the cursor forward (galloping,
+	 * so a query within the current entry costs O(1) and a long jump costs
+	 * O(log distance)), and only a backward jump falls back to a binary search.
+	 * 
+	 * Any remembered position is a valid starting point for the search, so the
+	 * result does not depend on the order of the queries.
+	 * 
+	 * @param deviceId Unique identifier of the mobile device
+	 * @param times Strictly increasing times of the entries of the device's timeline
+	 * @param time Simulation time when location is requested (in seconds)
+	 * @return index of the entry valid at the given time, or -1 if there is none
+	 */
+	protected int findTimelineIndex(int deviceId, double[] times, double time) {
+		if(timelineCursors == null || timelineCursors.length <= deviceId)
+			timelineCursors = Arrays.copyOf(timelineCursors == null ? new int[0] : timelineCursors,
+					Math.max(numberOfMobileDevices, deviceId + 1));
+
+		int index = timelineCursors[deviceId];
+		if(index >= times.length || time < times[index]) {
+			// Backward jump: binary search the entries before the cursor
+			index = Arrays.binarySearch(times, 0, Math.min(index, times.length), time);
+			if(index < 0)
+				index = -index - 2;
+		}
+		else if(index + 1 < times.length && times[index + 1] <= time) {
+			// Forward move: gallop until an entry after the time is passed, then binary search
+			int step = 1;
+			while(index + step < times.length && times[index + step] <= time) {
+				index += step;
+				step <<= 1;
+			}
+			int end = Math.min(index + step, times.length);
+			index = Arrays.binarySearch(times, index, end, time);
+			if(index < 0)
+				index = -index - 2;
+		}
+
+		if(index >= 0)
+			timelineCursors[deviceId] = index;
+		return index;
+	}
+
+	/**
+	 * Publishes the location transitions of all devices in time order.
+	 * Models moving devices between a fixed set of places should override
+	 * this method, so that per place device counts can be maintained
+	 * incrementally (see {@link edu.boun.edgecloudsim.network.MM1Queue}).
+	 *
+	 * @return transitions of all devices, or null if the model does not publish them
+	 */
+	public LocationTransitionTable getLocationTransitions() {
+		return null;
+	}
+
+	/**
+	 * Returns the number of devices served by each access point over the whole
+	 * simulation, built once from {@link #getLocationTransitions()}. Location
+	 * logging and crowd aware policies should use it instead of locating every
+	 * device at each query time.
+	 *
+	 * @return occupancy of the access points, or null if the model does not publish its transitions
+	 */
+	public synchronized OccupancyTimeline getOccupancyTimeline() {
+		// The timeline is rebuilt if the model publishes new transitions (e.g. after initialize())
+		LocationTransitionTable transitions = getLocationTransitions();
+		if(transitions == null)
+			occupancyTimeline = null;
+		else if(occupancyTimeline == null || occupancyTimeline.getTransitions() != transitions)
+			occupancyTimeline = new OccupancyTimeline(transitions);
+		return occupancyTimeline;
+	}
 }
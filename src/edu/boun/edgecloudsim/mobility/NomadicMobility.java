@@ -12,19 +12,15 @@
 
 package edu.boun.edgecloudsim.mobility;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.TreeMap;
-import java.util.Map.Entry;
-
-import org.apache.commons.math3.distribution.ExponentialDistribution;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 
+import edu.boun.edgecloudsim.core.ScenarioModel;
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.utils.Location;
+import edu.boun.edgecloudsim.utils.RandomStreams;
+import edu.boun.edgecloudsim.utils.RandomStreams.STREAM_TYPES;
 import edu.boun.edgecloudsim.utils.SimLogger;
 import edu.boun.edgecloudsim.utils.SimUtils;
 
@@ -41,7 +37,7 @@ import edu.boun.edgecloudsim.utils.SimUtils;
  * - Exponential distribution for residence time at each location
  * - Location attractiveness modeling based on place type characteristics
  * - Random location selection with avoidance of immediate return to same location
- * - Timeline-based location tracking using TreeMap for efficient queries
+ * - Timeline-based location tracking using sorted primitive arrays per device
  * 
  * This model is particularly suitable for scenarios involving:
  * - Users moving between Wi-Fi hotspots, offices, or public spaces
@@ -53,7 +49,13 @@ import edu.boun.edgecloudsim.utils.SimUtils;
  * dwell times at different location types.
  */
 public class NomadicMobility extends MobilityModel {
-	private List<TreeMap<Double, Location>> treeMapArray;    // Timeline of location changes for each device
+	// Timeline of location changes for each device: the device moves to
+	// datacenterLocations[placeTimelines[i][k]] at transitionTimes[i][k];
+	// the times of a device are strictly increasing
+	private double[][] transitionTimes;
+	private short[][] placeTimelines;
+	private Location[] datacenterLocations;                  // Places visited by the devices, shared by the timelines
+	private LocationTransitionTable locationTransitions;     // Built on the first request
 	
 	/**
 	 * Constructs a NomadicMobility model with specified parameters.
@@ -67,79 +69,76 @@ public class NomadicMobility extends MobilityModel {
 	
 	/**
 	 * Initializes the nomadic mobility model by generating movement timelines.
-	 * Creates exponential distributions for each location based on attractiveness,
-	 * assigns initial positions to devices, and generates complete movement
-	 * trajectories for the entire simulation period.
+	 * Reads the mean residence time of each location based on attractiveness,
+	 * then assigns initial positions to devices and generates complete movement
+	 * trajectories for the entire simulation period (devices run in parallel).
 	 */
 	@Override
 	public void initialize() {
-		treeMapArray = new ArrayList<TreeMap<Double, Location>>();
-		
-		// Create exponential distribution generators for residence time at each location
-		ExponentialDistribution[] expRngList = new ExponentialDistribution[SimSettings.getInstance().getNumOfEdgeDatacenters()];
-
-		// Create exponential RNG for each datacenter location based on attractiveness
-		Document doc = SimSettings.getInstance().getEdgeDevicesDocument();
-		NodeList datacenterList = doc.getElementsByTagName("datacenter");
-		for (int i = 0; i < datacenterList.getLength(); i++) {
-			Node datacenterNode = datacenterList.item(i);
-			Element datacenterElement = (Element) datacenterNode;
-			Element location = (Element)datacenterElement.getElementsByTagName("location").item(0);
-			String attractiveness = location.getElementsByTagName("attractiveness").item(0).getTextContent();
-			int placeTypeIndex = Integer.parseInt(attractiveness);
-			
-			// Create exponential distribution based on location attractiveness (mean residence time)
-			expRngList[i] = new ExponentialDistribution(SimSettings.getInstance().getMobilityLookUpTable()[placeTypeIndex]);
+		int numOfDatacenters = SimSettings.getInstance().getNumOfEdgeDatacenters();
+		if(numOfDatacenters > Short.MAX_VALUE){
+			SimLogger.printLine("impossible is occurred! too many datacenters for the nomadic mobility model!");
+			System.exit(1);
 		}
 		
-		// Initialize timeline maps and assign initial positions to mobile devices
-		for(int i=0; i<numberOfMobileDevices; i++) {
-			treeMapArray.add(i, new TreeMap<Double, Location>());
+		// Read the location and mean residence time of each datacenter once, before
+		// the devices are generated in parallel
+		datacenterLocations = new Location[numOfDatacenters];
+		locationTransitions = null;
+		double[] meanWaitingTimes = new double[numOfDatacenters];
+		ScenarioModel scenarioModel = SimSettings.getInstance().getScenarioModel();
+		for (int i = 0; i < scenarioModel.getNumOfDatacenters(); i++) {
+			datacenterLocations[i] = scenarioModel.getDatacenter(i).getLocation();
 			
-			// Randomly assign initial location to each device
-			int randDatacenterId = SimUtils.getRandomNumber(0, SimSettings.getInstance().getNumOfEdgeDatacenters()-1);
-			Node datacenterNode = datacenterList.item(randDatacenterId);
-			Element datacenterElement = (Element) datacenterNode;
-			Element location = (Element)datacenterElement.getElementsByTagName("location").item(0);
-			String attractiveness = location.getElementsByTagName("attractiveness").item(0).getTextContent();
-			int placeTypeIndex = Integer.parseInt(attractiveness);
-			int wlan_id = Integer.parseInt(location.getElementsByTagName("wlan_id").item(0).getTextContent());
-			int x_pos = Integer.parseInt(location.getElementsByTagName("x_pos").item(0).getTextContent());
-			int y_pos = Integer.parseInt(location.getElementsByTagName("y_pos").item(0).getTextContent());
-
-			// Set initial location at simulation start time (allows for initialization period)
-			treeMapArray.get(i).put(SimSettings.CLIENT_ACTIVITY_START_TIME, new Location(placeTypeIndex, wlan_id, x_pos, y_pos));
+			// Mean residence time depends on location attractiveness
+			meanWaitingTimes[i] = SimSettings.getInstance().getMobilityLookUpTable()[datacenterLocations[i].getPlaceTypeIndex()];
 		}
 		
-		// Generate complete movement trajectory for each device throughout simulation
-		for(int i=0; i<numberOfMobileDevices; i++) {
-			TreeMap<Double, Location> treeMap = treeMapArray.get(i);
-
+		// Each device draws from its own random stream, so the timelines can be
+		// generated in parallel and do not depend on the number of threads
+		RandomStreams randomStreams = SimUtils.createRandomStreams();
+		transitionTimes = new double[numberOfMobileDevices][];
+		placeTimelines = new short[numberOfMobileDevices][];
+		IntStream.range(0, numberOfMobileDevices).parallel().forEach(i -> {
+			SplittableRandom rng = randomStreams.getDeviceStream(STREAM_TYPES.MOBILITY, i);
+			double[] times = new double[16];
+			short[] places = new short[16];
+			int size = 0;
+			
+			// Set a random initial location at simulation start time (allows for initialization period)
+			int randDatacenterId = RandomStreams.nextInt(rng, 0, numOfDatacenters-1);
+			times[size] = SimSettings.CLIENT_ACTIVITY_START_TIME;
+			places[size] = (short)randDatacenterId;
+			size++;
+			
 			// Continue generating location changes until simulation end time
-			while(treeMap.lastKey() < SimSettings.getInstance().getSimulationTime()) {				
+			while(times[size-1] < SimSettings.getInstance().getSimulationTime()) {
 				boolean placeFound = false;
-				int currentLocationId = treeMap.lastEntry().getValue().getServingWlanId();
+				int currentLocationId = datacenterLocations[places[size-1]].getServingWlanId();
 				// Sample residence time from exponential distribution for current location
-				double waitingTime = expRngList[currentLocationId].sample();
+				double waitingTime = RandomStreams.nextExponential(rng, meanWaitingTimes[currentLocationId]);
 				
 				// Select a new location different from current location
 				while(placeFound == false){
-					int newDatacenterId = SimUtils.getRandomNumber(0,SimSettings.getInstance().getNumOfEdgeDatacenters()-1);
+					int newDatacenterId = RandomStreams.nextInt(rng, 0, numOfDatacenters-1);
 					// Ensure device moves to a different location (unless only one location exists)
-					if(SimSettings.getInstance().getNumOfEdgeDatacenters() == 1 || newDatacenterId != currentLocationId){
+					if(numOfDatacenters == 1 || newDatacenterId != currentLocationId){
 						placeFound = true;
-						// Extract new location information from XML configuration
-						Node datacenterNode = datacenterList.item(newDatacenterId);
-						Element datacenterElement = (Element) datacenterNode;
-						Element location = (Element)datacenterElement.getElementsByTagName("location").item(0);
-						String attractiveness = location.getElementsByTagName("attractiveness").item(0).getTextContent();
-						int placeTypeIndex = Integer.parseInt(attractiveness);
-						int wlan_id = Integer.parseInt(location.getElementsByTagName("wlan_id").item(0).getTextContent());
-						int x_pos = Integer.parseInt(location.getElementsByTagName("x_pos").item(0).getTextContent());
-						int y_pos = Integer.parseInt(location.getElementsByTagName("y_pos").item(0).getTextContent());
-						
-						// Add new location to timeline at calculated transition time
-						treeMap.put(treeMap.lastKey()+waitingTime, new Location(placeTypeIndex, wlan_id, x_pos, y_pos));
+						// Add new location to timeline at calculated transition time;
+						// a transition at the same time replaces the previous one
+						double transitionTime = times[size-1]+waitingTime;
+						if(transitionTime == times[size-1]){
+							places[size-1] = (short)newDatacenterId;
+						}
+						else {
+							if(size == times.length){
+								times = Arrays.copyOf(times, size * 2);
+								places = Arrays.copyOf(places, size * 2);
+							}
+							times[size] = transitionTime;
+							places[size] = (short)newDatacenterId;
+							size++;
+						}
 					}
 				}
 				if(!placeFound){
@@ -147,14 +146,17 @@ public class NomadicMobility extends MobilityModel {
 					System.exit(1);
 				}
 			}
-		}
-
+			
+			transitionTimes[i] = Arrays.copyOf(times, size);
+			placeTimelines[i] = Arrays.copyOf(places, size);
+		});
 	}
 
 	/**
 	 * Returns the current location of a mobile device at the specified time.
 	 * Uses the pre-generated timeline to find the appropriate location entry
-	 * that was active at the requested time.
+	 * that was active at the requested time; the search starts from the entry
+	 * found by the previous query of the device.
 	 * 
 	 * @param deviceId Unique identifier of the mobile device
 	 * @param time Simulation time when location is requested (in seconds)
@@ -162,17 +164,64 @@ public class NomadicMobility extends MobilityModel {
 	 */
 	@Override
 	public Location getLocation(int deviceId, double time) {
-		TreeMap<Double, Location> treeMap = treeMapArray.get(deviceId);
-		
+		return datacenterLocations[getDatacenterIndex(deviceId, time)];
+	}
+
+	@Override
+	public int servingWlanAt(int deviceId, double time) {
+		return datacenterLocations[getDatacenterIndex(deviceId, time)].getServingWlanId();
+	}
+
+	@Override
+	public long packedLocationAt(int deviceId, double time) {
+		return datacenterLocations[getDatacenterIndex(deviceId, time)].pack();
+	}
+
+	// Returns the index of the datacenter where the device is at the requested time
+	private int getDatacenterIndex(int deviceId, double time) {
 		// Find the latest location entry before or at the requested time
-		Entry<Double, Location> e = treeMap.floorEntry(time);
+		int index = findTimelineIndex(deviceId, transitionTimes[deviceId], time);
 	    
-	    if(e == null){
+	    if(index < 0){
 	    	SimLogger.printLine("impossible is occurred! no location is found for the device '" + deviceId + "' at " + time);
 	    	System.exit(1);
 	    }
 	    
-		return e.getValue();
+		return placeTimelines[deviceId][index];
 	}
 
+	/**
+	 * Publishes the timelines of all devices as a single time ordered
+	 * transition table; the places of the table are the datacenter locations.
+	 */
+	@Override
+	public synchronized LocationTransitionTable getLocationTransitions() {
+		if(locationTransitions != null)
+			return locationTransitions;
+
+		int numOfTransitions = 0;
+		for(double[] times : transitionTimes)
+			numOfTransitions += times.length;
+
+		double[] times = new double[numOfTransitions];
+		int[] deviceIds = new int[numOfTransitions];
+		int[] previousPlaces = new int[numOfTransitions];
+		int[] nextPlaces = new int[numOfTransitions];
+		int index = 0;
+		for(int i=0; i<numberOfMobileDevices; i++){
+			int previousPlace = -1;
+			for(int k=0; k<transitionTimes[i].length; k++){
+				int nextPlace = placeTimelines[i][k];
+				times[index] = transitionTimes[i][k];
+				deviceIds[index] = i;
+				previousPlaces[index] = previousPlace;
+				nextPlaces[index] = nextPlace;
+				previousPlace = nextPlace;
+				index++;
+			}
+		}
+
+		locationTransitions = new LocationTransitionTable(datacenterLocations, times, deviceIds, previousPlaces, nextPlaces);
+		return locationTransitions;
+	}
 }
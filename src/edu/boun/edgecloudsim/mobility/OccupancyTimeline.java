@@ -0,0 +1,140 @@
+/*
+ * Title:        EdgeCloudSim - Occupancy Timeline
+ *
+ * Description:
+ * OccupancyTimeline keeps the number of mobile devices served by each
+ * WLAN access point as a step function of the time, so that crowd
+ * queries do not need to locate every device
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.mobility;
+
+import java.util.Arrays;
+
+/**
+ * Per access point device counts over the whole simulation.
+ *
+ * <p>The timeline is built once by sweeping the time ordered location
+ * transitions of a {@link LocationTransitionTable}: each transition moves a
+ * device from the access point of its previous place to the access point of
+ * its next place. The count of an access point is stored only when it
+ * changes, and transitions having the same time are merged into a single
+ * step, so an access point with K changes keeps K entries and a query costs
+ * a binary search, O(log K).</p>
+ *
+ * <p>A count is valid from the time of its step (inclusive) until the next
+ * step, which matches the floor semantics of {@link MobilityModel#getLocation};
+ * before the first step an access point serves no device.</p>
+ */
+public class OccupancyTimeline {
+	private final LocationTransitionTable transitions;
+	private final double[][] stepTimes;    // Strictly increasing times of the steps of each access point
+	private final int[][] stepCounts;      // Device count of each access point from the time of each step
+
+	/**
+	 * Builds the timeline; access points are identified by the serving
+	 * WLAN id of the places of the table.
+	 *
+	 * @param _transitions time ordered location transitions of all devices
+	 */
+	public OccupancyTimeline(LocationTransitionTable _transitions) {
+		transitions = _transitions;
+		int numOfPlaces = transitions.getNumOfPlaces();
+		int[] placeAccessPoints = new int[numOfPlaces];
+		int numOfAccessPoints = 0;
+		for(int i=0; i<numOfPlaces; i++){
+			placeAccessPoints[i] = transitions.getPlace(i).getServingWlanId();
+			numOfAccessPoints = Math.max(numOfAccessPoints, placeAccessPoints[i] + 1);
+		}
+
+		double[][] times = new double[numOfAccessPoints][16];
+		int[][] counts = new int[numOfAccessPoints][16];
+		int[] sizes = new int[numOfAccessPoints];
+		int[] currentCounts = new int[numOfAccessPoints];
+
+		for(int i=0; i<transitions.size(); i++){
+			int previousPlace = transitions.getPreviousPlace(i);
+			int previousAccessPoint = (previousPlace == -1) ? -1 : placeAccessPoints[previousPlace];
+			int nextAccessPoint = placeAccessPoints[transitions.getNextPlace(i)];
+			if(previousAccessPoint == nextAccessPoint)
+				continue;
+
+			double time = transitions.getTime(i);
+			if(previousAccessPoint != -1){
+				currentCounts[previousAccessPoint]--;
+				addStep(times, counts, sizes, previousAccessPoint, time, currentCounts[previousAccessPoint]);
+			}
+			currentCounts[nextAccessPoint]++;
+			addStep(times, counts, sizes, nextAccessPoint, time, currentCounts[nextAccessPoint]);
+		}
+
+		stepTimes = new double[numOfAccessPoints][];
+		stepCounts = new int[numOfAccessPoints][];
+		for(int i=0; i<numOfAccessPoints; i++){
+			stepTimes[i] = Arrays.copyOf(times[i], sizes[i]);
+			stepCounts[i] = Arrays.copyOf(counts[i], sizes[i]);
+		}
+	}
+
+	// Appends a step to the timeline of an access point; a step at the same time replaces the last one
+	private static void addStep(double[][] times, int[][] counts, int[] sizes, int accessPoint, double time, int count) {
+		int size = sizes[accessPoint];
+		if(size > 0 && times[accessPoint][size-1] == time){
+			counts[accessPoint][size-1] = count;
+			return;
+		}
+		if(size == times[accessPoint].length){
+			times[accessPoint] = Arrays.copyOf(times[accessPoint], size * 2);
+			counts[accessPoint] = Arrays.copyOf(counts[accessPoint], size * 2);
+		}
+		times[accessPoint][size] = time;
+		counts[accessPoint][size] = count;
+		sizes[accessPoint] = size + 1;
+	}
+
+	/**
+	 * Returns the transitions the timeline is built from.
+	 */
+	public LocationTransitionTable getTransitions() {
+		return transitions;
+	}
+
+	/**
+	 * Returns the number of access points; ids range from 0 to this value (exclusive).
+	 */
+	public int getNumOfAccessPoints() {
+		return stepTimes.length;
+	}
+
+	/**
+	 * Returns the number of devices served by an access point at the given time.
+	 *
+	 * @param accessPointId serving WLAN id of the access point
+	 * @param time simulation time (in seconds)
+	 * @return number of devices at the access point; 0 for an unknown access point
+	 */
+	public int getDeviceCount(int accessPointId, double time) {
+		if(accessPointId < 0 || accessPointId >= stepTimes.length)
+			return 0;
+
+		double[] times = stepTimes[accessPointId];
+		int index = Arrays.binarySearch(times, time);
+		if(index < 0)
+			index = -index - 2;
+		return (index < 0) ? 0 : stepCounts[accessPointId][index];
+	}
+
+	/**
+	 * Fills the number of devices served by each access point at the given time.
+	 *
+	 * @param time simulation time (in seconds)
+	 * @param deviceCounts array indexed by serving WLAN id; access points beyond its length are skipped
+	 */
+	public void getDeviceCounts(double time, int[] deviceCounts) {
+		for(int i=0; i<deviceCounts.length; i++)
+			deviceCounts[i] = getDeviceCount(i, time);
+	}
+}
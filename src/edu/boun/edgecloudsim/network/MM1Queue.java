@@ -10,12 +10,15 @@
 
 package edu.boun.edgecloudsim.network;
 
+import java.util.Arrays;
+
 import org.cloudbus.cloudsim.core.CloudSim;
 
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.edge_client.Task;
 import edu.boun.edgecloudsim.edge_server.EdgeHost;
+import edu.boun.edgecloudsim.mobility.LocationTransitionTable;
 import edu.boun.edgecloudsim.utils.Location;
 
 /**
@@ -41,7 +44,7 @@ import edu.boun.edgecloudsim.utils.Location;
  * <p><b>Key Features:</b>
  * <ul>
  *   <li>Separate modeling of upload and download delays</li>
- *   <li>Location-aware device counting for congestion modeling</li>
+ *   <li>Location-aware device counting, maintained incrementally from the location transitions of the mobility model</li>
  *   <li>Dynamic task size calculation from simulation configuration</li>
  *   <li>Integration with EdgeCloudSim's mobility and location models</li>
  * </ul></p>
@@ -65,6 +68,33 @@ public class MM1Queue extends NetworkModel {
 	/** Maximum number of concurrent clients observed at any location (for debugging) */
 	private int maxNumOfClientsInPlace;
 
+	/** Memoized delays of the four links indexed by device count, built in {@link #initialize()} */
+	private QueueDelayTable wlanUploadDelays;
+	private QueueDelayTable wlanDownloadDelays;
+	private QueueDelayTable wanUploadDelays;
+	private QueueDelayTable wanDownloadDelays;
+
+	/** Location transitions published by the mobility model; null if it does not publish them */
+	private LocationTransitionTable locationTransitions;
+
+	/** True after the mobility model is asked for its transitions */
+	private boolean occupancyInitialized;
+
+	/** Number of devices at each place (counted at the first place equal to it) after the applied transitions */
+	private int[] placeDeviceCounts;
+
+	/** Place index used for counting the devices at each place of the transition table */
+	private int[] countingPlaces;
+
+	/** Packed form of each place of the transition table */
+	private long[] packedPlaces;
+
+	/** First place of the transition table served by each WLAN id; -1 if no place is served by the id */
+	private int[] wlanPlaces;
+
+	/** Number of applied transitions; the counts are valid from the last applied transition until the next one */
+	private int numOfAppliedTransitions;
+
 	/**
 	 * Constructs a new M/M/1 Queue network model instance.
 	 * 
@@ -105,6 +135,7 @@ public class MM1Queue extends NetworkModel {
 		avgTaskInputSize = 0;
 		avgTaskOutputSize = 0;
 		maxNumOfClientsInPlace = 0;
+		occupancyInitialized = false;
 
 		// Calculate weighted average inter-arrival times and task sizes from task lookup table
 		double numOfTaskType = 0;
@@ -136,6 +167,20 @@ public class MM1Queue extends NetworkModel {
 		WlanPoissonMean = WlanPoissonMean / numOfTaskType;
 		avgTaskInputSize = avgTaskInputSize / numOfTaskType;
 		avgTaskOutputSize = avgTaskOutputSize / numOfTaskType;
+
+		// The delays depend only on the device count from now on, so they are memoized
+		// per link; a device count never exceeds the number of mobile devices
+		int wlanBandwidth = SS.getWlanBandwidth();
+		int wanBandwidth = SS.getWanBandwidth();
+		double wanPropagationDelay = SS.getWanPropagationDelay();
+		wlanUploadDelays = new QueueDelayTable(numberOfMobileDevices,
+				deviceCount -> calculateMM1(0, wlanBandwidth, WlanPoissonMean, avgTaskInputSize, deviceCount));
+		wlanDownloadDelays = new QueueDelayTable(numberOfMobileDevices,
+				deviceCount -> calculateMM1(0, wlanBandwidth, WlanPoissonMean, avgTaskOutputSize, deviceCount));
+		wanUploadDelays = new QueueDelayTable(numberOfMobileDevices,
+				deviceCount -> calculateMM1(wanPropagationDelay, wanBandwidth, WanPoissonMean, avgTaskInputSize, deviceCount));
+		wanDownloadDelays = new QueueDelayTable(numberOfMobileDevices,
+				deviceCount -> calculateMM1(wanPropagationDelay, wanBandwidth, WanPoissonMean, avgTaskOutputSize, deviceCount));
 	}
 
 	/**
@@ -164,26 +209,26 @@ public class MM1Queue extends NetworkModel {
 	public double getUploadDelay(int sourceDeviceId, int destDeviceId, Task task) {
 		double delay = 0;
 		// Get mobile device's current location for access point determination
-		Location accessPointLocation = SimManager.getInstance().getMobilityModel().getLocation(sourceDeviceId, CloudSim.clock());
+		long accessPoint = SimManager.getInstance().getMobilityModel().packedLocationAt(sourceDeviceId, CloudSim.clock());
 
 		// Case 1: Mobile device uploading to cloud datacenter (two-hop: WLAN + WAN)
 		if(destDeviceId == SimSettings.CLOUD_DATACENTER_ID){
 			// Calculate WLAN delay from mobile device to edge access point
-			double wlanDelay = getWlanUploadDelay(accessPointLocation, CloudSim.clock());
+			double wlanDelay = getWlanUploadDelay(accessPoint, CloudSim.clock());
 			// Calculate WAN delay from edge to cloud (accounting for WLAN transmission time)
-			double wanDelay = getWanUploadDelay(accessPointLocation, CloudSim.clock() + wlanDelay);
+			double wanDelay = getWanUploadDelay(accessPoint, CloudSim.clock() + wlanDelay);
 			// Only proceed if both segments are available (positive delays)
 			if(wlanDelay > 0 && wanDelay > 0)
 				delay = wlanDelay + wanDelay;
 		}
 		// Case 2: Mobile device uploading to edge orchestrator (WLAN + internal routing)
 		else if(destDeviceId == SimSettings.EDGE_ORCHESTRATOR_ID){
-			delay = getWlanUploadDelay(accessPointLocation, CloudSim.clock()) +
+			delay = getWlanUploadDelay(accessPoint, CloudSim.clock()) +
 					SimSettings.getInstance().getInternalLanDelay();
 		}
 		// Case 3: Mobile device uploading to edge device (single-hop WLAN)
 		else if (destDeviceId == SimSettings.GENERIC_EDGE_DEVICE_ID) {
-			delay = getWlanUploadDelay(accessPointLocation, CloudSim.clock());
+			delay = getWlanUploadDelay(accessPoint, CloudSim.clock());
 		}
 
 		return delay;
@@ -221,14 +266,14 @@ public class MM1Queue extends NetworkModel {
 
 		double delay = 0;
 		// Get destination mobile device's current location for access point determination
-		Location accessPointLocation = SimManager.getInstance().getMobilityModel().getLocation(destDeviceId, CloudSim.clock());
+		long accessPoint = SimManager.getInstance().getMobilityModel().packedLocationAt(destDeviceId, CloudSim.clock());
 
 		// Case 1: Cloud server downloading results to mobile device (two-hop: WAN + WLAN)
 		if(sourceDeviceId == SimSettings.CLOUD_DATACENTER_ID){
 			// Calculate WLAN delay from access point to mobile device
-			double wlanDelay = getWlanDownloadDelay(accessPointLocation, CloudSim.clock());
+			double wlanDelay = getWlanDownloadDelay(accessPoint, CloudSim.clock());
 			// Calculate WAN delay from cloud to edge (accounting for WLAN transmission time)
-			double wanDelay = getWanDownloadDelay(accessPointLocation, CloudSim.clock() + wlanDelay);
+			double wanDelay = getWanDownloadDelay(accessPoint, CloudSim.clock() + wlanDelay);
 			// Only proceed if both network segments are available
 			if(wlanDelay > 0 && wanDelay > 0)
 				delay = wlanDelay + wanDelay;
@@ -236,7 +281,7 @@ public class MM1Queue extends NetworkModel {
 		// Case 2: Edge device downloading results to mobile device
 		else{
 			// Base WLAN delay from access point to mobile device
-			delay = getWlanDownloadDelay(accessPointLocation, CloudSim.clock());
+			delay = getWlanDownloadDelay(accessPoint, CloudSim.clock());
 
 			// Get the edge host serving the source device for location comparison
 			EdgeHost host = (EdgeHost)(SimManager.
@@ -248,7 +293,7 @@ public class MM1Queue extends NetworkModel {
 			// Check if source edge server is in a different location than destination mobile device
 			// If so, add inter-edge routing delay (round-trip through network infrastructure)
 			// Note: In this scenario, serving WLAN ID equals host ID (one host per location)
-			if(host.getLocation().getServingWlanId() != accessPointLocation.getServingWlanId())
+			if(host.getLocation().getServingWlanId() != Location.getServingWlanId(accessPoint))
 				delay += (SimSettings.getInstance().getInternalLanDelay() * 2);
 		}
 
@@ -272,26 +317,39 @@ public class MM1Queue extends NetworkModel {
 	/**
 	 * Counts the number of mobile devices currently at the specified location.
 	 * 
-	 * <p>This method iterates through all mobile devices and counts how many are
-	 * currently located at the same access point as the specified location. The count
-	 * is used to model network congestion in the M/M/1 queue calculations, where
-	 * higher device counts lead to increased arrival rates and longer delays.</p>
+	 * <p>If the mobility model publishes its location transitions, the number of
+	 * devices at each place is maintained incrementally: the transitions between
+	 * the previous query time and the requested time are applied (or reverted
+	 * for a backward query), so a query within the current epoch costs no
+	 * transition at all. Otherwise all mobile devices are iterated and the ones
+	 * located at the same access point as the specified location are counted.</p>
 	 * 
 	 * <p>The method also tracks the maximum observed device count for debugging
 	 * and validation purposes.</p>
 	 * 
-	 * @param deviceLocation the location to count devices at
+	 * @param deviceLocation the packed location to count devices at
 	 * @param time the simulation time for location lookup
 	 * @return number of devices currently at the specified location
 	 */
-	private int getDeviceCount(Location deviceLocation, double time){
+	private int getDeviceCount(long deviceLocation, double time){
 		int deviceCount = 0;
 
-		// Iterate through all mobile devices to count co-located devices
-		for(int i = 0; i < numberOfMobileDevices; i++) {
-			Location location = SimManager.getInstance().getMobilityModel().getLocation(i, time);
-			if(location.equals(deviceLocation))
-				deviceCount++;
+		if(!occupancyInitialized)
+			initializeOccupancy();
+
+		if(locationTransitions != null) {
+			moveOccupancyTo(time);
+			int place = findPlace(deviceLocation);
+			if(place != -1)
+				deviceCount = placeDeviceCounts[countingPlaces[place]];
+		}
+		else {
+			// Iterate through all mobile devices to count co-located devices
+			for(int i = 0; i < numberOfMobileDevices; i++) {
+				long location = SimManager.getInstance().getMobilityModel().packedLocationAt(i, time);
+				if(Location.samePosition(location, deviceLocation))
+					deviceCount++;
+			}
 		}
 
 		// Update maximum client count for debugging and validation
@@ -301,6 +359,93 @@ public class MM1Queue extends NetworkModel {
 		return deviceCount;
 	}
 
+	/**
+	 * Subscribes to the location transitions of the mobility model.
+	 * 
+	 * <p>Called on the first query since the mobility model is not reachable
+	 * while the simulation manager is being constructed. Places with equal
+	 * locations share a single counter, as they are the same place for
+	 * {@link Location#equals(Object)}.</p>
+	 */
+	private void initializeOccupancy(){
+		occupancyInitialized = true;
+		locationTransitions = SimManager.getInstance().getMobilityModel().getLocationTransitions();
+		if(locationTransitions == null)
+			return;
+
+		int numOfPlaces = locationTransitions.getNumOfPlaces();
+		placeDeviceCounts = new int[numOfPlaces];
+		countingPlaces = new int[numOfPlaces];
+		packedPlaces = new long[numOfPlaces];
+		int maxWlanId = -1;
+		for(int i = 0; i < numOfPlaces; i++) {
+			packedPlaces[i] = locationTransitions.getPlace(i).pack();
+			maxWlanId = Math.max(maxWlanId, Location.getServingWlanId(packedPlaces[i]));
+			countingPlaces[i] = i;
+			for(int j = 0; j < i; j++) {
+				if(locationTransitions.getPlace(j).equals(locationTransitions.getPlace(i))) {
+					countingPlaces[i] = j;
+					break;
+				}
+			}
+		}
+
+		wlanPlaces = new int[maxWlanId + 1];
+		Arrays.fill(wlanPlaces, -1);
+		for(int i = numOfPlaces - 1; i >= 0; i--)
+			wlanPlaces[Location.getServingWlanId(packedPlaces[i])] = i;
+		numOfAppliedTransitions = 0;
+	}
+
+	/**
+	 * Returns the first place of the transition table at the position of the
+	 * given packed location, or -1 if there is no such place.
+	 * 
+	 * <p>The place is looked up by the serving WLAN id of the location; the
+	 * places are only scanned if the place served by that id is at another
+	 * position, i.e. if the id is shared by places at different positions.</p>
+	 */
+	private int findPlace(long deviceLocation){
+		int wlanId = Location.getServingWlanId(deviceLocation);
+		if(wlanId < wlanPlaces.length) {
+			int place = wlanPlaces[wlanId];
+			if(place != -1 && Location.samePosition(packedPlaces[place], deviceLocation))
+				return place;
+		}
+
+		for(int i = 0; i < packedPlaces.length; i++) {
+			if(Location.samePosition(packedPlaces[i], deviceLocation))
+				return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Updates the per place device counts to the given time; a device is at
+	 * the next place of its last transition at or before the given time.
+	 */
+	private void moveOccupancyTo(double time){
+		// Apply the transitions which occurred until the requested time
+		while(numOfAppliedTransitions < locationTransitions.size() &&
+				locationTransitions.getTime(numOfAppliedTransitions) <= time) {
+			int previousPlace = locationTransitions.getPreviousPlace(numOfAppliedTransitions);
+			if(previousPlace != -1)
+				placeDeviceCounts[countingPlaces[previousPlace]]--;
+			placeDeviceCounts[countingPlaces[locationTransitions.getNextPlace(numOfAppliedTransitions)]]++;
+			numOfAppliedTransitions++;
+		}
+
+		// Revert the transitions which occur after the requested time (backward query)
+		while(numOfAppliedTransitions > 0 &&
+				locationTransitions.getTime(numOfAppliedTransitions - 1) > time) {
+			numOfAppliedTransitions--;
+			int previousPlace = locationTransitions.getPreviousPlace(numOfAppliedTransitions);
+			if(previousPlace != -1)
+				placeDeviceCounts[countingPlaces[previousPlace]]++;
+			placeDeviceCounts[countingPlaces[locationTransitions.getNextPlace(numOfAppliedTransitions)]]--;
+		}
+	}
+
 	/**
 	 * Calculates network delay using the M/M/1 queuing theory formula.
 	 * 
@@ -361,16 +506,12 @@ public class MM1Queue extends NetworkModel {
 	 * Uses task output size and WLAN bandwidth with no propagation delay
 	 * (assumes negligible distance within WiFi coverage area).</p>
 	 * 
-	 * @param accessPointLocation location of the serving WiFi access point
+	 * @param accessPoint packed location of the serving WiFi access point
 	 * @param time current simulation time for device counting
 	 * @return WLAN download delay in seconds
 	 */
-	private double getWlanDownloadDelay(Location accessPointLocation, double time) {
-		return calculateMM1(0,
-				SimSettings.getInstance().getWlanBandwidth(),
-				WlanPoissonMean,
-				avgTaskOutputSize,
-				getDeviceCount(accessPointLocation, time));
+	private double getWlanDownloadDelay(long accessPoint, double time) {
+		return wlanDownloadDelays.getDelay(getDeviceCount(accessPoint, time));
 	}
 
 	/**
@@ -379,16 +520,12 @@ public class MM1Queue extends NetworkModel {
 	 * <p>Models the mobile device to WiFi access point delay using M/M/1 queuing.
 	 * Uses task input size and WLAN bandwidth with no propagation delay.</p>
 	 * 
-	 * @param accessPointLocation location of the serving WiFi access point
+	 * @param accessPoint packed location of the serving WiFi access point
 	 * @param time current simulation time for device counting
 	 * @return WLAN upload delay in seconds
 	 */
-	private double getWlanUploadDelay(Location accessPointLocation, double time) {
-		return calculateMM1(0,
-				SimSettings.getInstance().getWlanBandwidth(),
-				WlanPoissonMean,
-				avgTaskInputSize,
-				getDeviceCount(accessPointLocation, time));
+	private double getWlanUploadDelay(long accessPoint, double time) {
+		return wlanUploadDelays.getDelay(getDeviceCount(accessPoint, time));
 	}
 
 	/**
@@ -398,16 +535,12 @@ public class MM1Queue extends NetworkModel {
 	 * using M/M/1 queuing. Includes WAN propagation delay and uses WAN bandwidth
 	 * characteristics with task output size.</p>
 	 * 
-	 * @param accessPointLocation location for device count (affects congestion)
+	 * @param accessPoint packed location for device count (affects congestion)
 	 * @param time current simulation time for device counting
 	 * @return WAN download delay in seconds
 	 */
-	private double getWanDownloadDelay(Location accessPointLocation, double time) {
-		return calculateMM1(SimSettings.getInstance().getWanPropagationDelay(),
-				SimSettings.getInstance().getWanBandwidth(),
-				WanPoissonMean,
-				avgTaskOutputSize,
-				getDeviceCount(accessPointLocation, time));
+	private double getWanDownloadDelay(long accessPoint, double time) {
+		return wanDownloadDelays.getDelay(getDeviceCount(accessPoint, time));
 	}
 
 	/**
@@ -417,16 +550,12 @@ public class MM1Queue extends NetworkModel {
 	 * using M/M/1 queuing. Includes WAN propagation delay and uses WAN bandwidth
 	 * characteristics with task input size.</p>
 	 * 
-	 * @param accessPointLocation location for device count (affects congestion)
+	 * @param accessPoint packed location for device count (affects congestion)
 	 * @param time current simulation time for device counting
 	 * @return WAN upload delay in seconds
 	 */
-	private double getWanUploadDelay(Location accessPointLocation, double time) {
-		return calculateMM1(SimSettings.getInstance().getWanPropagationDelay(),
-				SimSettings.getInstance().getWanBandwidth(),
-				WanPoissonMean,
-				avgTaskInputSize,
-				getDeviceCount(accessPointLocation, time));
+	private double getWanUploadDelay(long accessPoint, double time) {
+		return wanUploadDelays.getDelay(getDeviceCount(accessPoint, time));
 	}
 
 	/**
@@ -0,0 +1,63 @@
+/*
+ * Title:        EdgeCloudSim - Queue Delay Table
+ *
+ * Description:
+ * QueueDelayTable memoizes the delay of an analytical queue model
+ * for each number of devices sharing a link
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.network;
+
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Memoized delays of a queue model (e.g. M/M/1 or M/M/2) of a single link.
+ *
+ * <p>The delay formulas of the analytical network models depend on the link
+ * bandwidth, the propagation delay, the mean inter-arrival time and the
+ * average task size, which are fixed once the model is initialized, and on
+ * the number of devices sharing the link. A table therefore binds the fixed
+ * inputs in its delay function and stores the result for each device count,
+ * including the outcome of any rejection check of the formula (e.g. -1 for
+ * a saturated link), so a repeated query costs a single array read.</p>
+ *
+ * <p>The table is bounded by the largest possible device count (typically
+ * the number of mobile devices); larger counts are computed on each call.
+ * A network model creates its tables in {@link NetworkModel#initialize()},
+ * so the tables are rebuilt whenever the inputs are derived again.</p>
+ */
+public class QueueDelayTable {
+	private final IntToDoubleFunction delayFunction;
+	private final double[] delays;
+
+	/**
+	 * Creates an empty table; the delays are computed on first use.
+	 *
+	 * @param maxDeviceCount largest device count kept in the table
+	 * @param _delayFunction delay of the link for a given device count
+	 */
+	public QueueDelayTable(int maxDeviceCount, IntToDoubleFunction _delayFunction) {
+		delayFunction = _delayFunction;
+		delays = new double[maxDeviceCount + 1];
+		Arrays.fill(delays, Double.NaN);
+	}
+
+	/**
+	 * Returns the delay of the link when it is shared by the given number of devices.
+	 */
+	public double getDelay(int deviceCount) {
+		if(deviceCount < 0 || deviceCount >= delays.length)
+			return delayFunction.applyAsDouble(deviceCount);
+
+		double delay = delays[deviceCount];
+		if(Double.isNaN(delay)) {
+			delay = delayFunction.applyAsDouble(deviceCount);
+			delays[deviceCount] = delay;
+		}
+		return delay;
+	}
+}
@@ -13,12 +13,13 @@
 
 package edu.boun.edgecloudsim.task_generator;
 
-import java.util.ArrayList;
-
-import org.apache.commons.math3.distribution.ExponentialDistribution;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 
 import edu.boun.edgecloudsim.core.SimSettings;
-import edu.boun.edgecloudsim.utils.TaskProperty;
+import edu.boun.edgecloudsim.utils.RandomStreams;
+import edu.boun.edgecloudsim.utils.RandomStreams.STREAM_TYPES;
+import edu.boun.edgecloudsim.utils.TaskPropertyTable;
 import edu.boun.edgecloudsim.utils.SimLogger;
 import edu.boun.edgecloudsim.utils.SimUtils;
 
@@ -82,9 +83,10 @@ public class IdleActiveLoadGenerator extends LoadGeneratorModel{
 	 * 
 	 * <p>This method implements the core idle/active task generation algorithm with the following steps:
 	 * <ol>
-	 *   <li><b>Setup Phase:</b> Create exponential distribution generators for task characteristics</li>
+	 *   <li><b>Setup Phase:</b> Derive independent random streams for each device</li>
 	 *   <li><b>Device Assignment:</b> Assign each device a primary task type based on probabilities</li>
-	 *   <li><b>Task Generation:</b> For each device, generate tasks during active periods only</li>
+	 *   <li><b>Task Generation:</b> For each device, generate tasks during active periods only
+	 *       (devices are generated in parallel, first counting then filling their rows)</li>
 	 *   <li><b>Timing Control:</b> Use Poisson process for task arrivals within active periods</li>
 	 *   <li><b>Period Management:</b> Handle transitions between active and idle states</li>
 	 * </ol></p>
@@ -99,91 +101,126 @@ public class IdleActiveLoadGenerator extends LoadGeneratorModel{
 	 */
 	@Override
 	public void initializeModel() {
-		taskList = new ArrayList<TaskProperty>();
+		taskList = new TaskPropertyTable();
+		taskTypeOfDevices = new int[numberOfMobileDevices];
 		
-		// Create exponential distribution generators for task characteristics
-		// [task_type][0] = input size distribution, [1] = output size, [2] = task length
-		ExponentialDistribution[][] expRngList = new ExponentialDistribution[SimSettings.getInstance().getTaskLookUpTable().length][3];
+		// Each device draws from its own random streams, so devices can be generated
+		// in parallel and the result does not depend on the number of threads
+		RandomStreams randomStreams = SimUtils.createRandomStreams();
 		
-		// Initialize exponential random number generators for each active task type
-		for(int i = 0; i < SimSettings.getInstance().getTaskLookUpTable().length; i++) {
-			// Skip task types with zero probability (inactive task types)
-			if(SimSettings.getInstance().getTaskLookUpTable()[i][0] == 0)
-				continue;
-			
-			// Create generators for: [0] input size, [1] output size, [2] task computational length
-			expRngList[i][0] = new ExponentialDistribution(SimSettings.getInstance().getTaskLookUpTable()[i][5]);
-			expRngList[i][1] = new ExponentialDistribution(SimSettings.getInstance().getTaskLookUpTable()[i][6]);
-			expRngList[i][2] = new ExponentialDistribution(SimSettings.getInstance().getTaskLookUpTable()[i][7]);
-		}
+		// Phase 1: Assign each mobile device a primary application/task type and
+		// count its tasks; taskOffsets[i+1] holds the task count of device i
+		int[] taskOffsets = new int[numberOfMobileDevices + 1];
+		IntStream.range(0, numberOfMobileDevices).parallel().forEach(i -> {
+			int randomTaskType = selectTaskType(i, randomStreams.getDeviceStream(STREAM_TYPES.TASK_TYPE, i));
+			if(randomTaskType != -1) {
+				taskTypeOfDevices[i] = randomTaskType;
+				taskOffsets[i+1] = generateTasksOfDevice(i, randomTaskType, randomStreams, null, 0);
+			}
+		});
 		
-		// Phase 2: Assign each mobile device a primary application/task type
-		taskTypeOfDevices = new int[numberOfMobileDevices];
-		for(int i = 0; i < numberOfMobileDevices; i++) {
-			int randomTaskType = -1;
-			
-			// Use weighted random selection based on task type probabilities
-			double taskTypeSelector = SimUtils.getRandomDoubleNumber(0, 100);
-			double taskTypePercentage = 0;
-			
-			// Find the task type by cumulative probability distribution
-			for (int j = 0; j < SimSettings.getInstance().getTaskLookUpTable().length; j++) {
-				taskTypePercentage += SimSettings.getInstance().getTaskLookUpTable()[j][0];
-				if(taskTypeSelector <= taskTypePercentage){
-					randomTaskType = j;
-					break;
-				}
+		// Tasks of each device are stored contiguously, in device order
+		for(int i = 0; i < numberOfMobileDevices; i++)
+			taskOffsets[i+1] += taskOffsets[i];
+		taskList.setSize(taskOffsets[numberOfMobileDevices]);
+		
+		// Phase 2: Replay the same streams and fill the rows of each device
+		IntStream.range(0, numberOfMobileDevices).parallel().forEach(i -> {
+			if(taskOffsets[i+1] > taskOffsets[i])
+				generateTasksOfDevice(i, taskTypeOfDevices[i], randomStreams, taskList, taskOffsets[i]);
+		});
+	}
+	
+	/**
+	 * Selects the task type of a device by weighted random selection.
+	 * 
+	 * @return selected task type, or -1 if no task type could be selected
+	 */
+	private int selectTaskType(int deviceId, SplittableRandom rng) {
+		int randomTaskType = -1;
+		
+		// Use weighted random selection based on task type probabilities
+		double taskTypeSelector = RandomStreams.nextDouble(rng, 0, 100);
+		double taskTypePercentage = 0;
+		
+		// Find the task type by cumulative probability distribution
+		for (int j = 0; j < SimSettings.getInstance().getTaskLookUpTable().length; j++) {
+			taskTypePercentage += SimSettings.getInstance().getTaskLookUpTable()[j][0];
+			if(taskTypeSelector <= taskTypePercentage){
+				randomTaskType = j;
+				break;
 			}
-			
-			// Validation: ensure a valid task type was selected
-			if(randomTaskType == -1){
-				SimLogger.printLine("Critical Error: No valid task type assigned to device " + i + "!");
+		}
+		
+		// Validation: ensure a valid task type was selected
+		if(randomTaskType == -1)
+			SimLogger.printLine("Critical Error: No valid task type assigned to device " + deviceId + "!");
+		
+		return randomTaskType;
+	}
+	
+	/**
+	 * Generates the idle/active task timeline of a single device.
+	 * 
+	 * <p>Streams of the device are re-created on each call, so calling this method
+	 * twice yields the same tasks. If taskTable is null, the tasks are only counted;
+	 * otherwise they are written to the rows starting at firstRow.</p>
+	 * 
+	 * @return number of tasks generated for the device
+	 */
+	private int generateTasksOfDevice(int deviceId, int randomTaskType, RandomStreams randomStreams, TaskPropertyTable taskTable, int firstRow) {
+		SplittableRandom arrivalRng = randomStreams.getDeviceStream(STREAM_TYPES.TASK_ARRIVAL, deviceId);
+		SplittableRandom sizeRng = randomStreams.getDeviceStream(STREAM_TYPES.TASK_SIZE, deviceId);
+		
+		// Extract task type specific parameters from lookup table
+		double[] taskProperties = SimSettings.getInstance().getTaskLookUpTable()[randomTaskType];
+		double poissonMean = taskProperties[2];  // Mean inter-arrival time
+		double activePeriod = taskProperties[3]; // Active period duration
+		double idlePeriod = taskProperties[4];   // Idle period duration
+		
+		// Randomize active period start time to avoid device synchronization
+		// Start sometime between CLIENT_ACTIVITY_START_TIME and CLIENT_ACTIVITY_START_TIME + activePeriod
+		double activePeriodStartTime = RandomStreams.nextDouble(arrivalRng,
+				SimSettings.CLIENT_ACTIVITY_START_TIME, 
+				SimSettings.CLIENT_ACTIVITY_START_TIME + activePeriod);
+		double virtualTime = activePeriodStartTime;
+		int numOfTasks = 0;
+		
+		// Generate tasks for this device throughout the simulation duration
+		while(virtualTime < simulationTime) {
+			// Sample next task arrival interval from exponential distribution (Poisson process)
+			double interval = RandomStreams.nextExponential(arrivalRng, poissonMean);
+
+			// Validate interval (should always be positive for exponential distribution)
+			if(interval <= 0){
+				SimLogger.printLine("Warning: Invalid interval " + interval + " for device " + deviceId + " at time " + virtualTime);
 				continue;
 			}
 			
-			taskTypeOfDevices[i] = randomTaskType;
-			
-			// Extract task type specific parameters from lookup table
-			double poissonMean = SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][2];  // Mean inter-arrival time
-			double activePeriod = SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][3]; // Active period duration
-			double idlePeriod = SimSettings.getInstance().getTaskLookUpTable()[randomTaskType][4];   // Idle period duration
+			// Advance virtual time by the inter-arrival interval
+			virtualTime += interval;
 			
-			// Randomize active period start time to avoid device synchronization
-			// Start sometime between CLIENT_ACTIVITY_START_TIME and CLIENT_ACTIVITY_START_TIME + activePeriod
-			double activePeriodStartTime = SimUtils.getRandomDoubleNumber(
-					SimSettings.CLIENT_ACTIVITY_START_TIME, 
-					SimSettings.CLIENT_ACTIVITY_START_TIME + activePeriod);
-			double virtualTime = activePeriodStartTime;
-
-			// Create Poisson process generator for task inter-arrival times
-			ExponentialDistribution rng = new ExponentialDistribution(poissonMean);
+			// Check if we've exceeded the current active period
+			if(virtualTime > activePeriodStartTime + activePeriod){
+				// Start new active period after idle period
+				activePeriodStartTime = activePeriodStartTime + activePeriod + idlePeriod;
+				virtualTime = activePeriodStartTime;
+				continue;  // Skip task creation, jump to next active period
+			}
 			
-			// Generate tasks for this device throughout the simulation duration
-			while(virtualTime < simulationTime) {
-				// Sample next task arrival interval from exponential distribution
-				double interval = rng.sample();
-
-				// Validate interval (should always be positive for exponential distribution)
-				if(interval <= 0){
-					SimLogger.printLine("Warning: Invalid interval " + interval + " for device " + i + " at time " + virtualTime);
-					continue;
-				}
-				
-				// Advance virtual time by the inter-arrival interval
-				virtualTime += interval;
-				
-				// Check if we've exceeded the current active period
-				if(virtualTime > activePeriodStartTime + activePeriod){
-					// Start new active period after idle period
-					activePeriodStartTime = activePeriodStartTime + activePeriod + idlePeriod;
-					virtualTime = activePeriodStartTime;
-					continue;  // Skip task creation, jump to next active period
-				}
-				
-				// Create task within active period
-				taskList.add(new TaskProperty(i, randomTaskType, virtualTime, expRngList));
+			// Create task within active period; input size, output size and
+			// length follow exponential distributions
+			if(taskTable != null) {
+				long inputFileSize = (long)RandomStreams.nextExponential(sizeRng, taskProperties[5]);
+				long outputFileSize = (long)RandomStreams.nextExponential(sizeRng, taskProperties[6]);
+				long length = (long)RandomStreams.nextExponential(sizeRng, taskProperties[7]);
+				int pesNumber = (int)taskProperties[8];
+				taskTable.set(firstRow + numOfTasks, virtualTime, deviceId, randomTaskType, pesNumber, length, inputFileSize, outputFileSize);
 			}
+			numOfTasks++;
 		}
+		
+		return numOfTasks;
 	}
 
 	/**
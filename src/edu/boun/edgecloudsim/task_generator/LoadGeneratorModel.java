@@ -13,9 +13,7 @@
 
 package edu.boun.edgecloudsim.task_generator;
 
-import java.util.List;
-
-import edu.boun.edgecloudsim.utils.TaskProperty;
+import edu.boun.edgecloudsim.utils.TaskPropertyTable;
 
 /**
  * Abstract base class for task load generation models in EdgeCloudSim.
@@ -42,11 +40,11 @@ import edu.boun.edgecloudsim.utils.TaskProperty;
  * </ul></p>
  * 
  * @see edu.boun.edgecloudsim.core.ScenarioFactory
- * @see edu.boun.edgecloudsim.utils.TaskProperty
+ * @see edu.boun.edgecloudsim.utils.TaskPropertyTable
  */
 public abstract class LoadGeneratorModel {
-	/** Pre-calculated list of all tasks to be executed during simulation */
-	protected List<TaskProperty> taskList;
+	/** Pre-calculated table of all tasks to be executed during simulation */
+	protected TaskPropertyTable taskList;
 	
 	/** Total number of mobile devices in the simulation */
 	protected int numberOfMobileDevices;
@@ -86,14 +84,16 @@ public abstract class LoadGeneratorModel {
 	}
 
 	/**
-	 * Returns the complete list of pre-calculated tasks for the simulation.
+	 * Returns the complete table of pre-calculated tasks for the simulation.
 	 * 
-	 * <p>Each task in the list contains a virtual start time that determines when
-	 * the task should be submitted during the simulation. The task list is populated
+	 * <p>Each task in the table contains a virtual start time that determines when
+	 * the task should be submitted during the simulation. The table is populated
 	 * by the {@link #initializeModel()} method and represents the entire workload
 	 * pattern for all mobile devices throughout the simulation duration.</p>
 	 * 
-	 * <p>The returned list includes:
+	 * <p>The tasks are kept in primitive columns; TaskProperty objects are only
+	 * created for the tasks being submitted (see {@link TaskPropertyTable}).
+	 * The returned table includes:
 	 * <ul>
 	 *   <li>Task submission timestamps</li>
 	 *   <li>Task type and device ID assignments</li>
@@ -101,9 +101,9 @@ public abstract class LoadGeneratorModel {
 	 *   <li>Statistical variations based on configured distributions</li>
 	 * </ul></p>
 	 * 
-	 * @return immutable list of all tasks scheduled for execution
+	 * @return table of all tasks scheduled for execution
 	 */
-	public List<TaskProperty> getTaskList() {
+	public TaskPropertyTable getTaskList() {
 		return taskList;
 	}
 
@@ -0,0 +1,147 @@
+/*
+ * Title:        EdgeCloudSim - Binary Log Format
+ *
+ * Description:
+ * BinaryLogFormat defines the fixed width binary form of the task, VM
+ * load and access point delay result files, which SimLogger writes
+ * when result_file_format is set to binary
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+/**
+ * Layout of the binary result files.
+ *
+ * A file starts with a header of six little endian int values: the magic
+ * number, the schema version, the record type, the size of a record in
+ * bytes, the number of columns of the record type (the number of access
+ * points for the AP delay files, 0 otherwise) and a reserved value. The
+ * header is followed by fixed width records, so the number of records is
+ * (file size - HEADER_SIZE) / record size and record n starts at
+ * HEADER_SIZE + n * record size.
+ *
+ * A record holds the fields of the corresponding text line in the same
+ * order, as little endian int (4 bytes) or double (8 bytes) values without
+ * padding:
+ * <ul>
+ *   <li>SUCCESS: taskId, deviceId, datacenterId, hostId, vmId, vmType, taskType,
+ *       taskLength, taskInputSize, taskOutputSize (int), taskStartTime, taskEndTime,
+ *       networkDelay, wlanDelay, manDelay, wanDelay, gsmDelay (double)</li>
+ *   <li>FAIL: the ten int and two double fields of SUCCESS, followed by failureReason (int)</li>
+ *   <li>VM_LOAD: time, edgeLoad, cloudLoad, mobileLoad (double)</li>
+ *   <li>AP_UPLOAD_DELAY and AP_DOWNLOAD_DELAY: time and the delay of each access point (double)</li>
+ * </ul>
+ */
+public final class BinaryLogFormat {
+	/** "ECSR" in the byte order of the file */
+	public static final int MAGIC = 0x52534345;
+	/** increase when the layout of a record type changes */
+	public static final int SCHEMA_VERSION = 1;
+	/** size of the file header in bytes */
+	public static final int HEADER_SIZE = 24;
+	/** extension of the binary result files */
+	public static final String FILE_EXTENSION = ".bin";
+
+	/** record types; the ordinal is stored in the header, so new types are appended */
+	public enum RECORD_TYPE {
+		SUCCESS,
+		FAIL,
+		VM_LOAD,
+		AP_UPLOAD_DELAY,
+		AP_DOWNLOAD_DELAY
+	}
+
+	private static final String[] TASK_INT_FIELDS = {
+			"taskId", "deviceId", "datacenterId", "hostId", "vmId", "vmType", "taskType",
+			"taskLength", "taskInputSize", "taskOutputSize"
+	};
+
+	private static final String[] SUCCESS_DOUBLE_FIELDS = {
+			"taskStartTime", "taskEndTime", "networkDelay", "wlanDelay", "manDelay", "wanDelay", "gsmDelay"
+	};
+
+	private static final String[] VM_LOAD_FIELDS = {
+			"time", "edgeLoad", "cloudLoad", "mobileLoad"
+	};
+
+	private BinaryLogFormat() {
+	}
+
+	/**
+	 * Returns the names of the fields of a record type in record order.
+	 *
+	 * @param type record type
+	 * @param numOfColumns number of columns from the file header
+	 */
+	public static String[] getFieldNames(RECORD_TYPE type, int numOfColumns) {
+		String[] names = new String[getNumOfFields(type, numOfColumns)];
+		switch (type) {
+		case SUCCESS:
+			System.arraycopy(TASK_INT_FIELDS, 0, names, 0, TASK_INT_FIELDS.length);
+			System.arraycopy(SUCCESS_DOUBLE_FIELDS, 0, names, TASK_INT_FIELDS.length, SUCCESS_DOUBLE_FIELDS.length);
+			break;
+		case FAIL:
+			System.arraycopy(TASK_INT_FIELDS, 0, names, 0, TASK_INT_FIELDS.length);
+			System.arraycopy(SUCCESS_DOUBLE_FIELDS, 0, names, TASK_INT_FIELDS.length, 2);
+			names[names.length - 1] = "failureReason";
+			break;
+		case VM_LOAD:
+			System.arraycopy(VM_LOAD_FIELDS, 0, names, 0, VM_LOAD_FIELDS.length);
+			break;
+		default:
+			names[0] = "time";
+			for(int i=0; i<numOfColumns; i++)
+				names[i + 1] = "ap" + i;
+			break;
+		}
+		return names;
+	}
+
+	/**
+	 * Returns true for the double fields of a record type, false for the int fields.
+	 *
+	 * @param type record type
+	 * @param numOfColumns number of columns from the file header
+	 */
+	public static boolean[] getDoubleFields(RECORD_TYPE type, int numOfColumns) {
+		boolean[] doubleFields = new boolean[getNumOfFields(type, numOfColumns)];
+		for(int i=0; i<doubleFields.length; i++) {
+			if(type == RECORD_TYPE.SUCCESS || type == RECORD_TYPE.FAIL)
+				doubleFields[i] = i >= TASK_INT_FIELDS.length;
+			else
+				doubleFields[i] = true;
+		}
+		if(type == RECORD_TYPE.FAIL)
+			doubleFields[doubleFields.length - 1] = false;
+		return doubleFields;
+	}
+
+	/**
+	 * Returns the size of a record in bytes.
+	 *
+	 * @param type record type
+	 * @param numOfColumns number of columns from the file header
+	 */
+	public static int getRecordSize(RECORD_TYPE type, int numOfColumns) {
+		int size = 0;
+		for(boolean doubleField : getDoubleFields(type, numOfColumns))
+			size += doubleField ? Double.BYTES : Integer.BYTES;
+		return size;
+	}
+
+	private static int getNumOfFields(RECORD_TYPE type, int numOfColumns) {
+		switch (type) {
+		case SUCCESS:
+			return TASK_INT_FIELDS.length + SUCCESS_DOUBLE_FIELDS.length;
+		case FAIL:
+			return TASK_INT_FIELDS.length + 3;
+		case VM_LOAD:
+			return VM_LOAD_FIELDS.length;
+		default:
+			return 1 + numOfColumns;
+		}
+	}
+}
@@ -0,0 +1,233 @@
+/*
+ * Title:        EdgeCloudSim - Binary Log Reader
+ *
+ * Description:
+ * BinaryLogReader gives random access to the records of a binary result
+ * file; plain files are memory mapped, so the records are read without
+ * parsing or copying the file
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import edu.boun.edgecloudsim.core.SimSettings;
+
+/**
+ * Reader of a binary result file in the BinaryLogFormat layout.
+ *
+ * A plain file is mapped in chunks of whole records, so files larger than
+ * 2 GB are supported. A gzip compressed file (".gz", see result_file_compression)
+ * cannot be mapped; it is decompressed into heap buffers of the same chunk
+ * layout when it is opened.
+ *
+ * Fields are addressed by record index and field index; the field names
+ * and types are given by getFieldName() and isDoubleField().
+ */
+public class BinaryLogReader {
+	private static final int MAX_CHUNK_SIZE = 1 << 30;
+
+	private final BinaryLogFormat.RECORD_TYPE recordType;
+	private final int numOfColumns;
+	private final int recordSize;
+	private final long numOfRecords;
+	private final String[] fieldNames;
+	private final boolean[] doubleFields;
+	private final int[] fieldOffsets;
+	private final int recordsPerChunk;
+	private final ByteBuffer[] chunks;
+
+	/**
+	 * Opens a binary result file.
+	 *
+	 * @param fileName path of a .bin or .bin.gz file
+	 * @throws IOException if the file cannot be read or is not a binary result file
+	 */
+	public BinaryLogReader(String fileName) throws IOException {
+		Path path = Paths.get(fileName);
+		boolean compressed = fileName.endsWith(".gz");
+
+		ByteBuffer header = ByteBuffer.allocate(BinaryLogFormat.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		try (InputStream in = openStream(path, compressed)) {
+			new DataInputStream(in).readFully(header.array());
+		} catch (EOFException e) {
+			throw new IOException(fileName + " is not a binary result file");
+		}
+
+		if(header.getInt(0) != BinaryLogFormat.MAGIC)
+			throw new IOException(fileName + " is not a binary result file");
+		if(header.getInt(4) != BinaryLogFormat.SCHEMA_VERSION)
+			throw new IOException(fileName + " has schema version " + header.getInt(4) +
+					", supported version is " + BinaryLogFormat.SCHEMA_VERSION);
+		int type = header.getInt(8);
+		if(type < 0 || type >= BinaryLogFormat.RECORD_TYPE.values().length)
+			throw new IOException(fileName + " has unknown record type " + type);
+
+		recordType = BinaryLogFormat.RECORD_TYPE.values()[type];
+		numOfColumns = header.getInt(16);
+		recordSize = BinaryLogFormat.getRecordSize(recordType, numOfColumns);
+		if(header.getInt(12) != recordSize)
+			throw new IOException(fileName + " has an invalid record size");
+
+		fieldNames = BinaryLogFormat.getFieldNames(recordType, numOfColumns);
+		doubleFields = BinaryLogFormat.getDoubleFields(recordType, numOfColumns);
+		fieldOffsets = new int[doubleFields.length];
+		for(int i=1; i<fieldOffsets.length; i++)
+			fieldOffsets[i] = fieldOffsets[i-1] + (doubleFields[i-1] ? Double.BYTES : Integer.BYTES);
+
+		recordsPerChunk = Math.max(1, MAX_CHUNK_SIZE / recordSize);
+		if(compressed) {
+			chunks = readChunks(path);
+			long records = 0;
+			for(ByteBuffer chunk : chunks)
+				records += chunk.capacity() / recordSize;
+			numOfRecords = records;
+		}
+		else {
+			numOfRecords = (Files.size(path) - BinaryLogFormat.HEADER_SIZE) / recordSize;
+			chunks = mapChunks(path);
+		}
+	}
+
+	public BinaryLogFormat.RECORD_TYPE getRecordType() {
+		return recordType;
+	}
+
+	/**
+	 * Returns the number of access points of an AP delay file; 0 for the other files.
+	 */
+	public int getNumOfColumns() {
+		return numOfColumns;
+	}
+
+	public long getNumOfRecords() {
+		return numOfRecords;
+	}
+
+	public int getNumOfFields() {
+		return fieldNames.length;
+	}
+
+	public String getFieldName(int field) {
+		return fieldNames[field];
+	}
+
+	/**
+	 * Returns the index of a field, or -1 if the record type has no such field.
+	 */
+	public int getFieldIndex(String fieldName) {
+		for(int i=0; i<fieldNames.length; i++)
+			if(fieldNames[i].equals(fieldName))
+				return i;
+		return -1;
+	}
+
+	public boolean isDoubleField(int field) {
+		return doubleFields[field];
+	}
+
+	/**
+	 * Returns an int field of a record.
+	 */
+	public int getInt(long record, int field) {
+		return chunkOf(record).getInt(offsetOf(record, field));
+	}
+
+	/**
+	 * Returns a double field of a record.
+	 */
+	public double getDouble(long record, int field) {
+		return chunkOf(record).getDouble(offsetOf(record, field));
+	}
+
+	/**
+	 * Appends a record as the line SimLogger writes to the text result file.
+	 *
+	 * @param record index of the record
+	 * @param line builder the fields are appended to, without line separator
+	 */
+	public void appendTextLine(long record, StringBuilder line) {
+		for(int i=0; i<fieldNames.length; i++) {
+			if(i > 0)
+				line.append(SimSettings.DELIMITER);
+			if(doubleFields[i])
+				line.append(getDouble(record, i));
+			else
+				line.append(getInt(record, i));
+		}
+	}
+
+	private ByteBuffer chunkOf(long record) {
+		return chunks[(int)(record / recordsPerChunk)];
+	}
+
+	private int offsetOf(long record, int field) {
+		return (int)(record % recordsPerChunk) * recordSize + fieldOffsets[field];
+	}
+
+	private ByteBuffer[] mapChunks(Path path) throws IOException {
+		ByteBuffer[] result = new ByteBuffer[(int)((numOfRecords + recordsPerChunk - 1) / recordsPerChunk)];
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			for(int i=0; i<result.length; i++) {
+				long firstRecord = (long)i * recordsPerChunk;
+				long records = Math.min(recordsPerChunk, numOfRecords - firstRecord);
+				result[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+						BinaryLogFormat.HEADER_SIZE + firstRecord * recordSize, records * recordSize);
+				result[i].order(ByteOrder.LITTLE_ENDIAN);
+			}
+		}
+		return result;
+	}
+
+	private ByteBuffer[] readChunks(Path path) throws IOException {
+		List<ByteBuffer> result = new ArrayList<ByteBuffer>();
+		int chunkSize = recordsPerChunk * recordSize;
+		try (InputStream in = openStream(path, true)) {
+			in.skipNBytes(BinaryLogFormat.HEADER_SIZE);
+			boolean endOfFile = false;
+			while(!endOfFile) {
+				// the buffer grows with the content, so small files do not allocate a whole chunk
+				byte[] content = new byte[Math.min(chunkSize, 1 << 20)];
+				int length = 0;
+				while(length < chunkSize) {
+					if(length == content.length)
+						content = Arrays.copyOf(content, (int)Math.min(chunkSize, 2L * content.length));
+					int read = in.read(content, length, content.length - length);
+					if(read < 0) {
+						endOfFile = true;
+						break;
+					}
+					length += read;
+				}
+
+				length -= length % recordSize;  // an incomplete last record is ignored, like for plain files
+				if(length > 0)
+					result.add(ByteBuffer.wrap(length == content.length ? content : Arrays.copyOf(content, length)).order(ByteOrder.LITTLE_ENDIAN));
+			}
+		}
+		return result.toArray(new ByteBuffer[result.size()]);
+	}
+
+	private static InputStream openStream(Path path, boolean compressed) throws IOException {
+		InputStream in = new BufferedInputStream(Files.newInputStream(path), 1 << 16);
+		return compressed ? new GZIPInputStream(in, 1 << 16) : in;
+	}
+}
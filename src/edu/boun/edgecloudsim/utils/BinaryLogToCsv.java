@@ -0,0 +1,95 @@
+/*
+ * Title:        EdgeCloudSim - Binary Log to CSV
+ *
+ * Description:
+ * BinaryLogToCsv converts binary result files back into the delimited
+ * text files SimLogger writes when result_file_format is text, so that
+ * the existing MATLAB and Python scripts can be used on them
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * Command line tool converting binary result files to text.
+ *
+ * Usage: BinaryLogToCsv &lt;file or folder&gt;...
+ *
+ * Each X.bin or X.bin.gz file is converted to X.log next to it; for a folder,
+ * all binary result files in it are converted. The produced files are
+ * identical to the text result files of the same simulation.
+ */
+public class BinaryLogToCsv {
+
+	/**
+	 * Converts one binary result file.
+	 *
+	 * @param binaryFile path of the .bin or .bin.gz file
+	 * @param textFile path of the text file to be written
+	 * @return number of converted records
+	 * @throws IOException if a file cannot be read or written
+	 */
+	public static long convert(String binaryFile, String textFile) throws IOException {
+		BinaryLogReader reader = new BinaryLogReader(binaryFile);
+		StringBuilder line = new StringBuilder(256);
+		try (BufferedWriter bw = new BufferedWriter(new FileWriter(textFile), 1 << 16)) {
+			bw.write("#auto generated file!");
+			bw.newLine();
+			for(long i=0; i<reader.getNumOfRecords(); i++) {
+				line.setLength(0);
+				reader.appendTextLine(i, line);
+				bw.append(line);
+				bw.newLine();
+			}
+		}
+		return reader.getNumOfRecords();
+	}
+
+	private static String getTextFileName(String binaryFile) {
+		String name = binaryFile;
+		if(name.endsWith(".gz"))
+			name = name.substring(0, name.length() - ".gz".length());
+		return name.substring(0, name.length() - BinaryLogFormat.FILE_EXTENSION.length()) + ".log";
+	}
+
+	private static boolean isBinaryLogFile(String fileName) {
+		return fileName.endsWith(BinaryLogFormat.FILE_EXTENSION) || fileName.endsWith(BinaryLogFormat.FILE_EXTENSION + ".gz");
+	}
+
+	public static void main(String[] args) {
+		SimLogger.enablePrintLog();
+
+		if(args.length == 0) {
+			SimLogger.printLine("Usage: BinaryLogToCsv <file or folder>...");
+			System.exit(1);
+		}
+
+		for(String arg : args) {
+			File argFile = new File(arg);
+			File[] files = argFile.isDirectory() ? argFile.listFiles() : new File[] { argFile };
+			for(File file : files) {
+				if(!isBinaryLogFile(file.getName())) {
+					if(!argFile.isDirectory())
+						SimLogger.printLine(file + " is not a binary result file; skipped");
+					continue;
+				}
+
+				String textFile = getTextFileName(file.getPath());
+				try {
+					long records = convert(file.getPath(), textFile);
+					SimLogger.printLine(file + " -> " + textFile + " (" + records + " records)");
+				} catch (IOException e) {
+					SimLogger.printLine(file + " cannot be converted: " + e.getMessage());
+					System.exit(1);
+				}
+			}
+		}
+	}
+}
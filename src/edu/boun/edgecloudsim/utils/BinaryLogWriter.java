@@ -0,0 +1,85 @@
+/*
+ * Title:        EdgeCloudSim - Binary Log Writer
+ *
+ * Description:
+ * BinaryLogWriter writes the header and the fixed width records of a
+ * binary result file through a little endian NIO buffer
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writer of a binary result file in the BinaryLogFormat layout.
+ *
+ * The caller puts the fields of each record into the buffer returned by
+ * startRecord(), in the order of the record type; the buffer is drained to
+ * the stream whenever the next record would not fit.
+ */
+class BinaryLogWriter {
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final WritableByteChannel channel;
+	private final ByteBuffer buffer;
+	private final int recordSize;
+
+	/**
+	 * Writes the header of a new binary result file.
+	 *
+	 * @param out stream of the file
+	 * @param type record type of the file
+	 * @param numOfColumns number of access points for the AP delay files, 0 otherwise
+	 * @throws IOException if the header cannot be written
+	 */
+	BinaryLogWriter(OutputStream out, BinaryLogFormat.RECORD_TYPE type, int numOfColumns) throws IOException {
+		channel = Channels.newChannel(out);
+		recordSize = BinaryLogFormat.getRecordSize(type, numOfColumns);
+		buffer = ByteBuffer.allocate(Math.max(BUFFER_SIZE, BinaryLogFormat.HEADER_SIZE + recordSize));
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+		buffer.putInt(BinaryLogFormat.MAGIC);
+		buffer.putInt(BinaryLogFormat.SCHEMA_VERSION);
+		buffer.putInt(type.ordinal());
+		buffer.putInt(recordSize);
+		buffer.putInt(numOfColumns);
+		buffer.putInt(0);
+	}
+
+	/**
+	 * Returns the buffer to put the fields of the next record into.
+	 *
+	 * @throws IOException if the buffered records cannot be written
+	 */
+	ByteBuffer startRecord() throws IOException {
+		if(buffer.remaining() < recordSize)
+			drain();
+		return buffer;
+	}
+
+	/**
+	 * Writes the buffered records and closes the file.
+	 */
+	void close() throws IOException {
+		try {
+			drain();
+		} finally {
+			channel.close();
+		}
+	}
+
+	private void drain() throws IOException {
+		buffer.flip();
+		while(buffer.hasRemaining())
+			channel.write(buffer);
+		buffer.clear();
+	}
+}
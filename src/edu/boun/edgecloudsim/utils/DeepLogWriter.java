@@ -0,0 +1,296 @@
+/*
+ * Title:        EdgeCloudSim - Deep Log Writer
+ *
+ * Description:
+ * DeepLogWriter writes the per task records of the deep file logging on
+ * a background thread, so that the simulation thread only copies the
+ * fields of a finished task into a preallocated batch instead of
+ * building and writing a line of text
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import edu.boun.edgecloudsim.core.SimSettings;
+
+/**
+ * Asynchronous writer of the _SUCCESS and _FAIL result files.
+ *
+ * The records are collected in a fixed ring of batches, allocated once per
+ * simulation. The simulation thread fills one batch while the writer thread
+ * formats and writes the others; a full batch is handed over to the writer
+ * thread and an empty one is taken back. If the writer thread falls behind
+ * and no batch is empty, the simulation thread waits until one is written,
+ * so the memory used by the records stays bounded.
+ *
+ * In text format the lines are formatted exactly like LogItem.toString(taskId);
+ * in binary format the records follow BinaryLogFormat. The records are
+ * written in the order the tasks are recorded. close() writes the remaining
+ * records and closes both files; an error of the writer thread is thrown
+ * from there.
+ */
+class DeepLogWriter {
+	private static final int NUM_OF_BATCHES = 4;
+	private static final int BATCH_SIZE = 4096;
+
+	/**
+	 * Fields of up to BATCH_SIZE deep log records, kept in parallel arrays.
+	 */
+	private static class Batch {
+		private final boolean[] completed = new boolean[BATCH_SIZE];
+		private final int[] taskId = new int[BATCH_SIZE];
+		private final int[] deviceId = new int[BATCH_SIZE];
+		private final int[] datacenterId = new int[BATCH_SIZE];
+		private final int[] hostId = new int[BATCH_SIZE];
+		private final int[] vmId = new int[BATCH_SIZE];
+		private final int[] vmType = new int[BATCH_SIZE];
+		private final int[] taskType = new int[BATCH_SIZE];
+		private final int[] taskLength = new int[BATCH_SIZE];
+		private final int[] taskInputSize = new int[BATCH_SIZE];
+		private final int[] taskOutputSize = new int[BATCH_SIZE];
+		private final double[] taskStartTime = new double[BATCH_SIZE];
+		private final double[] taskEndTime = new double[BATCH_SIZE];
+		private final double[] networkDelay = new double[BATCH_SIZE];
+		private final double[] wlanDelay = new double[BATCH_SIZE];
+		private final double[] manDelay = new double[BATCH_SIZE];
+		private final double[] wanDelay = new double[BATCH_SIZE];
+		private final double[] gsmDelay = new double[BATCH_SIZE];
+		private final int[] failureReason = new int[BATCH_SIZE];
+		private int size;          // number of records in the batch
+		private boolean last;      // set on the batch handed over by close()
+	}
+
+	private final BufferedWriter successBW;       // text writers; null in binary format
+	private final BufferedWriter failBW;
+	private final BinaryLogWriter successWriter;  // binary writers; null in text format
+	private final BinaryLogWriter failWriter;
+	private final BlockingQueue<Batch> emptyBatches;
+	private final BlockingQueue<Batch> fullBatches;
+	private final Thread writerThread;
+	private Batch currentBatch;
+	private IOException writeError = null;  // first error of the writer thread; read after join()
+
+	/**
+	 * Starts the writer thread of a simulation writing text files.
+	 *
+	 * @param _successBW writer of the _SUCCESS.log file
+	 * @param _failBW writer of the _FAIL.log file
+	 */
+	DeepLogWriter(BufferedWriter _successBW, BufferedWriter _failBW) {
+		this(_successBW, _failBW, null, null);
+	}
+
+	/**
+	 * Starts the writer thread of a simulation writing binary files.
+	 *
+	 * @param _successWriter writer of the _SUCCESS.bin file
+	 * @param _failWriter writer of the _FAIL.bin file
+	 */
+	DeepLogWriter(BinaryLogWriter _successWriter, BinaryLogWriter _failWriter) {
+		this(null, null, _successWriter, _failWriter);
+	}
+
+	private DeepLogWriter(BufferedWriter _successBW, BufferedWriter _failBW,
+			BinaryLogWriter _successWriter, BinaryLogWriter _failWriter) {
+		successBW = _successBW;
+		failBW = _failBW;
+		successWriter = _successWriter;
+		failWriter = _failWriter;
+		emptyBatches = new ArrayBlockingQueue<Batch>(NUM_OF_BATCHES);
+		fullBatches = new ArrayBlockingQueue<Batch>(NUM_OF_BATCHES);
+		for(int i=1; i<NUM_OF_BATCHES; i++)
+			emptyBatches.add(new Batch());
+		currentBatch = new Batch();
+
+		writerThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				writeBatches();
+			}
+		}, "deep-log-writer");
+		// a simulation terminated by System.exit must not wait for its log
+		writerThread.setDaemon(true);
+		writerThread.start();
+	}
+
+	/**
+	 * Queues the record of a finished task; called by the simulation thread.
+	 *
+	 * @param completed true for the _SUCCESS file, false for the _FAIL file
+	 * @param failureReason reason written to the _FAIL file; ignored for completed tasks
+	 */
+	void append(boolean completed, int taskId, int deviceId, int datacenterId, int hostId, int vmId,
+			int vmType, int taskType, int taskLength, int taskInputSize, int taskOutputSize,
+			double taskStartTime, double taskEndTime, double networkDelay, double wlanDelay,
+			double manDelay, double wanDelay, double gsmDelay, int failureReason) {
+		Batch batch = currentBatch;
+		int i = batch.size++;
+		batch.completed[i] = completed;
+		batch.taskId[i] = taskId;
+		batch.deviceId[i] = deviceId;
+		batch.datacenterId[i] = datacenterId;
+		batch.hostId[i] = hostId;
+		batch.vmId[i] = vmId;
+		batch.vmType[i] = vmType;
+		batch.taskType[i] = taskType;
+		batch.taskLength[i] = taskLength;
+		batch.taskInputSize[i] = taskInputSize;
+		batch.taskOutputSize[i] = taskOutputSize;
+		batch.taskStartTime[i] = taskStartTime;
+		batch.taskEndTime[i] = taskEndTime;
+		batch.networkDelay[i] = networkDelay;
+		batch.wlanDelay[i] = wlanDelay;
+		batch.manDelay[i] = manDelay;
+		batch.wanDelay[i] = wanDelay;
+		batch.gsmDelay[i] = gsmDelay;
+		batch.failureReason[i] = failureReason;
+
+		if(batch.size == BATCH_SIZE)
+			currentBatch = handOver(batch);
+	}
+
+	/**
+	 * Writes the queued records, stops the writer thread and closes both files.
+	 *
+	 * @throws IOException if a record could not be written or a file could not be closed
+	 */
+	void close() throws IOException {
+		currentBatch.last = true;
+		handOver(currentBatch);
+		currentBatch = null;
+
+		boolean interrupted = false;
+		while(writerThread.isAlive()) {
+			try {
+				writerThread.join();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if(interrupted)
+			Thread.currentThread().interrupt();
+
+		try {
+			if(successWriter != null)
+				successWriter.close();
+			else
+				successBW.close();
+		} finally {
+			if(failWriter != null)
+				failWriter.close();
+			else
+				failBW.close();
+		}
+		if(writeError != null)
+			throw writeError;
+	}
+
+	// Passes a batch to the writer thread and returns an empty one, waiting if there is none
+	private Batch handOver(Batch batch) {
+		boolean interrupted = false;
+		Batch emptyBatch = null;
+		while(true) {
+			try {
+				fullBatches.put(batch);
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		while(!batch.last && emptyBatch == null) {
+			try {
+				emptyBatch = emptyBatches.take();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if(interrupted)
+			Thread.currentThread().interrupt();
+		return emptyBatch;
+	}
+
+	// Body of the writer thread
+	private void writeBatches() {
+		StringBuilder line = new StringBuilder(256);
+		boolean last = false;
+		while(!last) {
+			Batch batch;
+			try {
+				batch = fullBatches.take();
+			} catch (InterruptedException e) {
+				continue;  // the simulation thread always hands over a last batch
+			}
+
+			// after an error the batches are only recycled, so that the simulation thread is not blocked
+			if(writeError == null) {
+				try {
+					for(int i=0; i<batch.size; i++) {
+						if(successWriter != null) {
+							put(batch, i, (batch.completed[i] ? successWriter : failWriter).startRecord());
+						}
+						else {
+							line.setLength(0);
+							format(batch, i, line);
+							BufferedWriter bw = batch.completed[i] ? successBW : failBW;
+							bw.append(line);
+							bw.newLine();
+						}
+					}
+				} catch (IOException e) {
+					writeError = e;
+				}
+			}
+
+			last = batch.last;
+			batch.size = 0;
+			if(!last)
+				emptyBatches.add(batch);
+		}
+	}
+
+	// Record layout of BinaryLogFormat
+	private static void put(Batch batch, int i, ByteBuffer record) {
+		record.putInt(batch.taskId[i]).putInt(batch.deviceId[i]).putInt(batch.datacenterId[i])
+			.putInt(batch.hostId[i]).putInt(batch.vmId[i]).putInt(batch.vmType[i])
+			.putInt(batch.taskType[i]).putInt(batch.taskLength[i]).putInt(batch.taskInputSize[i])
+			.putInt(batch.taskOutputSize[i]).putDouble(batch.taskStartTime[i]).putDouble(batch.taskEndTime[i]);
+
+		if(batch.completed[i]) {
+			record.putDouble(batch.networkDelay[i]).putDouble(batch.wlanDelay[i]).putDouble(batch.manDelay[i])
+				.putDouble(batch.wanDelay[i]).putDouble(batch.gsmDelay[i]);
+		}
+		else {
+			record.putInt(batch.failureReason[i]);
+		}
+	}
+
+	// Same text as LogItem.toString(taskId)
+	private static void format(Batch batch, int i, StringBuilder line) {
+		String d = SimSettings.DELIMITER;
+		line.append(batch.taskId[i]).append(d).append(batch.deviceId[i]).append(d)
+			.append(batch.datacenterId[i]).append(d).append(batch.hostId[i]).append(d)
+			.append(batch.vmId[i]).append(d).append(batch.vmType[i]).append(d)
+			.append(batch.taskType[i]).append(d).append(batch.taskLength[i]).append(d)
+			.append(batch.taskInputSize[i]).append(d).append(batch.taskOutputSize[i]).append(d)
+			.append(batch.taskStartTime[i]).append(d).append(batch.taskEndTime[i]).append(d);
+
+		if(batch.completed[i]) {
+			line.append(batch.networkDelay[i]).append(d)
+				.append(batch.wlanDelay[i]).append(d)
+				.append(batch.manDelay[i]).append(d)
+				.append(batch.wanDelay[i]).append(d)
+				.append(batch.gsmDelay[i]);
+		}
+		else {
+			line.append(batch.failureReason[i]);
+		}
+	}
+}
@@ -0,0 +1,281 @@
+/*
+ * Title:        EdgeCloudSim - Event Profiler
+ *
+ * Description:
+ * EventProfiler measures the wall-clock time spent on each event type
+ * processed by the simulation entities (SimManager, MobileDeviceManager)
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.boun.edgecloudsim.core.SimSettings;
+
+/**
+ * Optional per-event-type profiler of the simulation entities.
+ *
+ * <p>Each profiled entity owns an {@link EntityProfile}. The entity reads the
+ * timer before handling an event and reports the event tag afterwards; the
+ * profile keeps the event count, the cumulative wall-clock time and a
+ * logarithmic latency histogram of every tag. Tags are labelled with the names
+ * of the tag constants registered by the entity.</p>
+ *
+ * <p><b>Overhead:</b> when the profiler is disabled, {@link #startTimer()} and
+ * {@link EntityProfile#record(int, long)} only test a static flag, so the
+ * instrumentation can be left in place for production sweeps.</p>
+ *
+ * <p>The profiler is enabled by the event_profiler_enabled property. The report
+ * is written next to the SIMRESULT files as *_EVENT_PROFILE.log.</p>
+ *
+ * @see edu.boun.edgecloudsim.core.SimManager
+ * @see edu.boun.edgecloudsim.edge_client.MobileDeviceManager
+ */
+public class EventProfiler {
+	/** Number of histogram buckets; bucket i holds latencies within [2^(i-1), 2^i) ns */
+	private static final int NUM_OF_BUCKETS = 64;
+
+	/** Global flag controlling the measurements */
+	private static boolean enabled;
+
+	/** Singleton instance shared by the profiled entities */
+	private static EventProfiler singleton = new EventProfiler();
+
+	/** Profiles of the entities in creation order */
+	private List<EntityProfile> profiles;
+
+	private EventProfiler() {
+		profiles = new ArrayList<EntityProfile>();
+	}
+
+	/**
+	 * Returns the singleton instance of the profiler.
+	 */
+	public static EventProfiler getInstance() {
+		return singleton;
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Discards the profiles of the previous simulation.
+	 * Must be called before the profiled entities of a simulation are created.
+	 *
+	 * @param _enabled true if the events of the new simulation are measured
+	 */
+	public void reset(boolean _enabled) {
+		enabled = _enabled;
+		profiles = new ArrayList<EntityProfile>();
+	}
+
+	/**
+	 * Creates the profile of a simulation entity.
+	 *
+	 * @param entityName name of the entity used in the report
+	 * @return profile to be fed by the entity
+	 */
+	public EntityProfile createProfile(String entityName) {
+		EntityProfile profile = new EntityProfile(entityName);
+		profiles.add(profile);
+		return profile;
+	}
+
+	/**
+	 * Returns the start time of an event measurement; 0 if the profiler is disabled.
+	 */
+	public static long startTimer() {
+		return enabled ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Returns the number of events recorded by all profiles.
+	 */
+	public long getTotalEventCount() {
+		long totalCount = 0;
+		for(EntityProfile profile : profiles)
+			totalCount += profile.getTotalEventCount();
+		return totalCount;
+	}
+
+	/**
+	 * Writes the report of all profiles to the given file.
+	 *
+	 * <p>Each line describes one tag of an entity; the histogram column lists the
+	 * non-empty buckets as lowerBoundInNs:count pairs.</p>
+	 */
+	public void writeReport(File reportFile) throws IOException {
+		BufferedWriter bw = new BufferedWriter(new FileWriter(reportFile, false));
+		try {
+			bw.write("#auto generated file!");
+			bw.newLine();
+			bw.write("#entity;tag;tag_name;count;total_time(ms);share_in_entity(%);mean(ns);min(ns);p50(ns);p90(ns);p99(ns);max(ns);histogram");
+			bw.newLine();
+			for(EntityProfile profile : profiles)
+				profile.writeTo(bw);
+		}
+		finally {
+			bw.close();
+		}
+	}
+
+	/**
+	 * Measurements of the events processed by a single entity.
+	 */
+	public static class EntityProfile {
+		private final String entityName;
+
+		// per tag statistics; a tag is located by a linear scan since entities use a handful of tags
+		private int[] tags;
+		private String[] tagNames;
+		private long[] counts;
+		private long[] totalTimes;
+		private long[] minTimes;
+		private long[] maxTimes;
+		private long[][] histograms;
+		private int numOfTags;
+
+		private EntityProfile(String _entityName) {
+			entityName = _entityName;
+			tags = new int[0];
+			tagNames = new String[0];
+			counts = new long[0];
+			totalTimes = new long[0];
+			minTimes = new long[0];
+			maxTimes = new long[0];
+			histograms = new long[0][];
+			numOfTags = 0;
+		}
+
+		/**
+		 * Gives a readable name to an event tag of the entity.
+		 * Tags which are not registered are reported as TAG_&lt;tag&gt;.
+		 */
+		public void registerTag(int tag, String tagName) {
+			int index = indexOf(tag);
+			tagNames[index] = tagName;
+		}
+
+		/**
+		 * Records a processed event.
+		 *
+		 * @param tag tag of the processed event
+		 * @param startTime value returned by {@link EventProfiler#startTimer()} before the event was processed
+		 */
+		public void record(int tag, long startTime) {
+			if(!enabled)
+				return;
+
+			long elapsedTime = System.nanoTime() - startTime;
+			int index = indexOf(tag);
+			counts[index]++;
+			totalTimes[index] += elapsedTime;
+			minTimes[index] = Math.min(minTimes[index], elapsedTime);
+			maxTimes[index] = Math.max(maxTimes[index], elapsedTime);
+			histograms[index][getBucket(elapsedTime)]++;
+		}
+
+		/**
+		 * Returns the number of events recorded for all tags of the entity.
+		 */
+		public long getTotalEventCount() {
+			long totalCount = 0;
+			for(int i=0; i<numOfTags; i++)
+				totalCount += counts[i];
+			return totalCount;
+		}
+
+		private int indexOf(int tag) {
+			for(int i=0; i<numOfTags; i++)
+				if(tags[i] == tag)
+					return i;
+
+			int index = numOfTags++;
+			tags = Arrays.copyOf(tags, numOfTags);
+			tagNames = Arrays.copyOf(tagNames, numOfTags);
+			counts = Arrays.copyOf(counts, numOfTags);
+			totalTimes = Arrays.copyOf(totalTimes, numOfTags);
+			minTimes = Arrays.copyOf(minTimes, numOfTags);
+			maxTimes = Arrays.copyOf(maxTimes, numOfTags);
+			histograms = Arrays.copyOf(histograms, numOfTags);
+
+			tags[index] = tag;
+			tagNames[index] = "TAG_" + tag;
+			minTimes[index] = Long.MAX_VALUE;
+			histograms[index] = new long[NUM_OF_BUCKETS];
+			return index;
+		}
+
+		private void writeTo(BufferedWriter bw) throws IOException {
+			long entityTime = 0;
+			for(int i=0; i<numOfTags; i++)
+				entityTime += totalTimes[i];
+
+			for(int i=0; i<numOfTags; i++) {
+				//registered tags which never occurred are not reported
+				if(counts[i] == 0)
+					continue;
+
+				StringBuilder line = new StringBuilder();
+				line.append(entityName).append(SimSettings.DELIMITER)
+					.append(tags[i]).append(SimSettings.DELIMITER)
+					.append(tagNames[i]).append(SimSettings.DELIMITER)
+					.append(counts[i]).append(SimSettings.DELIMITER)
+					.append((double)totalTimes[i] / 1000000).append(SimSettings.DELIMITER)
+					.append(entityTime == 0 ? 0.0 : (double)totalTimes[i] * 100 / entityTime).append(SimSettings.DELIMITER)
+					.append((double)totalTimes[i] / counts[i]).append(SimSettings.DELIMITER)
+					.append(minTimes[i]).append(SimSettings.DELIMITER)
+					.append(Math.min(maxTimes[i], getPercentile(histograms[i], counts[i], 0.50))).append(SimSettings.DELIMITER)
+					.append(Math.min(maxTimes[i], getPercentile(histograms[i], counts[i], 0.90))).append(SimSettings.DELIMITER)
+					.append(Math.min(maxTimes[i], getPercentile(histograms[i], counts[i], 0.99))).append(SimSettings.DELIMITER)
+					.append(maxTimes[i]).append(SimSettings.DELIMITER);
+
+				boolean first = true;
+				for(int b=0; b<NUM_OF_BUCKETS; b++) {
+					if(histograms[i][b] == 0)
+						continue;
+					if(!first)
+						line.append(",");
+					line.append(getBucketLowerBound(b)).append(":").append(histograms[i][b]);
+					first = false;
+				}
+
+				bw.write(line.toString());
+				bw.newLine();
+			}
+		}
+	}
+
+	private static int getBucket(long elapsedTime) {
+		return elapsedTime <= 0 ? 0 : Math.min(NUM_OF_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(elapsedTime));
+	}
+
+	private static long getBucketLowerBound(int bucket) {
+		return bucket == 0 ? 0 : 1L << (bucket - 1);
+	}
+
+	/**
+	 * Estimates a percentile as the upper bound of the bucket containing it.
+	 * The caller limits the estimate with the observed maximum.
+	 */
+	private static long getPercentile(long[] histogram, long count, double percentile) {
+		long threshold = (long)Math.ceil(count * percentile);
+		long cumulative = 0;
+		for(int b=0; b<NUM_OF_BUCKETS; b++) {
+			cumulative += histogram[b];
+			if(cumulative >= threshold)
+				return b == NUM_OF_BUCKETS - 1 ? Long.MAX_VALUE : (1L << b) - 1;
+		}
+		return Long.MAX_VALUE;
+	}
+}
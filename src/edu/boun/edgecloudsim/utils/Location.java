@@ -35,10 +35,21 @@ package edu.boun.edgecloudsim.utils;
  * <p>Location equality is determined by coordinate matching only, allowing devices
  * at the same position to share network resources and experience similar conditions.</p>
  * 
+ * <p>A location can also be packed into a single long value, so that hot paths can
+ * pass locations around without creating objects (see {@link #pack(int, int, int, int)}).
+ * The packed form keeps the serving WLAN id in bits 48-63 (0..65535), the place type
+ * index in bits 40-47 (0..255), and the X and Y coordinates as signed 20-bit values in
+ * bits 20-39 and 0-19 (-524288..524287).</p>
+ * 
  * @see edu.boun.edgecloudsim.mobility.MobilityModel
  * @see edu.boun.edgecloudsim.network.NetworkModel
  */
 public class Location {
+	private static final int COORDINATE_BITS = 20;
+	private static final long COORDINATE_MASK = (1L << COORDINATE_BITS) - 1;
+	private static final int MIN_COORDINATE = -(1 << (COORDINATE_BITS - 1));
+	private static final int MAX_COORDINATE = (1 << (COORDINATE_BITS - 1)) - 1;
+
 	/** X-coordinate position in the simulation grid */
 	private int xPos;
 	
@@ -120,6 +131,114 @@ public class Location {
 	    return result;
 	}
 
+	/**
+	 * Returns a hash code consistent with {@link #equals(Object)}, which
+	 * compares the coordinates only.
+	 * 
+	 * @return hash code of the X,Y coordinates
+	 */
+	@Override
+	public int hashCode(){
+		return 31 * xPos + yPos;
+	}
+
+	/**
+	 * Returns the packed form of this location.
+	 * 
+	 * @return location packed into a long value
+	 * @see #pack(int, int, int, int)
+	 */
+	public long pack(){
+		return pack(placeTypeIndex, servingWlanId, xPos, yPos);
+	}
+
+	/**
+	 * Returns true if this location can be packed without losing information.
+	 * 
+	 * @see #isPackable(int, int, int, int)
+	 */
+	public boolean isPackable(){
+		return isPackable(placeTypeIndex, servingWlanId, xPos, yPos);
+	}
+
+	/**
+	 * Returns true if the given location parameters fit in their fields of the packed form.
+	 * 
+	 * <p>SimSettings checks the edge datacenter locations with this method when it
+	 * loads the edge devices configuration, so the hot paths can pack them without
+	 * checking again.</p>
+	 * 
+	 * @param _placeTypeIndex the type/category of the location
+	 * @param _servingWlanId the ID of the WLAN access point serving the location
+	 * @param _xPos the X-coordinate in the simulation grid
+	 * @param _yPos the Y-coordinate in the simulation grid
+	 * @return true if {@link #pack(int, int, int, int)} keeps all parameters
+	 */
+	public static boolean isPackable(int _placeTypeIndex, int _servingWlanId, int _xPos, int _yPos){
+		return (_placeTypeIndex & ~0xFF) == 0 && (_servingWlanId & ~0xFFFF) == 0 &&
+				_xPos >= MIN_COORDINATE && _xPos <= MAX_COORDINATE &&
+				_yPos >= MIN_COORDINATE && _yPos <= MAX_COORDINATE;
+	}
+
+	/**
+	 * Packs the given location parameters into a long value.
+	 * 
+	 * <p>The parameters are not checked here; a parameter that does not fit in
+	 * its field is truncated to the low bits of the field
+	 * (see {@link #isPackable(int, int, int, int)}).</p>
+	 * 
+	 * @param _placeTypeIndex the type/category of the location (0..255)
+	 * @param _servingWlanId the ID of the WLAN access point serving the location (0..65535)
+	 * @param _xPos the X-coordinate in the simulation grid (-524288..524287)
+	 * @param _yPos the Y-coordinate in the simulation grid (-524288..524287)
+	 * @return location packed into a long value
+	 */
+	public static long pack(int _placeTypeIndex, int _servingWlanId, int _xPos, int _yPos){
+		return ((long)(_servingWlanId & 0xFFFF) << 48) | ((long)(_placeTypeIndex & 0xFF) << 40) |
+				((_xPos & COORDINATE_MASK) << COORDINATE_BITS) | (_yPos & COORDINATE_MASK);
+	}
+
+	/**
+	 * Creates a Location object from its packed form.
+	 * 
+	 * @param packedLocation location packed by {@link #pack(int, int, int, int)}
+	 * @return the unpacked location
+	 */
+	public static Location unpack(long packedLocation){
+		return new Location(getPlaceTypeIndex(packedLocation), getServingWlanId(packedLocation),
+				getXPos(packedLocation), getYPos(packedLocation));
+	}
+
+	/** Returns the serving WLAN id of a packed location. */
+	public static int getServingWlanId(long packedLocation){
+		return (int)(packedLocation >>> 48);
+	}
+
+	/** Returns the place type index of a packed location. */
+	public static int getPlaceTypeIndex(long packedLocation){
+		return (int)(packedLocation >>> 40) & 0xFF;
+	}
+
+	/** Returns the X-coordinate of a packed location. */
+	public static int getXPos(long packedLocation){
+		// shift the 20-bit field to the top of the long, then sign extend it
+		return (int)((packedLocation << 24) >> 44);
+	}
+
+	/** Returns the Y-coordinate of a packed location. */
+	public static int getYPos(long packedLocation){
+		return (int)((packedLocation << 44) >> 44);
+	}
+
+	/**
+	 * Compares two packed locations like {@link #equals(Object)}, i.e. by their coordinates only.
+	 * 
+	 * @return true if both locations have identical X,Y coordinates, false otherwise
+	 */
+	public static boolean samePosition(long packedLocation, long otherPackedLocation){
+		return ((packedLocation ^ otherPackedLocation) & ((1L << 40) - 1)) == 0;
+	}
+
 	/**
 	 * Returns the WLAN access point ID serving this location.
 	 * 
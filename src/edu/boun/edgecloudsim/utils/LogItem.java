@@ -0,0 +1,292 @@
+/*
+ * Title:        EdgeCloudSim - Log Item
+ * 
+ * Description: 
+ * LogItem gives access to the record of a task that SimLogger keeps
+ * in a LogItemTable until the task is finished
+ * 
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import edu.boun.edgecloudsim.core.SimSettings;
+import edu.boun.edgecloudsim.core.SimSettings.NETWORK_DELAY_TYPES;
+import edu.boun.edgecloudsim.utils.SimLogger.NETWORK_ERRORS;
+
+/**
+ * Comprehensive logging record for individual task execution and performance metrics.
+ * 
+ * <p>LogItem maintains detailed information about a single task's lifecycle,
+ * including timing measurements, resource assignments, network delays, costs,
+ * and quality metrics. This class serves as the primary data structure for
+ * deep logging and detailed performance analysis.</p>
+ * 
+ * <p>The class tracks complete task execution from creation through completion
+ * or failure, enabling comprehensive post-simulation analysis of performance
+ * bottlenecks, resource utilization patterns, and quality of service metrics.</p>
+ * 
+ * <p>The fields are stored in the columns of a LogItemTable; a LogItem is a
+ * view on one slot of the table and is moved to another slot by the table.
+ * The table hands out a single view, so a LogItem must not be kept after the
+ * next call on its table.</p>
+ */
+class LogItem {
+	/** Table holding the fields of the tasks */
+	private final LogItemTable table;
+	
+	/** Slot of the task this view currently reads and writes */
+	private int slot;
+
+	LogItem(LogItemTable _table) {
+		table = _table;
+	}
+
+	void moveTo(int _slot) {
+		slot = _slot;
+	}
+	
+	public void taskStarted(double time) {
+		table.taskStartTime[slot] = time;
+		table.status[slot] = (byte)SimLogger.TASK_STATUS.UPLOADING.ordinal();
+		
+		if (time < SimSettings.getInstance().getWarmUpPeriod())
+			table.isInWarmUpPeriod[slot] = true;
+		else
+			table.isInWarmUpPeriod[slot] = false;
+	}
+	
+	public void setUploadDelay(double delay, NETWORK_DELAY_TYPES delayType) {
+		if(delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
+			table.lanUploadDelay[slot] = delay;
+		else if(delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
+			table.manUploadDelay[slot] = delay;
+		else if(delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
+			table.wanUploadDelay[slot] = delay;
+		else if(delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
+			table.gsmUploadDelay[slot] = delay;
+	}
+	
+	public void setDownloadDelay(double delay, NETWORK_DELAY_TYPES delayType) {
+		if(delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
+			table.lanDownloadDelay[slot] = delay;
+		else if(delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
+			table.manDownloadDelay[slot] = delay;
+		else if(delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
+			table.wanDownloadDelay[slot] = delay;
+		else if(delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
+			table.gsmDownloadDelay[slot] = delay;
+	}
+	
+	public void taskAssigned(int _datacenterId, int _hostId, int _vmId, int _vmType) {
+		table.status[slot] = (byte)SimLogger.TASK_STATUS.PROCESSING.ordinal();
+		table.datacenterId[slot] = _datacenterId;
+		table.hostId[slot] = _hostId;
+		table.vmId[slot] = _vmId;
+		table.vmType[slot] = _vmType;
+	}
+
+	public void taskExecuted() {
+		table.status[slot] = (byte)SimLogger.TASK_STATUS.DOWNLOADING.ordinal();
+	}
+
+	public void taskEnded(double time) {
+		table.taskEndTime[slot] = time;
+		table.status[slot] = (byte)SimLogger.TASK_STATUS.COMLETED.ordinal();
+	}
+
+	public void taskRejectedDueToVMCapacity(double time, int _vmType) {
+		table.vmType[slot] = _vmType;
+		table.taskEndTime[slot] = time;
+		table.status[slot] = (byte)SimLogger.TASK_STATUS.REJECTED_DUE_TO_VM_CAPACITY.ordinal();
+	}
+	
+	public void taskRejectedDueToWlanCoverage(double time, int _vmType) {
+		table.vmType[slot] = _vmType;
+		table.taskEndTime[slot] = time;
+		table.status[slot] = (byte)SimLogger.TASK_STATUS.REJECTED_DUE_TO_WLAN_COVERAGE.ordinal();
+	}
+
+	public void taskRejectedDueToBandwidth(double time, int _vmType, NETWORK_DELAY_TYPES delayType) {
+		table.vmType[slot] = _vmType;
+		table.taskEndTime[slot] = time;
+		table.status[slot] = (byte)SimLogger.TASK_STATUS.REJECTED_DUE_TO_BANDWIDTH.ordinal();
+		
+		if(delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
+			table.networkError[slot] = (byte)NETWORK_ERRORS.LAN_ERROR.ordinal();
+		else if(delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
+			table.networkError[slot] = (byte)NETWORK_ERRORS.MAN_ERROR.ordinal();
+		else if(delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
+			table.networkError[slot] = (byte)NETWORK_ERRORS.WAN_ERROR.ordinal();
+		else if(delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
+			table.networkError[slot] = (byte)NETWORK_ERRORS.GSM_ERROR.ordinal();
+	}
+
+	public void taskFailedDueToBandwidth(double time, NETWORK_DELAY_TYPES delayType) {
+		table.taskEndTime[slot] = time;
+		table.status[slot] = (byte)SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_BANDWIDTH.ordinal();
+		
+		if(delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
+			table.networkError[slot] = (byte)NETWORK_ERRORS.LAN_ERROR.ordinal();
+		else if(delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
+			table.networkError[slot] = (byte)NETWORK_ERRORS.MAN_ERROR.ordinal();
+		else if(delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
+			table.networkError[slot] = (byte)NETWORK_ERRORS.WAN_ERROR.ordinal();
+		else if(delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
+			table.networkError[slot] = (byte)NETWORK_ERRORS.GSM_ERROR.ordinal();
+	}
+
+	public void taskFailedDueToMobility(double time) {
+		table.taskEndTime[slot] = time;
+		table.status[slot] = (byte)SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_MOBILITY.ordinal();
+	}
+
+	public void setCost(double _bwCost, double _cpuCos) {
+		table.bwCost[slot] = _bwCost;
+		table.cpuCost[slot] = _cpuCos;
+	}
+	
+	public void setQoE(double qoe){
+		table.QoE[slot] = qoe;
+	}
+	
+	public void setOrchestratorOverhead(double overhead){
+		table.orchestratorOverhead[slot] = overhead;
+	}
+
+	public boolean isInWarmUpPeriod() {
+		return table.isInWarmUpPeriod[slot];
+	}
+
+	public double getCost() {
+		return table.bwCost[slot] + table.cpuCost[slot];
+	}
+
+	public double getQoE() {
+		return table.QoE[slot];
+	}
+
+	public double getOrchestratorOverhead() {
+		return table.orchestratorOverhead[slot];
+	}
+	
+	public double getNetworkUploadDelay(NETWORK_DELAY_TYPES delayType) {
+		double result = 0;
+		if(delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
+			result = table.lanUploadDelay[slot];
+		else if(delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
+			result = table.manUploadDelay[slot];
+		else if(delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
+			result = table.wanUploadDelay[slot];
+		else if(delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
+			result = table.gsmUploadDelay[slot];
+		
+		return result;
+	}
+
+	public double getNetworkDownloadDelay(NETWORK_DELAY_TYPES delayType) {
+		double result = 0;
+		if(delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
+			result = table.lanDownloadDelay[slot];
+		else if(delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
+			result = table.manDownloadDelay[slot];
+		else if(delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
+			result = table.wanDownloadDelay[slot];
+		else if(delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
+			result = table.gsmDownloadDelay[slot];
+		
+		return result;
+	}
+	
+	public double getNetworkDelay(NETWORK_DELAY_TYPES delayType){
+		double result = 0;
+		if(delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
+			result = table.lanDownloadDelay[slot] + table.lanUploadDelay[slot];
+		else if(delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
+			result = table.manDownloadDelay[slot] + table.manUploadDelay[slot];
+		else if(delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
+			result = table.wanDownloadDelay[slot] + table.wanUploadDelay[slot];
+		else if(delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
+			result = table.gsmDownloadDelay[slot] + table.gsmUploadDelay[slot];
+		
+		return result;
+	}
+	
+	public double getNetworkDelay(){
+		return  table.lanUploadDelay[slot] +
+				table.manUploadDelay[slot] +
+				table.wanUploadDelay[slot] +
+				table.gsmUploadDelay[slot] +
+				table.lanDownloadDelay[slot] +
+				table.manDownloadDelay[slot] +
+				table.wanDownloadDelay[slot] +
+				table.gsmDownloadDelay[slot];
+	}
+	
+	public double getServiceTime() {
+		return table.taskEndTime[slot] - table.taskStartTime[slot];
+	}
+
+	public SimLogger.TASK_STATUS getStatus() {
+		return LogItemTable.TASK_STATUS_VALUES[table.status[slot]];
+	}
+
+	public SimLogger.NETWORK_ERRORS getNetworkError() {
+		return LogItemTable.NETWORK_ERROR_VALUES[table.networkError[slot]];
+	}
+	
+	public int getVmType() {
+		return table.vmType[slot];
+	}
+
+	public int getTaskType() {
+		return table.taskType[slot];
+	}
+
+	public String toString(int taskId) {
+		String result = taskId + SimSettings.DELIMITER + table.deviceId[slot] + SimSettings.DELIMITER + table.datacenterId[slot] + SimSettings.DELIMITER + table.hostId[slot]
+				+ SimSettings.DELIMITER + table.vmId[slot] + SimSettings.DELIMITER + table.vmType[slot] + SimSettings.DELIMITER + table.taskType[slot]
+				+ SimSettings.DELIMITER + table.taskLenght[slot] + SimSettings.DELIMITER + table.taskInputType[slot] + SimSettings.DELIMITER
+				+ table.taskOutputSize[slot] + SimSettings.DELIMITER + table.taskStartTime[slot] + SimSettings.DELIMITER + table.taskEndTime[slot]
+				+ SimSettings.DELIMITER;
+
+		if (getStatus() == SimLogger.TASK_STATUS.COMLETED){
+			result += getNetworkDelay() + SimSettings.DELIMITER;
+			result += getNetworkDelay(NETWORK_DELAY_TYPES.WLAN_DELAY) + SimSettings.DELIMITER;
+			result += getNetworkDelay(NETWORK_DELAY_TYPES.MAN_DELAY) + SimSettings.DELIMITER;
+			result += getNetworkDelay(NETWORK_DELAY_TYPES.WAN_DELAY) + SimSettings.DELIMITER;
+			result += getNetworkDelay(NETWORK_DELAY_TYPES.GSM_DELAY);
+		}
+		else
+			result += getFailureReason();
+		return result;
+	}
+
+	/**
+	 * Hands the fields written by toString(taskId) to a deep log writer.
+	 */
+	void writeTo(DeepLogWriter writer, int taskId) {
+		writer.append(getStatus() == SimLogger.TASK_STATUS.COMLETED, taskId, table.deviceId[slot], table.datacenterId[slot], table.hostId[slot], table.vmId[slot],
+				table.vmType[slot], table.taskType[slot], table.taskLenght[slot], table.taskInputType[slot], table.taskOutputSize[slot], table.taskStartTime[slot], table.taskEndTime[slot],
+				getNetworkDelay(), getNetworkDelay(NETWORK_DELAY_TYPES.WLAN_DELAY),
+				getNetworkDelay(NETWORK_DELAY_TYPES.MAN_DELAY), getNetworkDelay(NETWORK_DELAY_TYPES.WAN_DELAY),
+				getNetworkDelay(NETWORK_DELAY_TYPES.GSM_DELAY), getFailureReason());
+	}
+
+	// failure reason written to the deep log of a failed task
+	private int getFailureReason() {
+		if (getStatus() == SimLogger.TASK_STATUS.REJECTED_DUE_TO_VM_CAPACITY)
+			return 1; // failure reason 1
+		else if (getStatus() == SimLogger.TASK_STATUS.REJECTED_DUE_TO_BANDWIDTH)
+			return 2; // failure reason 2
+		else if (getStatus() == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_BANDWIDTH)
+			return 3; // failure reason 3
+		else if (getStatus() == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_MOBILITY)
+			return 4; // failure reason 4
+		else if (getStatus() == SimLogger.TASK_STATUS.REJECTED_DUE_TO_WLAN_COVERAGE)
+			return 5; // failure reason 5
+		else
+			return 0; // default failure reason
+	}
+}
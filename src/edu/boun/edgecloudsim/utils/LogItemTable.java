@@ -0,0 +1,317 @@
+/*
+ * Title:        EdgeCloudSim - Log Item Table
+ *
+ * Description:
+ * LogItemTable keeps the records of the tasks that are not finished yet
+ * in growable primitive columns, so that SimLogger does not allocate an
+ * object or box the task id for each task it tracks
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import java.util.Arrays;
+
+/**
+ * Slab of in-flight task records, indexed by slot.
+ *
+ * Each field of LogItem is a column of this table; a task occupies one slot
+ * from addLog until its record is removed by recordLog, and the freed slot is
+ * used by a later task. The number of slots therefore follows the number of
+ * tasks in flight, not the number of tasks of the simulation.
+ *
+ * Task ids are mapped to slots by an open addressing table of int values.
+ * The task ids given by the mobile device managers are consecutive, so the
+ * id itself is used as hash value and the tasks in flight fall into
+ * consecutive buckets.
+ *
+ * The LogItem returned by add(), get() and remove() is a view on one slot of
+ * the table, shared by all calls; it is valid until the next call. The view
+ * returned by remove() reads the freed slot, whose fields are kept until the
+ * slot is used by the next add().
+ */
+class LogItemTable {
+	private static final int INITIAL_CAPACITY = 1024;
+
+	static final SimLogger.TASK_STATUS[] TASK_STATUS_VALUES = SimLogger.TASK_STATUS.values();
+	static final SimLogger.NETWORK_ERRORS[] NETWORK_ERROR_VALUES = SimLogger.NETWORK_ERRORS.values();
+
+	// columns of the LogItem fields; enums are stored by ordinal
+	byte[] status;
+	byte[] networkError;
+	int[] deviceId;
+	int[] datacenterId;
+	int[] hostId;
+	int[] vmId;
+	int[] vmType;
+	int[] taskType;
+	int[] taskLenght;
+	int[] taskInputType;
+	int[] taskOutputSize;
+	double[] taskStartTime;
+	double[] taskEndTime;
+	double[] lanUploadDelay;
+	double[] manUploadDelay;
+	double[] wanUploadDelay;
+	double[] gsmUploadDelay;
+	double[] lanDownloadDelay;
+	double[] manDownloadDelay;
+	double[] wanDownloadDelay;
+	double[] gsmDownloadDelay;
+	double[] bwCost;
+	double[] cpuCost;
+	double[] QoE;
+	double[] orchestratorOverhead;
+	boolean[] isInWarmUpPeriod;
+
+	private int[] taskIdOfSlot;
+	private boolean[] slotUsed;
+	private int[] freeSlots;      // stack of the freed slots below numOfSlots
+	private int numOfFreeSlots;
+	private int numOfSlots;       // slots at and above this index were never used
+	private int[] buckets;        // slot + 1 of the task hashed to the bucket, 0 if the bucket is empty
+	private int bucketMask;
+
+	private final LogItem view;
+
+	LogItemTable() {
+		allocate(INITIAL_CAPACITY);
+		view = new LogItem(this);
+	}
+
+	/**
+	 * Adds the record of a new task; a record with the same task id is replaced.
+	 *
+	 * @return view on the record of the task, valid until the next call on this table
+	 */
+	LogItem add(int taskId, int _deviceId, int _taskType, int _taskLenght, int _taskInputType, int _taskOutputSize) {
+		int slot = findSlot(taskId);
+		if(slot < 0) {
+			slot = allocateSlot();
+			taskIdOfSlot[slot] = taskId;
+			slotUsed[slot] = true;
+			insertBucket(slot);
+		}
+
+		status[slot] = (byte)SimLogger.TASK_STATUS.CREATED.ordinal();
+		networkError[slot] = (byte)SimLogger.NETWORK_ERRORS.NONE.ordinal();
+		deviceId[slot] = _deviceId;
+		datacenterId[slot] = 0;
+		hostId[slot] = 0;
+		vmId[slot] = 0;
+		vmType[slot] = 0;
+		taskType[slot] = _taskType;
+		taskLenght[slot] = _taskLenght;
+		taskInputType[slot] = _taskInputType;
+		taskOutputSize[slot] = _taskOutputSize;
+		taskStartTime[slot] = 0;
+		taskEndTime[slot] = 0;
+		lanUploadDelay[slot] = 0;
+		manUploadDelay[slot] = 0;
+		wanUploadDelay[slot] = 0;
+		gsmUploadDelay[slot] = 0;
+		lanDownloadDelay[slot] = 0;
+		manDownloadDelay[slot] = 0;
+		wanDownloadDelay[slot] = 0;
+		gsmDownloadDelay[slot] = 0;
+		bwCost[slot] = 0;
+		cpuCost[slot] = 0;
+		QoE[slot] = 0;
+		orchestratorOverhead[slot] = 0;
+		isInWarmUpPeriod[slot] = false;
+
+		view.moveTo(slot);
+		return view;
+	}
+
+	/**
+	 * Returns a view on the record of a task, or null if there is no such task.
+	 * The view is shared by all calls and is moved by the next call on this table,
+	 * so it must not be kept.
+	 */
+	LogItem get(int taskId) {
+		int slot = findSlot(taskId);
+		if(slot < 0)
+			return null;
+		view.moveTo(slot);
+		return view;
+	}
+
+	/**
+	 * Removes the record of a task and frees its slot.
+	 *
+	 * The returned view reads the freed slot; it is only valid until the next
+	 * call on this table, after which the slot may hold another task.
+	 *
+	 * @return view on the removed record, or null if there is no such task
+	 */
+	LogItem remove(int taskId) {
+		int bucket = findBucket(taskId);
+		if(bucket < 0)
+			return null;
+
+		int slot = buckets[bucket] - 1;
+		removeBucket(bucket);
+		slotUsed[slot] = false;
+		freeSlots[numOfFreeSlots++] = slot;
+
+		view.moveTo(slot);
+		return view;
+	}
+
+	/**
+	 * Returns the number of slots that may hold a record; the index bound of getItemAt().
+	 */
+	int getNumOfSlots() {
+		return numOfSlots;
+	}
+
+	/**
+	 * Returns a view on the record in a slot, or null if the slot is free.
+	 * The view is valid until the next call on this table.
+	 */
+	LogItem getItemAt(int slot) {
+		if(!slotUsed[slot])
+			return null;
+		view.moveTo(slot);
+		return view;
+	}
+
+	/**
+	 * Removes all records; the allocated columns are kept for the next simulation.
+	 */
+	void clear() {
+		Arrays.fill(slotUsed, 0, numOfSlots, false);
+		Arrays.fill(buckets, 0);
+		numOfSlots = 0;
+		numOfFreeSlots = 0;
+	}
+
+	private int findSlot(int taskId) {
+		int bucket = findBucket(taskId);
+		return bucket < 0 ? -1 : buckets[bucket] - 1;
+	}
+
+	private int findBucket(int taskId) {
+		int bucket = taskId & bucketMask;
+		while(buckets[bucket] != 0) {
+			if(taskIdOfSlot[buckets[bucket] - 1] == taskId)
+				return bucket;
+			bucket = (bucket + 1) & bucketMask;
+		}
+		return -1;
+	}
+
+	private void insertBucket(int slot) {
+		int bucket = taskIdOfSlot[slot] & bucketMask;
+		while(buckets[bucket] != 0)
+			bucket = (bucket + 1) & bucketMask;
+		buckets[bucket] = slot + 1;
+	}
+
+	// Empties a bucket and moves the following entries of its probe sequence back, so no entry becomes unreachable
+	private void removeBucket(int bucket) {
+		int hole = bucket;
+		int next = bucket;
+		while(true) {
+			next = (next + 1) & bucketMask;
+			if(buckets[next] == 0)
+				break;
+
+			int home = taskIdOfSlot[buckets[next] - 1] & bucketMask;
+			// the entry stays if its home bucket lies cyclically in (hole, next]
+			boolean stays = (hole <= next) ? (hole < home && home <= next) : (hole < home || home <= next);
+			if(!stays) {
+				buckets[hole] = buckets[next];
+				hole = next;
+			}
+		}
+		buckets[hole] = 0;
+	}
+
+	private int allocateSlot() {
+		if(numOfFreeSlots > 0)
+			return freeSlots[--numOfFreeSlots];
+
+		if(numOfSlots == taskIdOfSlot.length)
+			grow();
+		return numOfSlots++;
+	}
+
+	// Doubles the number of slots; the buckets are rebuilt for the larger table
+	private void grow() {
+		int capacity = 2 * taskIdOfSlot.length;
+		status = Arrays.copyOf(status, capacity);
+		networkError = Arrays.copyOf(networkError, capacity);
+		deviceId = Arrays.copyOf(deviceId, capacity);
+		datacenterId = Arrays.copyOf(datacenterId, capacity);
+		hostId = Arrays.copyOf(hostId, capacity);
+		vmId = Arrays.copyOf(vmId, capacity);
+		vmType = Arrays.copyOf(vmType, capacity);
+		taskType = Arrays.copyOf(taskType, capacity);
+		taskLenght = Arrays.copyOf(taskLenght, capacity);
+		taskInputType = Arrays.copyOf(taskInputType, capacity);
+		taskOutputSize = Arrays.copyOf(taskOutputSize, capacity);
+		taskStartTime = Arrays.copyOf(taskStartTime, capacity);
+		taskEndTime = Arrays.copyOf(taskEndTime, capacity);
+		lanUploadDelay = Arrays.copyOf(lanUploadDelay, capacity);
+		manUploadDelay = Arrays.copyOf(manUploadDelay, capacity);
+		wanUploadDelay = Arrays.copyOf(wanUploadDelay, capacity);
+		gsmUploadDelay = Arrays.copyOf(gsmUploadDelay, capacity);
+		lanDownloadDelay = Arrays.copyOf(lanDownloadDelay, capacity);
+		manDownloadDelay = Arrays.copyOf(manDownloadDelay, capacity);
+		wanDownloadDelay = Arrays.copyOf(wanDownloadDelay, capacity);
+		gsmDownloadDelay = Arrays.copyOf(gsmDownloadDelay, capacity);
+		bwCost = Arrays.copyOf(bwCost, capacity);
+		cpuCost = Arrays.copyOf(cpuCost, capacity);
+		QoE = Arrays.copyOf(QoE, capacity);
+		orchestratorOverhead = Arrays.copyOf(orchestratorOverhead, capacity);
+		isInWarmUpPeriod = Arrays.copyOf(isInWarmUpPeriod, capacity);
+		taskIdOfSlot = Arrays.copyOf(taskIdOfSlot, capacity);
+		slotUsed = Arrays.copyOf(slotUsed, capacity);
+		freeSlots = Arrays.copyOf(freeSlots, capacity);
+
+		// at most half of the buckets are used
+		buckets = new int[2 * capacity];
+		bucketMask = buckets.length - 1;
+		for(int slot=0; slot<numOfSlots; slot++)
+			if(slotUsed[slot])
+				insertBucket(slot);
+	}
+
+	private void allocate(int capacity) {
+		status = new byte[capacity];
+		networkError = new byte[capacity];
+		deviceId = new int[capacity];
+		datacenterId = new int[capacity];
+		hostId = new int[capacity];
+		vmId = new int[capacity];
+		vmType = new int[capacity];
+		taskType = new int[capacity];
+		taskLenght = new int[capacity];
+		taskInputType = new int[capacity];
+		taskOutputSize = new int[capacity];
+		taskStartTime = new double[capacity];
+		taskEndTime = new double[capacity];
+		lanUploadDelay = new double[capacity];
+		manUploadDelay = new double[capacity];
+		wanUploadDelay = new double[capacity];
+		gsmUploadDelay = new double[capacity];
+		lanDownloadDelay = new double[capacity];
+		manDownloadDelay = new double[capacity];
+		wanDownloadDelay = new double[capacity];
+		gsmDownloadDelay = new double[capacity];
+		bwCost = new double[capacity];
+		cpuCost = new double[capacity];
+		QoE = new double[capacity];
+		orchestratorOverhead = new double[capacity];
+		isInWarmUpPeriod = new boolean[capacity];
+		taskIdOfSlot = new int[capacity];
+		slotUsed = new boolean[capacity];
+		freeSlots = new int[capacity];
+		buckets = new int[2 * capacity];
+		bucketMask = buckets.length - 1;
+	}
+}
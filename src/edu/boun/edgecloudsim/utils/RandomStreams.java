@@ -0,0 +1,101 @@
+/*
+ * Title:        EdgeCloudSim - Random Streams
+ *
+ * Description:
+ * RandomStreams derives independent and reproducible random number
+ * streams for each mobile device and simulation component
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import java.util.SplittableRandom;
+
+/**
+ * Provides per-device random number streams keyed by a root seed.
+ *
+ * <p>Drawing every device's workload and mobility timeline from the shared
+ * {@link SimUtils#RNG} forces the generation to run serially, since the values a
+ * device receives depend on how many values the previous devices consumed.
+ * RandomStreams instead derives a separate {@link SplittableRandom} from
+ * (root seed, stream type, device id). A device stream never depends on the
+ * other devices, so the devices can be generated in parallel and the result is
+ * identical for any number of threads.</p>
+ *
+ * <p><b>Usage:</b>
+ * <ul>
+ *   <li>Create one instance per model initialization via {@link SimUtils#createRandomStreams()}</li>
+ *   <li>Request the stream of a device with {@link #getDeviceStream(STREAM_TYPES, int)}</li>
+ *   <li>A stream must only be used by a single thread</li>
+ * </ul></p>
+ *
+ * @see edu.boun.edgecloudsim.utils.SimUtils
+ */
+public class RandomStreams {
+	/** Independent stream types; each component of the workload gets its own stream */
+	public static enum STREAM_TYPES { TASK_TYPE, TASK_ARRIVAL, TASK_SIZE, MOBILITY }
+
+	/** Odd constant of the golden ratio, used to separate stream keys */
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	private final long rootSeed;
+
+	/**
+	 * Creates the stream family of the given root seed.
+	 *
+	 * @param _rootSeed seed from which all device streams are derived
+	 */
+	public RandomStreams(long _rootSeed) {
+		rootSeed = _rootSeed;
+	}
+
+	/**
+	 * Returns a new stream for the given device and stream type.
+	 *
+	 * <p>Calling this method twice with the same arguments returns two streams
+	 * producing the same sequence.</p>
+	 *
+	 * @param streamType component which consumes the stream
+	 * @param deviceId id of the mobile device
+	 * @return random stream of the device
+	 */
+	public SplittableRandom getDeviceStream(STREAM_TYPES streamType, int deviceId) {
+		long key = mix64(rootSeed + GOLDEN_GAMMA * (streamType.ordinal() + 1));
+		key = mix64(key + GOLDEN_GAMMA * ((long)deviceId + 1));
+		return new SplittableRandom(key);
+	}
+
+	/**
+	 * Samples an exponential distribution with the given mean (inverse transform).
+	 */
+	public static double nextExponential(SplittableRandom rng, double mean) {
+		return -mean * Math.log1p(-rng.nextDouble());
+	}
+
+	/**
+	 * Returns a random integer within [start, end]; counterpart of SimUtils.getRandomNumber
+	 */
+	public static int nextInt(SplittableRandom rng, int start, int end) {
+		long range = (long)end - (long)start + 1;
+		long fraction = (long)(range * rng.nextDouble());
+		return (int)(fraction + start);
+	}
+
+	/**
+	 * Returns a random double within [start, end]; counterpart of SimUtils.getRandomDoubleNumber
+	 */
+	public static double nextDouble(SplittableRandom rng, double start, double end) {
+		double range = end - start;
+		double fraction = (range * rng.nextDouble());
+		return (fraction + start);
+	}
+
+	//SplitMix64 finalizer
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Title:        EdgeCloudSim - Result Stream Factory
+ *
+ * Description:
+ * ResultStreamFactory opens the output streams of the result files
+ * written by SimLogger, so that the files can be compressed while they
+ * are written instead of being compressed by a post-run archive step
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Opens the output stream of a result file.
+ *
+ * SimLogger asks the factory for the stream of each result file and appends
+ * the file extension of the factory to the file name. The built-in factories
+ * are selected by the result_file_compression property; other compressors
+ * can be plugged in by SimLogger.setResultStreamFactory().
+ */
+public interface ResultStreamFactory {
+	/** buffer size of the built-in result streams */
+	public static final int BUFFER_SIZE = 1 << 16;
+
+	/** writes the result files as plain text, as EdgeCloudSim always did */
+	public static final ResultStreamFactory NONE = new ResultStreamFactory() {
+		@Override
+		public String getFileExtension() {
+			return "";
+		}
+
+		@Override
+		public OutputStream create(File file) throws IOException {
+			return new BufferedOutputStream(new FileOutputStream(file, true), BUFFER_SIZE);
+		}
+	};
+
+	/** writes the result files gzip compressed; readable by gunzip, zcat, MATLAB gunzip and Python gzip */
+	public static final ResultStreamFactory GZIP = new ResultStreamFactory() {
+		@Override
+		public String getFileExtension() {
+			return ".gz";
+		}
+
+		@Override
+		public OutputStream create(File file) throws IOException {
+			// appending to an existing file adds a gzip member, which gunzip concatenates
+			return new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(file, true), BUFFER_SIZE), BUFFER_SIZE);
+		}
+	};
+
+	/**
+	 * Returns the extension appended to the names of the result files, e.g. ".gz".
+	 */
+	public String getFileExtension();
+
+	/**
+	 * Opens a result file for appending.
+	 *
+	 * @param file result file, including the extension of the factory
+	 * @return the stream; closing it completes the file
+	 * @throws IOException if the file cannot be opened
+	 */
+	public OutputStream create(File file) throws IOException;
+
+	/**
+	 * Returns the built-in factory of a result_file_compression value.
+	 *
+	 * @param compression "none" or "gzip", case insensitive
+	 * @return the factory, or null if the value is unknown
+	 */
+	public static ResultStreamFactory forName(String compression) {
+		if("none".equalsIgnoreCase(compression))
+			return NONE;
+		if("gzip".equalsIgnoreCase(compression))
+			return GZIP;
+		return null;
+	}
+}
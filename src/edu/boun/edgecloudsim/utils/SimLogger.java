@@ -31,17 +31,18 @@ package edu.boun.edgecloudsim.utils;
 
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
 import java.util.LinkedList;
-import java.util.Map;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 
 import edu.boun.edgecloudsim.core.SimManager;
 import edu.boun.edgecloudsim.core.SimSettings;
 import edu.boun.edgecloudsim.core.SimSettings.NETWORK_DELAY_TYPES;
+import edu.boun.edgecloudsim.mobility.MobilityModel;
+import edu.boun.edgecloudsim.mobility.OccupancyTimeline;
 import edu.boun.edgecloudsim.utils.SimLogger.NETWORK_ERRORS;
 
 /**
@@ -149,8 +150,8 @@ public class SimLogger {
 	/** Directory path for simulation output files */
 	private String outputFolder;
 	
-	/** Map storing detailed task event information for deep logging */
-	private Map<Integer, LogItem> taskMap;
+	/** Records of the tasks that are not finished yet, indexed by task id */
+	private LogItemTable taskTable;
 	
 	/** List tracking VM computational load over time */
 	private LinkedList<VmLoadLogItem> vmLoadList;
@@ -158,15 +159,23 @@ public class SimLogger {
 	/** List tracking access point network delays over time */
 	private LinkedList<ApDelayLogItem> apDelayList;
 
+	/** Stream factory set by the application; overrides the result_file_compression setting if not null */
+	private static ResultStreamFactory customResultStreamFactory = null;
+
+	/** Stream factory of the result files of the current simulation */
+	private ResultStreamFactory resultStreamFactory;
+
+	/** True if the task, VM load and AP delay result files are written in BinaryLogFormat */
+	private boolean binaryResultFiles;
+
 	/** Singleton instance ensuring consistent logging across simulation components */
 	private static SimLogger singleton = new SimLogger();
 	
 	/** Number of application types defined in simulation configuration */
 	private int numOfAppTypes;
 	
-	private File successFile = null, failFile = null;
-	private FileWriter successFW = null, failFW = null;
-	private BufferedWriter successBW = null, failBW = null;
+	/** Background writer of the deep log files; null if deep file logging is disabled */
+	private DeepLogWriter deepLogWriter = null;
 
 	// extract following values for each app type.
 	// last index is average of all app types
@@ -308,6 +317,45 @@ public class SimLogger {
 		return outputFolder;
 	}
 
+	/**
+	 * Sets the stream factory of the result files, e.g. to plug in a compressor
+	 * which is not built in; null restores the result_file_compression setting.
+	 * 
+	 * @param factory the factory used by the next simulations
+	 */
+	public static void setResultStreamFactory(ResultStreamFactory factory) {
+		customResultStreamFactory = factory;
+	}
+
+	/**
+	 * Opens a result file of the current simulation for appending.
+	 * 
+	 * @param name file name without the prefix of the simulation, e.g. "SUCCESS.log"
+	 * @return the writer of the file
+	 * @throws IOException if the file cannot be opened
+	 */
+	private BufferedWriter openResultFile(String name) throws IOException {
+		File file = new File(outputFolder, filePrefix + "_" + name + resultStreamFactory.getFileExtension());
+		return new BufferedWriter(new OutputStreamWriter(resultStreamFactory.create(file)));
+	}
+
+	/**
+	 * Creates a binary result file of the current simulation. An existing file is
+	 * replaced, since a binary file holds the header of one simulation only.
+	 * 
+	 * @param name file name without the prefix of the simulation and the extension, e.g. "SUCCESS"
+	 * @param type record type of the file
+	 * @param numOfColumns number of access points for the AP delay files, 0 otherwise
+	 * @return the writer of the file
+	 * @throws IOException if the file cannot be created
+	 */
+	private BinaryLogWriter openBinaryResultFile(String name, BinaryLogFormat.RECORD_TYPE type, int numOfColumns) throws IOException {
+		File file = new File(outputFolder, filePrefix + "_" + name + BinaryLogFormat.FILE_EXTENSION + resultStreamFactory.getFileExtension());
+		if (file.exists() && !file.delete())
+			throw new IOException("file cannot be deleted: " + file.getAbsolutePath());
+		return new BinaryLogWriter(resultStreamFactory.create(file), type, numOfColumns);
+	}
+
 	/**
 	 * Helper method to append a line to a buffered writer with proper formatting.
 	 * 
@@ -370,24 +418,37 @@ public class SimLogger {
 		startTime = System.currentTimeMillis();
 		filePrefix = fileName;
 		outputFolder = outFolder;
-		taskMap = new HashMap<Integer, LogItem>();
+		taskTable = new LogItemTable();
 		vmLoadList = new LinkedList<VmLoadLogItem>();
 		apDelayList = new LinkedList<ApDelayLogItem>();
 		
 		numOfAppTypes = SimSettings.getInstance().getTaskLookUpTable().length;
+
+		// the compression name is validated by SimSettings.initialize()
+		resultStreamFactory = customResultStreamFactory;
+		if (resultStreamFactory == null)
+			resultStreamFactory = ResultStreamFactory.forName(SimSettings.getInstance().getResultFileCompression());
+
+		// the format name is validated by SimSettings.initialize(), anything but binary is text
+		binaryResultFiles = SimSettings.getInstance().getResultFileFormat().equalsIgnoreCase("binary");
 		
 		if (SimSettings.getInstance().getDeepFileLoggingEnabled()) {
 			try {
-				successFile = new File(outputFolder, filePrefix + "_SUCCESS.log");
-				successFW = new FileWriter(successFile, true);
-				successBW = new BufferedWriter(successFW);
+				// the task records are written on a background thread until simStopped()
+				if (binaryResultFiles) {
+					deepLogWriter = new DeepLogWriter(
+							openBinaryResultFile("SUCCESS", BinaryLogFormat.RECORD_TYPE.SUCCESS, 0),
+							openBinaryResultFile("FAIL", BinaryLogFormat.RECORD_TYPE.FAIL, 0));
+				}
+				else {
+					BufferedWriter successBW = openResultFile("SUCCESS.log");
+					BufferedWriter failBW = openResultFile("FAIL.log");
 
-				failFile = new File(outputFolder, filePrefix + "_FAIL.log");
-				failFW = new FileWriter(failFile, true);
-				failBW = new BufferedWriter(failFW);
-				
-				appendToFile(successBW, "#auto generated file!");
-				appendToFile(failBW, "#auto generated file!");
+					appendToFile(successBW, "#auto generated file!");
+					appendToFile(failBW, "#auto generated file!");
+
+					deepLogWriter = new DeepLogWriter(successBW, failBW);
+				}
 			} catch (IOException e) {
 				e.printStackTrace();
 				System.exit(1);
@@ -466,7 +527,7 @@ public class SimLogger {
 	 */
 	public void addLog(int deviceId, int taskId, int taskType,
 			int taskLenght, int taskInputType, int taskOutputSize) {
-		taskMap.put(taskId, new LogItem(deviceId, taskType, taskLenght, taskInputType, taskOutputSize));
+		taskTable.add(taskId, deviceId, taskType, taskLenght, taskInputType, taskOutputSize);
 	}
 
 	/**
@@ -476,7 +537,7 @@ public class SimLogger {
 	 * @param time simulation time when task processing begins
 	 */
 	public void taskStarted(int taskId, double time) {
-		taskMap.get(taskId).taskStarted(time);
+		taskTable.get(taskId).taskStarted(time);
 	}
 
 	/**
@@ -487,7 +548,7 @@ public class SimLogger {
 	 * @param delayType type of network segment causing the delay
 	 */
 	public void setUploadDelay(int taskId, double delay, NETWORK_DELAY_TYPES delayType) {
-		taskMap.get(taskId).setUploadDelay(delay, delayType);
+		taskTable.get(taskId).setUploadDelay(delay, delayType);
 	}
 
 	/**
@@ -498,7 +559,7 @@ public class SimLogger {
 	 * @param delayType type of network segment causing the delay
 	 */
 	public void setDownloadDelay(int taskId, double delay, NETWORK_DELAY_TYPES delayType) {
-		taskMap.get(taskId).setDownloadDelay(delay, delayType);
+		taskTable.get(taskId).setDownloadDelay(delay, delayType);
 	}
 	
 	/**
@@ -511,7 +572,7 @@ public class SimLogger {
 	 * @param vmType type/tier of the processing environment (cloud/edge/mobile)
 	 */
 	public void taskAssigned(int taskId, int datacenterId, int hostId, int vmId, int vmType) {
-		taskMap.get(taskId).taskAssigned(datacenterId, hostId, vmId, vmType);
+		taskTable.get(taskId).taskAssigned(datacenterId, hostId, vmId, vmType);
 	}
 
 	/**
@@ -520,7 +581,7 @@ public class SimLogger {
 	 * @param taskId unique identifier for the task
 	 */
 	public void taskExecuted(int taskId) {
-		taskMap.get(taskId).taskExecuted();
+		taskTable.get(taskId).taskExecuted();
 	}
 
 	/**
@@ -534,7 +595,7 @@ public class SimLogger {
 	 * @param time simulation time when task completed
 	 */
 	public void taskEnded(int taskId, double time) {
-		taskMap.get(taskId).taskEnded(time);
+		taskTable.get(taskId).taskEnded(time);
 		recordLog(taskId);
 	}
 
@@ -546,7 +607,7 @@ public class SimLogger {
 	 * @param vmType type of VM that rejected the task (cloud/edge/mobile)
 	 */
 	public void rejectedDueToVMCapacity(int taskId, double time, int vmType) {
-		taskMap.get(taskId).taskRejectedDueToVMCapacity(time, vmType);
+		taskTable.get(taskId).taskRejectedDueToVMCapacity(time, vmType);
 		recordLog(taskId);
 	}
 
@@ -558,7 +619,7 @@ public class SimLogger {
 	 * @param vmType intended VM type for the rejected task
 	 */
     public void rejectedDueToWlanCoverage(int taskId, double time, int vmType) {
-    	taskMap.get(taskId).taskRejectedDueToWlanCoverage(time, vmType);
+    	taskTable.get(taskId).taskRejectedDueToWlanCoverage(time, vmType);
 		recordLog(taskId);
     }
     
@@ -571,7 +632,7 @@ public class SimLogger {
      * @param delayType network segment that caused the bandwidth limitation
      */
 	public void rejectedDueToBandwidth(int taskId, double time, int vmType, NETWORK_DELAY_TYPES delayType) {
-		taskMap.get(taskId).taskRejectedDueToBandwidth(time, vmType, delayType);
+		taskTable.get(taskId).taskRejectedDueToBandwidth(time, vmType, delayType);
 		recordLog(taskId);
 	}
 
@@ -583,7 +644,7 @@ public class SimLogger {
 	 * @param delayType network segment that caused the bandwidth failure
 	 */
 	public void failedDueToBandwidth(int taskId, double time, NETWORK_DELAY_TYPES delayType) {
-		taskMap.get(taskId).taskFailedDueToBandwidth(time, delayType);
+		taskTable.get(taskId).taskFailedDueToBandwidth(time, delayType);
 		recordLog(taskId);
 	}
 
@@ -594,7 +655,7 @@ public class SimLogger {
 	 * @param time simulation time when mobility failure occurred
 	 */
 	public void failedDueToMobility(int taskId, double time) {
-		taskMap.get(taskId).taskFailedDueToMobility(time);
+		taskTable.get(taskId).taskFailedDueToMobility(time);
 		recordLog(taskId);
 	}
 
@@ -605,7 +666,7 @@ public class SimLogger {
 	 * @param QoE quality of experience score
 	 */
 	public void setQoE(int taskId, double QoE){
-		taskMap.get(taskId).setQoE(QoE);
+		taskTable.get(taskId).setQoE(QoE);
 	}
 	
 	/**
@@ -615,7 +676,7 @@ public class SimLogger {
 	 * @param overhead orchestration overhead in seconds
 	 */
 	public void setOrchestratorOverhead(int taskId, double overhead){
-		taskMap.get(taskId).setOrchestratorOverhead(overhead);
+		taskTable.get(taskId).setOrchestratorOverhead(overhead);
 	}
 
 	/**
@@ -649,7 +710,21 @@ public class SimLogger {
 		if(SimSettings.getInstance().getApDelayLogInterval() != 0)
 			apDelayList.add(new ApDelayLogItem(time, apUploadDelays, apDownloadDelays));
 	}
-	
+
+	/**
+	 * Writes the per event type profile of the simulation entities.
+	 *
+	 * <p>The report is saved next to the result files as *_EVENT_PROFILE.log.
+	 * Nothing is written if file logging or the event profiler is disabled.</p>
+	 *
+	 * @throws IOException if file writing operations fail
+	 * @see EventProfiler
+	 */
+	public void saveEventProfile() throws IOException {
+		if (fileLogEnabled && EventProfiler.isEnabled())
+			EventProfiler.getInstance().writeReport(new File(outputFolder, filePrefix + "_EVENT_PROFILE.log"));
+	}
+
 	/**
 	 * Finalizes logging and generates comprehensive simulation result files.
 	 * 
@@ -671,33 +746,27 @@ public class SimLogger {
 	 */
 	public void simStopped() throws IOException {
 		endTime = System.currentTimeMillis();
-		File vmLoadFile = null, locationFile = null, apUploadDelayFile = null, apDownloadDelayFile = null;
-		FileWriter vmLoadFW = null, locationFW = null, apUploadDelayFW = null, apDownloadDelayFW = null;
 		BufferedWriter vmLoadBW = null, locationBW = null, apUploadDelayBW = null, apDownloadDelayBW = null;
+		BinaryLogWriter vmLoadWriter = null, apUploadDelayWriter = null, apDownloadDelayWriter = null;
 
 		// Save generic results to file for each app type. last index is average
 		// of all app types
-		File[] genericFiles = new File[numOfAppTypes + 1];
-		FileWriter[] genericFWs = new FileWriter[numOfAppTypes + 1];
 		BufferedWriter[] genericBWs = new BufferedWriter[numOfAppTypes + 1];
 
 		// open all files and prepare them for write
 		if (fileLogEnabled) {
-			vmLoadFile = new File(outputFolder, filePrefix + "_VM_LOAD.log");
-			vmLoadFW = new FileWriter(vmLoadFile, true);
-			vmLoadBW = new BufferedWriter(vmLoadFW);
-
-			locationFile = new File(outputFolder, filePrefix + "_LOCATION.log");
-			locationFW = new FileWriter(locationFile, true);
-			locationBW = new BufferedWriter(locationFW);
-
-			apUploadDelayFile = new File(outputFolder, filePrefix + "_AP_UPLOAD_DELAY.log");
-			apUploadDelayFW = new FileWriter(apUploadDelayFile, true);
-			apUploadDelayBW = new BufferedWriter(apUploadDelayFW);
-
-			apDownloadDelayFile = new File(outputFolder, filePrefix + "_AP_DOWNLOAD_DELAY.log");
-			apDownloadDelayFW = new FileWriter(apDownloadDelayFile, true);
-			apDownloadDelayBW = new BufferedWriter(apDownloadDelayFW);
+			if (binaryResultFiles) {
+				int numOfAccessPoints = apDelayList.isEmpty() ? 0 : apDelayList.getFirst().getNumOfAccessPoints();
+				vmLoadWriter = openBinaryResultFile("VM_LOAD", BinaryLogFormat.RECORD_TYPE.VM_LOAD, 0);
+				apUploadDelayWriter = openBinaryResultFile("AP_UPLOAD_DELAY", BinaryLogFormat.RECORD_TYPE.AP_UPLOAD_DELAY, numOfAccessPoints);
+				apDownloadDelayWriter = openBinaryResultFile("AP_DOWNLOAD_DELAY", BinaryLogFormat.RECORD_TYPE.AP_DOWNLOAD_DELAY, numOfAccessPoints);
+			}
+			else {
+				vmLoadBW = openResultFile("VM_LOAD.log");
+				apUploadDelayBW = openResultFile("AP_UPLOAD_DELAY.log");
+				apDownloadDelayBW = openResultFile("AP_DOWNLOAD_DELAY.log");
+			}
+			locationBW = openResultFile("LOCATION.log");
 
 			for (int i = 0; i < numOfAppTypes + 1; i++) {
 				String fileName = "ALL_APPS_GENERIC.log";
@@ -710,21 +779,23 @@ public class SimLogger {
 					fileName = SimSettings.getInstance().getTaskName(i) + "_GENERIC.log";
 				}
 
-				genericFiles[i] = new File(outputFolder, filePrefix + "_" + fileName);
-				genericFWs[i] = new FileWriter(genericFiles[i], true);
-				genericBWs[i] = new BufferedWriter(genericFWs[i]);
+				genericBWs[i] = openResultFile(fileName);
 				appendToFile(genericBWs[i], "#auto generated file!");
 			}
 
-			appendToFile(vmLoadBW, "#auto generated file!");
+			if (!binaryResultFiles) {
+				appendToFile(vmLoadBW, "#auto generated file!");
+				appendToFile(apUploadDelayBW, "#auto generated file!");
+				appendToFile(apDownloadDelayBW, "#auto generated file!");
+			}
 			appendToFile(locationBW, "#auto generated file!");
-			appendToFile(apUploadDelayBW, "#auto generated file!");
-			appendToFile(apDownloadDelayBW, "#auto generated file!");
 		}
 
 		//the tasks in the map is not completed yet!
-		for (Map.Entry<Integer, LogItem> entry : taskMap.entrySet()) {
-			LogItem value = entry.getValue();
+		for (int slot = 0; slot < taskTable.getNumOfSlots(); slot++) {
+			LogItem value = taskTable.getItemAt(slot);
+			if (value == null)
+				continue;
 
 			uncompletedTask[value.getTaskType()]++;
 			if (value.getVmType() == SimSettings.VM_TYPES.CLOUD_VM.ordinal())
@@ -797,8 +868,12 @@ public class SimLogger {
 			totalVmLoadOnEdge += entry.getEdgeLoad();
 			totalVmLoadOnCloud += entry.getCloudLoad();
 			totalVmLoadOnMobile += entry.getMobileLoad();
-			if (fileLogEnabled && SimSettings.getInstance().getVmLoadLogInterval() != 0)
-				appendToFile(vmLoadBW, entry.toString());
+			if (fileLogEnabled && SimSettings.getInstance().getVmLoadLogInterval() != 0) {
+				if (binaryResultFiles)
+					entry.writeTo(vmLoadWriter);
+				else
+					appendToFile(vmLoadBW, entry.toString());
+			}
 		}
 
 		if (fileLogEnabled) {
@@ -806,6 +881,10 @@ public class SimLogger {
 			// assuming each location has only one access point
 			double locationLogInterval = SimSettings.getInstance().getLocationLogInterval();
 			if(locationLogInterval != 0) {
+				// The occupancy timeline answers the counts of all access points without
+				// locating every device; models not publishing it are queried per device
+				MobilityModel mobilityModel = SimManager.getInstance().getMobilityModel();
+				OccupancyTimeline occupancyTimeline = mobilityModel.getOccupancyTimeline();
 				for (int t = 1; t < (SimSettings.getInstance().getSimulationTime() / locationLogInterval); t++) {
 					int[] locationInfo = new int[SimSettings.getInstance().getNumOfEdgeDatacenters()];
 					Double time = t * SimSettings.getInstance().getLocationLogInterval();
@@ -813,9 +892,12 @@ public class SimLogger {
 					if (time < SimSettings.CLIENT_ACTIVITY_START_TIME)
 						continue;
 
-					for (int i = 0; i < SimManager.getInstance().getNumOfMobileDevice(); i++) {
-						Location loc = SimManager.getInstance().getMobilityModel().getLocation(i, time);
-						locationInfo[loc.getServingWlanId()]++;
+					if (occupancyTimeline != null) {
+						occupancyTimeline.getDeviceCounts(time, locationInfo);
+					}
+					else {
+						for (int i = 0; i < SimManager.getInstance().getNumOfMobileDevice(); i++)
+							locationInfo[mobilityModel.servingWlanAt(i, time)]++;
 					}
 
 					locationBW.write(time.toString());
@@ -829,8 +911,14 @@ public class SimLogger {
 			// write delay info to file for each access point
 			if(SimSettings.getInstance().getApDelayLogInterval() != 0) {
 				for (ApDelayLogItem entry : apDelayList) {
-					appendToFile(apUploadDelayBW, entry.getUploadStat());
-					appendToFile(apDownloadDelayBW, entry.getDownloadStat());
+					if (binaryResultFiles) {
+						entry.writeUploadStatTo(apUploadDelayWriter);
+						entry.writeDownloadStatTo(apDownloadDelayWriter);
+					}
+					else {
+						appendToFile(apUploadDelayBW, entry.getUploadStat());
+						appendToFile(apDownloadDelayBW, entry.getDownloadStat());
+					}
 				}
 			}
 
@@ -973,13 +1061,20 @@ public class SimLogger {
 
 			// close open files
 			if (SimSettings.getInstance().getDeepFileLoggingEnabled()) {
-				successBW.close();
-				failBW.close();
+				deepLogWriter.close();
+				deepLogWriter = null;
+			}
+			if (binaryResultFiles) {
+				vmLoadWriter.close();
+				apUploadDelayWriter.close();
+				apDownloadDelayWriter.close();
+			}
+			else {
+				vmLoadBW.close();
+				apUploadDelayBW.close();
+				apDownloadDelayBW.close();
 			}
-			vmLoadBW.close();
 			locationBW.close();
-			apUploadDelayBW.close();
-			apDownloadDelayBW.close();
 			for (int i = 0; i < numOfAppTypes + 1; i++) {
 				if (i < numOfAppTypes) {
 					// if related app is not used in this simulation, just
@@ -1079,7 +1174,7 @@ public class SimLogger {
 		printLine("average QoE (for executed): " + QoE[numOfAppTypes] / completedTask[numOfAppTypes] + "%");
 
 		// clear related collections (map list etc.)
-		taskMap.clear();
+		taskTable.clear();
 		vmLoadList.clear();
 		apDelayList.clear();
 	}
@@ -1107,7 +1202,8 @@ public class SimLogger {
 	 * @param taskId unique identifier of the task to record
 	 */
 	private void recordLog(int taskId){
-		LogItem value = taskMap.remove(taskId);
+		// the view reads the freed slot; it is valid until the next call on taskTable
+		LogItem value = taskTable.remove(taskId);
 		
 		// Skip tasks from warm-up period to ensure steady-state statistics
 		if (value.isInWarmUpPeriod())
@@ -1198,17 +1294,8 @@ public class SimLogger {
         }
 		
 		//if deep file logging is enabled, record every task result
-		if (SimSettings.getInstance().getDeepFileLoggingEnabled()){
-			try {
-				if (value.getStatus() == SimLogger.TASK_STATUS.COMLETED)
-					appendToFile(successBW, value.toString(taskId));
-				else
-					appendToFile(failBW, value.toString(taskId));
-			} catch (IOException e) {
-				e.printStackTrace();
-				System.exit(1);
-			}
-		}
+		if (SimSettings.getInstance().getDeepFileLoggingEnabled())
+			value.writeTo(deepLogWriter, taskId);
 	}
 }
 
@@ -1277,6 +1364,13 @@ class VmLoadLogItem {
 				SimSettings.DELIMITER + vmLoadOnCloud +
 				SimSettings.DELIMITER + vmLoadOnMobile;
 	}
+
+	/**
+	 * Writes the fields of toString() as a VM_LOAD record of BinaryLogFormat.
+	 */
+	void writeTo(BinaryLogWriter writer) throws IOException {
+		writer.startRecord().putDouble(time).putDouble(vmLoadOnEdge).putDouble(vmLoadOnCloud).putDouble(vmLoadOnMobile);
+	}
 }
 
 /**
@@ -1334,301 +1428,32 @@ class ApDelayLogItem {
 		
 		return result;
 	}
-}
 
-/**
- * Comprehensive logging record for individual task execution and performance metrics.
- * 
- * <p>LogItem maintains detailed information about a single task's lifecycle,
- * including timing measurements, resource assignments, network delays, costs,
- * and quality metrics. This class serves as the primary data structure for
- * deep logging and detailed performance analysis.</p>
- * 
- * <p>The class tracks complete task execution from creation through completion
- * or failure, enabling comprehensive post-simulation analysis of performance
- * bottlenecks, resource utilization patterns, and quality of service metrics.</p>
- */
-class LogItem {
-	/** Current status of the task (created, processing, completed, failed, etc.) */
-	private SimLogger.TASK_STATUS status;
-	
-	/** Type of network error that occurred (if any) */
-	private SimLogger.NETWORK_ERRORS networkError;
-	
-	/** ID of the mobile device that generated this task */
-	private int deviceId;
-	
-	/** ID of the datacenter processing this task */
-	private int datacenterId;
-	
-	/** ID of the host machine assigned to this task */
-	private int hostId;
-	
-	/** ID of the virtual machine executing this task */
-	private int vmId;
-	
-	/** Type of processing tier (cloud/edge/mobile) */
-	private int vmType;
-	
-	/** Application type index of this task */
-	private int taskType;
-	
-	/** Computational length requirement in million instructions */
-	private int taskLenght;
-	
-	/** Input data size in bytes */
-	private int taskInputType;
-	private int taskOutputSize;
-	private double taskStartTime;
-	private double taskEndTime;
-	private double lanUploadDelay;
-	private double manUploadDelay;
-	private double wanUploadDelay;
-	private double gsmUploadDelay;
-	private double lanDownloadDelay;
-	private double manDownloadDelay;
-	private double wanDownloadDelay;
-	private double gsmDownloadDelay;
-	private double bwCost;
-	private double cpuCost;
-	private double QoE;
-	private double orchestratorOverhead;
-	private boolean isInWarmUpPeriod;
-
-	LogItem(int _deviceId, int _taskType, int _taskLenght, int _taskInputType, int _taskOutputSize) {
-		deviceId = _deviceId;
-		taskType = _taskType;
-		taskLenght = _taskLenght;
-		taskInputType = _taskInputType;
-		taskOutputSize = _taskOutputSize;
-		networkError = NETWORK_ERRORS.NONE;
-		status = SimLogger.TASK_STATUS.CREATED;
-		taskEndTime = 0;
-	}
-	
-	public void taskStarted(double time) {
-		taskStartTime = time;
-		status = SimLogger.TASK_STATUS.UPLOADING;
-		
-		if (time < SimSettings.getInstance().getWarmUpPeriod())
-			isInWarmUpPeriod = true;
-		else
-			isInWarmUpPeriod = false;
-	}
-	
-	public void setUploadDelay(double delay, NETWORK_DELAY_TYPES delayType) {
-		if(delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
-			lanUploadDelay = delay;
-		else if(delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
-			manUploadDelay = delay;
-		else if(delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
-			wanUploadDelay = delay;
-		else if(delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
-			gsmUploadDelay = delay;
-	}
-	
-	public void setDownloadDelay(double delay, NETWORK_DELAY_TYPES delayType) {
-		if(delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
-			lanDownloadDelay = delay;
-		else if(delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
-			manDownloadDelay = delay;
-		else if(delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
-			wanDownloadDelay = delay;
-		else if(delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
-			gsmDownloadDelay = delay;
-	}
-	
-	public void taskAssigned(int _datacenterId, int _hostId, int _vmId, int _vmType) {
-		status = SimLogger.TASK_STATUS.PROCESSING;
-		datacenterId = _datacenterId;
-		hostId = _hostId;
-		vmId = _vmId;
-		vmType = _vmType;
-	}
-
-	public void taskExecuted() {
-		status = SimLogger.TASK_STATUS.DOWNLOADING;
-	}
-
-	public void taskEnded(double time) {
-		taskEndTime = time;
-		status = SimLogger.TASK_STATUS.COMLETED;
-	}
-
-	public void taskRejectedDueToVMCapacity(double time, int _vmType) {
-		vmType = _vmType;
-		taskEndTime = time;
-		status = SimLogger.TASK_STATUS.REJECTED_DUE_TO_VM_CAPACITY;
-	}
-	
-	public void taskRejectedDueToWlanCoverage(double time, int _vmType) {
-		vmType = _vmType;
-		taskEndTime = time;
-		status = SimLogger.TASK_STATUS.REJECTED_DUE_TO_WLAN_COVERAGE;
-	}
-
-	public void taskRejectedDueToBandwidth(double time, int _vmType, NETWORK_DELAY_TYPES delayType) {
-		vmType = _vmType;
-		taskEndTime = time;
-		status = SimLogger.TASK_STATUS.REJECTED_DUE_TO_BANDWIDTH;
-		
-		if(delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
-			networkError = NETWORK_ERRORS.LAN_ERROR;
-		else if(delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
-			networkError = NETWORK_ERRORS.MAN_ERROR;
-		else if(delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
-			networkError = NETWORK_ERRORS.WAN_ERROR;
-		else if(delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
-			networkError = NETWORK_ERRORS.GSM_ERROR;
-	}
-
-	public void taskFailedDueToBandwidth(double time, NETWORK_DELAY_TYPES delayType) {
-		taskEndTime = time;
-		status = SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_BANDWIDTH;
-		
-		if(delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
-			networkError = NETWORK_ERRORS.LAN_ERROR;
-		else if(delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
-			networkError = NETWORK_ERRORS.MAN_ERROR;
-		else if(delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
-			networkError = NETWORK_ERRORS.WAN_ERROR;
-		else if(delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
-			networkError = NETWORK_ERRORS.GSM_ERROR;
-	}
-
-	public void taskFailedDueToMobility(double time) {
-		taskEndTime = time;
-		status = SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_MOBILITY;
-	}
-
-	public void setCost(double _bwCost, double _cpuCos) {
-		bwCost = _bwCost;
-		cpuCost = _cpuCos;
-	}
-	
-	public void setQoE(double qoe){
-		QoE = qoe;
-	}
-	
-	public void setOrchestratorOverhead(double overhead){
-		orchestratorOverhead = overhead;
-	}
-
-	public boolean isInWarmUpPeriod() {
-		return isInWarmUpPeriod;
-	}
-
-	public double getCost() {
-		return bwCost + cpuCost;
-	}
-
-	public double getQoE() {
-		return QoE;
-	}
-
-	public double getOrchestratorOverhead() {
-		return orchestratorOverhead;
-	}
-	
-	public double getNetworkUploadDelay(NETWORK_DELAY_TYPES delayType) {
-		double result = 0;
-		if(delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
-			result = lanUploadDelay;
-		else if(delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
-			result = manUploadDelay;
-		else if(delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
-			result = wanUploadDelay;
-		else if(delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
-			result = gsmUploadDelay;
-		
-		return result;
-	}
-
-	public double getNetworkDownloadDelay(NETWORK_DELAY_TYPES delayType) {
-		double result = 0;
-		if(delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
-			result = lanDownloadDelay;
-		else if(delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
-			result = manDownloadDelay;
-		else if(delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
-			result = wanDownloadDelay;
-		else if(delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
-			result = gsmDownloadDelay;
-		
-		return result;
-	}
-	
-	public double getNetworkDelay(NETWORK_DELAY_TYPES delayType){
-		double result = 0;
-		if(delayType == NETWORK_DELAY_TYPES.WLAN_DELAY)
-			result = lanDownloadDelay + lanUploadDelay;
-		else if(delayType == NETWORK_DELAY_TYPES.MAN_DELAY)
-			result = manDownloadDelay + manUploadDelay;
-		else if(delayType == NETWORK_DELAY_TYPES.WAN_DELAY)
-			result = wanDownloadDelay + wanUploadDelay;
-		else if(delayType == NETWORK_DELAY_TYPES.GSM_DELAY)
-			result = gsmDownloadDelay + gsmUploadDelay;
-		
-		return result;
-	}
-	
-	public double getNetworkDelay(){
-		return  lanUploadDelay +
-				manUploadDelay +
-				wanUploadDelay +
-				gsmUploadDelay +
-				lanDownloadDelay +
-				manDownloadDelay +
-				wanDownloadDelay +
-				gsmDownloadDelay;
-	}
-	
-	public double getServiceTime() {
-		return taskEndTime - taskStartTime;
-	}
-
-	public SimLogger.TASK_STATUS getStatus() {
-		return status;
+	/**
+	 * Returns the number of access points of this measurement.
+	 */
+	int getNumOfAccessPoints() {
+		return apUploadDelays.length;
 	}
 
-	public SimLogger.NETWORK_ERRORS getNetworkError() {
-		return networkError;
-	}
-	
-	public int getVmType() {
-		return vmType;
+	/**
+	 * Writes the fields of getUploadStat() as an AP delay record of BinaryLogFormat.
+	 */
+	void writeUploadStatTo(BinaryLogWriter writer) throws IOException {
+		writeTo(writer, apUploadDelays);
 	}
 
-	public int getTaskType() {
-		return taskType;
+	/**
+	 * Writes the fields of getDownloadStat() as an AP delay record of BinaryLogFormat.
+	 */
+	void writeDownloadStatTo(BinaryLogWriter writer) throws IOException {
+		writeTo(writer, apDownloadDelays);
 	}
 
-	public String toString(int taskId) {
-		String result = taskId + SimSettings.DELIMITER + deviceId + SimSettings.DELIMITER + datacenterId + SimSettings.DELIMITER + hostId
-				+ SimSettings.DELIMITER + vmId + SimSettings.DELIMITER + vmType + SimSettings.DELIMITER + taskType
-				+ SimSettings.DELIMITER + taskLenght + SimSettings.DELIMITER + taskInputType + SimSettings.DELIMITER
-				+ taskOutputSize + SimSettings.DELIMITER + taskStartTime + SimSettings.DELIMITER + taskEndTime
-				+ SimSettings.DELIMITER;
-
-		if (status == SimLogger.TASK_STATUS.COMLETED){
-			result += getNetworkDelay() + SimSettings.DELIMITER;
-			result += getNetworkDelay(NETWORK_DELAY_TYPES.WLAN_DELAY) + SimSettings.DELIMITER;
-			result += getNetworkDelay(NETWORK_DELAY_TYPES.MAN_DELAY) + SimSettings.DELIMITER;
-			result += getNetworkDelay(NETWORK_DELAY_TYPES.WAN_DELAY) + SimSettings.DELIMITER;
-			result += getNetworkDelay(NETWORK_DELAY_TYPES.GSM_DELAY);
-		}
-		else if (status == SimLogger.TASK_STATUS.REJECTED_DUE_TO_VM_CAPACITY)
-			result += "1"; // failure reason 1
-		else if (status == SimLogger.TASK_STATUS.REJECTED_DUE_TO_BANDWIDTH)
-			result += "2"; // failure reason 2
-		else if (status == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_BANDWIDTH)
-			result += "3"; // failure reason 3
-		else if (status == SimLogger.TASK_STATUS.UNFINISHED_DUE_TO_MOBILITY)
-			result += "4"; // failure reason 4
-        else if (status == SimLogger.TASK_STATUS.REJECTED_DUE_TO_WLAN_COVERAGE)
-            result += "5"; // failure reason 5
-		else
-			result += "0"; // default failure reason
-		return result;
+	private void writeTo(BinaryLogWriter writer, double[] delays) throws IOException {
+		ByteBuffer record = writer.startRecord();
+		record.putDouble(time);
+		for(int i=0; i<delays.length; i++)
+			record.putDouble(delays[i]);
 	}
 }
@@ -10,10 +10,14 @@
 package edu.boun.edgecloudsim.utils;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+
 /**
  * Utility class providing common helper functions for EdgeCloudSim operations.
  * 
@@ -47,6 +51,70 @@ public class SimUtils {
 	 */
 	public static final Random RNG = new Random(System.currentTimeMillis());
 
+	/**
+	 * Re-seeds the shared random number generator.
+	 * 
+	 * <p>Used by the parameter sweep to make each sweep point reproducible.
+	 * Since the seed of a sweep point only depends on its coordinates, a point
+	 * produces the same results whether it is simulated serially or concurrently
+	 * in an isolated simulation context.</p>
+	 * 
+	 * @param seed the new seed of {@link #RNG}
+	 */
+	public static void setRandomSeed(long seed) {
+		RNG.setSeed(seed);
+	}
+
+	/**
+	 * Derives the seed of a single sweep point from the base seed of the sweep.
+	 * 
+	 * @param baseSeed base seed provided in the properties file
+	 * @param iterationNumber iteration index of the sweep point
+	 * @param numOfMobileDevices mobile device population of the sweep point
+	 * @param simScenario simulation scenario name of the sweep point
+	 * @param orchestratorPolicy orchestrator policy name of the sweep point
+	 * @return deterministic seed for the given sweep point
+	 */
+	public static long getSweepPointSeed(long baseSeed, int iterationNumber, int numOfMobileDevices,
+			String simScenario, String orchestratorPolicy) {
+		long seed = baseSeed;
+		seed = 31 * seed + iterationNumber;
+		seed = 31 * seed + numOfMobileDevices;
+		seed = 31 * seed + simScenario.hashCode();
+		seed = 31 * seed + orchestratorPolicy.hashCode();
+
+		//SplitMix64 finalizer spreads close coordinates over the whole seed space
+		seed = (seed ^ (seed >>> 30)) * 0xbf58476d1ce4e5b9L;
+		seed = (seed ^ (seed >>> 27)) * 0x94d049bb133111ebL;
+		return seed ^ (seed >>> 31);
+	}
+
+	/**
+	 * Creates a commons-math random generator seeded from {@link #RNG}.
+	 * 
+	 * <p>Distribution objects (e.g. ExponentialDistribution) seed themselves
+	 * with the system time by default; passing them a generator created here
+	 * keeps them reproducible when {@link #RNG} is seeded.</p>
+	 * 
+	 * @return a new random generator whose seed is drawn from {@link #RNG}
+	 */
+	public static RandomGenerator createRandomGenerator() {
+		return new Well19937c(RNG.nextLong());
+	}
+
+	/**
+	 * Creates a family of per-device random streams rooted at a seed drawn from {@link #RNG}.
+	 * 
+	 * <p>Models which generate device timelines in parallel use these streams
+	 * instead of {@link #RNG}; their output is reproducible when {@link #RNG}
+	 * is seeded and does not depend on the number of threads.</p>
+	 * 
+	 * @return a new RandomStreams instance
+	 */
+	public static RandomStreams createRandomStreams() {
+		return new RandomStreams(RNG.nextLong());
+	}
+
 	/**
 	 * Generates a random integer within the specified range (inclusive).
 	 * 
@@ -99,6 +167,46 @@ public class SimUtils {
 		return (fraction + start); 
 	}
 
+	/**
+	 * Sorts a range of an index array by the keys of the indexes.
+	 *
+	 * <p>The sort is a bottom-up merge sort on primitive values, so indexes
+	 * with the same key keep their order in the range and no index is boxed.
+	 * The index at position i of the range is ordered by keys[indexes[i]].</p>
+	 *
+	 * @param indexes array holding the indexes to sort
+	 * @param from first position of the range (inclusive)
+	 * @param to last position of the range (exclusive)
+	 * @param keys sort key of each index
+	 */
+	public static void sortIndexesByKey(int[] indexes, int from, int to, double[] keys) {
+		int length = to - from;
+		int[] source = Arrays.copyOfRange(indexes, from, to);
+		int[] target = new int[length];
+		for(int width=1; width<length; width*=2) {
+			for(int low=0; low<length; low+=2*width) {
+				int mid = Math.min(low + width, length);
+				int high = Math.min(low + 2*width, length);
+				int i = low, j = mid, k = low;
+				while(i < mid && j < high) {
+					if(keys[source[j]] < keys[source[i]])
+						target[k++] = source[j++];
+					else
+						target[k++] = source[i++];
+				}
+				while(i < mid)
+					target[k++] = source[i++];
+				while(j < high)
+					target[k++] = source[j++];
+			}
+			int[] merged = target;
+			target = source;
+			source = merged;
+		}
+
+		System.arraycopy(source, 0, indexes, from, length);
+	}
+
 	/**
 	 * Cleans the specified output folder by removing all existing files.
 	 * 
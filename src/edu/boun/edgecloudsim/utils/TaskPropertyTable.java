@@ -0,0 +1,280 @@
+/*
+ * Title:        EdgeCloudSim - Task Property Table
+ *
+ * Description:
+ * A columnar (structure of arrays) store used in Load Generator Model
+ * to keep the properties of all generated tasks without per task objects
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import java.util.Arrays;
+
+/**
+ * Stores the properties of the pre-generated tasks in primitive columns.
+ *
+ * <p>A long simulation with many mobile devices generates millions of tasks.
+ * Keeping each of them as a {@link TaskProperty} object costs an object header
+ * and a reference per task, which dominates the heap and the GC pauses of such
+ * runs. TaskPropertyTable keeps every field in its own primitive column instead;
+ * a task is identified by its row index.</p>
+ *
+ * <p><b>Storage Layout:</b>
+ * <ul>
+ *   <li>Each column is split into fixed size chunks of {@link #CHUNK_SIZE} rows</li>
+ *   <li>Growing the table allocates a new chunk; existing rows are never copied</li>
+ *   <li>Rows are appended in generation order and never removed</li>
+ * </ul></p>
+ *
+ * <p>Rows can be read through the indexed getters or through a {@link Cursor},
+ * a reusable flyweight view. A {@link TaskProperty} object is only created by
+ * {@link #createTaskProperty(int)}, i.e. when the task is submitted.</p>
+ *
+ * @see edu.boun.edgecloudsim.task_generator.LoadGeneratorModel
+ * @see edu.boun.edgecloudsim.utils.TaskProperty
+ */
+public class TaskPropertyTable {
+	/** Number of bits used for the row offset inside a chunk */
+	private static final int CHUNK_BITS = 14;
+
+	/** Number of rows stored in a single chunk */
+	public static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+	// Primitive columns (chunk index -> row offset)
+	private double[][] startTimes;
+	private long[][] lengths;
+	private long[][] inputFileSizes;
+	private long[][] outputFileSizes;
+	private int[][] taskTypes;
+	private int[][] pesNumbers;
+	private int[][] mobileDeviceIds;
+
+	/** Number of rows in the table */
+	private int size;
+
+	/**
+	 * Creates an empty task table.
+	 */
+	public TaskPropertyTable() {
+		startTimes = new double[0][];
+		lengths = new long[0][];
+		inputFileSizes = new long[0][];
+		outputFileSizes = new long[0][];
+		taskTypes = new int[0][];
+		pesNumbers = new int[0][];
+		mobileDeviceIds = new int[0][];
+		size = 0;
+	}
+
+	/**
+	 * Appends a task to the table.
+	 *
+	 * @param _startTime simulation time when the task is submitted (in seconds)
+	 * @param _mobileDeviceId id of the mobile device generating the task
+	 * @param _taskType application type of the task
+	 * @param _pesNumber required number of CPU cores
+	 * @param _length computational length of the task (in million instructions)
+	 * @param _inputFileSize size of the data to be uploaded
+	 * @param _outputFileSize size of the data to be downloaded
+	 * @return row index of the new task
+	 */
+	public int add(double _startTime, int _mobileDeviceId, int _taskType, int _pesNumber, long _length, long _inputFileSize, long _outputFileSize) {
+		int chunk = size >>> CHUNK_BITS;
+		int offset = size & CHUNK_MASK;
+		if(chunk == startTimes.length)
+			addChunk();
+
+		startTimes[chunk][offset] = _startTime;
+		mobileDeviceIds[chunk][offset] = _mobileDeviceId;
+		taskTypes[chunk][offset] = _taskType;
+		pesNumbers[chunk][offset] = _pesNumber;
+		lengths[chunk][offset] = _length;
+		inputFileSizes[chunk][offset] = _inputFileSize;
+		outputFileSizes[chunk][offset] = _outputFileSize;
+
+		return size++;
+	}
+
+	/**
+	 * Grows the table to the given number of rows; new rows are zero filled.
+	 *
+	 * <p>Used by generators filling the table in parallel: after the table is
+	 * resized, distinct rows can be written concurrently via {@link #set}.</p>
+	 *
+	 * @param newSize new number of rows (must not be less than the current size)
+	 */
+	public void setSize(int newSize) {
+		while(((long)startTimes.length << CHUNK_BITS) < newSize)
+			addChunk();
+		size = Math.max(size, newSize);
+	}
+
+	/**
+	 * Overwrites the values of an existing row.
+	 *
+	 * @param index row index of the task
+	 * @see #add(double, int, int, int, long, long, long)
+	 */
+	public void set(int index, double _startTime, int _mobileDeviceId, int _taskType, int _pesNumber, long _length, long _inputFileSize, long _outputFileSize) {
+		int chunk = index >>> CHUNK_BITS;
+		int offset = index & CHUNK_MASK;
+		startTimes[chunk][offset] = _startTime;
+		mobileDeviceIds[chunk][offset] = _mobileDeviceId;
+		taskTypes[chunk][offset] = _taskType;
+		pesNumbers[chunk][offset] = _pesNumber;
+		lengths[chunk][offset] = _length;
+		inputFileSizes[chunk][offset] = _inputFileSize;
+		outputFileSizes[chunk][offset] = _outputFileSize;
+	}
+
+	private void addChunk() {
+		int numOfChunks = startTimes.length + 1;
+		startTimes = Arrays.copyOf(startTimes, numOfChunks);
+		lengths = Arrays.copyOf(lengths, numOfChunks);
+		inputFileSizes = Arrays.copyOf(inputFileSizes, numOfChunks);
+		outputFileSizes = Arrays.copyOf(outputFileSizes, numOfChunks);
+		taskTypes = Arrays.copyOf(taskTypes, numOfChunks);
+		pesNumbers = Arrays.copyOf(pesNumbers, numOfChunks);
+		mobileDeviceIds = Arrays.copyOf(mobileDeviceIds, numOfChunks);
+
+		int chunk = numOfChunks - 1;
+		startTimes[chunk] = new double[CHUNK_SIZE];
+		lengths[chunk] = new long[CHUNK_SIZE];
+		inputFileSizes[chunk] = new long[CHUNK_SIZE];
+		outputFileSizes[chunk] = new long[CHUNK_SIZE];
+		taskTypes[chunk] = new int[CHUNK_SIZE];
+		pesNumbers[chunk] = new int[CHUNK_SIZE];
+		mobileDeviceIds[chunk] = new int[CHUNK_SIZE];
+	}
+
+	/**
+	 * Returns the number of tasks in the table.
+	 */
+	public int size() {
+		return size;
+	}
+
+	public double getStartTime(int index) {
+		return startTimes[index >>> CHUNK_BITS][index & CHUNK_MASK];
+	}
+
+	public long getLength(int index) {
+		return lengths[index >>> CHUNK_BITS][index & CHUNK_MASK];
+	}
+
+	public long getInputFileSize(int index) {
+		return inputFileSizes[index >>> CHUNK_BITS][index & CHUNK_MASK];
+	}
+
+	public long getOutputFileSize(int index) {
+		return outputFileSizes[index >>> CHUNK_BITS][index & CHUNK_MASK];
+	}
+
+	public int getTaskType(int index) {
+		return taskTypes[index >>> CHUNK_BITS][index & CHUNK_MASK];
+	}
+
+	public int getPesNumber(int index) {
+		return pesNumbers[index >>> CHUNK_BITS][index & CHUNK_MASK];
+	}
+
+	public int getMobileDeviceId(int index) {
+		return mobileDeviceIds[index >>> CHUNK_BITS][index & CHUNK_MASK];
+	}
+
+	/**
+	 * Materializes the given row as a TaskProperty object.
+	 *
+	 * <p>Intended to be called when the task is submitted, so that only the
+	 * tasks in flight exist as objects.</p>
+	 *
+	 * @param index row index of the task
+	 * @return a new TaskProperty holding the values of the row
+	 */
+	public TaskProperty createTaskProperty(int index) {
+		int chunk = index >>> CHUNK_BITS;
+		int offset = index & CHUNK_MASK;
+		return new TaskProperty(startTimes[chunk][offset], mobileDeviceIds[chunk][offset],
+				taskTypes[chunk][offset], pesNumbers[chunk][offset], lengths[chunk][offset],
+				inputFileSizes[chunk][offset], outputFileSizes[chunk][offset]);
+	}
+
+	/**
+	 * Returns a new cursor positioned before the first row.
+	 */
+	public Cursor cursor() {
+		return new Cursor();
+	}
+
+	/**
+	 * Flyweight view over a single row of the table.
+	 *
+	 * <p>A cursor does not copy the row; its getters read the columns of the
+	 * current row directly. It can be moved sequentially with {@link #next()}
+	 * or randomly with {@link #moveTo(int)} and reused for any number of rows.</p>
+	 */
+	public class Cursor {
+		private int index = -1;
+		private int chunk;
+		private int offset;
+
+		/**
+		 * Advances to the following row.
+		 *
+		 * @return false if there is no following row
+		 */
+		public boolean next() {
+			if(index + 1 >= size)
+				return false;
+			moveTo(index + 1);
+			return true;
+		}
+
+		/**
+		 * Positions the cursor on the given row.
+		 */
+		public Cursor moveTo(int _index) {
+			index = _index;
+			chunk = _index >>> CHUNK_BITS;
+			offset = _index & CHUNK_MASK;
+			return this;
+		}
+
+		public int getIndex() {
+			return index;
+		}
+
+		public double getStartTime() {
+			return startTimes[chunk][offset];
+		}
+
+		public long getLength() {
+			return lengths[chunk][offset];
+		}
+
+		public long getInputFileSize() {
+			return inputFileSizes[chunk][offset];
+		}
+
+		public long getOutputFileSize() {
+			return outputFileSizes[chunk][offset];
+		}
+
+		public int getTaskType() {
+			return taskTypes[chunk][offset];
+		}
+
+		public int getPesNumber() {
+			return pesNumbers[chunk][offset];
+		}
+
+		public int getMobileDeviceId() {
+			return mobileDeviceIds[chunk][offset];
+		}
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Title:        EdgeCloudSim - VM Host Table
+ *
+ * Description:
+ * VmHostTable keeps the host of each allocated VM in arrays indexed by
+ * the VM id, so that the custom VM allocation policies answer host
+ * queries without building the string UID of the VM
+ *
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ * Copyright (c) 2017, Bogazici University, Istanbul, Turkey
+ */
+
+package edu.boun.edgecloudsim.utils;
+
+import java.util.Arrays;
+
+import org.cloudbus.cloudsim.Host;
+import org.cloudbus.cloudsim.Vm;
+
+/**
+ * VM to host table of a VM allocation policy.
+ *
+ * EdgeCloudSim creates its VMs with sequential ids starting from 0 (edge,
+ * then cloud, then mobile VMs), so the hosts are stored in an array indexed
+ * by the VM id which grows on demand. The owner of each VM is stored as well,
+ * so a lookup by (VM id, user id) matches the same entries as a lookup by
+ * Vm.getUid(userId, vmId) would.
+ */
+public class VmHostTable {
+	private Host[] hosts = new Host[16];  // Host of each allocated VM; null if the VM is not allocated
+	private int[] userIds = new int[16];  // Owner of each allocated VM
+
+	public VmHostTable() {
+	}
+
+	/**
+	 * Records the host of a VM, replacing any previous entry of the VM id.
+	 */
+	public void put(Vm vm, Host host) {
+		int vmId = vm.getId();
+		if(vmId >= hosts.length){
+			int size = Math.max(vmId + 1, hosts.length * 2);
+			hosts = Arrays.copyOf(hosts, size);
+			userIds = Arrays.copyOf(userIds, size);
+		}
+		hosts[vmId] = host;
+		userIds[vmId] = vm.getUserId();
+	}
+
+	/**
+	 * Returns the host of a VM, or null if the VM is not allocated.
+	 */
+	public Host get(int vmId, int userId) {
+		if(vmId < 0 || vmId >= hosts.length || userIds[vmId] != userId)
+			return null;
+		return hosts[vmId];
+	}
+
+	/**
+	 * Returns the host of a VM, or null if the VM is not allocated.
+	 */
+	public Host get(Vm vm) {
+		return get(vm.getId(), vm.getUserId());
+	}
+
+	/**
+	 * Returns true if the VM is allocated.
+	 */
+	public boolean contains(Vm vm) {
+		return get(vm) != null;
+	}
+
+	/**
+	 * Removes the entry of a VM.
+	 *
+	 * @return host of the VM, or null if the VM was not allocated
+	 */
+	public Host remove(Vm vm) {
+		Host host = get(vm);
+		if(host != null)
+			hosts[vm.getId()] = null;
+		return host;
+	}
+}